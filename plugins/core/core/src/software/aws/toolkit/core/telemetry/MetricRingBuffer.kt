@@ -0,0 +1,68 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.core.telemetry
+
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import java.util.concurrent.atomic.AtomicReferenceArray
+
+/**
+ * Bounded multi-producer, single-consumer queue over a pre-allocated array, its capacity rounded up to a power of two.
+ *
+ * Producers claim a slot with a single CAS on the tail and publish into it by bumping the slot's sequence number, so [offer] never blocks and
+ * allocates nothing. Only one thread at a time may call [poll].
+ */
+internal class MetricRingBuffer<T : Any>(capacity: Int) {
+    private val capacity = Integer.highestOneBit((capacity - 1).coerceAtLeast(1)) shl 1
+    private val mask = this.capacity - 1L
+    private val elements = AtomicReferenceArray<T?>(this.capacity)
+
+    // a slot is free for the producer at position p when its sequence is p, and holds an element for the consumer when it is p + 1
+    private val sequences = AtomicLongArray(this.capacity).apply { for (i in 0 until this@MetricRingBuffer.capacity) set(i, i.toLong()) }
+    private val tail = AtomicLong()
+
+    @Volatile
+    private var head = 0L
+
+    val size: Int
+        get() = (tail.get() - head).coerceIn(0, capacity.toLong()).toInt()
+
+    /**
+     * Returns false without adding [element] if the buffer is full
+     */
+    fun offer(element: T): Boolean {
+        while (true) {
+            val position = tail.get()
+            val index = (position and mask).toInt()
+            val difference = sequences.get(index) - position
+            when {
+                difference == 0L -> if (tail.compareAndSet(position, position + 1)) {
+                    elements.set(index, element)
+                    sequences.set(index, position + 1)
+                    return true
+                }
+                // the consumer hasn't freed this slot from the previous lap yet
+                difference < 0 -> return false
+            }
+        }
+    }
+
+    fun poll(): T? {
+        val position = head
+        val index = (position and mask).toInt()
+        if (sequences.get(index) != position + 1) {
+            return null
+        }
+        val element = elements.get(index)
+        elements.set(index, null)
+        sequences.set(index, position + capacity)
+        head = position + 1
+        return element
+    }
+
+    /**
+     * Copies out the published elements without removing them
+     */
+    fun snapshot(): List<T> = (head until tail.get()).mapNotNull { elements.get((it and mask).toInt()) }
+}
@@ -3,16 +3,30 @@
 
 package software.aws.toolkit.core.telemetry
 
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
 import org.jetbrains.annotations.TestOnly
 import software.amazon.awssdk.core.exception.SdkServiceException
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.core.utils.warn
+import java.nio.file.Path
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.Executors
-import java.util.concurrent.LinkedBlockingDeque
 import java.util.concurrent.ScheduledExecutorService
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 
 interface TelemetryBatcher {
     fun enqueue(event: MetricEvent)
@@ -24,26 +38,53 @@ interface TelemetryBatcher {
     fun shutdown()
 }
 
+/**
+ * Batches metric events and publishes them every few minutes.
+ *
+ * Events are enqueued into a lock-free ring buffer holding at least [maxQueueSize] events, its capacity is rounded up to a power of two. When it is
+ * full, and for batches that keep failing to publish, events are appended to [spillFile] if one is given, which is published from on the next
+ * flush, including after a restart. Batches are published concurrently, and a batch that fails with a retryable error is retried on its own with
+ * exponential backoff instead of holding up the others. [flush] only starts publishing and returns straight away, [shutdown] waits for every
+ * publish that is still running.
+ */
 class DefaultTelemetryBatcher(
     private val publisher: TelemetryPublisher,
     private val maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE,
     maxQueueSize: Int = DEFAULT_MAX_QUEUE_SIZE,
     private val executor: ScheduledExecutorService = createDefaultExecutor(),
+    spillFile: Path? = null,
+    private val initialRetryDelayMillis: Long = DEFAULT_INITIAL_RETRY_DELAY_MILLIS,
 ) : TelemetryBatcher {
     private val isTelemetryEnabled: AtomicBoolean = AtomicBoolean(false)
     private val isShuttingDown: AtomicBoolean = AtomicBoolean(false)
+    private val isFlushing: AtomicBoolean = AtomicBoolean(false)
 
-    val eventQueue: LinkedBlockingDeque<MetricEvent> = LinkedBlockingDeque(maxQueueSize)
-        @TestOnly get
+    private val ringBuffer = MetricRingBuffer<MetricEvent>(maxQueueSize)
+    private val spill = spillFile?.let { TelemetrySpillFile(it) }
+
+    // batches waiting out their backoff before being published again
+    private val retrying = ConcurrentHashMap.newKeySet<RetryBatch>()
+
+    // running publishes, guarded by publishLock together with isShuttingDown so none can start once shutdown is waiting for them
+    private val publishes = ConcurrentHashMap.newKeySet<Job>()
+    private val publishLock = Any()
+    private val dropped = AtomicInteger()
+    private val scope = CoroutineScope(SupervisorJob() + executor.asCoroutineDispatcher())
+    private val permits = Semaphore(MAX_CONCURRENT_PUBLISHES)
+
+    val eventQueue: Collection<MetricEvent>
+        @TestOnly get() = ringBuffer.snapshot() + retrying.flatMap { it.events }
 
     init {
         executor.scheduleWithFixedDelay(
             {
-                if (!isShuttingDown.get()) {
-                    try {
-                        flush(true)
-                    } catch (e: Exception) {
-                        LOG.warn(e) { "Unexpected exception while publishing telemetry" }
+                // only start a flush if the previous one has finished, a slow endpoint shouldn't pile up flushes
+                if (isFlushing.compareAndSet(false, true)) {
+                    val job = launchPublish { publishPending(retry = true, includeSpilled = true) }
+                    if (job == null) {
+                        isFlushing.set(false)
+                    } else {
+                        job.invokeOnCompletion { isFlushing.set(false) }
                     }
                 }
             },
@@ -54,12 +95,27 @@ class DefaultTelemetryBatcher(
     }
 
     override fun shutdown() {
-        if (!isShuttingDown.compareAndSet(false, true)) {
-            return
+        synchronized(publishLock) {
+            if (!isShuttingDown.compareAndSet(false, true)) {
+                return
+            }
         }
 
+        // no publish can start from here on, so waiting for the running ones means events they have already drained are not lost. Batches that
+        // fail meanwhile are left in retrying and spilled below
+        runBlocking {
+            publishes.toList().joinAll()
+        }
         executor.shutdown()
-        flush(false)
+        scope.cancel()
+        if (isTelemetryEnabled.get()) {
+            // anything that can't be published now, or is still waiting to be retried, gets another chance after the restart
+            runBlocking {
+                publishPending(retry = false, includeSpilled = false, spillOnFailure = true)
+            }
+            retrying.forEach { spillOrDrop(it.events) }
+        }
+        retrying.clear()
     }
 
     override fun enqueue(event: MetricEvent) {
@@ -67,55 +123,149 @@ class DefaultTelemetryBatcher(
             return
         }
 
-        try {
-            eventQueue.add(event)
-        } catch (e: Exception) {
-            LOG.warn(e) { "Failed to add metric to queue" }
+        if (!ringBuffer.offer(event)) {
+            spillOrDrop(listOf(event))
         }
     }
 
-    @Synchronized
     override fun flush(retry: Boolean) {
         if (!isTelemetryEnabled.get()) {
             return
         }
 
-        while (!eventQueue.isEmpty()) {
-            val batch: ArrayList<MetricEvent> = arrayListOf()
+        synchronized(publishLock) {
+            if (isShuttingDown.get()) {
+                return
+            }
 
-            while (!eventQueue.isEmpty() && batch.size < maxBatchSize) {
-                batch.add(eventQueue.pop())
+            // drained now so the events are the ones queued before the call, even if telemetry is disabled straight after
+            val batches = drainBatches(spill?.drain().orEmpty())
+            launchPublish { publishBatches(batches, retry) }
+        }
+    }
+
+    /**
+     * Starts [block] on [scope] as a publish [shutdown] waits for, or returns null if shutdown has already started
+     */
+    private fun launchPublish(block: suspend () -> Unit): Job? = synchronized(publishLock) {
+        if (isShuttingDown.get()) {
+            return null
+        }
+
+        val job = scope.launch {
+            try {
+                block()
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                LOG.warn(e) { "Unexpected exception while publishing telemetry" }
             }
+        }
+        publishes.add(job)
+        job.invokeOnCompletion { publishes.remove(job) }
+        job
+    }
 
-            val stop = runBlocking {
-                try {
-                    publisher.publish(batch)
-                } catch (e: Exception) {
-                    LOG.warn(e) { "Failed to publish metrics" }
-                    val shouldRetry = retry && when (e) {
-                        is SdkServiceException -> e.statusCode() !in 400..499
-                        else -> true
-                    }
-                    if (shouldRetry) {
-                        LOG.warn { "Telemetry metrics failed to publish, retrying later..." }
-                        eventQueue.addAll(batch)
-                        // don't want an infinite loop...
-                        return@runBlocking true
-                    }
+    private suspend fun publishPending(retry: Boolean, includeSpilled: Boolean, spillOnFailure: Boolean = false) {
+        if (!isTelemetryEnabled.get()) {
+            return
+        }
+
+        publishBatches(drainBatches(if (includeSpilled) spill?.drain().orEmpty() else emptyList()), retry, spillOnFailure)
+    }
+
+    private suspend fun publishBatches(batches: List<List<MetricEvent>>, retry: Boolean, spillOnFailure: Boolean = false) {
+        coroutineScope {
+            batches.forEach { batch ->
+                launch {
+                    permits.withPermit { publishBatch(batch, retry, spillOnFailure, attempt = 0) }
                 }
-                return@runBlocking false
             }
-            if (stop) {
-                return
+        }
+    }
+
+    private fun drainBatches(spilled: List<MetricEvent>): List<List<MetricEvent>> = synchronized(ringBuffer) {
+        // the ring buffer only supports one consumer at a time
+        val batches = mutableListOf<List<MetricEvent>>()
+        var batch = ArrayList<MetricEvent>(maxBatchSize)
+        fun add(event: MetricEvent) {
+            batch.add(event)
+            if (batch.size == maxBatchSize) {
+                batches.add(batch)
+                batch = ArrayList(maxBatchSize)
             }
         }
+        spilled.forEach { add(it) }
+        while (true) {
+            add(ringBuffer.poll() ?: break)
+        }
+        if (batch.isNotEmpty()) {
+            batches.add(batch)
+        }
+        batches
     }
 
+    private suspend fun publishBatch(batch: List<MetricEvent>, retry: Boolean, spillOnFailure: Boolean, attempt: Int) {
+        try {
+            publisher.publish(batch)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to publish metrics" }
+            val retryable = when (e) {
+                is SdkServiceException -> e.statusCode() !in 400..499
+                else -> true
+            }
+            when {
+                !retryable -> return
+                retry && attempt + 1 < MAX_ATTEMPTS -> {
+                    LOG.warn { "Telemetry metrics failed to publish, retrying later..." }
+                    scheduleRetry(batch, attempt + 1)
+                }
+                retry || spillOnFailure -> spillOrDrop(batch)
+            }
+        }
+    }
+
+    private fun scheduleRetry(batch: List<MetricEvent>, attempt: Int) {
+        val entry = RetryBatch(batch)
+        retrying.add(entry)
+        scope.launch {
+            delay(initialRetryDelayMillis shl (attempt - 1))
+            // the entry is gone if telemetry was disabled in the meantime, and is left for shutdown to spill once that has started
+            synchronized(publishLock) {
+                if (!isShuttingDown.get() && retrying.remove(entry)) {
+                    launchPublish { permits.withPermit { publishBatch(batch, retry = true, spillOnFailure = false, attempt = attempt) } }
+                }
+            }
+        }
+    }
+
+    private fun spillOrDrop(events: List<MetricEvent>) {
+        val notWritten = spill?.append(events) ?: events.size
+        if (notWritten > 0) {
+            val total = dropped.addAndGet(notWritten)
+            // log the first drop and then occasionally, not for every event of a flood
+            if (total == notWritten || total / DROP_LOG_INTERVAL != (total - notWritten) / DROP_LOG_INTERVAL) {
+                LOG.warn { "Telemetry queue is full, $total events have been dropped" }
+            }
+        }
+    }
+
+    // compared by identity, two batches can hold equal events
+    private class RetryBatch(val events: List<MetricEvent>)
+
     override fun onTelemetryEnabledChanged(isEnabled: Boolean, onChangeEvent: (Boolean) -> Unit) {
         if (isEnabled) {
             isTelemetryEnabled.set(true)
         } else {
-            eventQueue.clear()
+            synchronized(ringBuffer) {
+                while (ringBuffer.poll() != null) {
+                    // discard
+                }
+            }
+            retrying.clear()
+            spill?.clear()
         }
 
         onChangeEvent(isEnabled)
@@ -132,6 +282,10 @@ class DefaultTelemetryBatcher(
         private const val DEFAULT_MAX_QUEUE_SIZE = 10000
         private const val DEFAULT_PUBLISH_INTERVAL = 5L
         private val DEFAULT_PUBLISH_INTERVAL_UNIT = TimeUnit.MINUTES
+        private const val DEFAULT_INITIAL_RETRY_DELAY_MILLIS = 30_000L
+        private const val MAX_ATTEMPTS = 5
+        private const val MAX_CONCURRENT_PUBLISHES = 4
+        private const val DROP_LOG_INTERVAL = 1000
 
         private fun createDefaultExecutor() = Executors.newSingleThreadScheduledExecutor {
             val daemonThread = Thread(it)
@@ -0,0 +1,124 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.core.telemetry
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.module.kotlin.jacksonObjectMapper
+import software.amazon.awssdk.services.toolkittelemetry.model.AWSProduct
+import software.amazon.awssdk.services.toolkittelemetry.model.MetricUnit
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.warn
+import java.io.ByteArrayOutputStream
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+import java.time.Instant
+
+/**
+ * Append only file of metric events, one JSON object per line, that holds events the batcher could not keep in memory or publish so that they
+ * survive a restart of the IDE. The file is capped at [maxBytes], events that don't fit are dropped.
+ */
+internal class TelemetrySpillFile(private val file: Path, private val maxBytes: Long = DEFAULT_MAX_BYTES) {
+    private val lock = Any()
+
+    /**
+     * Returns the number of events that could not be written
+     */
+    fun append(events: Collection<MetricEvent>): Int = synchronized(lock) {
+        try {
+            var available = maxBytes - size()
+            val lines = ByteArrayOutputStream()
+            var written = 0
+            for (event in events) {
+                val line = (MAPPER.writeValueAsString(toJson(event)) + "\n").toByteArray(Charsets.UTF_8)
+                if (line.size > available) {
+                    break
+                }
+                available -= line.size
+                lines.write(line)
+                written++
+            }
+            if (written > 0) {
+                Files.createDirectories(file.parent)
+                Files.write(file, lines.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+            }
+            events.size - written
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to spill telemetry to $file" }
+            events.size
+        }
+    }
+
+    /**
+     * Removes and returns every event in the file, skipping any line that can't be read
+     */
+    fun drain(): List<MetricEvent> = synchronized(lock) {
+        val lines = try {
+            Files.readAllLines(file)
+        } catch (_: NoSuchFileException) {
+            return emptyList()
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to read spilled telemetry from $file" }
+            emptyList()
+        }
+        clear()
+        lines.mapNotNull { line -> runCatching { fromJson(MAPPER.readTree(line)) }.getOrNull() }
+    }
+
+    fun clear() = synchronized(lock) {
+        try {
+            Files.deleteIfExists(file)
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to delete spilled telemetry $file" }
+        }
+    }
+
+    private fun size() = try {
+        Files.size(file)
+    } catch (_: NoSuchFileException) {
+        0L
+    }
+
+    private fun toJson(event: MetricEvent) = MAPPER.createObjectNode().apply {
+        put("createTime", event.createTime.toEpochMilli())
+        put("awsAccount", event.awsAccount)
+        put("awsRegion", event.awsRegion)
+        put("awsProduct", event.awsProduct.toString())
+        put("awsVersion", event.awsVersion)
+        putArray("data").apply {
+            event.data.forEach { datum ->
+                addObject().apply {
+                    put("name", datum.name)
+                    put("value", datum.value)
+                    put("unit", datum.unit.toString())
+                    put("passive", datum.passive)
+                    putObject("metadata").apply { datum.metadata.forEach { (key, value) -> put(key, value) } }
+                }
+            }
+        }
+    }
+
+    private fun fromJson(node: JsonNode): MetricEvent = DefaultMetricEvent.builder().apply {
+        createTime(Instant.ofEpochMilli(node.get("createTime").asLong()))
+        awsAccount(node.get("awsAccount").asText())
+        awsRegion(node.get("awsRegion").asText())
+        awsProduct(AWSProduct.fromValue(node.get("awsProduct").asText()))
+        awsVersion(node.get("awsVersion").asText())
+        node.get("data").forEach { datumNode ->
+            datum(datumNode.get("name").asText()) {
+                value(datumNode.get("value").asDouble())
+                unit(MetricUnit.fromValue(datumNode.get("unit").asText()))
+                passive(datumNode.get("passive").asBoolean())
+                datumNode.get("metadata").fields().forEach { (key, value) -> metadata(key, value.asText()) }
+            }
+        }
+    }.build()
+
+    companion object {
+        private val LOG = getLogger<TelemetrySpillFile>()
+        private val MAPPER = jacksonObjectMapper()
+        const val DEFAULT_MAX_BYTES = 10L * 1024 * 1024
+    }
+}
@@ -0,0 +1,62 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.core.telemetry
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import kotlin.concurrent.thread
+
+class MetricRingBufferTest {
+    @Test
+    fun elementsArePolledInOrder() {
+        val buffer = MetricRingBuffer<Int>(4)
+        (1..3).forEach { buffer.offer(it) }
+
+        assertThat(buffer.snapshot()).containsExactly(1, 2, 3)
+        assertThat(generateSequence { buffer.poll() }.toList()).containsExactly(1, 2, 3)
+        assertThat(buffer.poll()).isNull()
+    }
+
+    @Test
+    fun offerFailsWhenFull() {
+        val buffer = MetricRingBuffer<Int>(3)
+
+        // rounded up to 4
+        assertThat((1..5).map { buffer.offer(it) }).containsExactly(true, true, true, true, false)
+        assertThat(buffer.size).isEqualTo(4)
+
+        buffer.poll()
+        assertThat(buffer.offer(6)).isTrue()
+        assertThat(generateSequence { buffer.poll() }.toList()).containsExactly(2, 3, 4, 6)
+    }
+
+    @Test
+    fun concurrentProducersDontLoseElements() {
+        val buffer = MetricRingBuffer<Int>(1024)
+        val start = CountDownLatch(1)
+        val polled = mutableListOf<Int>()
+
+        val producers = (0 until 4).map { producer ->
+            thread {
+                start.await()
+                repeat(10_000) {
+                    val element = producer * 10_000 + it
+                    while (!buffer.offer(element)) {
+                        Thread.yield()
+                    }
+                }
+            }
+        }
+        start.countDown()
+        while (polled.size < 40_000) {
+            buffer.poll()?.let { polled.add(it) } ?: Thread.yield()
+        }
+        producers.forEach { it.join() }
+
+        assertThat(polled).hasSize(40_000).doesNotHaveDuplicates()
+        // each producer's elements come out in the order it added them
+        assertThat(polled.filter { it < 10_000 }).isSorted()
+    }
+}
@@ -5,24 +5,32 @@ package software.aws.toolkit.core.telemetry
 
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Before
+import org.junit.Rule
 import org.junit.Test
+import org.junit.rules.TemporaryFolder
 import org.mockito.ArgumentMatchers.anyCollection
 import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.doAnswer
 import org.mockito.kotlin.doThrow
 import org.mockito.kotlin.mock
 import org.mockito.kotlin.stub
+import org.mockito.kotlin.timeout
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyBlocking
 import org.mockito.kotlin.verifyNoMoreInteractions
 import org.mockito.stubbing.Answer
 import software.amazon.awssdk.core.exception.SdkServiceException
+import software.aws.toolkit.core.utils.test.retryableAssert
 import java.time.Instant
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
 
 class TelemetryBatcherTest {
+    @Rule
+    @JvmField
+    val tempFolder = TemporaryFolder()
+
     private var publisher: TelemetryPublisher = mock()
     private var batcher = DefaultTelemetryBatcher(publisher, MAX_BATCH_SIZE, MAX_QUEUE_SIZE)
 
@@ -61,7 +69,7 @@ class TelemetryBatcherTest {
         }
         batcher.flush(false)
 
-        verifyBlocking(publisher, times(2)) { publish(publishCaptor.capture()) }
+        verifyBlocking(publisher, timeout(5000).times(2)) { publish(publishCaptor.capture()) }
 
         assertThat(publishCaptor.allValues).hasSize(2)
         assertThat(publishCaptor.firstValue).hasSize(MAX_BATCH_SIZE)
@@ -80,10 +88,12 @@ class TelemetryBatcherTest {
         batcher.enqueue(createEmptyMetricEvent())
         batcher.flush(true)
 
-        verifyBlocking(publisher, times(1)) { publish(publishCaptor.capture()) }
+        verifyBlocking(publisher, timeout(5000).times(1)) { publish(publishCaptor.capture()) }
 
         assertThat(publishCaptor.allValues).hasSize(1)
-        assertThat(batcher.eventQueue).hasSize(1)
+        retryableAssert {
+            assertThat(batcher.eventQueue).hasSize(1)
+        }
     }
 
     @Test
@@ -99,7 +109,7 @@ class TelemetryBatcherTest {
         batcher.enqueue(createEmptyMetricEvent())
         batcher.flush(true)
 
-        verifyBlocking(publisher, times(1)) { publish(publishCaptor.capture()) }
+        verifyBlocking(publisher, timeout(5000).times(1)) { publish(publishCaptor.capture()) }
 
         assertThat(publishCaptor.allValues).hasSize(1)
         assertThat(batcher.eventQueue).hasSize(0)
@@ -185,6 +195,154 @@ class TelemetryBatcherTest {
         assertThat(publishCaptor.firstValue.contains(fooMetricEvent))
     }
 
+    @Test
+    fun testOverflowIsSpilledToDisk() {
+        val publishCaptor = argumentCaptor<Collection<MetricEvent>>()
+        val spillFile = tempFolder.root.toPath().resolve("spill.ndjson")
+        val spillingBatcher = DefaultTelemetryBatcher(publisher, MAX_BATCH_SIZE, MAX_QUEUE_SIZE, spillFile = spillFile)
+        spillingBatcher.onTelemetryEnabledChanged(true)
+
+        // the queue holds 16 once rounded up to a power of two
+        repeat(20) {
+            spillingBatcher.enqueue(createMetricEvent("event$it"))
+        }
+        assertThat(spillFile).exists()
+        spillingBatcher.flush(false)
+
+        verifyBlocking(publisher, timeout(5000).times(4)) { publish(publishCaptor.capture()) }
+        assertThat(publishCaptor.allValues.flatten().map { it.data.single().name }).containsExactlyInAnyOrderElementsOf((0 until 20).map { "event$it" })
+        assertThat(spillFile).doesNotExist()
+    }
+
+    @Test
+    fun testUnpublishedEventsSurviveRestart() {
+        val spillFile = tempFolder.root.toPath().resolve("spill.ndjson")
+        val event = createMetricEvent("event")
+        publisher.stub {
+            onBlocking { publisher.publish(anyCollection()) }
+                .doThrow(RuntimeException("Network is down"))
+        }
+        DefaultTelemetryBatcher(publisher, MAX_BATCH_SIZE, MAX_QUEUE_SIZE, spillFile = spillFile).apply {
+            onTelemetryEnabledChanged(true)
+            enqueue(event)
+            shutdown()
+        }
+
+        val publishCaptor = argumentCaptor<Collection<MetricEvent>>()
+        val nextPublisher = mock<TelemetryPublisher>()
+        DefaultTelemetryBatcher(nextPublisher, MAX_BATCH_SIZE, MAX_QUEUE_SIZE, spillFile = spillFile).apply {
+            onTelemetryEnabledChanged(true)
+            flush(true)
+        }
+
+        verifyBlocking(nextPublisher, timeout(5000)) { publish(publishCaptor.capture()) }
+        assertThat(publishCaptor.firstValue).containsExactly(event)
+    }
+
+    @Test
+    fun testRetryIsBackedOff() {
+        val publishCaptor = argumentCaptor<Collection<MetricEvent>>()
+        val retryingBatcher = DefaultTelemetryBatcher(publisher, MAX_BATCH_SIZE, MAX_QUEUE_SIZE, initialRetryDelayMillis = 10)
+        retryingBatcher.onTelemetryEnabledChanged(true)
+        publisher.stub {
+            onBlocking { publisher.publish(anyCollection()) }
+                .doThrow(RuntimeException("Mock exception"))
+                .doAnswer(Answer {})
+        }
+
+        retryingBatcher.enqueue(createEmptyMetricEvent())
+        retryingBatcher.flush(true)
+
+        verifyBlocking(publisher, timeout(5000).times(2)) { publish(publishCaptor.capture()) }
+        assertThat(publishCaptor.secondValue).hasSize(1)
+        assertThat(retryingBatcher.eventQueue).isEmpty()
+    }
+
+    @Test
+    fun testFlushDoesNotWaitForPublishing() {
+        val release = CountDownLatch(1)
+        publisher.stub {
+            onBlocking { publisher.publish(anyCollection()) }
+                .doAnswer {
+                    release.await()
+                    Unit
+                }
+        }
+
+        batcher.enqueue(createEmptyMetricEvent())
+        // returns while the publish is still blocked
+        batcher.flush(false)
+        verifyBlocking(publisher, timeout(5000)) { publish(anyCollection()) }
+
+        release.countDown()
+    }
+
+    @Test
+    fun testShutdownWaitsForRunningFlush() {
+        val publishing = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        publisher.stub {
+            onBlocking { publisher.publish(anyCollection()) }
+                .doAnswer {
+                    publishing.countDown()
+                    release.await()
+                    Unit
+                }
+                .doAnswer(Answer {})
+        }
+
+        batcher.enqueue(createEmptyMetricEvent())
+        batcher.flush(false)
+        assertThat(publishing.await(5, TimeUnit.SECONDS)).isTrue()
+
+        val shutdown = Thread { batcher.shutdown() }.apply { start() }
+        shutdown.join(200)
+        assertThat(shutdown.isAlive).isTrue()
+
+        release.countDown()
+        shutdown.join(5000)
+        assertThat(shutdown.isAlive).isFalse()
+    }
+
+    @Test
+    fun testShutdownWaitsForRunningRetry() {
+        val retryingBatcher = DefaultTelemetryBatcher(publisher, MAX_BATCH_SIZE, MAX_QUEUE_SIZE, initialRetryDelayMillis = 10)
+        retryingBatcher.onTelemetryEnabledChanged(true)
+        val retrying = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        publisher.stub {
+            onBlocking { publisher.publish(anyCollection()) }
+                .doThrow(RuntimeException("Mock exception"))
+                .doAnswer {
+                    retrying.countDown()
+                    release.await()
+                    Unit
+                }
+        }
+
+        retryingBatcher.enqueue(createEmptyMetricEvent())
+        retryingBatcher.flush(true)
+        assertThat(retrying.await(5, TimeUnit.SECONDS)).isTrue()
+
+        val shutdown = Thread { retryingBatcher.shutdown() }.apply { start() }
+        shutdown.join(200)
+        assertThat(shutdown.isAlive).isTrue()
+
+        release.countDown()
+        shutdown.join(5000)
+        assertThat(shutdown.isAlive).isFalse()
+        verifyBlocking(publisher, times(2)) { publish(anyCollection()) }
+        assertThat(retryingBatcher.eventQueue).isEmpty()
+    }
+
+    private fun createMetricEvent(name: String): MetricEvent = DefaultMetricEvent.Companion.builder()
+        .createTime(Instant.ofEpochMilli(1_000))
+        .datum(name) {
+            count()
+            metadata("key", "value")
+        }
+        .build()
+
     private fun createEmptyMetricEvent(): MetricEvent = DefaultMetricEvent.Companion.builder().build()
 
     private fun waitForPublish(publishCountDown: CountDownLatch) {
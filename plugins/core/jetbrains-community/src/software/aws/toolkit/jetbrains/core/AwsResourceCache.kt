@@ -6,12 +6,15 @@ package software.aws.toolkit.jetbrains.core
 import com.intellij.openapi.Disposable
 import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.util.registry.Registry
 import com.intellij.util.Alarm
 import com.intellij.util.AlarmFactory
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.Deferred
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.async
 import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.future.await
 import kotlinx.coroutines.launch
 import org.jetbrains.annotations.VisibleForTesting
 import software.amazon.awssdk.core.SdkClient
@@ -38,6 +41,7 @@ import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionStage
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ConcurrentMap
+import java.util.concurrent.atomic.AtomicLong
 import kotlin.reflect.KClass
 
 typealias AwsResourceCache = migration.software.aws.toolkit.jetbrains.core.AwsResourceCache
@@ -61,6 +65,12 @@ fun <T> Project.getResource(resource: Resource<T>, useStale: Boolean = true, for
 fun <T> Project.getResourceNow(resource: Resource<T>, timeout: Duration = Duration.ofSeconds(30), useStale: Boolean = true, forceFetch: Boolean = false): T =
     AwsResourceCache.getInstance().getResourceNow(resource, this.getConnectionSettingsOrThrow(), timeout, useStale, forceFetch)
 
+/**
+ * Suspending version of [getResource], returns without suspending if an unexpired version is already cached
+ */
+suspend fun <T> Project.awaitResource(resource: Resource<T>): T =
+    getResourceIfPresent(resource, useStale = false) ?: getResource(resource).await()
+
 /**
  * Gets the [resource] if it exists in the cache.
  *
@@ -99,6 +109,13 @@ sealed class Resource<T> {
         open fun expiry(): Duration = DEFAULT_EXPIRY
         abstract val id: String
 
+        /**
+         * If non-null, the result of [fetch] can be persisted across IDE restarts (when enabled) using this codec.
+         *
+         * @see [persistent]
+         */
+        open val codec: ResourceCodec<T>? get() = null
+
         companion object {
             private val DEFAULT_EXPIRY = Duration.ofMinutes(10)
         }
@@ -126,6 +143,18 @@ fun <T> Resource<out Iterable<T>>.filter(predicate: (T) -> Boolean): Resource<Li
 
 fun <T> Resource<out Iterable<T>>.find(predicate: (T) -> Boolean): Resource<T?> = Resource.view(this) { find(predicate) }
 
+/**
+ * Allows the result of this resource to be persisted with [codec] so that it can be served (as a stale value) after an IDE restart
+ */
+fun <T> Resource.Cached<T>.persistent(codec: ResourceCodec<T>): Resource.Cached<T> = PersistentCachedResource(this, codec)
+
+private class PersistentCachedResource<T>(private val delegate: Resource.Cached<T>, override val codec: ResourceCodec<T>) : Resource.Cached<T>() {
+    override val id: String get() = delegate.id
+    override fun fetch(connectionSettings: ClientConnectionSettings<*>): T = delegate.fetch(connectionSettings)
+    override fun expiry(): Duration = delegate.expiry()
+    override fun toString(): String = delegate.toString()
+}
+
 class ClientBackedCachedResource<ReturnType, ClientType : SdkClient>(
     private val sdkClientClass: KClass<ClientType>,
     override val id: String,
@@ -144,16 +173,50 @@ class ClientBackedCachedResource<ReturnType, ClientType : SdkClient>(
     override fun toString(): String = "ClientBackedCachedResource(id='$id')"
 }
 
+/**
+ * Snapshot of the counters of a [DefaultAwsResourceCache]
+ */
+data class ResourceCacheStats(val hitCount: Long, val missCount: Long, val evictionCount: Long) {
+    val requestCount: Long get() = hitCount + missCount
+    val hitRate: Double get() = if (requestCount == 0L) 1.0 else hitCount.toDouble() / requestCount
+}
+
+/**
+ * @param[maximumCacheWeight] the total weight, as determined by [weigher], the cache may hold before [evictionPolicy] is used to remove entries
+ * @param[singleFlight] when true, a [forceFetch] request for a key that already has a fetch in-flight joins that fetch rather than starting another one
+ * @param[staleWhileRevalidate] when true, a [useStale] request for an expired entry is completed immediately with the expired value while the entry is
+ * refreshed in the background
+ * @param[persistentStore] if non-null, resources with a [Resource.Cached.codec] are persisted to it and loaded from it on first use, the loaded value is
+ * served while a live refresh runs
+ */
 @ExperimentalCoroutinesApi
 class DefaultAwsResourceCache(
     private val clock: Clock,
-    private val maximumCacheEntries: Int,
+    private val maximumCacheWeight: Long,
     private val maintenanceInterval: Duration,
+    private val singleFlight: Boolean = true,
+    private val staleWhileRevalidate: Boolean = false,
+    private val weigher: ResourceWeigher = ResourceWeigher.ENTRY_COUNT,
+    private val evictionPolicy: ResourceCacheEvictionPolicy = ExpiryEvictionPolicy(),
+    private val persistentStore: PersistentResourceStore? = null,
 ) : AwsResourceCache, Disposable, ToolkitCredentialsChangeListener {
     private val coroutineScope = disposableCoroutineScope(this)
 
     @Suppress("unused")
-    constructor() : this(Clock.systemDefaultZone(), MAXIMUM_CACHE_ENTRIES, DEFAULT_MAINTENANCE_INTERVAL)
+    constructor() : this(
+        Clock.systemDefaultZone(),
+        MAXIMUM_CACHE_SIZE_BYTES,
+        DEFAULT_MAINTENANCE_INTERVAL,
+        Registry.`is`(SINGLE_FLIGHT_REGISTRY_KEY, true),
+        Registry.`is`(STALE_WHILE_REVALIDATE_REGISTRY_KEY, false),
+        RetainedSizeWeigher(),
+        WindowTinyLfuEvictionPolicy(),
+        if (Registry.`is`(PERSISTENT_REGISTRY_KEY, false)) PersistentResourceStore() else null
+    )
+
+    private val hitCount = AtomicLong()
+    private val missCount = AtomicLong()
+    private val evictionCount = AtomicLong()
 
     private val cache = ConcurrentHashMap<CacheKey, Entry<*>>()
     private val alarm = AlarmFactory.getInstance().create(Alarm.ThreadToUse.POOLED_THREAD, this)
@@ -216,11 +279,28 @@ class DefaultAwsResourceCache(
         pluginAwareExecuteOnPooledThread {
             var currentValue: Entry<T>? = null
             try {
+                val persisted = loadPersisted(context)
+
                 @Suppress("UNCHECKED_CAST")
                 val result = cache.compute(context.cacheKey) { _, value ->
                     currentValue = value as Entry<T>?
-                    fetchIfNeeded(context, currentValue)
+                    if (currentValue == null && persisted != null) {
+                        revalidate(context, persisted)
+                    } else {
+                        fetchIfNeeded(context, currentValue)
+                    }
                 } as Entry<T>
+                recordAccess(context.cacheKey, result, hit = result === currentValue)
+
+                val stale = result.previous
+                if (stale != null && result !== currentValue) {
+                    // registered outside of compute since the handler may run immediately and update the same key
+                    restoreOnFailure(context, result, stale)
+                }
+                if (stale != null && context.serveStale && (result.value.isActive || result.value.isCompletedExceptionally)) {
+                    context.future.complete(stale.value.getCompleted())
+                    return@pluginAwareExecuteOnPooledThread
+                }
 
                 coroutineScope.launch {
                     try {
@@ -250,19 +330,44 @@ class DefaultAwsResourceCache(
 
     @VisibleForTesting
     fun doRunCacheMaintenance() {
-        var totalWeight = 0
         cache.entries.removeIf { it.value.value.isCompletedExceptionally }
-        val entries = cache.entries.asSequence().filter { it.value.value.isCompleted }.onEach { totalWeight += it.value.weight }.toList()
-        var exceededWeight = totalWeight - maximumCacheEntries
+        val entries = cache.entries.asSequence()
+            .filter { it.value.value.isCompleted }
+            .associate { (key, value) -> EvictionCandidate(key, value.weight(), value.expiry, value.lastAccess) to value }
+        var exceededWeight = entries.keys.sumOf { it.weight } - maximumCacheWeight
         if (exceededWeight <= 0) return
-        entries.sortedBy { it.value.expiry }.forEach { (key, value) ->
+        evictionPolicy.selectVictims(entries.keys.toList(), maximumCacheWeight, exceededWeight).forEach { candidate ->
             if (exceededWeight <= 0) return@doRunCacheMaintenance
-            if (cache.computeRemoveIf(key) { it === value }) {
-                exceededWeight -= value.weight
+            val value = entries[candidate] ?: return@forEach
+            if (cache.computeRemoveIf(candidate.key as CacheKey) { it === value }) {
+                exceededWeight -= candidate.weight
+                evictionCount.incrementAndGet()
             }
         }
     }
 
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters of this cache
+     */
+    fun stats(): ResourceCacheStats = ResourceCacheStats(hitCount.get(), missCount.get(), evictionCount.get())
+
+    private fun recordAccess(key: CacheKey, entry: Entry<*>?, hit: Boolean) {
+        evictionPolicy.recordAccess(key)
+        if (hit) {
+            hitCount.incrementAndGet()
+            entry?.lastAccess = clock.instant()
+        } else {
+            missCount.incrementAndGet()
+        }
+    }
+
+    private fun Entry<*>.weight(): Long {
+        cachedWeight.takeIf { it >= 0 }?.let { return it }
+        val weight = if (value.isCompleted && value.getCompletionExceptionOrNull() == null) weigher.weigh(value.getCompleted()) else 1
+        cachedWeight = weight
+        return weight
+    }
+
     private fun scheduleCacheMaintenance() {
         if (!alarm.isDisposed) {
             alarm.addRequest(this::runCacheMaintenance, maintenanceInterval.toMillis())
@@ -277,8 +382,9 @@ class DefaultAwsResourceCache(
                 when {
                     entry != null && (useStale || entry.notExpired) &&
                         entry.value.isCompleted && entry.value.getCompletionExceptionOrNull() == null -> entry.value.getCompleted()
+                    useStale -> entry?.previous?.value?.getCompleted()
                     else -> null
-                }
+                }.also { recordAccess(key, entry, hit = it != null) }
             }
             is Resource.View<*, T> -> getResourceIfPresent(resource.underlying, region, credentialProvider, useStale)?.let {
                 resource.doMap(
@@ -296,8 +402,9 @@ class DefaultAwsResourceCache(
                 when {
                     entry != null && (useStale || entry.notExpired) &&
                         entry.value.isCompleted && entry.value.getCompletionExceptionOrNull() == null -> entry.value.getCompleted()
+                    useStale -> entry?.previous?.value?.getCompleted()
                     else -> null
-                }
+                }.also { recordAccess(key, entry, hit = it != null) }
             }
             is Resource.View<*, T> -> getResourceIfPresent(resource.underlying, region, tokenProvider, useStale)?.let {
                 resource.doMap(
@@ -309,21 +416,31 @@ class DefaultAwsResourceCache(
 
     override fun clear(resource: Resource<*>, connectionSettings: ClientConnectionSettings<*>) {
         when (resource) {
-            is Resource.Cached<*> -> cache.remove(CacheKey(resource.id, connectionSettings.region.id, connectionSettings.providerId))
+            is Resource.Cached<*> -> {
+                cache.remove(CacheKey(resource.id, connectionSettings.region.id, connectionSettings.providerId))
+                persistentStore?.remove(resource.id, connectionSettings.region.id, connectionSettings.providerId)
+            }
             is Resource.View<*, *> -> clear(resource.underlying, connectionSettings)
         }
     }
 
     override suspend fun clear() {
-        coroutineScope { launch { cache.clear() } }
+        coroutineScope {
+            launch {
+                cache.clear()
+                persistentStore?.clear()
+            }
+        }
     }
 
     override fun clear(connectionSettings: ClientConnectionSettings<*>) {
         cache.keys.removeIf { it.providerId == connectionSettings.providerId && it.regionId == connectionSettings.region.id }
+        persistentStore?.clear(connectionSettings.region.id, connectionSettings.providerId)
     }
 
     override fun dispose() {
-        coroutineScope.launch { clear() }
+        // only drop the in-memory entries, persisted entries are intended to outlive the IDE session
+        coroutineScope.launch { cache.clear() }
     }
 
     override fun providerRemoved(identifier: CredentialIdentifier) = clearByCredential(identifier.id)
@@ -332,16 +449,57 @@ class DefaultAwsResourceCache(
 
     private fun clearByCredential(providerId: String) {
         cache.keys.removeIf { it.providerId == providerId }
+        persistentStore?.clear(providerId)
     }
 
     private fun <T> fetchIfNeeded(context: Context<T>, currentEntry: Entry<T>?) = when {
         currentEntry == null -> fetch(context)
         currentEntry.value.isCompletedExceptionally -> fetch(context)
+        currentEntry.value.isActive && singleFlight -> currentEntry
         currentEntry.notExpired && !context.forceFetch -> currentEntry
+        staleWhileRevalidate && context.serveStale -> revalidate(context, currentEntry)
         context.useStale -> fetchWithFallback(context, currentEntry)
         else -> fetch(context)
     }
 
+    private val Context<*>.serveStale get() = useStale && !forceFetch
+
+    /**
+     * Loads the persisted snapshot of the resource as an already expired entry, if this is the first time the resource has been requested
+     */
+    private fun <T> loadPersisted(context: Context<T>): Entry<T>? {
+        val store = persistentStore ?: return null
+        if (context.resource.codec == null || !context.serveStale || cache.containsKey(context.cacheKey)) return null
+        val value = store.load(context.resource, context.cacheKey.regionId, context.cacheKey.providerId) ?: return null
+        val now = clock.instant()
+        return Entry(now, CompletableDeferred(value), now)
+    }
+
+    /**
+     * Starts a background refresh of [currentEntry], keeping it as the [Entry.previous] of the new entry so that callers can be served the expired
+     * value until the refresh completes. Runs inside [ConcurrentHashMap.compute], see [restoreOnFailure] for what happens once the refresh completes.
+     */
+    private fun <T> revalidate(context: Context<T>, currentEntry: Entry<T>): Entry<T> {
+        val entry = fetch(context)
+        entry.previous = currentEntry
+        return entry
+    }
+
+    /**
+     * Restores the expired [previous] entry if the refresh in [entry] fails so the next request can try again. Must not be called from within
+     * [ConcurrentHashMap.compute] since the refresh may already have failed, in which case the handler runs on the calling thread.
+     */
+    private fun <T> restoreOnFailure(context: Context<T>, entry: Entry<T>, previous: Entry<T>) {
+        entry.value.invokeOnCompletion { error ->
+            if (error == null) {
+                entry.previous = null
+            } else {
+                LOG.warn(error) { "Failed to revalidate resource using ${context.cacheKey}, keeping expired entry" }
+                cache.computeIfPresent(context.cacheKey) { _, value -> if (value === entry) previous else value }
+            }
+        }
+    }
+
     private val Deferred<*>.isCompletedExceptionally get() = isCompleted && getCompletionExceptionOrNull() != null
 
     private fun <T> fetchWithFallback(context: Context<T>, currentEntry: Entry<T>) = try {
@@ -356,7 +514,17 @@ class DefaultAwsResourceCache(
             context.resource.fetch(context.connectionSettings)
         }
 
-        return Entry(clock.instant().plus(context.resource.expiry()), value)
+        if (persistentStore != null && context.resource.codec != null) {
+            value.invokeOnCompletion { error ->
+                if (error == null) {
+                    coroutineScope.launch {
+                        persistentStore.save(context.resource, context.cacheKey.regionId, context.cacheKey.providerId, value.getCompleted())
+                    }
+                }
+            }
+        }
+
+        return Entry(clock.instant().plus(context.resource.expiry()), value, clock.instant())
     }
 
     private val Entry<*>.notExpired get() = value.isActive || clock.instant().isBefore(expiry)
@@ -366,7 +534,10 @@ class DefaultAwsResourceCache(
 
     companion object {
         private val LOG = getLogger<DefaultAwsResourceCache>()
-        private const val MAXIMUM_CACHE_ENTRIES = 1000
+        private const val MAXIMUM_CACHE_SIZE_BYTES = 64L * 1024 * 1024
+        private const val SINGLE_FLIGHT_REGISTRY_KEY = "aws.resourceCache.singleFlight"
+        private const val STALE_WHILE_REVALIDATE_REGISTRY_KEY = "aws.resourceCache.staleWhileRevalidate"
+        private const val PERSISTENT_REGISTRY_KEY = "aws.resourceCache.persistent"
         private val DEFAULT_MAINTENANCE_INTERVAL: Duration = Duration.ofMinutes(5)
 
         private data class CacheKey(val resourceId: String, val regionId: String, val providerId: String)
@@ -382,16 +553,18 @@ class DefaultAwsResourceCache(
             val future = CompletableFuture<T>()
         }
 
-        private class Entry<T>(val expiry: Instant, val value: Deferred<T>) {
-            val weight: Int
-                get() = if (value.isCompleted && value.getCompletionExceptionOrNull() == null) {
-                    when (val underlying = value.getCompleted()) {
-                        is Collection<*> -> underlying.size
-                        else -> 1
-                    }
-                } else {
-                    1
-                }
+        private class Entry<T>(val expiry: Instant, val value: Deferred<T>, @Volatile var lastAccess: Instant) {
+            /**
+             * The successfully completed entry this one is refreshing, if it is being served while stale
+             */
+            @Volatile
+            var previous: Entry<T>? = null
+
+            /**
+             * Weight of the completed value, computed once since estimating it may walk the whole value
+             */
+            @Volatile
+            var cachedWeight: Long = -1
         }
 
         private fun <T> ConcurrentMap<CacheKey, Entry<*>>.getTyped(key: CacheKey) = this[key]?.let {
@@ -0,0 +1,136 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.core
+
+import com.intellij.openapi.application.PathManager
+import software.aws.toolkit.core.utils.createParentDirectories
+import software.aws.toolkit.core.utils.deleteIfExists
+import software.aws.toolkit.core.utils.exists
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.inputStreamIfExists
+import software.aws.toolkit.core.utils.outputStream
+import software.aws.toolkit.core.utils.toHexString
+import software.aws.toolkit.core.utils.warn
+import java.io.BufferedInputStream
+import java.io.BufferedOutputStream
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+
+/**
+ * On-disk snapshots of [Resource.Cached] values that have a [Resource.Cached.codec], used by the [DefaultAwsResourceCache] to serve the last known value
+ * of a resource immediately after an IDE restart while a live refresh runs.
+ *
+ * Snapshots are stored one file per resource, grouped by credential and region so they can be cleared on the same dimensions as the cache:
+ * `<root>/<sha256(providerId)>/<regionId>/<sha256(resourceId)>`
+ */
+class PersistentResourceStore(
+    private val root: Path = Paths.get(PathManager.getSystemPath(), "aws-resource-cache"),
+    private val clock: Clock = Clock.systemUTC(),
+    private val maximumAge: Duration = DEFAULT_MAXIMUM_AGE,
+) {
+    /**
+     * Loads the snapshot for the given key, returning null if none exists, it is older than [maximumAge] or it cannot be read
+     */
+    fun <T> load(resource: Resource.Cached<T>, regionId: String, providerId: String): T? {
+        val codec = resource.codec ?: return null
+        val file = snapshotFile(resource.id, regionId, providerId)
+        return try {
+            val stream = file.inputStreamIfExists() ?: return null
+            DataInputStream(BufferedInputStream(GZIPInputStream(stream))).use { input ->
+                if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || input.readUTF() != resource.id) {
+                    null
+                } else if (Instant.ofEpochMilli(input.readLong()).plus(maximumAge).isBefore(clock.instant())) {
+                    null
+                } else {
+                    codec.read(input)
+                }
+            }.also {
+                if (it == null) {
+                    file.deleteIfExists()
+                }
+            }
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to load persisted resource ${resource.id}, discarding snapshot" }
+            tryDelete(file)
+            null
+        }
+    }
+
+    fun <T> save(resource: Resource.Cached<T>, regionId: String, providerId: String, value: T) {
+        val codec = resource.codec ?: return
+        val file = snapshotFile(resource.id, regionId, providerId)
+        val temp = file.resolveSibling("${file.fileName}.tmp")
+        try {
+            temp.createParentDirectories()
+            DataOutputStream(BufferedOutputStream(GZIPOutputStream(temp.outputStream()))).use { output ->
+                output.writeInt(MAGIC)
+                output.writeInt(FORMAT_VERSION)
+                output.writeUTF(resource.id)
+                output.writeLong(clock.millis())
+                codec.write(value, output)
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to persist resource ${resource.id}" }
+            tryDelete(temp)
+        }
+    }
+
+    fun remove(resourceId: String, regionId: String, providerId: String) {
+        tryDelete(snapshotFile(resourceId, regionId, providerId))
+    }
+
+    fun clear(regionId: String, providerId: String) {
+        deleteRecursively(providerDirectory(providerId).resolve(regionId))
+    }
+
+    fun clear(providerId: String) {
+        deleteRecursively(providerDirectory(providerId))
+    }
+
+    fun clear() {
+        deleteRecursively(root)
+    }
+
+    private fun providerDirectory(providerId: String) = root.resolve(sha256(providerId))
+
+    private fun snapshotFile(resourceId: String, regionId: String, providerId: String) =
+        providerDirectory(providerId).resolve(regionId).resolve(sha256(resourceId))
+
+    private fun deleteRecursively(path: Path) {
+        if (!path.exists()) return
+        try {
+            path.toFile().deleteRecursively()
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to delete persisted resources in $path" }
+        }
+    }
+
+    private fun tryDelete(path: Path) {
+        try {
+            path.deleteIfExists()
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to delete persisted resource $path" }
+        }
+    }
+
+    private companion object {
+        val LOG = getLogger<PersistentResourceStore>()
+        const val MAGIC = 0x41525343 // ARSC
+        const val FORMAT_VERSION = 1
+        val DEFAULT_MAXIMUM_AGE: Duration = Duration.ofDays(7)
+
+        fun sha256(value: String) = MessageDigest.getInstance("SHA-256").digest(value.toByteArray(Charsets.UTF_8)).toHexString()
+    }
+}
@@ -0,0 +1,152 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.core
+
+import java.time.Instant
+
+/**
+ * A completed entry in the [DefaultAwsResourceCache] that may be evicted during cache maintenance.
+ *
+ * @param[key] opaque identity of the entry, stable for the lifetime of the entry
+ * @param[weight] the weight of the entry as determined by the cache's [ResourceWeigher]
+ */
+class EvictionCandidate(val key: Any, val weight: Long, val expiry: Instant, val lastAccess: Instant)
+
+/**
+ * Decides which entries are removed from the [DefaultAwsResourceCache] once its total weight exceeds the configured maximum.
+ */
+interface ResourceCacheEvictionPolicy {
+    /**
+     * Called every time an entry is requested from the cache, whether it was a hit or a miss
+     */
+    fun recordAccess(key: Any) {}
+
+    /**
+     * Returns [candidates] in the order they should be evicted. The cache removes entries in this order until at least [excessWeight] has been freed.
+     */
+    fun selectVictims(candidates: List<EvictionCandidate>, maximumWeight: Long, excessWeight: Long): Sequence<EvictionCandidate>
+}
+
+/**
+ * Evicts the entries that expire soonest first, regardless of how often they are used.
+ */
+class ExpiryEvictionPolicy : ResourceCacheEvictionPolicy {
+    override fun selectVictims(candidates: List<EvictionCandidate>, maximumWeight: Long, excessWeight: Long): Sequence<EvictionCandidate> =
+        candidates.sortedBy { it.expiry }.asSequence()
+}
+
+/**
+ * A Window TinyLFU style policy adapted to periodic, batch eviction.
+ *
+ * The most recently accessed entries, up to [windowPercentage] of the maximum weight, form the admission window and are only evicted once the rest of
+ * the cache has been exhausted. Entries outside the window are evicted in order of their estimated access frequency (as tracked by a [FrequencySketch]),
+ * with heavier entries evicted first amongst entries of equal frequency. This prevents a single, large and rarely used result from pushing out many small,
+ * frequently used ones.
+ */
+class WindowTinyLfuEvictionPolicy(
+    expectedEntries: Int = DEFAULT_EXPECTED_ENTRIES,
+    private val windowPercentage: Int = DEFAULT_WINDOW_PERCENTAGE,
+) : ResourceCacheEvictionPolicy {
+    private val sketch = FrequencySketch(expectedEntries)
+
+    init {
+        require(windowPercentage in 0..100) { "windowPercentage must be between 0 and 100" }
+    }
+
+    override fun recordAccess(key: Any) {
+        sketch.increment(key)
+    }
+
+    fun frequency(key: Any): Int = sketch.frequency(key)
+
+    override fun selectVictims(candidates: List<EvictionCandidate>, maximumWeight: Long, excessWeight: Long): Sequence<EvictionCandidate> {
+        val windowWeight = maximumWeight * windowPercentage / 100
+        val window = mutableListOf<EvictionCandidate>()
+        val main = mutableListOf<EvictionCandidate>()
+
+        var usedWindowWeight = 0L
+        candidates.sortedByDescending { it.lastAccess }.forEach {
+            if (usedWindowWeight + it.weight <= windowWeight) {
+                usedWindowWeight += it.weight
+                window.add(it)
+            } else {
+                main.add(it)
+            }
+        }
+
+        val mainVictims = main.map { it to sketch.frequency(it.key) }
+            .sortedWith(compareBy<Pair<EvictionCandidate, Int>> { it.second }.thenByDescending { it.first.weight }.thenBy { it.first.lastAccess })
+            .map { it.first }
+
+        return mainVictims.asSequence() + window.asReversed().asSequence()
+    }
+
+    private companion object {
+        const val DEFAULT_EXPECTED_ENTRIES = 1000
+        const val DEFAULT_WINDOW_PERCENTAGE = 1
+    }
+}
+
+/**
+ * A count-min sketch of 4-bit counters used to estimate how often a key has been accessed. Counters are halved once [sampleSize] increments have been
+ * recorded so that the estimate favours recent activity.
+ */
+internal class FrequencySketch(expectedEntries: Int) {
+    private val width = Integer.highestOneBit(maxOf(expectedEntries, MIN_WIDTH) - 1) shl 1
+    private val table = Array(DEPTH) { ByteArray(width) }
+    private val sampleSize = width * SAMPLE_MULTIPLIER
+    private var additions = 0
+
+    @Synchronized
+    fun increment(key: Any) {
+        val hash = spread(key.hashCode())
+        var incremented = false
+        for (row in 0 until DEPTH) {
+            val index = indexOf(hash, row)
+            if (table[row][index] < MAX_COUNT) {
+                table[row][index]++
+                incremented = true
+            }
+        }
+
+        if (incremented && ++additions >= sampleSize) {
+            reset()
+        }
+    }
+
+    @Synchronized
+    fun frequency(key: Any): Int {
+        val hash = spread(key.hashCode())
+        return (0 until DEPTH).minOf { table[it][indexOf(hash, it)].toInt() }
+    }
+
+    private fun reset() {
+        table.forEach { row ->
+            for (i in row.indices) {
+                row[i] = (row[i].toInt() ushr 1).toByte()
+            }
+        }
+        additions /= 2
+    }
+
+    private fun indexOf(hash: Int, row: Int): Int {
+        val h = (hash + SEEDS[row] * hash) xor (hash ushr (row * 8 + 1))
+        return spread(h) and (width - 1)
+    }
+
+    private fun spread(hash: Int): Int {
+        var h = hash
+        h = ((h ushr 16) xor h) * 0x45d9f3b
+        h = ((h ushr 16) xor h) * 0x45d9f3b
+        return (h ushr 16) xor h
+    }
+
+    private companion object {
+        const val DEPTH = 4
+        const val MIN_WIDTH = 16
+        const val MAX_COUNT: Byte = 15
+        const val SAMPLE_MULTIPLIER = 10
+        val SEEDS = intArrayOf(0x61c88647, 0x3c6ef372, 0x7ad70bd9, 0x5bd1e995)
+    }
+}
@@ -0,0 +1,161 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.core
+
+import software.amazon.awssdk.core.SdkBytes
+import software.amazon.awssdk.core.SdkField
+import software.amazon.awssdk.core.SdkPojo
+import software.amazon.awssdk.core.protocol.MarshallingType
+import software.amazon.awssdk.core.traits.ListTrait
+import software.amazon.awssdk.core.traits.MapTrait
+import software.amazon.awssdk.core.util.SdkAutoConstructList
+import software.amazon.awssdk.core.util.SdkAutoConstructMap
+import software.amazon.awssdk.utils.builder.SdkBuilder
+import java.io.DataInputStream
+import java.io.DataOutputStream
+import java.math.BigDecimal
+import java.time.Instant
+
+/**
+ * Converts the value of a [Resource.Cached] to and from a compact binary form so it can be persisted by a [PersistentResourceStore].
+ */
+interface ResourceCodec<T> {
+    fun write(value: T, output: DataOutputStream)
+    fun read(input: DataInputStream): T
+
+    companion object {
+        val STRING: ResourceCodec<String> = object : ResourceCodec<String> {
+            override fun write(value: String, output: DataOutputStream) = output.writeString(value)
+            override fun read(input: DataInputStream): String = input.readString()
+        }
+
+        fun <T> list(elementCodec: ResourceCodec<T>): ResourceCodec<List<T>> = object : ResourceCodec<List<T>> {
+            override fun write(value: List<T>, output: DataOutputStream) {
+                output.writeInt(value.size)
+                value.forEach { elementCodec.write(it, output) }
+            }
+
+            override fun read(input: DataInputStream): List<T> = List(input.readInt()) { elementCodec.read(input) }
+        }
+
+        /**
+         * Codec for AWS SDK model objects, e.g. `ResourceCodec.sdkPojo(FunctionConfiguration::builder)`
+         *
+         * @param members when set, only these top level members (by their service name, e.g. `FunctionName`) are written, the rest are dropped
+         */
+        fun <T : SdkPojo> sdkPojo(builder: () -> SdkBuilder<*, T>, members: Set<String>? = null): ResourceCodec<T> = SdkPojoCodec(builder, members)
+    }
+}
+
+/**
+ * Writes the members of an SDK model object using its [SdkField] metadata. Members are written by name so that a snapshot written by an older SDK
+ * can still be read as long as the members it contains still exist, an unknown member fails the read.
+ */
+private class SdkPojoCodec<T : SdkPojo>(private val builder: () -> SdkBuilder<*, T>, private val members: Set<String>?) : ResourceCodec<T> {
+    override fun write(value: T, output: DataOutputStream) = writePojo(value, output, members)
+
+    @Suppress("UNCHECKED_CAST")
+    override fun read(input: DataInputStream): T = readPojo(builder() as SdkPojo, input) as T
+
+    private fun writePojo(pojo: SdkPojo, output: DataOutputStream, members: Set<String>? = null) {
+        val values = pojo.sdkFields()
+            .filter { members == null || it.memberName() in members }
+            .mapNotNull { field -> field.getValueOrDefault(pojo)?.takeUnless { it.isAutoConstruct() }?.let { field to it } }
+        output.writeInt(values.size)
+        values.forEach { (field, value) ->
+            output.writeUTF(field.memberName())
+            writeValue(field, value, output)
+        }
+    }
+
+    private fun readPojo(builder: SdkPojo, input: DataInputStream): SdkPojo {
+        val fields = builder.sdkFields().associateBy { it.memberName() }
+        repeat(input.readInt()) {
+            val name = input.readUTF()
+            val field = fields[name] ?: throw IllegalStateException("Unknown member $name in ${builder.javaClass.name}")
+            field.set(builder, readValue(field, input))
+        }
+        return (builder as SdkBuilder<*, *>).build() as SdkPojo
+    }
+
+    private fun writeValue(field: SdkField<*>, value: Any?, output: DataOutputStream) {
+        output.writeBoolean(value != null)
+        value ?: return
+        when (field.marshallingType()) {
+            MarshallingType.STRING -> output.writeString(value as String)
+            MarshallingType.INTEGER -> output.writeInt(value as Int)
+            MarshallingType.LONG -> output.writeLong(value as Long)
+            MarshallingType.SHORT -> output.writeShort((value as Short).toInt())
+            MarshallingType.DOUBLE -> output.writeDouble(value as Double)
+            MarshallingType.FLOAT -> output.writeFloat(value as Float)
+            MarshallingType.BOOLEAN -> output.writeBoolean(value as Boolean)
+            MarshallingType.BIG_DECIMAL -> output.writeString((value as BigDecimal).toString())
+            MarshallingType.INSTANT -> (value as Instant).let {
+                output.writeLong(it.epochSecond)
+                output.writeInt(it.nano)
+            }
+            MarshallingType.SDK_BYTES -> (value as SdkBytes).asByteArrayUnsafe().let {
+                output.writeInt(it.size)
+                output.write(it)
+            }
+            MarshallingType.SDK_POJO -> writePojo(value as SdkPojo, output)
+            MarshallingType.LIST -> {
+                val member = field.getTrait(ListTrait::class.java).memberFieldInfo()
+                val list = value as List<*>
+                output.writeInt(list.size)
+                list.forEach { writeValue(member, it, output) }
+            }
+            MarshallingType.MAP -> {
+                val member = field.getTrait(MapTrait::class.java).valueFieldInfo()
+                val map = value as Map<*, *>
+                output.writeInt(map.size)
+                map.forEach { (k, v) ->
+                    output.writeString(k as String)
+                    writeValue(member, v, output)
+                }
+            }
+            else -> throw IllegalArgumentException("Unsupported marshalling type ${field.marshallingType()} for ${field.memberName()}")
+        }
+    }
+
+    private fun readValue(field: SdkField<*>, input: DataInputStream): Any? {
+        if (!input.readBoolean()) return null
+        return when (field.marshallingType()) {
+            MarshallingType.STRING -> input.readString()
+            MarshallingType.INTEGER -> input.readInt()
+            MarshallingType.LONG -> input.readLong()
+            MarshallingType.SHORT -> input.readShort()
+            MarshallingType.DOUBLE -> input.readDouble()
+            MarshallingType.FLOAT -> input.readFloat()
+            MarshallingType.BOOLEAN -> input.readBoolean()
+            MarshallingType.BIG_DECIMAL -> BigDecimal(input.readString())
+            MarshallingType.INSTANT -> Instant.ofEpochSecond(input.readLong(), input.readInt().toLong())
+            MarshallingType.SDK_BYTES -> SdkBytes.fromByteArrayUnsafe(ByteArray(input.readInt()).also { input.readFully(it) })
+            MarshallingType.SDK_POJO -> readPojo(field.constructor().get(), input)
+            MarshallingType.LIST -> {
+                val member = field.getTrait(ListTrait::class.java).memberFieldInfo()
+                List(input.readInt()) { readValue(member, input) }
+            }
+            MarshallingType.MAP -> {
+                val member = field.getTrait(MapTrait::class.java).valueFieldInfo()
+                val size = input.readInt()
+                LinkedHashMap<String, Any?>(size).apply {
+                    repeat(size) { put(input.readString(), readValue(member, input)) }
+                }
+            }
+            else -> throw IllegalArgumentException("Unsupported marshalling type ${field.marshallingType()} for ${field.memberName()}")
+        }
+    }
+
+    private fun Any.isAutoConstruct() = this is SdkAutoConstructList<*> || this is SdkAutoConstructMap<*, *>
+}
+
+// DataOutputStream.writeUTF is limited to 64KB, which is too small for some values (e.g. policy documents)
+private fun DataOutputStream.writeString(value: String) {
+    val bytes = value.toByteArray(Charsets.UTF_8)
+    writeInt(bytes.size)
+    write(bytes)
+}
+
+private fun DataInputStream.readString(): String = String(ByteArray(readInt()).also { readFully(it) }, Charsets.UTF_8)
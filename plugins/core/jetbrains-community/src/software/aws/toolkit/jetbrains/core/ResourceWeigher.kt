@@ -0,0 +1,77 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.core
+
+import software.amazon.awssdk.core.SdkPojo
+import java.time.temporal.Temporal
+
+/**
+ * Determines the weight of a value held by the [DefaultAwsResourceCache], the cache evicts entries once the sum of weights exceeds its maximum.
+ */
+fun interface ResourceWeigher {
+    fun weigh(value: Any?): Long
+
+    companion object {
+        /**
+         * Collections get 1 point per element, everything else gets 1 point
+         */
+        val ENTRY_COUNT = ResourceWeigher {
+            when (it) {
+                is Collection<*> -> it.size.toLong()
+                else -> 1
+            }
+        }
+    }
+}
+
+/**
+ * Estimates the number of bytes retained by a cached value.
+ *
+ * This is a heuristic, not a measurement: it walks collections, maps and AWS SDK model objects (via [SdkPojo.sdkFields]) down to [maxDepth] and
+ * assumes a fixed size for anything it does not understand. Large collections are sampled and the result extrapolated.
+ */
+class RetainedSizeWeigher(private val maxDepth: Int = DEFAULT_MAX_DEPTH, private val sampleSize: Int = DEFAULT_SAMPLE_SIZE) : ResourceWeigher {
+    override fun weigh(value: Any?): Long = estimate(value, 0)
+
+    private fun estimate(value: Any?, depth: Int): Long = when (value) {
+        null -> REFERENCE_SIZE
+        is String -> OBJECT_HEADER + ARRAY_HEADER + value.length.toLong()
+        is Number, is Boolean, is Char, is Enum<*>, is Temporal -> OBJECT_HEADER + PRIMITIVE_SIZE
+        else -> if (depth >= maxDepth) {
+            UNKNOWN_OBJECT_SIZE
+        } else {
+            when (value) {
+                is Map<*, *> -> OBJECT_HEADER + estimateElements(value.entries, value.size) { (k, v) ->
+                    MAP_ENTRY_SIZE + estimate(k, depth + 1) + estimate(v, depth + 1)
+                }
+                is Collection<*> -> OBJECT_HEADER + estimateElements(value, value.size) { REFERENCE_SIZE + estimate(it, depth + 1) }
+                is SdkPojo -> OBJECT_HEADER + value.sdkFields().sumOf { REFERENCE_SIZE + estimate(it.getValueOrDefault(value), depth + 1) }
+                else -> UNKNOWN_OBJECT_SIZE
+            }
+        }
+    }
+
+    private fun <T> estimateElements(elements: Iterable<T>, size: Int, elementSize: (T) -> Long): Long {
+        if (size == 0) return ARRAY_HEADER
+        var sampled = 0
+        var total = 0L
+        for (element in elements) {
+            if (sampled >= sampleSize) break
+            total += elementSize(element)
+            sampled++
+        }
+        return ARRAY_HEADER + total * size / sampled
+    }
+
+    private companion object {
+        const val DEFAULT_MAX_DEPTH = 8
+        const val DEFAULT_SAMPLE_SIZE = 32
+        const val OBJECT_HEADER = 16L
+        const val ARRAY_HEADER = 16L
+        const val REFERENCE_SIZE = 8L
+        const val PRIMITIVE_SIZE = 8L
+        const val MAP_ENTRY_SIZE = 32L
+        const val UNKNOWN_OBJECT_SIZE = 64L
+    }
+}
@@ -3,12 +3,14 @@
 
 package software.aws.toolkit.jetbrains.services.telemetry
 
+import com.intellij.openapi.application.PathManager
 import software.amazon.awssdk.services.toolkittelemetry.model.AWSProduct
 import software.aws.toolkit.core.telemetry.DefaultMetricEvent.Companion.METADATA_NA
 import software.aws.toolkit.core.telemetry.DefaultTelemetryBatcher
 import software.aws.toolkit.core.telemetry.MetricEvent
 import software.aws.toolkit.core.telemetry.TelemetryBatcher
 import software.aws.toolkit.core.telemetry.TelemetryPublisher
+import java.nio.file.Paths
 
 typealias TelemetryService = migration.software.aws.toolkit.jetbrains.services.telemetry.TelemetryService
 
@@ -26,6 +28,8 @@ interface TelemetryListener {
 class DefaultTelemetryService : TelemetryService(publisher, batcher) {
     private companion object {
         private val publisher: TelemetryPublisher by lazy { DefaultTelemetryPublisher() }
-        private val batcher: TelemetryBatcher by lazy { DefaultTelemetryBatcher(publisher) }
+        private val batcher: TelemetryBatcher by lazy {
+            DefaultTelemetryBatcher(publisher, spillFile = Paths.get(PathManager.getSystemPath(), "aws-telemetry", "pending-metrics.ndjson"))
+        }
     }
 }
@@ -0,0 +1,189 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.services.telemetry.otel
+
+import com.intellij.openapi.diagnostic.thisLogger
+import io.opentelemetry.context.Context
+import io.opentelemetry.exporter.internal.otlp.traces.TraceRequestMarshaler
+import io.opentelemetry.sdk.common.CompletableResultCode
+import io.opentelemetry.sdk.trace.ReadWriteSpan
+import io.opentelemetry.sdk.trace.ReadableSpan
+import io.opentelemetry.sdk.trace.SpanProcessor
+import io.opentelemetry.sdk.trace.data.SpanData
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withTimeoutOrNull
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import java.io.ByteArrayOutputStream
+import java.io.IOException
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.seconds
+
+/**
+ * Sends an OTLP/HTTP protobuf payload to a collector
+ */
+fun interface OtlpSender {
+    /**
+     * Sends the first [length] bytes of [payload]
+     */
+    fun send(payload: ByteArray, length: Int)
+}
+
+/**
+ * Snapshot of the counters of a [BatchingOtlpSpanProcessor]
+ */
+data class OtlpExportStats(
+    val exportedSpans: Long,
+    val droppedSpans: Long,
+    val exports: Long,
+    val failedExports: Long,
+    val averageExportMillis: Long,
+    val maxExportMillis: Long,
+)
+
+/**
+ * Queues finished spans and exports them to a collector in batches, rather than one request per span.
+ *
+ * Spans wait in a queue of at most [maxQueueSize], and spans that end while it is full are dropped and counted. A batch is exported once
+ * [maxBatchSize] spans are queued or [scheduleDelay] has passed since the last export. Each batch is marshalled into a single buffer that is
+ * reused between exports, so a signing [sender] only signs once per batch.
+ *
+ * Exports run one at a time on an IO thread, so a slow collector never blocks the threads ending spans. [forceFlush] and [shutdown] return
+ * without waiting, and their result completes once everything queued before the call has been sent.
+ */
+class BatchingOtlpSpanProcessor(
+    private val coroutineScope: CoroutineScope,
+    private val sender: OtlpSender,
+    maxQueueSize: Int = DEFAULT_MAX_QUEUE_SIZE,
+    private val maxBatchSize: Int = DEFAULT_MAX_BATCH_SIZE,
+    private val scheduleDelay: Duration = DEFAULT_SCHEDULE_DELAY,
+) : SpanProcessor {
+    private val queue = ArrayBlockingQueue<ReadableSpan>(maxQueueSize)
+    private val batchReady = Channel<Unit>(Channel.CONFLATED)
+    private val isShutdown = AtomicBoolean(false)
+
+    private val dispatcher = ioDispatcher(1)
+
+    // only touched while holding exportMutex
+    private val exportMutex = Mutex()
+    private val batch = ArrayList<ReadableSpan>(maxBatchSize)
+    private val spanData = ArrayList<SpanData>(maxBatchSize)
+    private val buffer = ExposedByteArrayOutputStream(INITIAL_BUFFER_SIZE)
+
+    private val exportedSpans = AtomicLong()
+    private val droppedSpans = AtomicLong()
+    private val exports = AtomicLong()
+    private val failedExports = AtomicLong()
+    private val totalExportNanos = AtomicLong()
+    private val maxExportNanos = AtomicLong()
+
+    val stats: OtlpExportStats
+        get() {
+            val count = exports.get()
+            return OtlpExportStats(
+                exportedSpans = exportedSpans.get(),
+                droppedSpans = droppedSpans.get(),
+                exports = count,
+                failedExports = failedExports.get(),
+                averageExportMillis = if (count == 0L) 0 else totalExportNanos.get() / count / NANOS_PER_MILLI,
+                maxExportMillis = maxExportNanos.get() / NANOS_PER_MILLI,
+            )
+        }
+
+    init {
+        coroutineScope.launch(dispatcher) {
+            while (!isShutdown.get()) {
+                withTimeoutOrNull(scheduleDelay) { batchReady.receiveCatching() }
+                exportQueued()
+            }
+        }
+    }
+
+    override fun onStart(parentContext: Context, span: ReadWriteSpan) {}
+    override fun isStartRequired() = false
+    override fun isEndRequired() = true
+
+    override fun onEnd(span: ReadableSpan) {
+        if (isShutdown.get() || !queue.offer(span)) {
+            droppedSpans.incrementAndGet()
+            return
+        }
+        if (queue.size >= maxBatchSize) {
+            batchReady.trySend(Unit)
+        }
+    }
+
+    override fun forceFlush(): CompletableResultCode = exportQueuedAsync()
+
+    override fun shutdown(): CompletableResultCode {
+        if (!isShutdown.compareAndSet(false, true)) {
+            return CompletableResultCode.ofSuccess()
+        }
+        batchReady.close()
+        return exportQueuedAsync()
+    }
+
+    private fun exportQueuedAsync(): CompletableResultCode {
+        val result = CompletableResultCode()
+        coroutineScope.launch(dispatcher) { exportQueued() }.invokeOnCompletion { error ->
+            if (error == null) result.succeed() else result.fail()
+        }
+        return result
+    }
+
+    /**
+     * Exports everything queued so far, in batches of at most [maxBatchSize]
+     */
+    private suspend fun exportQueued() = exportMutex.withLock {
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            try {
+                export()
+            } finally {
+                batch.clear()
+                spanData.clear()
+            }
+        }
+    }
+
+    private fun export() {
+        batch.mapTo(spanData) { it.toSpanData() }
+        val start = System.nanoTime()
+        try {
+            buffer.reset()
+            TraceRequestMarshaler.create(spanData).writeBinaryTo(buffer)
+            sender.send(buffer.bytes(), buffer.size())
+            exportedSpans.addAndGet(spanData.size.toLong())
+        } catch (e: IOException) {
+            failedExports.incrementAndGet()
+            thisLogger().warn("Cannot export ${spanData.size} spans: ${e.message}")
+        } catch (e: Exception) {
+            failedExports.incrementAndGet()
+            thisLogger().error("Cannot export ${spanData.size} spans", e)
+        } finally {
+            val elapsed = System.nanoTime() - start
+            exports.incrementAndGet()
+            totalExportNanos.addAndGet(elapsed)
+            maxExportNanos.accumulateAndGet(elapsed) { previous, current -> maxOf(previous, current) }
+        }
+    }
+
+    // lets the marshalled bytes be sent without copying them out of the buffer
+    private class ExposedByteArrayOutputStream(size: Int) : ByteArrayOutputStream(size) {
+        fun bytes(): ByteArray = buf
+    }
+
+    companion object {
+        const val DEFAULT_MAX_QUEUE_SIZE = 2048
+        const val DEFAULT_MAX_BATCH_SIZE = 512
+        val DEFAULT_SCHEDULE_DELAY = 5.seconds
+        private const val INITIAL_BUFFER_SIZE = 64 * 1024
+        private const val NANOS_PER_MILLI = 1_000_000
+    }
+}
@@ -4,6 +4,7 @@
 package software.aws.toolkit.jetbrains.core
 
 import com.intellij.openapi.application.ApplicationManager
+import com.intellij.openapi.util.Disposer
 import com.intellij.testFramework.ProjectRule
 import com.intellij.testFramework.RuleChain
 import kotlinx.coroutines.ExperimentalCoroutinesApi
@@ -16,6 +17,7 @@ import org.junit.Before
 import org.junit.Rule
 import org.junit.Test
 import org.junit.jupiter.api.assertThrows
+import org.junit.rules.TemporaryFolder
 import org.mockito.kotlin.any
 import org.mockito.kotlin.atLeastOnce
 import org.mockito.kotlin.doAnswer
@@ -65,6 +67,10 @@ class AwsResourceCacheTest {
         regionProvider
     )
 
+    @Rule
+    @JvmField
+    val tempFolder = TemporaryFolder()
+
     private val mockClock = mock<Clock>()
     private val mockResource = mock<Resource.Cached<String>>()
 
@@ -221,6 +227,178 @@ class AwsResourceCacheTest {
         verifyResourceCalled(times = 2)
     }
 
+    @Test
+    fun forceFetchJoinsAnInFlightFetch() {
+        val latch = CountDownLatch(1)
+        whenever(mockResource.fetch(any())).thenAnswer {
+            latch.await()
+            "hello"
+        }
+
+        val first = sut.getResource(mockResource, connectionSettings)
+        retryableAssert {
+            assertThat((sut as DefaultAwsResourceCache).hasCacheEntry(mockResource.id)).isTrue
+        }
+        val forced = sut.getResource(mockResource, connectionSettings, forceFetch = true)
+        latch.countDown()
+
+        assertThat(first).hasValue("hello")
+        assertThat(forced).hasValue("hello")
+        verifyResourceCalled(times = 1)
+    }
+
+    @Test
+    fun forceFetchStartsANewFetchWhenSingleFlightIsDisabled() {
+        val localSut = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), singleFlight = false)
+        val latch = CountDownLatch(1)
+        whenever(mockResource.fetch(any())).thenAnswer {
+            latch.await()
+            "hello"
+        }.thenReturn("goodbye")
+
+        try {
+            val first = localSut.getResource(mockResource, connectionSettings)
+            retryableAssert {
+                assertThat(localSut.hasCacheEntry(mockResource.id)).isTrue
+            }
+            assertThat(localSut.getResource(mockResource, connectionSettings, forceFetch = true)).hasValue("goodbye")
+            latch.countDown()
+            assertThat(first).hasValue("hello")
+        } finally {
+            localSut.dispose()
+        }
+
+        verifyResourceCalled(times = 2)
+    }
+
+    @Test
+    fun staleWhileRevalidateReturnsExpiredValueAndRefreshesInBackground() {
+        val localSut = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), staleWhileRevalidate = true)
+        val latch = CountDownLatch(1)
+        whenever(mockResource.fetch(any())).thenReturn("hello").thenAnswer {
+            latch.await()
+            "goodbye"
+        }
+
+        try {
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            whenever(mockClock.instant()).thenReturn(Instant.now().plus(DEFAULT_EXPIRY))
+
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            assertThat(localSut.getResourceIfPresent(mockResource, connectionSettings)).isEqualTo("hello")
+
+            latch.countDown()
+            retryableAssert {
+                assertThat(localSut.getResourceIfPresent(mockResource, connectionSettings, useStale = false)).isEqualTo("goodbye")
+            }
+        } finally {
+            localSut.dispose()
+        }
+
+        verifyResourceCalled(times = 2)
+    }
+
+    @Test
+    fun staleWhileRevalidateKeepsExpiredValueWhenRefreshFails() {
+        val localSut = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), staleWhileRevalidate = true)
+        whenever(mockResource.fetch(any())).thenReturn("hello").thenThrow(RuntimeException("BOOM")).thenReturn("goodbye")
+
+        try {
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            whenever(mockClock.instant()).thenReturn(Instant.now().plus(DEFAULT_EXPIRY))
+
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            retryableAssert {
+                verify(mockResource, times(2)).fetch(any())
+            }
+            assertThat(localSut.getResourceIfPresent(mockResource, connectionSettings)).isEqualTo("hello")
+
+            // the expired entry is still served while the next revalidation picks up the new value
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            retryableAssert {
+                assertThat(localSut.getResourceIfPresent(mockResource, connectionSettings, useStale = false)).isEqualTo("goodbye")
+            }
+        } finally {
+            localSut.dispose()
+        }
+    }
+
+    @Test
+    fun staleWhileRevalidateIsNotUsedWhenStaleValuesAreNotAllowed() {
+        val localSut = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), staleWhileRevalidate = true)
+        whenever(mockResource.fetch(any())).thenReturn("hello").thenReturn("goodbye")
+
+        try {
+            assertThat(localSut.getResource(mockResource, connectionSettings)).hasValue("hello")
+            whenever(mockClock.instant()).thenReturn(Instant.now().plus(DEFAULT_EXPIRY))
+            assertThat(localSut.getResource(mockResource, connectionSettings, useStale = false)).hasValue("goodbye")
+        } finally {
+            localSut.dispose()
+        }
+    }
+
+    @Test
+    fun persistedValuesAreServedWhileTheLiveRefreshRuns() {
+        val store = PersistentResourceStore(tempFolder.newFolder().toPath())
+        val resource = mockResource.persistent(ResourceCodec.STRING)
+        val latch = CountDownLatch(1)
+        whenever(mockResource.fetch(any())).thenReturn("hello").thenAnswer {
+            latch.await()
+            "goodbye"
+        }
+
+        val previousSession = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), persistentStore = store)
+        try {
+            assertThat(previousSession.getResource(resource, connectionSettings)).hasValue("hello")
+            retryableAssert {
+                assertThat(store.load(resource, connectionSettings.region.id, connectionSettings.providerId)).isEqualTo("hello")
+            }
+        } finally {
+            previousSession.dispose()
+        }
+
+        val localSut = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), persistentStore = store)
+        try {
+            assertThat(localSut.getResource(resource, connectionSettings)).hasValue("hello")
+            latch.countDown()
+            retryableAssert {
+                assertThat(localSut.getResourceIfPresent(resource, connectionSettings, useStale = false)).isEqualTo("goodbye")
+                assertThat(store.load(resource, connectionSettings.region.id, connectionSettings.providerId)).isEqualTo("goodbye")
+            }
+
+            localSut.clear(resource, connectionSettings)
+            assertThat(store.load(resource, connectionSettings.region.id, connectionSettings.providerId)).isNull()
+        } finally {
+            localSut.dispose()
+        }
+    }
+
+    @Test
+    fun persistedValueIsKeptWhenTheRevalidationFailsImmediately() {
+        val store = PersistentResourceStore(tempFolder.newFolder().toPath())
+        val resource = mockResource.persistent(ResourceCodec.STRING)
+        whenever(mockResource.fetch(any())).thenReturn("hello")
+
+        val previousSession = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), persistentStore = store)
+        try {
+            assertThat(previousSession.getResource(resource, connectionSettings)).hasValue("hello")
+            retryableAssert {
+                assertThat(store.load(resource, connectionSettings.region.id, connectionSettings.providerId)).isEqualTo("hello")
+            }
+        } finally {
+            previousSession.dispose()
+        }
+
+        // cancelling the scope makes the revalidation fetch complete exceptionally before its completion handler is registered
+        val localSut = DefaultAwsResourceCache(mockClock, 1000, Duration.ofMinutes(1), persistentStore = store)
+        Disposer.dispose(localSut)
+
+        assertThat(localSut.getResource(resource, connectionSettings)).hasValue("hello")
+        assertThat(localSut.getResourceIfPresent(resource, connectionSettings)).isEqualTo("hello")
+        verify(mockResource, times(1)).fetch(any())
+    }
+
     @Test
     fun expirationOccursOnExpiryTime() {
         assertExpectedExpiryFunctions({ minusMillis(1) }, shouldExpire = false) // before expiry
@@ -313,6 +491,49 @@ class AwsResourceCacheTest {
         }
     }
 
+    @Test
+    fun frequentlyUsedEntriesSurvivePruningWithTinyLfuPolicy() {
+        val localSut = DefaultAwsResourceCache(
+            mockClock,
+            4,
+            Duration.ofMinutes(1),
+            evictionPolicy = WindowTinyLfuEvictionPolicy(windowPercentage = 0)
+        )
+        val hot = StringResource("hot")
+        val listResource = DummyResource("list", listOf("a", "b", "c", "d"))
+        val now = Instant.now()
+        whenever(mockClock.instant()).thenReturn(now)
+
+        try {
+            repeat(5) { localSut.getResource(hot, connectionSettings).value }
+            whenever(mockClock.instant()).thenReturn(now.plusMillis(10))
+            localSut.getResource(listResource, connectionSettings).value
+
+            localSut.doRunCacheMaintenance()
+
+            assertThat(localSut.getResourceIfPresent(hot, connectionSettings)).isNotNull()
+            assertThat(localSut.getResourceIfPresent(listResource, connectionSettings)).isNull()
+            assertThat(localSut.stats().evictionCount).isEqualTo(1)
+        } finally {
+            localSut.dispose()
+        }
+    }
+
+    @Test
+    fun hitsAndMissesAreCounted() {
+        whenever(mockResource.fetch(any())).thenReturn("hello")
+
+        sut.getResource(mockResource, connectionSettings).value
+        sut.getResource(mockResource, connectionSettings).value
+        sut.getResource(mockResource, connectionSettings).value
+        sut.getResourceIfPresent(mockResource, US_WEST_1, cred1Provider)
+
+        val stats = (sut as DefaultAwsResourceCache).stats()
+        assertThat(stats.hitCount).isEqualTo(2)
+        assertThat(stats.missCount).isEqualTo(2)
+        assertThat(stats.evictionCount).isZero()
+    }
+
     @Test
     fun multipleCallsInDifferentThreadsStillOnlyCallTheUnderlyingResourceOnce() {
         whenever(mockResource.fetch(any())).thenReturn("hello")
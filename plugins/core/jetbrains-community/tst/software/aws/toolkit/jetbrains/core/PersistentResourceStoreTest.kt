@@ -0,0 +1,122 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.core
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.whenever
+import software.amazon.awssdk.services.iam.model.Role
+import software.amazon.awssdk.services.iam.model.Tag
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+
+class PersistentResourceStoreTest {
+    @Rule
+    @JvmField
+    val tempFolder = TemporaryFolder()
+
+    private val clock = mock<Clock>()
+    private lateinit var sut: PersistentResourceStore
+
+    @Before
+    fun setUp() {
+        whenever(clock.instant()).thenReturn(NOW)
+        whenever(clock.millis()).thenReturn(NOW.toEpochMilli())
+        sut = PersistentResourceStore(tempFolder.root.toPath(), clock, Duration.ofDays(1))
+    }
+
+    @Test
+    fun sdkModelObjectsRoundTrip() {
+        val roles = listOf(
+            Role.builder()
+                .roleName("role")
+                .arn("arn:aws:iam::123456789012:role/role")
+                .createDate(NOW)
+                .maxSessionDuration(3600)
+                .tags(Tag.builder().key("key").value("value").build())
+                .build(),
+            Role.builder().roleName("another").build()
+        )
+
+        sut.save(ROLES, REGION, PROVIDER, roles)
+
+        val loaded = sut.load(ROLES, REGION, PROVIDER)
+        assertThat(loaded).isEqualTo(roles)
+        assertThat(loaded!![1].hasTags()).isFalse
+    }
+
+    @Test
+    fun missingSnapshotReturnsNull() {
+        assertThat(sut.load(ROLES, REGION, PROVIDER)).isNull()
+    }
+
+    @Test
+    fun snapshotsOlderThanMaximumAgeAreDiscarded() {
+        sut.save(STRINGS, REGION, PROVIDER, listOf("hello"))
+
+        whenever(clock.instant()).thenReturn(NOW.plus(Duration.ofDays(2)))
+
+        assertThat(sut.load(STRINGS, REGION, PROVIDER)).isNull()
+    }
+
+    @Test
+    fun snapshotsAreSeparatedByRegionAndProvider() {
+        sut.save(STRINGS, REGION, PROVIDER, listOf("1"))
+        sut.save(STRINGS, "us-west-2", PROVIDER, listOf("2"))
+        sut.save(STRINGS, REGION, "other", listOf("3"))
+
+        assertThat(sut.load(STRINGS, REGION, PROVIDER)).containsExactly("1")
+        assertThat(sut.load(STRINGS, "us-west-2", PROVIDER)).containsExactly("2")
+        assertThat(sut.load(STRINGS, REGION, "other")).containsExactly("3")
+    }
+
+    @Test
+    fun snapshotsCanBeCleared() {
+        sut.save(STRINGS, REGION, PROVIDER, listOf("1"))
+        sut.save(STRINGS, "us-west-2", PROVIDER, listOf("2"))
+        sut.save(STRINGS, REGION, "other", listOf("3"))
+
+        sut.clear(REGION, PROVIDER)
+        assertThat(sut.load(STRINGS, REGION, PROVIDER)).isNull()
+        assertThat(sut.load(STRINGS, "us-west-2", PROVIDER)).isNotNull
+
+        sut.clear(PROVIDER)
+        assertThat(sut.load(STRINGS, "us-west-2", PROVIDER)).isNull()
+        assertThat(sut.load(STRINGS, REGION, "other")).isNotNull
+
+        sut.clear()
+        assertThat(sut.load(STRINGS, REGION, "other")).isNull()
+    }
+
+    @Test
+    fun corruptSnapshotsAreDiscarded() {
+        sut.save(STRINGS, REGION, PROVIDER, listOf("1"))
+        tempFolder.root.walkTopDown().filter { it.isFile }.forEach { it.writeText("garbage") }
+
+        assertThat(sut.load(STRINGS, REGION, PROVIDER)).isNull()
+        assertThat(tempFolder.root.walkTopDown().filter { it.isFile }.toList()).isEmpty()
+    }
+
+    @Test
+    fun resourcesWithoutACodecAreNotPersisted() {
+        val resource = StringResource("plain")
+        sut.save(resource, REGION, PROVIDER, "hello")
+
+        assertThat(sut.load(resource, REGION, PROVIDER)).isNull()
+        assertThat(tempFolder.root.walkTopDown().filter { it.isFile }.toList()).isEmpty()
+    }
+
+    companion object {
+        private val NOW = Instant.parse("2026-01-01T00:00:00Z")
+        private const val REGION = "us-east-1"
+        private const val PROVIDER = "profile:default"
+        private val ROLES = DummyResource<List<Role>>("roles", emptyList()).persistent(ResourceCodec.list(ResourceCodec.sdkPojo(Role::builder)))
+        private val STRINGS = DummyResource<List<String>>("strings", emptyList()).persistent(ResourceCodec.list(ResourceCodec.STRING))
+    }
+}
@@ -0,0 +1,86 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.core
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import software.amazon.awssdk.services.iam.model.Role
+import java.time.Instant
+
+class ResourceCacheEvictionPolicyTest {
+    private val now = Instant.now()
+
+    @Test
+    fun expiryPolicyEvictsEarliestExpiringFirst() {
+        val late = candidate("late", expiry = now.plusSeconds(10))
+        val early = candidate("early", expiry = now)
+
+        assertThat(ExpiryEvictionPolicy().selectVictims(listOf(late, early), 10, 1).toList()).containsExactly(early, late)
+    }
+
+    @Test
+    fun tinyLfuEvictsInfrequentEntriesBeforeFrequentOnes() {
+        val policy = WindowTinyLfuEvictionPolicy(windowPercentage = 0)
+        repeat(10) { policy.recordAccess("hot") }
+        policy.recordAccess("cold")
+
+        val hot = candidate("hot")
+        val cold = candidate("cold")
+
+        assertThat(policy.selectVictims(listOf(hot, cold), 10, 1).first()).isSameAs(cold)
+    }
+
+    @Test
+    fun tinyLfuEvictsHeavierEntriesFirstWhenFrequencyIsEqual() {
+        val policy = WindowTinyLfuEvictionPolicy(windowPercentage = 0)
+        val light = candidate("light", weight = 1)
+        val heavy = candidate("heavy", weight = 100)
+
+        assertThat(policy.selectVictims(listOf(light, heavy), 10, 1).first()).isSameAs(heavy)
+    }
+
+    @Test
+    fun tinyLfuProtectsRecentlyUsedEntriesInTheWindow() {
+        val policy = WindowTinyLfuEvictionPolicy(windowPercentage = 50)
+        repeat(10) { policy.recordAccess("old") }
+        val recent = candidate("recent", lastAccess = now.plusSeconds(10))
+        val old = candidate("old", lastAccess = now)
+
+        assertThat(policy.selectVictims(listOf(recent, old), 2, 1).toList()).containsExactly(old, recent)
+    }
+
+    @Test
+    fun frequencySketchAgesCounters() {
+        val sketch = FrequencySketch(1024)
+        repeat(15) { sketch.increment("key") }
+        assertThat(sketch.frequency("key")).isEqualTo(15)
+
+        // enough distinct increments to trigger a reset of the sketch
+        repeat(30_000) { sketch.increment("other-$it") }
+
+        assertThat(sketch.frequency("key")).isLessThan(15)
+    }
+
+    @Test
+    fun entryCountWeigherCountsCollectionElements() {
+        assertThat(ResourceWeigher.ENTRY_COUNT.weigh(listOf(1, 2, 3))).isEqualTo(3)
+        assertThat(ResourceWeigher.ENTRY_COUNT.weigh("hello")).isEqualTo(1)
+    }
+
+    @Test
+    fun retainedSizeWeigherScalesWithContent() {
+        val weigher = RetainedSizeWeigher()
+        val role = Role.builder().roleName("role").arn("arn:aws:iam::123456789012:role/role").path("/").build()
+
+        val small = weigher.weigh(listOf(role))
+        val large = weigher.weigh(List(1000) { role })
+
+        assertThat(small).isGreaterThan(weigher.weigh("role"))
+        assertThat(large).isGreaterThan(small * 500)
+        assertThat(weigher.weigh("a".repeat(1000))).isGreaterThan(weigher.weigh("a"))
+    }
+
+    private fun candidate(key: String, weight: Long = 1, expiry: Instant = now, lastAccess: Instant = now) =
+        EvictionCandidate(key, weight, expiry, lastAccess)
+}
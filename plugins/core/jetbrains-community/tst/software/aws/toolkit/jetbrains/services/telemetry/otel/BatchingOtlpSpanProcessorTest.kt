@@ -0,0 +1,151 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkit.jetbrains.services.telemetry.otel
+
+import com.github.tomakehurst.wiremock.client.WireMock.aResponse
+import com.github.tomakehurst.wiremock.client.WireMock.post
+import com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor
+import com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig
+import com.github.tomakehurst.wiremock.junit.WireMockRule
+import com.intellij.testFramework.ApplicationRule
+import com.intellij.testFramework.DisposableRule
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.SpanProcessor
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import software.aws.toolkit.jetbrains.core.coroutines.disposableCoroutineScope
+import java.util.Collections
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.milliseconds
+
+class BatchingOtlpSpanProcessorTest {
+    @Rule
+    @JvmField
+    val application = ApplicationRule()
+
+    @Rule
+    @JvmField
+    val disposableRule = DisposableRule()
+
+    // stands in for a local OTLP collector
+    @Rule
+    @JvmField
+    val collector = WireMockRule(wireMockConfig().dynamicPort())
+
+    private val traceUrl
+        get() = "http://127.0.0.1:${collector.port()}/v1/traces"
+
+    @Before
+    fun setUp() {
+        collector.stubFor(post(urlPathEqualTo("/v1/traces")).willReturn(aResponse().withStatus(200)))
+    }
+
+    @Test
+    fun `spans are exported to the collector in batches`() {
+        val processor = BatchingOtlpSpanProcessor(disposableCoroutineScope(disposableRule.disposable), OtlpHttpSender(traceUrl), maxBatchSize = 10)
+
+        endSpans(processor, 25)
+        assertThat(processor.forceFlush().join(10, TimeUnit.SECONDS).isSuccess).isTrue()
+
+        val requests = collector.findAll(postRequestedFor(urlPathEqualTo("/v1/traces")))
+        assertThat(requests.size).isBetween(3, 25)
+        assertThat(requests).allSatisfy {
+            assertThat(it.getHeader("Content-Type")).isEqualTo("application/x-protobuf")
+            assertThat(it.body).isNotEmpty()
+        }
+        assertThat(processor.stats.exportedSpans).isEqualTo(25)
+        assertThat(processor.stats.failedExports).isZero()
+    }
+
+    @Test
+    fun `spans are exported once the delay passes`() {
+        val processor = BatchingOtlpSpanProcessor(
+            disposableCoroutineScope(disposableRule.disposable),
+            OtlpHttpSender(traceUrl),
+            scheduleDelay = 50.milliseconds
+        )
+
+        endSpans(processor, 3)
+
+        val deadline = System.currentTimeMillis() + 10_000
+        while (processor.stats.exportedSpans < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        assertThat(processor.stats.exportedSpans).isEqualTo(3)
+        assertThat(collector.findAll(postRequestedFor(urlPathEqualTo("/v1/traces")))).hasSize(1)
+    }
+
+    @Test
+    fun `spans are dropped and counted once the queue is full`() {
+        val payloadSizes = Collections.synchronizedList(mutableListOf<Int>())
+        // the export loop never wakes up on its own, so nothing leaves the queue until the flush
+        val processor = BatchingOtlpSpanProcessor(
+            disposableCoroutineScope(disposableRule.disposable),
+            { _, length -> payloadSizes.add(length) },
+            maxQueueSize = 4,
+            scheduleDelay = 1.hours
+        )
+
+        endSpans(processor, 10)
+        assertThat(processor.forceFlush().join(10, TimeUnit.SECONDS).isSuccess).isTrue()
+
+        assertThat(payloadSizes).hasSize(1)
+        assertThat(processor.stats).satisfies({
+            assertThat(it.exportedSpans).isEqualTo(4)
+            assertThat(it.droppedSpans).isEqualTo(6)
+            assertThat(it.exports).isEqualTo(1)
+        })
+    }
+
+    @Test
+    fun `failed exports are counted`() {
+        collector.stubFor(post(urlPathEqualTo("/v1/traces")).willReturn(aResponse().withStatus(503)))
+        val processor = BatchingOtlpSpanProcessor(disposableCoroutineScope(disposableRule.disposable), OtlpHttpSender(traceUrl), scheduleDelay = 1.hours)
+
+        endSpans(processor, 2)
+        processor.shutdown().join(10, TimeUnit.SECONDS)
+
+        assertThat(processor.stats.failedExports).isEqualTo(1)
+        assertThat(processor.stats.exportedSpans).isZero()
+    }
+
+    @Test
+    fun `a slow collector does not block flushing`() {
+        val sending = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        val processor = BatchingOtlpSpanProcessor(
+            disposableCoroutineScope(disposableRule.disposable),
+            { _, _ ->
+                sending.countDown()
+                release.await()
+            },
+            scheduleDelay = 1.hours
+        )
+
+        endSpans(processor, 1)
+        val firstFlush = processor.forceFlush()
+        assertThat(sending.await(10, TimeUnit.SECONDS)).isTrue()
+
+        // returns straight away rather than waiting behind the export in progress
+        val secondFlush = processor.forceFlush()
+        assertThat(secondFlush.isDone).isFalse()
+
+        release.countDown()
+        assertThat(firstFlush.join(10, TimeUnit.SECONDS).isSuccess).isTrue()
+        assertThat(secondFlush.join(10, TimeUnit.SECONDS).isSuccess).isTrue()
+        assertThat(processor.stats.exportedSpans).isEqualTo(1)
+    }
+
+    private fun endSpans(processor: SpanProcessor, count: Int) {
+        val tracer = SdkTracerProvider.builder().addSpanProcessor(processor).build().get("test")
+        repeat(count) {
+            tracer.spanBuilder("span$it").startSpan().end()
+        }
+    }
+}
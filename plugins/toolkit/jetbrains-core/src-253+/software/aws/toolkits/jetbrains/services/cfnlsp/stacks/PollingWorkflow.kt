@@ -6,10 +6,8 @@ package software.aws.toolkits.jetbrains.services.cfnlsp.stacks
 import com.intellij.openapi.project.Project
 import software.aws.toolkit.jetbrains.utils.notifyError
 import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.GetStackActionStatusResult
+import java.util.concurrent.CancellationException
 import java.util.concurrent.CompletableFuture
-import java.util.concurrent.Executors
-import java.util.concurrent.TimeUnit
-import java.util.concurrent.atomic.AtomicInteger
 
 internal sealed class PollResult<out T> {
     data class Success<T>(val value: T) : PollResult<T>()
@@ -24,60 +22,37 @@ internal abstract class PollingWorkflow(
     protected abstract val operationTitle: String
 
     fun <T> poll(id: String): CompletableFuture<PollResult<T>> {
-        val future = CompletableFuture<PollResult<T>>()
-        val scheduler = Executors.newSingleThreadScheduledExecutor()
-        val pollCount = AtomicInteger(0)
-
-        scheduler.scheduleWithFixedDelay(
-            {
-                if (project.isDisposed) {
-                    future.complete(PollResult.Failed("Project closed"))
-                    scheduler.shutdown()
-                    return@scheduleWithFixedDelay
-                }
-
-                if (pollCount.incrementAndGet() > MAX_POLL_COUNT) {
-                    notifyError(operationTitle, "Operation timed out", project = project)
-                    future.complete(PollResult.Failed("Timed out after ${MAX_POLL_COUNT * POLL_INTERVAL_MS / 1000}s"))
-                    scheduler.shutdown()
-                    return@scheduleWithFixedDelay
-                }
-
-                fetchStatus(id)
-                    .thenCompose { status ->
-                        if (status == null) {
-                            notifyError(operationTitle, "Failed to get operation status", project = project)
-                            future.complete(PollResult.Failed("Failed to get status"))
-                            scheduler.shutdown()
-                            return@thenCompose CompletableFuture.completedFuture(null)
-                        }
-
-                        handleTerminalState(status, id)
-                    }
-                    .thenAccept { result ->
-                        @Suppress("UNCHECKED_CAST")
-                        val typedResult = result as? PollResult<T>
-                        if (typedResult != null) {
-                            future.complete(typedResult)
-                            scheduler.shutdown()
-                        }
-                    }
-                    .exceptionally { error ->
-                        notifyError(operationTitle, error.message ?: "Unknown error", project = project)
-                        future.complete(PollResult.Failed(error.message))
-                        scheduler.shutdown()
-                        null
-                    }
-            },
-            POLL_INTERVAL_MS,
-            POLL_INTERVAL_MS,
-            TimeUnit.MILLISECONDS
-        )
-        return future
-    }
-
-    companion object {
-        private const val POLL_INTERVAL_MS = 1000L
-        private const val MAX_POLL_COUNT = 3600 // 1 hour at 1s intervals
+        val polling = StackActionPoller.getInstance(project).poll<PollResult<T>>(
+            key = "${this::class.simpleName}:$id",
+            fetchStatus = { fetchStatus(id) },
+            onTimeout = {
+                notifyError(operationTitle, "Operation timed out", project = project)
+                PollResult.Failed("Timed out after ${StackActionPoller.MAX_DURATION.inWholeSeconds}s")
+            }
+        ) { status ->
+            if (status == null) {
+                notifyError(operationTitle, "Failed to get operation status", project = project)
+                CompletableFuture.completedFuture(PollResult.Failed("Failed to get status"))
+            } else {
+                @Suppress("UNCHECKED_CAST")
+                handleTerminalState(status, id).thenApply { it as? PollResult<T> }
+            }
+        }
+
+        val result = polling.exceptionally { error ->
+            if (project.isDisposed) {
+                PollResult.Failed("Project closed")
+            } else {
+                notifyError(operationTitle, error.message ?: "Unknown error", project = project)
+                PollResult.Failed(error.message)
+            }
+        }
+        // cancelling the operation stops polling
+        result.whenComplete { _, error ->
+            if (error is CancellationException) {
+                polling.cancel(true)
+            }
+        }
+        return result
     }
 }
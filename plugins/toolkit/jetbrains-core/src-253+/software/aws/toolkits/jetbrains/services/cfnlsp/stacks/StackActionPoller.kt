@@ -0,0 +1,77 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cfnlsp.stacks
+
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import com.intellij.openapi.project.Project
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.future.await
+import kotlinx.coroutines.future.future
+import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.GetStackActionStatusResult
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ConcurrentHashMap
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+import kotlin.time.TimeSource
+
+/**
+ * Polls the status of stack actions (validations, deployments, change set deletions) on the project's coroutine scope, so an operation in
+ * progress costs a suspended coroutine rather than a thread.
+ *
+ * The interval grows with the age of the operation, since a validation usually finishes in seconds while a deployment can take many
+ * minutes. Each poll waits for the previous status request, and concurrent polls of the same operation share a single request to the
+ * language server. Cancelling the returned future stops polling.
+ */
+@Service(Service.Level.PROJECT)
+internal class StackActionPoller(private val scope: CoroutineScope, private val timeSource: TimeSource) {
+    constructor(scope: CoroutineScope) : this(scope, TimeSource.Monotonic)
+
+    private val inFlight = ConcurrentHashMap<String, CompletableFuture<GetStackActionStatusResult?>>()
+
+    /**
+     * Polls [fetchStatus] until [handleStatus] produces a result, or returns the result of [onTimeout] once [timeout] has passed. Pass
+     * [Duration.INFINITE] to poll until a result is produced or polling is cancelled.
+     *
+     * @param key identifies the operation, polls with the same key share status requests
+     */
+    fun <T : Any> poll(
+        key: String,
+        fetchStatus: () -> CompletableFuture<GetStackActionStatusResult?>,
+        onTimeout: () -> T,
+        timeout: Duration = MAX_DURATION,
+        handleStatus: (GetStackActionStatusResult?) -> CompletableFuture<out T?>,
+    ): CompletableFuture<T> = scope.future {
+        val started = timeSource.markNow()
+        while (started.elapsedNow() < timeout) {
+            delay(pollInterval(started.elapsedNow()))
+            val status = fetchCoalesced(key, fetchStatus).await()
+            handleStatus(status).await()?.let { return@future it }
+        }
+        onTimeout()
+    }
+
+    private fun fetchCoalesced(key: String, fetchStatus: () -> CompletableFuture<GetStackActionStatusResult?>): CompletableFuture<GetStackActionStatusResult?> {
+        val request = inFlight.computeIfAbsent(key) { fetchStatus() }
+        // not registered inside computeIfAbsent, an already completed request would modify the map from within its own update
+        request.whenComplete { _, _ -> inFlight.remove(key, request) }
+        return request
+    }
+
+    companion object {
+        val MAX_DURATION = 1.hours
+
+        fun pollInterval(elapsed: Duration): Duration = when {
+            elapsed < 30.seconds -> 1.seconds
+            elapsed < 2.minutes -> 2.seconds
+            elapsed < 10.minutes -> 5.seconds
+            else -> 10.seconds
+        }
+
+        fun getInstance(project: Project): StackActionPoller = project.service()
+    }
+}
@@ -17,9 +17,9 @@ import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.StackActionState
 import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.StackChange
 import software.aws.toolkits.jetbrains.services.cfnlsp.ui.ChangeSetDiffPanel
 import software.aws.toolkits.resources.AwsToolkitBundle.message
+import java.util.concurrent.CancellationException
 import java.util.concurrent.CompletableFuture
-import java.util.concurrent.Executors
-import java.util.concurrent.TimeUnit
+import kotlin.time.Duration
 
 internal sealed class ValidationResult {
     data class Success(
@@ -88,100 +88,91 @@ internal class ValidationWorkflow(
             statusHandle.update(phase)
             statusHandle.release()
         }
-        val scheduler = Executors.newSingleThreadScheduledExecutor()
-
-        scheduler.scheduleWithFixedDelay(
-            {
-                clientService.getValidationStatus(Identifiable(id))
-                    .thenAccept { status ->
-                        if (status == null) {
-                            future.complete(ValidationResult.Failed("Failed to get validation status"))
-                            scheduler.shutdown()
-                            return@thenAccept
-                        }
-
-                        when (status.phase) {
-                            StackActionPhase.VALIDATION_COMPLETE -> {
-                                clientService.describeValidationStatus(Identifiable(id))
-                                    .thenAccept { details ->
-                                        if (details == null) {
-                                            future.complete(ValidationResult.Failed("Failed to get validation details"))
-                                        } else if (status.state == StackActionState.SUCCESSFUL) {
-                                            notifyInfo(
-                                                title = message("cloudformation.validation.title"),
-                                                content = message("cloudformation.validation.success", stackName),
-                                                project = project
-                                            )
-                                            // Fetch full change set details (includes property-level changes)
-                                            clientService.describeChangeSet(
-                                                DescribeChangeSetParams(changeSetName, stackName)
-                                            ).thenAccept { changeSetResult ->
-                                                val fullChanges = changeSetResult?.changes ?: status.changes.orEmpty()
-                                                runInEdt {
-                                                    ChangeSetDiffPanel.show(
-                                                        project = project,
-                                                        stackName = stackName,
-                                                        changeSetName = changeSetName,
-                                                        changes = fullChanges,
-                                                        enableDeploy = true,
-                                                        status = changeSetResult?.status,
-                                                        creationTime = changeSetResult?.creationTime,
-                                                        description = changeSetResult?.description,
-                                                    )
-                                                }
-                                            }
-                                            future.complete(
-                                                ValidationResult.Success(
-                                                    changes = status.changes.orEmpty(),
-                                                    changeSetName = changeSetName,
-                                                    details = details
-                                                )
-                                            )
-                                        } else {
-                                            notifyError(
-                                                title = message("cloudformation.validation.title"),
-                                                content = message("cloudformation.validation.failed", stackName, details.failureReason ?: "Unknown"),
-                                                project = project
-                                            )
-                                            future.complete(ValidationResult.Failed(details.failureReason))
-                                        }
-                                        ChangeSetsManager.getInstance(project).refreshChangeSets(stackName)
-                                        scheduler.shutdown()
-                                    }
-                            }
+        val polling = StackActionPoller.getInstance(project).poll<ValidationResult>(
+            key = "${ValidationWorkflow::class.simpleName}:$id",
+            fetchStatus = { clientService.getValidationStatus(Identifiable(id)) },
+            onTimeout = { ValidationResult.Failed("Timed out waiting for validation") },
+            // validations have always been polled until they finish or are cancelled
+            timeout = Duration.INFINITE
+        ) { status ->
+            if (status == null) {
+                return@poll CompletableFuture.completedFuture(ValidationResult.Failed("Failed to get validation status"))
+            }
 
-                            StackActionPhase.VALIDATION_FAILED -> {
-                                clientService.describeValidationStatus(Identifiable(id))
-                                    .thenAccept { details ->
-                                        notifyError(
-                                            title = message("cloudformation.validation.title"),
-                                            content = message("cloudformation.validation.failed", stackName, details?.failureReason ?: "Unknown"),
-                                            project = project
+            when (status.phase) {
+                StackActionPhase.VALIDATION_COMPLETE -> {
+                    clientService.describeValidationStatus(Identifiable(id))
+                        .thenApply { details ->
+                            val result = if (details == null) {
+                                ValidationResult.Failed("Failed to get validation details")
+                            } else if (status.state == StackActionState.SUCCESSFUL) {
+                                notifyInfo(
+                                    title = message("cloudformation.validation.title"),
+                                    content = message("cloudformation.validation.success", stackName),
+                                    project = project
+                                )
+                                // Fetch full change set details (includes property-level changes)
+                                clientService.describeChangeSet(
+                                    DescribeChangeSetParams(changeSetName, stackName)
+                                ).thenAccept { changeSetResult ->
+                                    val fullChanges = changeSetResult?.changes ?: status.changes.orEmpty()
+                                    runInEdt {
+                                        ChangeSetDiffPanel.show(
+                                            project = project,
+                                            stackName = stackName,
+                                            changeSetName = changeSetName,
+                                            changes = fullChanges,
+                                            enableDeploy = true,
+                                            status = changeSetResult?.status,
+                                            creationTime = changeSetResult?.creationTime,
+                                            description = changeSetResult?.description,
                                         )
-                                        future.complete(ValidationResult.Failed(details?.failureReason))
-                                        ChangeSetsManager.getInstance(project).refreshChangeSets(stackName)
-                                        scheduler.shutdown()
                                     }
+                                }
+                                ValidationResult.Success(
+                                    changes = status.changes.orEmpty(),
+                                    changeSetName = changeSetName,
+                                    details = details
+                                )
+                            } else {
+                                notifyError(
+                                    title = message("cloudformation.validation.title"),
+                                    content = message("cloudformation.validation.failed", stackName, details.failureReason ?: "Unknown"),
+                                    project = project
+                                )
+                                ValidationResult.Failed(details.failureReason)
                             }
+                            ChangeSetsManager.getInstance(project).refreshChangeSets(stackName)
+                            result
+                        }
+                }
 
-                            else -> {} // continue polling
+                StackActionPhase.VALIDATION_FAILED -> {
+                    clientService.describeValidationStatus(Identifiable(id))
+                        .thenApply { details ->
+                            notifyError(
+                                title = message("cloudformation.validation.title"),
+                                content = message("cloudformation.validation.failed", stackName, details?.failureReason ?: "Unknown"),
+                                project = project
+                            )
+                            ChangeSetsManager.getInstance(project).refreshChangeSets(stackName)
+                            ValidationResult.Failed(details?.failureReason)
                         }
-                    }
-                    .exceptionally { error ->
-                        future.complete(ValidationResult.Failed(error.message))
-                        scheduler.shutdown()
-                        null
-                    }
-            },
-            POLL_INTERVAL_MS,
-            POLL_INTERVAL_MS,
-            TimeUnit.MILLISECONDS
-        )
+                }
 
-        return future
-    }
+                else -> CompletableFuture.completedFuture(null) // continue polling
+            }
+        }
 
-    companion object {
-        private const val POLL_INTERVAL_MS = 1000L
+        polling.exceptionally { error -> ValidationResult.Failed(error.message) }
+            .thenAccept { future.complete(it) }
+        // cancelling the validation stops polling
+        future.whenComplete { _, error ->
+            if (error is CancellationException) {
+                polling.cancel(true)
+            }
+        }
+
+        return future
     }
 }
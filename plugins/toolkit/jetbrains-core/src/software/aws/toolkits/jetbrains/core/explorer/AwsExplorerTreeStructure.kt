@@ -4,15 +4,48 @@
 package software.aws.toolkits.jetbrains.core.explorer
 
 import com.intellij.ide.projectView.TreeStructureProvider
+import com.intellij.ide.util.treeView.AbstractTreeNode
 import com.intellij.ide.util.treeView.AbstractTreeStructureBase
+import com.intellij.openapi.progress.ProcessCanceledException
+import com.intellij.openapi.project.DumbService
+import com.intellij.openapi.project.IndexNotReadyException
 import com.intellij.openapi.project.Project
+import software.aws.toolkit.core.utils.error
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerRootNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.ResourceParentNode
 
-class AwsExplorerTreeStructure(project: Project) : AbstractTreeStructureBase(project) {
+/**
+ * @param childrenLoader loads the children of [ResourceParentNode]s asynchronously, if null they are loaded on the calling thread
+ */
+class AwsExplorerTreeStructure(project: Project, private val childrenLoader: ExplorerChildrenLoader? = null) : AbstractTreeStructureBase(project) {
     override fun getProviders(): List<TreeStructureProvider> = defaultTreeStructureProvider + AwsExplorerTreeStructureProvider.EP_NAME.extensionList
 
     override fun getRootElement() = AwsExplorerRootNode(myProject)
 
+    override fun getChildElements(element: Any): Array<Any> {
+        if (childrenLoader == null || element !is AwsExplorerNode<*> || element !is ResourceParentNode) {
+            return super.getChildElements(element)
+        }
+
+        // mirrors the base implementation, which can't be given the children fetched by the loader
+        var children: MutableCollection<AbstractTreeNode<*>> = childrenLoader.children(element).toMutableList()
+        DumbService.getInstance(myProject).filterByDumbAwareness(providers).forEach {
+            try {
+                children = it.modify(element, children, null)
+            } catch (e: IndexNotReadyException) {
+                throw e
+            } catch (e: ProcessCanceledException) {
+                throw e
+            } catch (e: Exception) {
+                LOG.error(e) { "Tree structure provider ${it::class.java.name} failed" }
+            }
+        }
+        children.forEach { it.parent = element }
+        return children.toTypedArray()
+    }
+
     override fun commit() {}
 
     override fun hasSomethingToCommit() = false
@@ -20,6 +53,7 @@ class AwsExplorerTreeStructure(project: Project) : AbstractTreeStructureBase(pro
     override fun isToBuildChildrenInBackground(element: Any) = true
 
     companion object {
+        private val LOG = getLogger<AwsExplorerTreeStructure>()
         val defaultTreeStructureProvider = listOf(DefaultAwsExplorerTreeStructureProvider())
     }
 }
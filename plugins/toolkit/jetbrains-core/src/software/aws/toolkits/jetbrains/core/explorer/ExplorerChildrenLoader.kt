@@ -0,0 +1,68 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer
+
+import com.intellij.openapi.Disposable
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.async
+import software.aws.toolkit.jetbrains.core.coroutines.disposableCoroutineScope
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerErrorNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerLoadingNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.ResourceParentNode
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Loads the children of explorer nodes off the tree's own thread, so one slow or throttled service doesn't hold up the rest of the tree.
+ *
+ * [children] starts a load on the calling thread and returns its result if it completes without suspending, e.g. from the resource cache.
+ * Otherwise it returns a loading placeholder without waiting, since the tree's thread is shared by every node. Once the load completes
+ * [onLoaded] is called for the node, and the next call to [children] returns the result. Loads of different nodes run in parallel.
+ */
+class ExplorerChildrenLoader(disposable: Disposable, private val onLoaded: (ResourceParentNode) -> Unit) {
+    private val coroutineScope = disposableCoroutineScope(disposable)
+    private val dispatcher = ioDispatcher(MAX_PARALLEL_LOADS)
+    private val loads = ConcurrentHashMap<ResourceParentNode, Deferred<List<AwsExplorerNode<*>>>>()
+
+    // nodes currently showing the placeholder, that need to be refreshed once their load completes
+    private val waiting = ConcurrentHashMap.newKeySet<ResourceParentNode>()
+
+    fun children(node: ResourceParentNode): List<AwsExplorerNode<*>> {
+        val load = loads.computeIfAbsent(node) {
+            coroutineScope.async(dispatcher, CoroutineStart.UNDISPATCHED) { node.loadChildren() }.also {
+                it.invokeOnCompletion {
+                    if (waiting.remove(node)) {
+                        onLoaded(node)
+                    }
+                }
+            }
+        }
+
+        if (load.isCompleted) {
+            return completed(node, load)
+        }
+
+        waiting.add(node)
+        // it may have completed before the node was marked as waiting, in which case nothing would refresh it
+        if (load.isCompleted && waiting.remove(node)) {
+            return completed(node, load)
+        }
+        return listOf(AwsExplorerLoadingNode(node.nodeProject))
+    }
+
+    // a result is only handed out once, so the next refresh of the node fetches its children again
+    @OptIn(ExperimentalCoroutinesApi::class)
+    private fun completed(node: ResourceParentNode, load: Deferred<List<AwsExplorerNode<*>>>): List<AwsExplorerNode<*>> {
+        loads.remove(node, load)
+        val error = load.getCompletionExceptionOrNull()
+        return if (error == null) load.getCompleted() else listOf(AwsExplorerErrorNode(node.nodeProject, error))
+    }
+
+    private companion object {
+        const val MAX_PARALLEL_LOADS = 8
+    }
+}
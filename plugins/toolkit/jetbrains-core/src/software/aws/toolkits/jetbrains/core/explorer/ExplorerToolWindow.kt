@@ -92,9 +92,10 @@ class ExplorerToolWindow(private val project: Project) :
     Disposable {
     private val actionManager = ActionManagerEx.getInstanceEx()
     private val treePanelWrapper = NonOpaquePanel()
-    private val awsTreeModel = AwsExplorerTreeStructure(project)
+    // children are fetched in parallel off the tree's invoker, which only builds one node at a time
+    private val childrenLoader = ExplorerChildrenLoader(this) { structureTreeModel.invalidate(it, true) }
+    private val awsTreeModel = AwsExplorerTreeStructure(project, childrenLoader)
 
-    // The 4 max threads is arbitrary, but we want > 1 so that we can load more than one node at a time
     private val structureTreeModel = StructureTreeModel(awsTreeModel, null, Invoker.forBackgroundPoolWithReadAction(this), this)
     private val awsTree = createTree(AsyncTreeModel(structureTreeModel, true, this))
     private val awsTreePanel = ScrollPaneFactory.createScrollPane(awsTree)
@@ -0,0 +1,221 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.aggregated
+
+import com.intellij.openapi.ide.CopyPasteManager
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.DialogWrapper
+import com.intellij.ui.CheckBoxList
+import com.intellij.ui.DocumentAdapter
+import com.intellij.ui.DoubleClickListener
+import com.intellij.ui.SearchTextField
+import com.intellij.ui.TreeSpeedSearch
+import com.intellij.ui.components.JBLabel
+import com.intellij.ui.components.JBScrollPane
+import com.intellij.ui.dsl.builder.Align
+import com.intellij.ui.dsl.builder.AlignY
+import com.intellij.ui.dsl.builder.panel
+import com.intellij.ui.treeStructure.Tree
+import com.intellij.util.ui.JBUI
+import com.intellij.util.ui.tree.TreeUtil
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
+import software.aws.toolkit.core.region.AwsRegion
+import software.aws.toolkit.jetbrains.core.coroutines.disposableCoroutineScope
+import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
+import software.aws.toolkit.jetbrains.core.credentials.AwsConnectionManager
+import software.aws.toolkit.jetbrains.core.credentials.CredentialManager
+import software.aws.toolkit.jetbrains.core.region.AwsRegionProvider
+import software.aws.toolkits.resources.message
+import java.awt.datatransfer.StringSelection
+import java.awt.event.MouseEvent
+import javax.swing.JComponent
+import javax.swing.event.DocumentEvent
+import javax.swing.tree.DefaultMutableTreeNode
+import javax.swing.tree.DefaultTreeModel
+import javax.swing.tree.TreePath
+
+/**
+ * Lists resources from several profiles and regions at once, grouped by profile and region, with a search box over everything found so far
+ */
+class AggregatedExplorerDialog(project: Project) : DialogWrapper(project) {
+    private val coroutineScope = disposableCoroutineScope(disposable)
+
+    // every fetch gets an index of its own, so a cancelled fetch that is still finishing can't add its results to the next one
+    private var index = CrossRegionResourceIndex()
+    private var fetchJob: Job? = null
+
+    // everything fetched so far, only touched on the EDT
+    private val results = mutableMapOf<AggregatedTarget, MutableMap<String, List<AggregatedResource>>>()
+    private var completed = 0
+    private var failed = 0
+    private var expected = 0
+
+    private val credentialList = CheckBoxList<String>()
+    private val regionList = CheckBoxList<AwsRegion>()
+    private val searchField = SearchTextField(false)
+    private val statusLabel = JBLabel()
+    private val rootNode = DefaultMutableTreeNode()
+    private val treeModel = DefaultTreeModel(rootNode)
+    private val tree = Tree(treeModel).apply { isRootVisible = false }
+
+    private val component by lazy {
+        panel {
+            row {
+                cell(searchField).align(Align.FILL).resizableColumn()
+                button(message("explorer.aggregated.fetch")) { fetch() }
+            }
+            row {
+                panel {
+                    row(message("explorer.aggregated.credentials")) {}
+                    row { cell(JBScrollPane(credentialList).apply { preferredSize = JBUI.size(220, 150) }) }
+                    row(message("explorer.aggregated.regions")) {}
+                    row { cell(JBScrollPane(regionList).apply { preferredSize = JBUI.size(220, 250) }) }
+                }.align(AlignY.TOP)
+                cell(JBScrollPane(tree).apply { preferredSize = JBUI.size(500, 450) }).align(Align.FILL).resizableColumn()
+            }.resizableRow()
+            row { cell(statusLabel) }
+        }
+    }
+
+    init {
+        title = message("explorer.aggregated.title")
+        setOKButtonText(message("general.close_button"))
+
+        val connection = AwsConnectionManager.getInstance(project)
+        val selectedCredentials = connection.selectedCredentialIdentifier?.id
+        CredentialManager.getInstance().getCredentialIdentifiers().sortedBy { it.displayName }.forEach {
+            credentialList.addItem(it.id, it.displayName, it.id == selectedCredentials)
+        }
+        val selectedRegion = connection.selectedRegion ?: AwsRegionProvider.getInstance().defaultRegion()
+        AwsRegionProvider.getInstance().regions(selectedRegion.partitionId).values.sortedBy { it.id }.forEach {
+            regionList.addItem(it, "${it.id} (${it.displayName})", it == selectedRegion)
+        }
+
+        searchField.addDocumentListener(object : DocumentAdapter() {
+            override fun textChanged(e: DocumentEvent) {
+                rebuildTree()
+            }
+        })
+        TreeSpeedSearch.installOn(tree)
+        object : DoubleClickListener() {
+            override fun onDoubleClick(event: MouseEvent): Boolean {
+                val resource = (tree.lastSelectedPathComponent as? DefaultMutableTreeNode)?.userObject as? AggregatedResourceNode ?: return false
+                CopyPasteManager.getInstance().setContents(StringSelection(resource.resource.arn ?: resource.resource.name))
+                return true
+            }
+        }.installOn(tree)
+
+        init()
+    }
+
+    override fun createCenterPanel(): JComponent = component
+
+    override fun createActions() = arrayOf(okAction)
+
+    override fun getPreferredFocusedComponent() = searchField
+
+    private fun fetch() {
+        val credentialNames = (0 until credentialList.itemsCount).mapNotNull { credentialList.getItemAt(it) }
+            .associateWith { id -> CredentialManager.getInstance().getCredentialIdentifierById(id)?.displayName ?: id }
+        val targets = credentialNames.filterKeys { credentialList.isItemSelected(it) }.flatMap { (id, name) ->
+            (0 until regionList.itemsCount).mapNotNull { regionList.getItemAt(it) }
+                .filter { regionList.isItemSelected(it) }
+                .map { AggregatedTarget(id, name, it) }
+        }
+        if (targets.isEmpty()) {
+            statusLabel.text = message("explorer.aggregated.no_targets")
+            return
+        }
+
+        fetchJob?.cancel()
+        results.clear()
+        val fetchIndex = CrossRegionResourceIndex()
+        index = fetchIndex
+        completed = 0
+        failed = 0
+        expected = targets.size * AggregatedResourceType.DEFAULT_TYPES.size
+        rebuildTree()
+
+        fetchJob = coroutineScope.launch {
+            AggregatedResourceFetcher(fetchIndex).fetch(targets) { result ->
+                launch(getCoroutineUiContext()) {
+                    if (index === fetchIndex) {
+                        addResult(result)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun addResult(result: AggregatedFetchResult) {
+        completed++
+        if (result.error != null) {
+            failed++
+        }
+        results.getOrPut(result.target) { sortedMapOf() }[result.type.displayName] = result.resources
+        updateStatus()
+
+        if (searchField.text.isNotBlank()) {
+            rebuildTree()
+        } else {
+            mergeIntoTree(result.target, result.type.displayName, result.resources)
+        }
+    }
+
+    private fun updateStatus() {
+        statusLabel.text = message("explorer.aggregated.status", completed, expected, failed, index.size)
+    }
+
+    private fun rebuildTree() {
+        rootNode.removeAllChildren()
+        val query = searchField.text
+        if (query.isBlank()) {
+            results.forEach { (target, types) -> types.forEach { (type, resources) -> addToTree(target, type, resources) } }
+        } else {
+            index.search(query).groupBy { it.target to it.type }.forEach { (key, resources) -> addToTree(key.first, key.second, resources) }
+        }
+        treeModel.reload()
+        TreeUtil.expand(tree, 2)
+    }
+
+    // adds the results without reloading the rest of the tree, so expanded nodes stay expanded while results stream in
+    private fun mergeIntoTree(target: AggregatedTarget, type: String, resources: List<AggregatedResource>) {
+        if (resources.isEmpty()) {
+            return
+        }
+        val credentialsNode = childFor(rootNode, target.credentialsName, notify = true)
+        val typeNode = childFor(childFor(credentialsNode, target.region.id, notify = true), type, notify = true)
+        typeNode.removeAllChildren()
+        resources.sortedBy { it.name.lowercase() }.forEach { typeNode.add(DefaultMutableTreeNode(AggregatedResourceNode(it), false)) }
+        treeModel.nodeStructureChanged(typeNode)
+        tree.expandPath(TreePath(credentialsNode.path))
+    }
+
+    private fun addToTree(target: AggregatedTarget, type: String, resources: List<AggregatedResource>) {
+        if (resources.isEmpty()) {
+            return
+        }
+        val typeNode = childFor(childFor(childFor(rootNode, target.credentialsName), target.region.id), type)
+        resources.sortedBy { it.name.lowercase() }.forEach { typeNode.add(DefaultMutableTreeNode(AggregatedResourceNode(it), false)) }
+    }
+
+    private fun childFor(parent: DefaultMutableTreeNode, name: String, notify: Boolean = false): DefaultMutableTreeNode {
+        val children = parent.children().asSequence().map { it as DefaultMutableTreeNode }.toList()
+        children.firstOrNull { it.userObject == name }?.let { return it }
+
+        val insertAt = children.indexOfFirst { (it.userObject as String) > name }.takeIf { it >= 0 } ?: children.size
+        return DefaultMutableTreeNode(name).also {
+            parent.insert(it, insertAt)
+            if (notify) {
+                treeModel.nodesWereInserted(parent, intArrayOf(insertAt))
+            }
+        }
+    }
+
+    private class AggregatedResourceNode(val resource: AggregatedResource) {
+        override fun toString() = resource.name
+    }
+}
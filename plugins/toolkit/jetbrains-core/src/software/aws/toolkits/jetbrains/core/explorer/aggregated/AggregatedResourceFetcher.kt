@@ -0,0 +1,84 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.aggregated
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.future.await
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import software.aws.toolkit.core.ConnectionSettings
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.warn
+import software.aws.toolkit.jetbrains.core.AwsResourceCache
+import software.aws.toolkit.jetbrains.core.credentials.CredentialManager
+
+/**
+ * The outcome of fetching one resource type from one target, [error] is set if the fetch failed
+ */
+data class AggregatedFetchResult(
+    val target: AggregatedTarget,
+    val type: AggregatedResourceType<*>,
+    val resources: List<AggregatedResource>,
+    val error: Exception? = null,
+)
+
+/**
+ * Fetches resource lists from every combination of target and resource type at the same time, through the shared [AwsResourceCache] so
+ * results already fetched by the explorer are reused.
+ *
+ * At most [concurrency] fetches are in flight at once. Each result is added to [index] and reported through `onResult` as it arrives, and a
+ * failure in one region or profile doesn't stop the others.
+ */
+class AggregatedResourceFetcher(
+    private val index: CrossRegionResourceIndex,
+    private val concurrency: Int = DEFAULT_CONCURRENCY,
+    private val resourceCache: AwsResourceCache = AwsResourceCache.getInstance(),
+    private val connectionSettings: (AggregatedTarget) -> ConnectionSettings = ::defaultConnectionSettings,
+) {
+    suspend fun fetch(
+        targets: List<AggregatedTarget>,
+        types: List<AggregatedResourceType<*>> = AggregatedResourceType.DEFAULT_TYPES,
+        forceFetch: Boolean = false,
+        onResult: (AggregatedFetchResult) -> Unit = {},
+    ) = coroutineScope {
+        val permits = Semaphore(concurrency)
+        targets.forEach { target ->
+            types.forEach { type ->
+                launch {
+                    val result = permits.withPermit { fetch(target, type, forceFetch) }
+                    // the fetch can complete after it was cancelled, and must not replace what a newer fetch put in the index
+                    ensureActive()
+                    index.replace(target, type.displayName, result.resources)
+                    onResult(result)
+                }
+            }
+        }
+    }
+
+    private suspend fun <T> fetch(target: AggregatedTarget, type: AggregatedResourceType<T>, forceFetch: Boolean): AggregatedFetchResult = try {
+        val items = resourceCache.getResource(type.resource, connectionSettings(target), forceFetch = forceFetch).await()
+        AggregatedFetchResult(target, type, type.toResources(items, target))
+    } catch (e: CancellationException) {
+        throw e
+    } catch (e: Exception) {
+        LOG.warn(e) { "Failed to list ${type.displayName} in ${target.credentialsName}@${target.region.id}" }
+        AggregatedFetchResult(target, type, emptyList(), e)
+    }
+
+    companion object {
+        private val LOG = getLogger<AggregatedResourceFetcher>()
+        const val DEFAULT_CONCURRENCY = 16
+
+        private fun defaultConnectionSettings(target: AggregatedTarget): ConnectionSettings {
+            val credentialManager = CredentialManager.getInstance()
+            val identifier = requireNotNull(credentialManager.getCredentialIdentifierById(target.credentialsId)) {
+                "Unknown credentials ${target.credentialsId}"
+            }
+            return ConnectionSettings(credentialManager.getAwsCredentialProvider(identifier, target.region), target.region)
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.aggregated
+
+import software.aws.toolkit.core.region.AwsRegion
+import software.aws.toolkit.core.utils.tryOrNull
+import software.aws.toolkit.jetbrains.core.Resource
+import software.aws.toolkits.jetbrains.services.cloudformation.resources.CloudFormationResources
+import software.aws.toolkits.jetbrains.services.cloudwatch.logs.resources.CloudWatchResources
+import software.aws.toolkits.jetbrains.services.dynamodb.DynamoDbResources
+import software.aws.toolkits.jetbrains.services.lambda.resources.LambdaResources
+import software.aws.toolkits.jetbrains.services.sqs.Queue
+import software.aws.toolkits.jetbrains.services.sqs.resources.SqsResources
+import software.aws.toolkits.resources.message
+
+/**
+ * A credential profile and region pair that the aggregated explorer fetches resources from
+ */
+data class AggregatedTarget(val credentialsId: String, val credentialsName: String, val region: AwsRegion)
+
+/**
+ * A resource found in one [AggregatedTarget]
+ */
+data class AggregatedResource(val target: AggregatedTarget, val type: String, val name: String, val arn: String?)
+
+/**
+ * A list resource that the aggregated explorer fans out across targets, and how to name the resources in it
+ */
+class AggregatedResourceType<T>(
+    val displayName: String,
+    val resource: Resource.Cached<List<T>>,
+    private val name: (T, AwsRegion) -> String?,
+    private val arn: (T, AwsRegion) -> String?,
+) {
+    fun toResources(items: List<T>, target: AggregatedTarget): List<AggregatedResource> = items.mapNotNull { item ->
+        name(item, target.region)?.let { AggregatedResource(target, displayName, it, arn(item, target.region)) }
+    }
+
+    companion object {
+        val DEFAULT_TYPES: List<AggregatedResourceType<*>> by lazy {
+            listOf(
+                AggregatedResourceType(
+                    message("explorer.node.lambda"),
+                    LambdaResources.LIST_FUNCTIONS,
+                    name = { function, _ -> function.functionName() },
+                    arn = { function, _ -> function.functionArn() }
+                ),
+                AggregatedResourceType(
+                    message("explorer.node.cloudformation"),
+                    CloudFormationResources.ACTIVE_STACKS,
+                    name = { stack, _ -> stack.stackName() },
+                    arn = { stack, _ -> stack.stackId() }
+                ),
+                AggregatedResourceType(
+                    message("explorer.node.dynamo"),
+                    DynamoDbResources.LIST_TABLES,
+                    name = { table, _ -> table },
+                    arn = { _, _ -> null }
+                ),
+                AggregatedResourceType(
+                    message("explorer.node.sqs"),
+                    SqsResources.LIST_QUEUE_URLS,
+                    name = { url, region -> tryOrNull { Queue(url, region).queueName } },
+                    arn = { url, region -> tryOrNull { Queue(url, region).arn } }
+                ),
+                AggregatedResourceType(
+                    message("explorer.node.cloudwatch"),
+                    CloudWatchResources.LIST_LOG_GROUPS,
+                    name = { group, _ -> group.logGroupName() },
+                    arn = { group, _ -> group.arn() }
+                ),
+            )
+        }
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.aggregated
+
+import java.util.TreeMap
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * In-memory search index over the resources found by the aggregated explorer.
+ *
+ * Resource names are split into lower case words (on punctuation and camel case humps), and a query matches a resource when every word in the
+ * query is a prefix of one of the resource's words, so "ord proc" finds "order-processor" in any region.
+ */
+class CrossRegionResourceIndex {
+    private val lock = ReentrantReadWriteLock()
+    private val resources = mutableMapOf<Pair<AggregatedTarget, String>, List<AggregatedResource>>()
+    private val words = TreeMap<String, MutableSet<AggregatedResource>>()
+
+    val size: Int
+        get() = lock.read { resources.values.sumOf { it.size } }
+
+    /**
+     * Replaces the resources of [type] previously found in [target]
+     */
+    fun replace(target: AggregatedTarget, type: String, found: List<AggregatedResource>) = lock.write {
+        resources.put(target to type, found)?.forEach { resource ->
+            words(resource.name).forEach { word ->
+                words[word]?.let {
+                    it.remove(resource)
+                    if (it.isEmpty()) words.remove(word)
+                }
+            }
+        }
+        found.forEach { resource ->
+            words(resource.name).forEach { words.getOrPut(it) { mutableSetOf() }.add(resource) }
+        }
+    }
+
+    fun clear() = lock.write {
+        resources.clear()
+        words.clear()
+    }
+
+    fun search(query: String, limit: Int = DEFAULT_LIMIT): List<AggregatedResource> {
+        val terms = words(query)
+        if (terms.isEmpty()) {
+            return emptyList()
+        }
+
+        val matches = lock.read {
+            terms.map { term ->
+                words.subMap(term, true, term + Char.MAX_VALUE, true).values.flatMapTo(mutableSetOf()) { it }
+            }
+        }.reduce { acc, set -> acc.apply { retainAll(set) } }
+
+        return matches.sortedWith(RESULT_ORDER).take(limit)
+    }
+
+    companion object {
+        const val DEFAULT_LIMIT = 200
+
+        private val RESULT_ORDER = compareBy<AggregatedResource>({ it.name.lowercase() }, { it.target.credentialsName }, { it.target.region.id })
+        private val CAMEL_HUMP = Regex("(?<=[a-z0-9])(?=[A-Z])")
+        private val SEPARATOR = Regex("[^A-Za-z0-9]+")
+
+        internal fun words(name: String): Set<String> = name.split(SEPARATOR)
+            .flatMap { it.split(CAMEL_HUMP) }
+            .filter { it.isNotEmpty() }
+            .mapTo(mutableSetOf()) { it.lowercase() }
+    }
+}
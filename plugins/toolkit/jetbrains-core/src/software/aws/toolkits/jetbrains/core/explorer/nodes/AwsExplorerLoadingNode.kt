@@ -0,0 +1,22 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.nodes
+
+import com.intellij.ide.projectView.PresentationData
+import com.intellij.openapi.project.Project
+import com.intellij.ui.SimpleTextAttributes
+import software.aws.toolkits.resources.message
+
+/**
+ * Shown in place of a parent node's children while they are still being loaded
+ */
+class AwsExplorerLoadingNode(project: Project) : AwsExplorerNode<String>(project, message("explorer.loading_node"), awsIcon = null) {
+    override fun getChildren(): List<AwsExplorerNode<*>> = emptyList()
+
+    override fun update(presentation: PresentationData) {
+        presentation.addText(displayName(), SimpleTextAttributes.GRAYED_ATTRIBUTES)
+    }
+
+    override fun isAlwaysLeaf() = true
+}
@@ -5,6 +5,7 @@ package software.aws.toolkits.jetbrains.core.explorer.nodes
 
 import com.intellij.openapi.project.Project
 import software.aws.toolkit.jetbrains.core.Resource
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.getResourceNow
 
 /**
@@ -29,5 +30,7 @@ abstract class CacheBackedAwsExplorerServiceRootNode<T>(project: Project, servic
 
     final override fun getChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject.getResourceNow(resource).map(this::toNode)
 
+    final override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject.awaitResource(resource).map(this::toNode)
+
     abstract fun toNode(child: T): AwsExplorerNode<*>
 }
@@ -5,8 +5,11 @@ package software.aws.toolkits.jetbrains.core.explorer.nodes
 
 import com.intellij.execution.ExecutionException
 import com.intellij.openapi.project.Project
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.withContext
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.core.utils.info
+import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
 
 /**
  * Implemented by explorer resources that have children
@@ -16,22 +19,33 @@ interface ResourceParentNode {
 
     fun isAlwaysShowPlus(): Boolean = true
 
-    fun getChildren(): List<AwsExplorerNode<*>> = try {
-        val children = getChildrenInternal()
-        if (children.isEmpty()) {
-            listOf(emptyChildrenNode())
-        } else {
-            children
-        }
-    } catch (e: ExecutionException) {
-        getLogger(this::class).info(e) { "Failed to get children" }
-        listOf(AwsExplorerErrorNode(nodeProject, e.cause ?: e))
-    } catch (e: Exception) {
-        getLogger(this::class).info(e) { "Failed to get children" }
-        listOf(AwsExplorerErrorNode(nodeProject, e))
-    }
+    fun getChildren(): List<AwsExplorerNode<*>> = childrenOrError { getChildrenInternal() }
+
+    /**
+     * Loads the children for the explorer tree, which starts this on the tree's thread with other nodes loading in parallel. Failures are
+     * reported the same way as [getChildren].
+     */
+    suspend fun loadChildren(): List<AwsExplorerNode<*>> = childrenOrError { loadChildrenInternal() }
 
     fun emptyChildrenNode(): AwsExplorerEmptyNode = AwsExplorerEmptyNode(nodeProject)
 
     fun getChildrenInternal(): List<AwsExplorerNode<*>>
+
+    /**
+     * Suspending version of [getChildrenInternal], which by default calls it on a background thread. Nodes that fetch their children should
+     * override this to suspend rather than block while fetching, and to return without suspending when the result is already available.
+     */
+    suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = withContext(getCoroutineBgContext()) { getChildrenInternal() }
+}
+
+private inline fun ResourceParentNode.childrenOrError(children: () -> List<AwsExplorerNode<*>>): List<AwsExplorerNode<*>> = try {
+    children().ifEmpty { listOf(emptyChildrenNode()) }
+} catch (e: CancellationException) {
+    throw e
+} catch (e: ExecutionException) {
+    getLogger(this::class).info(e) { "Failed to get children" }
+    listOf(AwsExplorerErrorNode(nodeProject, e.cause ?: e))
+} catch (e: Exception) {
+    getLogger(this::class).info(e) { "Failed to get children" }
+    listOf(AwsExplorerErrorNode(nodeProject, e))
 }
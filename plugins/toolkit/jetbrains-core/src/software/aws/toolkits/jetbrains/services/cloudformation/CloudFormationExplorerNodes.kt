@@ -35,14 +35,18 @@ class CloudFormationServiceNode(project: Project, service: AwsExplorerServiceNod
     override fun displayName(): String = message("explorer.node.cloudformation")
     override fun toNode(child: StackSummary): AwsExplorerNode<*> = CloudFormationStackNode(nodeProject, child.stackName(), child.stackStatus(), child.stackId())
 
-    override fun getChildren(): List<AwsExplorerNode<*>> {
+    override fun getChildren(): List<AwsExplorerNode<*>> = withCfnPanelNode(super.getChildren())
+
+    override suspend fun loadChildren(): List<AwsExplorerNode<*>> = withCfnPanelNode(super.loadChildren())
+
+    private fun withCfnPanelNode(children: List<AwsExplorerNode<*>>): List<AwsExplorerNode<*>> {
         val hasCfnPanel = ToolkitToolWindowTab.EP_NAME.extensionList.any {
             it.tabId == message("cloudformation.explorer.tab.title") && it.enabled()
         }
         return if (hasCfnPanel) {
-            listOf(TryCloudFormationPanelNode(nodeProject)) + super.getChildren()
+            listOf(TryCloudFormationPanelNode(nodeProject)) + children
         } else {
-            super.getChildren()
+            children
         }
     }
 }
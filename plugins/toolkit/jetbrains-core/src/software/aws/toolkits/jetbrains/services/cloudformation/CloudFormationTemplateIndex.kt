@@ -3,11 +3,10 @@
 
 package software.aws.toolkits.jetbrains.services.cloudformation
 
+import com.intellij.json.JsonFileType
 import com.intellij.openapi.application.ApplicationManager
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.vfs.VirtualFile
-import com.intellij.psi.PsiElement
-import com.intellij.psi.PsiElementVisitor
 import com.intellij.psi.search.GlobalSearchScope
 import com.intellij.util.indexing.DataIndexer
 import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter
@@ -19,20 +18,10 @@ import com.intellij.util.io.DataExternalizer
 import com.intellij.util.io.EnumeratorStringDescriptor
 import com.intellij.util.io.KeyDescriptor
 import org.jetbrains.yaml.YAMLFileType
-import org.jetbrains.yaml.psi.YAMLKeyValue
-import software.aws.toolkits.jetbrains.services.cloudformation.yaml.YamlCloudFormationTemplate
 import java.io.DataInput
 import java.io.DataOutput
 
 class CloudFormationTemplateIndex : FileBasedIndexExtension<String, MutableList<IndexedResource>>() {
-    private val fileFilter by lazy {
-        val supportedFiles = arrayOf(YAMLFileType.YML)
-
-        object : DefaultFileTypeSpecificInputFilter(*supportedFiles) {
-            override fun acceptInput(file: VirtualFile): Boolean = file.isInLocalFileSystem
-        }
-    }
-
     override fun getValueExternalizer(): DataExternalizer<MutableList<IndexedResource>> = object : DataExternalizer<MutableList<IndexedResource>> {
         override fun save(dataOutput: DataOutput, value: MutableList<IndexedResource>) {
             dataOutput.writeInt(value.size)
@@ -52,46 +41,34 @@ class CloudFormationTemplateIndex : FileBasedIndexExtension<String, MutableList<
     override fun getName(): ID<String, MutableList<IndexedResource>> = NAME
 
     override fun getIndexer(): DataIndexer<String, MutableList<IndexedResource>, FileContent> = DataIndexer { fileContent ->
-        val indexedResources = mutableMapOf<String, MutableList<IndexedResource>>()
-
-        fileContent.psiFile.acceptNode(
-            object : PsiElementVisitor() {
-                override fun visitElement(element: PsiElement) {
-                    super.visitElement(element)
-                    val parent = element.parent as? YAMLKeyValue ?: return
-                    if (parent.value != element) return
-
-                    val resource = YamlCloudFormationTemplate.convertPsiToResource(parent) ?: return
-                    val resourceType = resource.type() ?: return
-                    IndexedResource.from(resource)?.let {
-                        indexedResources.computeIfAbsent(resourceType) { mutableListOf() }.add(it)
-                    }
-                }
-            }
-        )
-
-        indexedResources
+        indexedResources(fileContent).groupByTo(mutableMapOf()) { it.type }
     }
 
     override fun getKeyDescriptor(): KeyDescriptor<String> = EnumeratorStringDescriptor.INSTANCE
 
-    override fun getVersion(): Int = 3
+    override fun getVersion(): Int = 4
 
-    override fun getInputFilter(): FileBasedIndex.InputFilter = fileFilter
+    override fun getInputFilter(): FileBasedIndex.InputFilter = TEMPLATE_FILE_FILTER
 
     override fun dependsOnFileContent(): Boolean = true
 
     companion object {
         private val NAME: ID<String, MutableList<IndexedResource>> = ID.create("CloudFormationTemplateIndex")
 
-        private fun PsiElement.acceptNode(visitor: PsiElementVisitor) {
-            accept(visitor)
+        internal val TEMPLATE_FILE_FILTER: FileBasedIndex.InputFilter by lazy {
+            val supportedFiles = arrayOf(YAMLFileType.YML, JsonFileType.INSTANCE)
 
-            if (children.isNotEmpty()) {
-                children.forEach { it.acceptNode(visitor) }
+            object : DefaultFileTypeSpecificInputFilter(*supportedFiles) {
+                override fun acceptInput(file: VirtualFile): Boolean = file.isInLocalFileSystem
             }
         }
 
+        /**
+         * Reads the resources declared in a template, for indexers
+         */
+        internal fun indexedResources(fileContent: FileContent): List<IndexedResource> =
+            TemplateResourceExtractor.extract(fileContent.contentAsText, isJson = fileContent.fileType == JsonFileType.INSTANCE)
+
         fun listResources(
             project: Project,
             resourceTypeFilter: (String) -> Boolean = { true },
@@ -80,6 +80,14 @@ open class IndexedResource protected constructor(val type: String, val indexedPr
         fun from(resource: Resource): IndexedResource? = resource.type()?.let {
             INDEXED_RESOURCE_MAPPINGS[it]?.second?.invoke(resource) ?: IndexedResource(resource, listOf(), listOf())
         }
+
+        /**
+         * Creates an [IndexedResource] from all the scalar properties and metadata of a resource, keeping the ones indexed for its type
+         */
+        fun fromScalars(type: String, properties: Map<String, String>, metadata: Map<String, String>): IndexedResource {
+            val (indexProperties, indexMetadata) = INDEXED_KEYS[type] ?: return from(type, emptyMap(), emptyMap())
+            return from(type, properties.filterKeys { it in indexProperties }, metadata.filterKeys { it in indexMetadata })
+        }
     }
 }
 
@@ -88,7 +96,7 @@ class IndexedFunction : IndexedResource {
     internal constructor(type: String, indexedProperties: Map<String, String>, indexedMetadata: Map<String, String>) :
         super(type, indexedProperties, indexedMetadata)
 
-    internal constructor(resource: Resource) : super(resource, listOf("Runtime", "Handler", "PackageType"), listOf("BuildMethod"))
+    internal constructor(resource: Resource) : super(resource, PROPERTIES, METADATA)
 
     fun runtime(): String? = indexedProperties["Runtime"]
 
@@ -99,6 +107,11 @@ class IndexedFunction : IndexedResource {
     fun buildMethod(): String? = indexedMetadata["BuildMethod"]
 
     override fun toString(): String = "IndexedFunction(indexedProperties=$indexedProperties,indexedMetadata=$indexedMetadata)"
+
+    internal companion object {
+        val PROPERTIES = listOf("Runtime", "Handler", "PackageType")
+        val METADATA = listOf("BuildMethod")
+    }
 }
 
 internal val INDEXED_RESOURCE_MAPPINGS = mapOf<
@@ -111,3 +124,9 @@ internal val INDEXED_RESOURCE_MAPPINGS = mapOf<
     LAMBDA_FUNCTION_TYPE to Pair(::IndexedFunction, ::IndexedFunction),
     SERVERLESS_FUNCTION_TYPE to Pair(::IndexedFunction, ::IndexedFunction)
 )
+
+// properties and metadata indexed for each resource type, others only have their type indexed
+private val INDEXED_KEYS = mapOf(
+    LAMBDA_FUNCTION_TYPE to Pair(IndexedFunction.PROPERTIES, IndexedFunction.METADATA),
+    SERVERLESS_FUNCTION_TYPE to Pair(IndexedFunction.PROPERTIES, IndexedFunction.METADATA)
+)
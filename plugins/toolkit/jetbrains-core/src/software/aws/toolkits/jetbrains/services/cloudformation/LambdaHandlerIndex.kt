@@ -0,0 +1,98 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudformation
+
+import com.intellij.json.JsonLanguage
+import com.intellij.openapi.project.DumbService
+import com.intellij.openapi.project.Project
+import com.intellij.openapi.roots.ProjectRootManager
+import com.intellij.openapi.util.ModificationTracker
+import com.intellij.openapi.vfs.VirtualFileManager
+import com.intellij.psi.search.GlobalSearchScope
+import com.intellij.psi.util.CachedValueProvider
+import com.intellij.psi.util.CachedValuesManager
+import com.intellij.psi.util.PsiModificationTracker
+import com.intellij.util.indexing.DataIndexer
+import com.intellij.util.indexing.FileBasedIndex
+import com.intellij.util.indexing.FileContent
+import com.intellij.util.indexing.ID
+import com.intellij.util.indexing.ScalarIndexExtension
+import com.intellij.util.io.EnumeratorStringDescriptor
+import com.intellij.util.io.KeyDescriptor
+import org.jetbrains.yaml.YAMLLanguage
+import software.amazon.awssdk.services.lambda.model.Runtime
+import software.aws.toolkits.jetbrains.services.lambda.RuntimeGroup
+import software.aws.toolkits.jetbrains.services.lambda.runtimeGroup
+
+/**
+ * Indexes the handlers of the Lambda functions declared in templates by runtime, so checking whether a handler is used by a template is a
+ * single lookup instead of a scan of every indexed resource.
+ */
+class LambdaHandlerIndex : ScalarIndexExtension<String>() {
+    override fun getName(): ID<String, Void> = NAME
+
+    override fun getIndexer(): DataIndexer<String, Void, FileContent> = DataIndexer { fileContent ->
+        val handlers = mutableMapOf<String, Void?>()
+
+        CloudFormationTemplateIndex.indexedResources(fileContent).filterIsInstance<IndexedFunction>().forEach { function ->
+            val runtime = function.runtime() ?: return@forEach
+            // if user has a custom makefile, assume they know what they're doing with the handler since we don't have enough information
+            val handler = if (function.buildMethod() == "makefile") ANY_HANDLER else function.handler() ?: return@forEach
+            handlers["$runtime$SEPARATOR$handler"] = null
+        }
+
+        handlers
+    }
+
+    override fun getKeyDescriptor(): KeyDescriptor<String> = EnumeratorStringDescriptor.INSTANCE
+
+    override fun getVersion(): Int = 2
+
+    override fun getInputFilter(): FileBasedIndex.InputFilter = CloudFormationTemplateIndex.TEMPLATE_FILE_FILTER
+
+    override fun dependsOnFileContent(): Boolean = true
+
+    private data class Handler(val runtimeGroup: String, val handler: String)
+
+    companion object {
+        private val NAME: ID<String, Void> = ID.create("LambdaHandlerIndex")
+        private const val ANY_HANDLER = "*"
+
+        // runtimes never contain spaces
+        private const val SEPARATOR = ' '
+
+        /**
+         * @return whether a template in the project declares a function using [handler] with a runtime of [runtimeGroup]
+         */
+        fun isHandlerInTemplate(project: Project, runtimeGroup: RuntimeGroup, handler: String): Boolean {
+            val handlers = handlers(project)
+            return Handler(runtimeGroup.id, handler) in handlers || Handler(runtimeGroup.id, ANY_HANDLER) in handlers
+        }
+
+        // runtime groups are resolved here rather than in the indexer, since they depend on which language plugins are installed
+        private fun handlers(project: Project): Set<Handler> = CachedValuesManager.getManager(project).getCachedValue(project) {
+            val index = FileBasedIndex.getInstance()
+            val scope = GlobalSearchScope.projectScope(project)
+            val handlers = index.getAllKeys(NAME, project)
+                .asSequence()
+                .filter { index.getContainingFiles(NAME, it, scope).isNotEmpty() }
+                .mapNotNull { key ->
+                    val runtimeGroup = Runtime.fromValue(key.substringBefore(SEPARATOR))?.runtimeGroup ?: return@mapNotNull null
+                    Handler(runtimeGroup.id, key.substringAfter(SEPARATOR))
+                }
+                .toSet()
+
+            CachedValueProvider.Result.create(
+                handlers,
+                // changes to templates outside the editor, e.g. a git checkout, only show up in the index
+                ModificationTracker { index.getIndexModificationStamp(NAME, project) },
+                PsiModificationTracker.getInstance(project).forLanguage(YAMLLanguage.INSTANCE),
+                PsiModificationTracker.getInstance(project).forLanguage(JsonLanguage.INSTANCE),
+                VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS,
+                ProjectRootManager.getInstance(project),
+                DumbService.getInstance(project).modificationTracker
+            )
+        }
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudformation
+
+import com.fasterxml.jackson.core.JsonFactory
+import com.fasterxml.jackson.core.JsonParser
+import com.fasterxml.jackson.core.JsonToken
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.util.text.CharSequenceReader
+import software.aws.toolkit.core.utils.debug
+import software.aws.toolkit.core.utils.getLogger
+
+/**
+ * Extracts the resources of a YAML or JSON CloudFormation template for indexing.
+ *
+ * The template is read as a stream of tokens and only the scalars that are indexed are kept, so it is never fully parsed into PSI or a
+ * tree. Files without a `Resources` section, which every template has, are rejected before they are tokenized at all.
+ */
+internal object TemplateResourceExtractor {
+    private val LOG = getLogger<TemplateResourceExtractor>()
+    private val JSON_FACTORY = JsonFactory()
+    private val YAML_FACTORY = YAMLFactory()
+    private const val RESOURCES = "Resources"
+
+    fun isTemplateCandidate(text: CharSequence): Boolean = StringUtil.contains(text, RESOURCES)
+
+    fun extract(text: CharSequence, isJson: Boolean): List<IndexedResource> {
+        if (!isTemplateCandidate(text)) {
+            return emptyList()
+        }
+
+        val factory = if (isJson) JSON_FACTORY else YAML_FACTORY
+        val template = RawTemplate()
+        try {
+            factory.createParser(CharSequenceReader(text)).use { readTemplate(it, template) }
+        } catch (e: Exception) {
+            // the file is being edited or is not a template, keep whatever was read before the error
+            LOG.debug(e) { "Failed to read template" }
+        }
+
+        return template.resources.mapNotNull {
+            val type = it.type ?: return@mapNotNull null
+            val properties = if (type == SERVERLESS_FUNCTION_TYPE) template.functionGlobals + it.properties else it.properties
+            IndexedResource.fromScalars(type, properties, it.metadata)
+        }
+    }
+
+    /**
+     * Filled in as the template is read, so a template that fails part way through still yields the resources before the error
+     */
+    private class RawTemplate {
+        val resources = mutableListOf<RawResource>()
+        val functionGlobals = mutableMapOf<String, String>()
+    }
+
+    private class RawResource {
+        var type: String? = null
+        val properties = mutableMapOf<String, String>()
+        val metadata = mutableMapOf<String, String>()
+    }
+
+    private fun readTemplate(parser: JsonParser, template: RawTemplate) {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return
+        }
+
+        parser.forEachField { section ->
+            when (section) {
+                RESOURCES -> parser.forEachField { readResource(parser, RawResource().also { template.resources.add(it) }) }
+                "Globals" -> parser.forEachField { type ->
+                    when (type) {
+                        "Function" -> readScalars(parser, template.functionGlobals)
+                        else -> parser.skipChildren()
+                    }
+                }
+                else -> parser.skipChildren()
+            }
+        }
+    }
+
+    private fun readResource(parser: JsonParser, resource: RawResource) {
+        parser.forEachField { key ->
+            when (key) {
+                "Type" -> resource.type = parser.scalarOrSkip()
+                "Properties" -> readScalars(parser, resource.properties)
+                "Metadata" -> readScalars(parser, resource.metadata)
+                else -> parser.skipChildren()
+            }
+        }
+    }
+
+    private fun readScalars(parser: JsonParser, scalars: MutableMap<String, String>) {
+        parser.forEachField { key -> parser.scalarOrSkip()?.let { scalars[key] = it } }
+    }
+
+    private fun JsonParser.scalarOrSkip(): String? {
+        val token = currentToken()
+        return when {
+            // a key without a value, e.g. `Handler:`
+            token == JsonToken.VALUE_NULL -> ""
+            token.isScalarValue -> text
+            else -> {
+                skipChildren()
+                null
+            }
+        }
+    }
+
+    /**
+     * Calls [block] with the parser on the value of each field of the object it is on, [block] must consume the whole value.
+     * Values that are not objects are skipped.
+     */
+    private inline fun JsonParser.forEachField(block: (String) -> Unit) {
+        if (currentToken() != JsonToken.START_OBJECT) {
+            skipChildren()
+            return
+        }
+
+        while (nextToken() == JsonToken.FIELD_NAME) {
+            val name = currentName()
+            nextToken()
+            block(name)
+        }
+    }
+}
@@ -8,6 +8,8 @@ import software.amazon.awssdk.services.cloudformation.model.StackStatus
 import software.amazon.awssdk.services.cloudformation.model.StackSummary
 import software.aws.toolkit.jetbrains.core.ClientBackedCachedResource
 import software.aws.toolkit.jetbrains.core.Resource
+import software.aws.toolkit.jetbrains.core.ResourceCodec
+import software.aws.toolkit.jetbrains.core.persistent
 
 object CloudFormationResources {
     @JvmField
@@ -19,5 +21,5 @@ object CloudFormationResources {
                 StackStatus.knownValues().toList().filter { status -> status != StackStatus.DELETE_COMPLETE }
             )
         }.stackSummaries().toList().filter { it.stackName() != null }
-    }
+    }.persistent(ResourceCodec.list(ResourceCodec.sdkPojo(StackSummary::builder)))
 }
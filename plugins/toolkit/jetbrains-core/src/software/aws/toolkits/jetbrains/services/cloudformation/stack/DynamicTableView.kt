@@ -7,13 +7,17 @@ import com.intellij.ui.table.JBTable
 import java.awt.event.MouseListener
 import javax.swing.JComponent
 import javax.swing.SwingUtilities
-import javax.swing.table.DefaultTableModel
+import javax.swing.table.AbstractTableModel
 import javax.swing.table.TableCellRenderer
 
-class DynamicTableView<T>(private vararg val fields: Field<T>) : View {
-    private val model = object : DefaultTableModel(fields.map(Field<T>::readableName).toTypedArray(), 0) {
-        override fun isCellEditable(row: Int, column: Int) = false
-    }
+/**
+ * Table of items, newest first. Holds at most [maxItems] items, the oldest are dropped once it is full.
+ *
+ * Cell values are read from the items as rows are rendered, and each update is a single model event, so only the visible rows are
+ * painted no matter how many items the table holds.
+ */
+class DynamicTableView<T>(private vararg val fields: Field<T>, private val maxItems: Int = Int.MAX_VALUE) : View {
+    private val model = ItemsTableModel()
 
     private val table = JBTable(model).apply {
         autoCreateRowSorter = true
@@ -32,12 +36,7 @@ class DynamicTableView<T>(private vararg val fields: Field<T>) : View {
 
     fun updateItems(items: List<T>, clearExisting: Boolean = false) {
         assert(SwingUtilities.isEventDispatchThread())
-        if (clearExisting) {
-            model.rowCount = 0
-        }
-        items.forEachIndexed { index, item ->
-            model.insertRow(index, fields.map { it.getData(item) }.toTypedArray())
-        }
+        model.update(items.take(maxItems), clearExisting)
         table.setPaintBusy(false)
     }
 
@@ -55,6 +54,39 @@ class DynamicTableView<T>(private vararg val fields: Field<T>) : View {
         }.toMap()
     }
 
+    private inner class ItemsTableModel : AbstractTableModel() {
+        private val items = ArrayDeque<T>()
+
+        fun update(newItems: List<T>, clearExisting: Boolean) {
+            if (clearExisting) {
+                items.clear()
+                items.addAll(newItems)
+                fireTableDataChanged()
+                return
+            }
+            if (newItems.isEmpty()) {
+                return
+            }
+
+            newItems.asReversed().forEach { items.addFirst(it) }
+            fireTableRowsInserted(0, newItems.size - 1)
+
+            val overflow = items.size - maxItems
+            if (overflow > 0) {
+                repeat(overflow) { items.removeLast() }
+                fireTableRowsDeleted(maxItems, maxItems + overflow - 1)
+            }
+        }
+
+        override fun getRowCount() = items.size
+
+        override fun getColumnCount() = fields.size
+
+        override fun getColumnName(column: Int) = fields[column].readableName
+
+        override fun getValueAt(rowIndex: Int, columnIndex: Int) = fields[columnIndex].getData(items[rowIndex])
+    }
+
     data class Field<T>(
         val readableName: String,
         val renderer: TableCellRenderer? = null,
@@ -21,6 +21,11 @@ class EventsFetcher(private val stackName: String) {
     private var nextPage: String? = null
     private var currentPage: String? = null
 
+    /**
+     * Whether the newest events are shown, so events returned by [fetchEvents] are the ones that happened since the last call
+     */
+    val onFirstPage: Boolean get() = currentPage == null
+
     /**
      * [pageToSwitchTo] switch to another page.
      *
@@ -52,9 +57,13 @@ class EventsFetcher(private val stackName: String) {
         }
 
         val eventsUnprocessed = response.stackEvents()
-        val eventsProcessed = when (lastEventIdOfCurrentPage) {
+        val eventsProcessed = when (val lastEventId = lastEventIdOfCurrentPage) {
             null -> eventsUnprocessed
-            else -> eventsUnprocessed.takeWhile { it.id != lastEventIdOfCurrentPage }
+            else -> if (pageToFetch == null) {
+                eventsSince(client, lastEventId, eventsUnprocessed, response.nextToken())
+            } else {
+                eventsUnprocessed.takeWhile { it.id != lastEventId }
+            }
         }
         eventsProcessed.firstOrNull()?.let { lastEventIdOfCurrentPage = it.id }
 
@@ -70,5 +79,31 @@ class EventsFetcher(private val stackName: String) {
         return Pair(eventsProcessed, availablePages)
     }
 
+    /**
+     * More events than fit on a page may have happened since the last call, follow the pages until the last seen event is found so none
+     * are skipped
+     */
+    private fun eventsSince(client: CloudFormationClient, lastEventId: String, firstPage: List<StackEvent>, nextToken: String?): List<StackEvent> {
+        val events = mutableListOf<StackEvent>()
+        var page = firstPage
+        var token = nextToken
+        var pagesFetched = 1
+        while (true) {
+            val newEvents = page.takeWhile { it.id != lastEventId }
+            events.addAll(newEvents)
+            if (newEvents.size < page.size || token == null || pagesFetched == MAX_CATCH_UP_PAGES) {
+                return events
+            }
+            val response = client.describeStackEvents(DescribeStackEventsRequest.builder().stackName(stackName).nextToken(token).build())
+            page = response.stackEvents()
+            token = response.nextToken()
+            pagesFetched++
+        }
+    }
+
     private val StackEvent.id: String get() = eventId()
+
+    private companion object {
+        const val MAX_CATCH_UP_PAGES = 5
+    }
 }
@@ -21,7 +21,8 @@ interface EventsTable : View {
      * [events] List<StackEvent> Events in reverse chronological order.
      * All events are inserted in the top of the table.
      * Also, resets "Loading" icon (see [showBusyIcon]) and inserts [events] to the top of the table.
-     * If [pageChanged] current events are removed
+     * If [pageChanged] current events are removed.
+     * Only the most recent events are kept, older ones are dropped from the bottom of the table.
      */
     fun insertEvents(events: List<StackEvent>, pageChanged: Boolean)
 
@@ -52,7 +53,8 @@ internal class EventsTableImpl : EventsTable, Disposable {
         DynamicTableView.Field(
             message("cloudformation.stack.reason"),
             WrappingCellRenderer(wrapOnSelection = true, wrapOnToggle = false)
-        ) { e -> e.resourceStatusReason() ?: "" }
+        ) { e -> e.resourceStatusReason() ?: "" },
+        maxItems = MAX_EVENTS
     ).apply { component.border = IdeBorderFactory.createBorder(SideBorder.BOTTOM) }
 
     override val component: JComponent = table.component
@@ -66,4 +68,8 @@ internal class EventsTableImpl : EventsTable, Disposable {
     }
 
     override fun dispose() {}
+
+    companion object {
+        const val MAX_EVENTS = 1000
+    }
 }
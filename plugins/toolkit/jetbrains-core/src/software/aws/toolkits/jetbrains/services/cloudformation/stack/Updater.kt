@@ -28,6 +28,9 @@ interface UpdateListener {
 
 /**
  * Updates tree view on timer. Create on EDT.
+ *
+ * Each tick only describes the stack and fetches the events newer than the last one seen. Resources are fetched again only when a new
+ * event touches one of them or the stack status changes, and views are only updated with what changed.
  */
 class Updater(
     private val treeView: TreeView,
@@ -47,10 +50,20 @@ class Updater(
 
     @Volatile
     private var predicate: (StackResource) -> Boolean = { true }
+
+    @Volatile
+    private var resources: List<StackResource>? = null
+
+    @Volatile
+    private var outputs: List<Output>? = null
+    private val reloadResources = AtomicBoolean(true)
     private val updating = AtomicBoolean(false)
     val running get() = updating.get()
     private val eventsFetcher = EventsFetcher(stackId)
 
+    // only touched on the EDT
+    private var eventsShown = false
+
     private val app: Application
         get() = ApplicationManager.getApplication()
 
@@ -62,6 +75,7 @@ class Updater(
 
     fun start() {
         updating.set(true)
+        reloadResources.set(true)
         // cancel pending requests after refreshing
         alarm.cancelAllRequests()
         alarm.addRequest({ fetchDataSafely() }, 0)
@@ -79,7 +93,12 @@ class Updater(
      */
     fun applyFilter(predicate: (StackResource) -> Boolean) {
         this.predicate = predicate
-        fetchDataSafely()
+        val resources = resources
+        if (resources == null) {
+            fetchDataSafely()
+        } else {
+            app.invokeLater { treeView.fillResources(resources.filter(predicate)) }
+        }
     }
 
     private fun fetchDataSafely(pageToSwitchTo: Page? = null) {
@@ -94,8 +113,9 @@ class Updater(
 
     private fun fetchData(pageToSwitchTo: Page?) {
         assert(!SwingUtilities.isEventDispatchThread())
-        val stackDetails = fetchStackDetails()
-        val newStackStatus = stackDetails.status
+        val stack = client.describeStacks { it.stackName(stackId) }.stacks().firstOrNull()
+        val newStackStatus = stack?.stackStatus() ?: StackStatus.UNKNOWN_TO_SDK_VERSION
+        val newOutputs = stack?.outputs() ?: emptyList()
         val newStackStatusType = newStackStatus.type
         val newStackStatusNotInProgress = newStackStatusType !in setOf(StatusType.UNKNOWN, StatusType.PROGRESS)
 
@@ -107,6 +127,7 @@ class Updater(
 
         // Stack status is final and has not been changed
         val stackStatusFinalNotChanged = newStackStatusNotInProgress && newStackStatusType == stackStatus
+        val stackStatusChanged = newStackStatusType != stackStatus
 
         stackStatus = newStackStatusType
 
@@ -117,13 +138,29 @@ class Updater(
             eventsFetcher.fetchEvents(client, pageToSwitchTo)
         }
 
+        // New events are only known while the first page is shown, otherwise fall back to fetching resources on every tick
+        val resourcesTouched = when {
+            pageToSwitchTo != null -> false
+            eventsFetcher.onFirstPage -> eventsAndButtonStates?.first?.any { it.touchesResource() } == true
+            else -> !newStackStatusNotInProgress
+        }
+        val newResources = if (reloadResources.getAndSet(false) || resources == null || stackStatusChanged || resourcesTouched) {
+            fetchResources().also { resources = it }
+        } else {
+            null
+        }
+        val outputsChanged = newOutputs != outputs
+        outputs = newOutputs
+
         app.invokeLater {
-            outputsTable.updatedOutputs(stackDetails.outputs)
-            resourceListener.updatedResources(stackDetails.resources)
+            if (outputsChanged) {
+                outputsTable.updatedOutputs(newOutputs)
+            }
+            newResources?.let { resourceListener.updatedResources(it) }
 
             showData(
                 stackStatus = newStackStatus,
-                resources = stackDetails.resources.filter(predicate),
+                resources = newResources?.filter(predicate),
                 newEvents = eventsAndButtonStates?.first ?: emptyList(),
                 pageChanged = pageToSwitchTo != null
             )
@@ -150,27 +187,29 @@ class Updater(
 
     private fun showData(
         stackStatus: StackStatus,
-        resources: Collection<StackResource>,
+        resources: Collection<StackResource>?,
         newEvents: List<StackEvent>,
         pageChanged: Boolean,
     ) {
         assert(SwingUtilities.isEventDispatchThread())
         treeView.setStackStatus(stackStatus)
-        treeView.fillResources(resources)
-        eventsTable.insertEvents(newEvents, pageChanged)
+        resources?.let { treeView.fillResources(it) }
+        if (newEvents.isNotEmpty() || pageChanged || !eventsShown) {
+            eventsTable.insertEvents(newEvents, pageChanged)
+            eventsShown = true
+        }
     }
 
-    private fun fetchStackDetails(): Stack {
+    private fun fetchResources(): List<StackResource> {
         assert(!SwingUtilities.isEventDispatchThread())
         val resourcesRequest = DescribeStackResourcesRequest.builder().stackName(stackId).build()
-        val resources = client.describeStackResources(resourcesRequest).stackResources()
-        val stack = client.describeStacks { it.stackName(stackId) }.stacks().firstOrNull()
-        val stackStatus = stack?.stackStatus() ?: StackStatus.UNKNOWN_TO_SDK_VERSION
-        val outputs = stack?.outputs() ?: emptyList()
-        return Stack(stackStatus, resources, outputs)
+        return client.describeStackResources(resourcesRequest).stackResources()
     }
 
-    private data class Stack(val status: StackStatus, val resources: List<StackResource>, val outputs: List<Output>)
+    /**
+     * Events of the stack itself only change its status, which is fetched on every tick anyway
+     */
+    private fun StackEvent.touchesResource() = logicalResourceId() != stackName()
 
     override fun dispose() {
     }
@@ -0,0 +1,56 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs
+
+import java.time.Duration
+import kotlin.random.Random
+
+/**
+ * Decides how long to wait between polls, e.g. while tailing a log stream or waiting on an Insights query.
+ *
+ * While polls make progress they are made every [minimum], every poll that makes no progress stretches the interval by [growthFactor] up to
+ * [maximum] so quiet streams do not waste API quota. When the service throttles a request the wait backs off exponentially, with full jitter so
+ * that many tabs polling at once do not retry in lockstep.
+ */
+class AdaptivePollingInterval(
+    private val minimum: Duration = DEFAULT_MINIMUM,
+    private val maximum: Duration = DEFAULT_MAXIMUM,
+    private val maximumBackoff: Duration = DEFAULT_MAXIMUM_BACKOFF,
+    private val growthFactor: Double = DEFAULT_GROWTH_FACTOR,
+    private val random: Random = Random.Default,
+) {
+    private var current = minimum
+    private var throttledAttempts = 0
+
+    /**
+     * Returns the wait before the next poll after a poll that made [progress], e.g. the number of new events
+     */
+    fun afterPoll(progress: Int): Duration {
+        throttledAttempts = 0
+        current = if (progress > 0) {
+            minimum
+        } else {
+            Duration.ofMillis(minOf((current.toMillis() * growthFactor).toLong(), maximum.toMillis()))
+        }
+        return current
+    }
+
+    /**
+     * Returns the wait before the next poll after the service throttled a poll
+     */
+    fun afterThrottle(): Duration {
+        val ceiling = minOf(minimum.toMillis() shl minOf(++throttledAttempts, MAX_BACKOFF_SHIFT), maximumBackoff.toMillis())
+        // once the throttling stops, resume polling at the slowest rate and let new events speed it back up
+        current = maximum
+        return Duration.ofMillis(minimum.toMillis() + random.nextLong(maxOf(ceiling - minimum.toMillis(), 0) + 1))
+    }
+
+    private companion object {
+        val DEFAULT_MINIMUM: Duration = Duration.ofMillis(500)
+        val DEFAULT_MAXIMUM: Duration = Duration.ofSeconds(10)
+        val DEFAULT_MAXIMUM_BACKOFF: Duration = Duration.ofSeconds(60)
+        const val DEFAULT_GROWTH_FACTOR = 1.5
+        const val MAX_BACKOFF_SHIFT = 16
+    }
+}
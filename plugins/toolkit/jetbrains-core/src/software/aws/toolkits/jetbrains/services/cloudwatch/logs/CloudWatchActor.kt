@@ -10,16 +10,18 @@ import com.intellij.openapi.ui.Messages
 import com.intellij.ui.TableUtil
 import com.intellij.ui.table.TableView
 import com.intellij.util.ExceptionUtil
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.CoroutineExceptionHandler
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
+import software.amazon.awssdk.core.exception.SdkServiceException
 import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
 import software.amazon.awssdk.services.cloudwatchlogs.model.DescribeLogStreamsRequest
 import software.amazon.awssdk.services.cloudwatchlogs.model.FilterLogEventsRequest
 import software.amazon.awssdk.services.cloudwatchlogs.model.GetLogEventsRequest
-import software.amazon.awssdk.services.cloudwatchlogs.model.GetQueryResultsResponse
 import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream
 import software.amazon.awssdk.services.cloudwatchlogs.model.OrderBy
 import software.amazon.awssdk.services.cloudwatchlogs.model.QueryStatus
@@ -33,8 +35,7 @@ import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
 import software.aws.toolkit.jetbrains.utils.notifyError
 import software.aws.toolkits.jetbrains.services.cloudwatch.logs.insights.LogResult
-import software.aws.toolkits.jetbrains.services.cloudwatch.logs.insights.identifier
-import software.aws.toolkits.jetbrains.services.cloudwatch.logs.insights.toLogResult
+import software.aws.toolkits.jetbrains.services.cloudwatch.logs.insights.QueryResultCollector
 import software.aws.toolkits.resources.message
 import java.time.Duration
 
@@ -71,7 +72,7 @@ sealed class CloudWatchActor<T, Message>(
         try {
             tableLoading()
             val items = loadBlock()
-            table.listTableModel.items = items
+            populate(items)
             table.emptyText.text = emptyText
         } catch (e: ResourceNotFoundException) {
             withContext(edtContext) {
@@ -88,6 +89,13 @@ sealed class CloudWatchActor<T, Message>(
         }
     }
 
+    /**
+     * Replaces the contents of the table with [items]
+     */
+    protected open suspend fun populate(items: List<T>) {
+        table.listTableModel.items = items
+    }
+
     protected suspend fun tableLoading() = withContext(edtContext) {
         table.setPaintBusy(true)
         table.emptyText.text = message("loading_resource.loading")
@@ -118,6 +126,12 @@ abstract class CloudWatchLogsActor<T>(
         class LoadInitialFilter(val queryString: String) : Message()
         object LoadForward : Message()
         object LoadBackward : Message()
+
+        /**
+         * Loads everything after the last loaded event, coalescing up to [MAX_TAIL_PAGES] pages into a single append. [newEvents] is completed
+         * with the number of events added, or exceptionally with the error if the service throttled the request.
+         */
+        class TailForward(val newEvents: CompletableDeferred<Int>) : Message()
     }
     protected var nextBackwardToken: String? = null
     protected var nextForwardToken: String? = null
@@ -153,12 +167,11 @@ abstract class CloudWatchLogsActor<T>(
                         listOf()
                     }
                     withContext(edtContext) {
-                        if (items.isNotEmpty()) {
-                            table.listTableModel.addRows(items)
-                        }
+                        appendRows(items)
                         table.setPaintBusy(false)
                     }
                 }
+                is Message.TailForward -> tailForward(message.newEvents)
                 is Message.LoadBackward -> if (!nextBackwardToken.isNullOrEmpty()) {
                     withContext(edtContext) { table.setPaintBusy(true) }
                     val items = try {
@@ -173,18 +186,17 @@ abstract class CloudWatchLogsActor<T>(
                         listOf<T>()
                     }
                     if (items.isNotEmpty()) {
-                        // Selected rows can be non contiguous so we have to save every row selected
-                        val newSelection = table.selectedRows.map { it + items.size }
-                        val viewRect = table.visibleRect
-                        table.listTableModel.items = items + table.listTableModel.items
                         withContext(edtContext) {
-                            table.tableViewModel.fireTableDataChanged()
+                            // Selected rows can be non contiguous so we have to save every row selected
+                            val newSelection = table.selectedRows.map { it + items.size }
+                            val viewRect = table.visibleRect
+                            prependRows(items)
                             val offset = table.getCellRect(items.size, 0, true)
                             // Move the view box down y - cell height amount to stay in the same place
                             viewRect.y = (viewRect.y + offset.y - offset.height)
                             table.scrollRectToVisible(viewRect)
-                            // Re-add the selection
-                            newSelection.forEach {
+                            // Re-add the selection, skipping rows dropped from the end of a capped table
+                            newSelection.filter { it < table.rowCount }.forEach {
                                 table.addRowSelectionInterval(it, it)
                             }
                         }
@@ -215,8 +227,68 @@ abstract class CloudWatchLogsActor<T>(
         }
     }
 
+    private suspend fun tailForward(newEvents: CompletableDeferred<Int>) {
+        var received = 0
+        try {
+            var pages = 0
+            while (!nextForwardToken.isNullOrEmpty() && pages++ < MAX_TAIL_PAGES) {
+                val token = nextForwardToken
+                val page = loadMore(token, saveForwardToken = true)
+                if (page.isNotEmpty()) {
+                    // pages are added one at a time so each is kept with the tokens it was loaded with, a backward load from the token of the last
+                    // page would otherwise load the earlier pages of this tail again
+                    withContext(edtContext) {
+                        appendRows(page)
+                    }
+                    received += page.size
+                }
+                // the token stays the same once the end of the stream has been reached
+                if (page.isEmpty() || nextForwardToken == token) {
+                    break
+                }
+            }
+        } catch (e: Exception) {
+            if (received == 0 && e.isThrottling()) {
+                newEvents.completeExceptionally(e)
+                return
+            }
+            // keep whatever was loaded before the failure
+            if (received == 0) {
+                LOG.warn(e) { "Exception thrown while trying to tail" }
+                notifyError(
+                    project = project,
+                    title = message("cloudwatch.logs.exception"),
+                    content = message("cloudwatch.logs.failed_to_load_more")
+                )
+            }
+        }
+        newEvents.complete(received)
+    }
+
+    private fun Throwable.isThrottling() = this is SdkServiceException && isThrottlingException
+
+    /**
+     * Adds [items] loaded by [Message.LoadForward] to the end of the table, called on the EDT
+     */
+    protected open fun appendRows(items: List<T>) {
+        if (items.isNotEmpty()) {
+            table.listTableModel.addRows(items)
+        }
+    }
+
+    /**
+     * Adds [items] loaded by [Message.LoadBackward] to the start of the table, called on the EDT
+     */
+    protected open fun prependRows(items: List<T>) {
+        table.listTableModel.items = items + table.listTableModel.items
+        table.tableViewModel.fireTableDataChanged()
+    }
+
     companion object {
         private val LOG = getLogger<CloudWatchLogsActor<*>>()
+
+        // GetLogEvents returns up to 1MB per page, so this bounds a single tail to a few MB even when far behind
+        const val MAX_TAIL_PAGES = 5
     }
 }
 
@@ -283,6 +355,40 @@ class LogStreamListActor(
     override val tableErrorMessage = message("cloudwatch.logs.failed_to_load_stream", logStream)
     override val notFoundText = message("cloudwatch.logs.log_stream_does_not_exist", logStream)
 
+    // streams can have millions of events, so only a bounded window of pages is kept in the table
+    private val buffer = PagedLogBuffer<LogStreamEntry>()
+    private var lastBackwardToken: String? = null
+    private var lastForwardToken: String? = null
+
+    override suspend fun populate(items: List<LogStreamEntry>) = withContext(edtContext) {
+        buffer.clear()
+        buffer.append(items, nextBackwardToken, nextForwardToken)
+        table.listTableModel.items = buffer
+    }
+
+    override fun appendRows(items: List<LogStreamEntry>) {
+        if (items.isEmpty()) return
+        val dropped = buffer.append(items, lastBackwardToken, lastForwardToken)
+        if (dropped > 0) {
+            // events dropped from the top have to be loaded again when scrolling back up
+            nextBackwardToken = buffer.backwardToken
+            table.listTableModel.fireTableRowsDeleted(0, dropped - 1)
+        }
+        table.listTableModel.fireTableRowsInserted(buffer.size - items.size, buffer.size - 1)
+    }
+
+    override fun prependRows(items: List<LogStreamEntry>) {
+        if (items.isEmpty()) return
+        val previousSize = buffer.size
+        val dropped = buffer.prepend(items, lastBackwardToken, lastForwardToken)
+        // the insert is reported first, so the dropped rows are at the end of the table after it
+        table.listTableModel.fireTableRowsInserted(0, items.size - 1)
+        if (dropped > 0) {
+            nextForwardToken = buffer.forwardToken
+            table.listTableModel.fireTableRowsDeleted(previousSize + items.size - dropped, previousSize + items.size - 1)
+        }
+    }
+
     override suspend fun loadInitial() {
         val request = GetLogEventsRequest
             .builder()
@@ -330,6 +436,8 @@ class LogStreamListActor(
     ): List<LogStreamEntry> {
         val response = client.getLogEvents(request)
         val events = response.events().filterNotNull().map { it.toLogStreamEntry() }
+        lastBackwardToken = response.nextBackwardToken()
+        lastForwardToken = response.nextForwardToken()
         if (saveForwardToken) {
             nextForwardToken = response.nextForwardToken()
         }
@@ -480,15 +588,20 @@ class InsightsQueryResultsActor(
     // run on a separate context so we don't lock up the message listener
     private fun startLoading() = coroutineScope.launch(getCoroutineBgContext()) {
         tableLoading()
-        val loadedQueryResults = mutableSetOf<String>()
-        var response: GetQueryResultsResponse
+        val collector = QueryResultCollector()
+        val interval = AdaptivePollingInterval(minimum = QUERY_POLL_MINIMUM, maximum = QUERY_POLL_MAXIMUM)
+        var recordsScanned = 0.0
 
-        do {
-            try {
-                response = client.getQueryResults {
+        while (true) {
+            val response = try {
+                client.getQueryResults {
                     it.queryId(queryId)
                 }
             } catch (e: Exception) {
+                if (e is SdkServiceException && e.isThrottlingException) {
+                    delay(interval.afterThrottle().toMillis())
+                    continue
+                }
                 notifyError(
                     project = project,
                     title = message("cloudwatch.logs.exception"),
@@ -500,27 +613,27 @@ class InsightsQueryResultsActor(
                 return@launch
             }
 
-            // consider a buffered flow instead, but can't use until min-coroutine version in the IDE is 1.3.6
-            // chunk the response because a) transforming the response into the table model may be expensive
-            // and b) don't want to force the table model to redraw after every single row
-            val dedupedResults = sequence {
-                response.results().forEach { result ->
-                    val logResult = result.toLogResult()
-                    val ptr = logResult.identifier()
-                    if (ptr !in loadedQueryResults) {
-                        loadedQueryResults.add(ptr)
-                        yield(logResult)
-                    }
+            // only the results that have not been seen before are transformed, and they are added in one model update so the table redraws once
+            val newResults = collector.newResults(response.results())
+            if (newResults.isNotEmpty()) {
+                LOG.info { "loading block of ${newResults.size}" }
+                withContext(edtContext) {
+                    table.listTableModel.addRows(newResults)
                 }
-            }.chunked(1000)
+            }
 
-            dedupedResults.forEach { chunk ->
-                LOG.info { "loading block of ${chunk.size}" }
-                table.listTableModel.addRows(chunk)
+            if (!isQueryRunning(response.status())) {
+                break
             }
-        } while (isQueryRunning(response.status()))
 
-        LOG.info { "done, ${loadedQueryResults.size} entries in set" }
+            // a query can scan for a long time before anything matches, so scanning progress also keeps the poll rate up
+            val scanned = response.statistics()?.recordsScanned() ?: 0.0
+            val progress = newResults.size + if (scanned > recordsScanned) 1 else 0
+            recordsScanned = scanned
+            delay(interval.afterPoll(progress).toMillis())
+        }
+
+        LOG.info { "done, ${collector.size} distinct results" }
         tableDoneLoading()
         table.emptyText.text = emptyText
         LOG.info { "total items in table: ${table.listTableModel.items.size}" }
@@ -560,6 +673,8 @@ class InsightsQueryResultsActor(
 
     companion object {
         private val LOG = getLogger<InsightsQueryResultsActor>()
+        private val QUERY_POLL_MINIMUM = Duration.ofMillis(250)
+        private val QUERY_POLL_MAXIMUM = Duration.ofSeconds(5)
         private val terminalQueryStates = setOf(QueryStatus.COMPLETE, QueryStatus.CANCELLED, QueryStatus.FAILED)
     }
 }
@@ -22,6 +22,7 @@ import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
 import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
 import software.amazon.awssdk.services.cloudwatchlogs.model.GetLogEventsRequest
+import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkit.core.utils.error
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
@@ -35,6 +36,7 @@ import software.aws.toolkits.telemetry.CloudwatchlogsTelemetry
 import software.aws.toolkits.telemetry.Result
 import java.io.File
 import java.nio.file.Files
+import java.nio.file.Path
 import java.time.Instant
 import kotlin.coroutines.CoroutineContext
 import kotlin.streams.asSequence
@@ -48,50 +50,60 @@ class LogStreamDownloadTask(
 ) : Task.Backgroundable(project, message("cloudwatch.logs.opening_in_editor", logStream), true) {
 
     override fun run(indicator: ProgressIndicator) = runBlocking {
-        // Default content load limit is 20MB, default per page is 1MB/10000 log entries. so we load MaxLength/1MB
-        // until we give up and prompt the user to save to file
-        val maxPages = FileUtilRt.getUserContentLoadLimit() / (1 * FileUtilRt.MEGABYTE)
+        // Pages are spilled to a temporary file as they arrive so a large stream is never held in memory. Once the content load limit
+        // (default 20MB) is reached we give up and prompt the user to save to file, handing over what has been downloaded so far
+        val maxLength = FileUtilRt.getUserContentLoadLimit()
         val startTime = Instant.now()
-        val buffer = StringBuilder()
-        val request = GetLogEventsRequest
-            .builder()
-            .startFromHead(true)
-            .logGroupName(logGroup)
-            .logStreamName(logStream)
-            .endTime(startTime.toEpochMilli())
-        val getRequest = client.getLogEventsPaginator(request.build())
-        getRequest.stream().asSequence().forEachIndexed { index, value ->
-            indicator.checkCanceled()
-            buffer.append(value.events().buildStringFromLogsOutput())
-            // This might look off by 1 because for example if we are at index 20, it's the
-            // 21st iteration, but at this point we won't try to open in a file so we bail from
-            // streaming at the correct time
-            if (index >= maxPages) {
-                runBlocking {
-                    request.nextToken(value.nextForwardToken())
-                    if (promptWriteToFile() == Messages.OK) {
-                        ProgressManager.getInstance().run(
-                            LogStreamDownloadToFileTask(
-                                project,
-                                client,
-                                logGroup,
-                                logStream,
-                                buffer.toString(),
-                                request.build()
+        val spillFile = Files.createTempFile("aws-log-stream", ".log")
+        var handedOff = false
+        try {
+            val request = GetLogEventsRequest
+                .builder()
+                .startFromHead(true)
+                .logGroupName(logGroup)
+                .logStreamName(logStream)
+                .endTime(startTime.toEpochMilli())
+            var length = 0L
+            Files.newBufferedWriter(spillFile).use { writer ->
+                val getRequest = client.getLogEventsPaginator(request.build())
+                for (value in getRequest.stream().asSequence()) {
+                    indicator.checkCanceled()
+                    val page = value.events().buildStringFromLogsOutput()
+                    writer.write(page)
+                    length += page.length
+                    if (length >= maxLength) {
+                        writer.close()
+                        request.nextToken(value.nextForwardToken())
+                        if (promptWriteToFile() == Messages.OK) {
+                            ProgressManager.getInstance().run(
+                                LogStreamDownloadToFileTask(
+                                    project,
+                                    client,
+                                    logGroup,
+                                    logStream,
+                                    spillFile,
+                                    request.build()
+                                )
                             )
-                        )
+                            handedOff = true
+                        }
+                        // Cancel this Task no matter what. If the user has agreed to download to a file,
+                        // the download to a file task will handle everything from here
+                        indicator.cancel()
+                        indicator.checkCanceled()
                     }
-                    // Cancel this Task no matter what. If the user has agreed to download to a file,
-                    // the download to a file task will handle everything from here
-                    indicator.cancel()
                 }
             }
-        }
 
-        val success = withContext(edt) {
-            OpenStreamInEditor.open(project, logStream, buffer.toString())
+            val success = withContext(edt) {
+                OpenStreamInEditor.open(project, logStream, Files.readString(spillFile))
+            }
+            CloudwatchlogsTelemetry.openStreamInEditor(project, success)
+        } finally {
+            if (!handedOff) {
+                Files.deleteIfExists(spillFile)
+            }
         }
-        CloudwatchlogsTelemetry.openStreamInEditor(project, success)
     }
 
     override fun onThrowable(e: Throwable) {
@@ -125,44 +137,59 @@ class LogStreamDownloadToFileTask(
     private val client: CloudWatchLogsClient,
     private val logGroup: String,
     private val logStream: String,
-    private val buffer: String,
+    /**
+     * Events that have already been downloaded, written to the start of the destination then deleted
+     */
+    private val prefix: Path? = null,
     private val request: GetLogEventsRequest? = null,
+    /**
+     * Connection of [client], needed when downloading the whole stream so an interrupted download can be resumed
+     */
+    private val connection: ConnectionSettings? = null,
 ) : Task.Backgroundable(project, message("cloudwatch.logs.saving_to_disk", logStream), true) {
     private val edt = getCoroutineUiContext()
 
     override fun run(indicator: ProgressIndicator) = runBlocking {
-        val startTime = Instant.now()
-        val finalRequest = request ?: GetLogEventsRequest
-            .builder()
-            .startFromHead(true)
-            .logGroupName(logGroup)
-            .logStreamName(logStream)
-            .endTime(startTime.toEpochMilli())
-            .build()
-        promptToDownload(indicator, finalRequest, buffer)
+        try {
+            promptToDownload(indicator)
+        } finally {
+            prefix?.let { Files.deleteIfExists(it) }
+        }
     }
 
-    private suspend fun promptToDownload(indicator: ProgressIndicator, request: GetLogEventsRequest, buffer: String) {
+    private suspend fun promptToDownload(indicator: ProgressIndicator) {
         val descriptor = FileSaverDescriptor(message("cloudwatch.logs.download"), message("cloudwatch.logs.download.description"))
         val saveLocation = withContext(edt) {
             val destination = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
             destination.save(null as VirtualFile?, logStream)
         }
         if (saveLocation != null) {
-            streamLogStreamToFile(indicator, request, saveLocation.file, buffer)
+            streamLogStreamToFile(indicator, saveLocation.file)
         }
     }
 
-    private fun streamLogStreamToFile(indicator: ProgressIndicator, request: GetLogEventsRequest, file: File, buffer: String) {
+    private suspend fun streamLogStreamToFile(indicator: ProgressIndicator, file: File) {
         try {
-            // Delete the existing file if one exists so we don't append to it
-            Files.deleteIfExists(file.toPath())
-            file.appendText(buffer)
-            val getRequest = client.getLogEventsPaginator(request)
-            getRequest.stream().forEach {
-                indicator.checkCanceled()
-                val str = it.events().buildStringFromLogsOutput()
-                file.appendText(str)
+            if (request == null) {
+                // a fresh download can be split up and fetched in parallel, resuming any earlier attempt that failed or was cancelled
+                indicator.isIndeterminate = false
+                val connection = checkNotNull(connection) { "A connection is required to download the whole log stream" }
+                val workDirectory = SegmentedLogStreamDownload.defaultWorkDirectory(connection, logGroup, logStream)
+                SegmentedLogStreamDownload(client, logGroup, logStream, workDirectory).downloadTo(
+                    file.toPath(),
+                    onPage = { indicator.checkCanceled() },
+                    onProgress = { indicator.fraction = it }
+                )
+            } else {
+                // continue from where the editor download stopped. Truncates the existing file if one exists so we don't append to it
+                Files.newBufferedWriter(file.toPath()).use { writer ->
+                    prefix?.let { Files.newBufferedReader(it) }?.use { it.copyTo(writer) }
+                    val getRequest = client.getLogEventsPaginator(request)
+                    getRequest.stream().forEach {
+                        indicator.checkCanceled()
+                        writer.write(it.events().buildStringFromLogsOutput())
+                    }
+                }
             }
             notifyInfo(
                 project = project,
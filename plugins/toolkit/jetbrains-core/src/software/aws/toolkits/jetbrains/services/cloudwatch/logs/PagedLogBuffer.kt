@@ -0,0 +1,118 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs
+
+/**
+ * A bounded, read-only list of log events made up of the pages returned by the service.
+ *
+ * Pages can be added to either end in O(page) time, and once more than [maxItems] are held whole pages are dropped from the opposite end. Each page
+ * keeps the tokens it was loaded with, so after dropping pages the tokens needed to load them again are still known.
+ *
+ * Not thread safe, it is intended to back a table model and only be mutated on the EDT.
+ */
+class PagedLogBuffer<T>(private val maxItems: Int = DEFAULT_MAX_ITEMS, private val minPageSize: Int = DEFAULT_MIN_PAGE_SIZE) :
+    AbstractList<T>(),
+    RandomAccess {
+    private class Page<T>(val items: List<T>, val backwardToken: String?, val forwardToken: String?)
+
+    private val pages = ArrayDeque<Page<T>>()
+
+    // start index of each page, rebuilt on every mutation. The page count is bounded since small pages are merged
+    private var pageOffsets = IntArray(0)
+    private var itemCount = 0
+
+    override val size: Int get() = itemCount
+
+    /**
+     * Token to load the events before the first page
+     */
+    val backwardToken: String? get() = pages.firstOrNull()?.backwardToken
+
+    /**
+     * Token to load the events after the last page
+     */
+    val forwardToken: String? get() = pages.lastOrNull()?.forwardToken
+
+    override fun get(index: Int): T {
+        if (index < 0 || index >= itemCount) {
+            throw IndexOutOfBoundsException("Index: $index, Size: $itemCount")
+        }
+        var pageIndex = pageOffsets.binarySearch(index)
+        if (pageIndex < 0) {
+            pageIndex = -pageIndex - 2
+        }
+        return pages[pageIndex].items[index - pageOffsets[pageIndex]]
+    }
+
+    /**
+     * Adds [items] after the last page.
+     *
+     * @return the number of items dropped from the start of the buffer to stay within [maxItems]
+     */
+    fun append(items: List<T>, backwardToken: String?, forwardToken: String?): Int {
+        val last = pages.lastOrNull()
+        if (last != null && shouldMerge(last.items, items)) {
+            pages[pages.lastIndex] = Page(if (items.isEmpty()) last.items else last.items + items, last.backwardToken, forwardToken)
+        } else {
+            pages.addLast(Page(items.toList(), backwardToken, forwardToken))
+        }
+        itemCount += items.size
+
+        var dropped = 0
+        while (itemCount > maxItems && pages.size > 1) {
+            val size = pages.removeFirst().items.size
+            dropped += size
+            itemCount -= size
+        }
+        rebuildOffsets()
+        return dropped
+    }
+
+    /**
+     * Adds [items] before the first page.
+     *
+     * @return the number of items dropped from the end of the buffer to stay within [maxItems]
+     */
+    fun prepend(items: List<T>, backwardToken: String?, forwardToken: String?): Int {
+        val first = pages.firstOrNull()
+        if (first != null && shouldMerge(first.items, items)) {
+            pages[0] = Page(if (items.isEmpty()) first.items else items + first.items, backwardToken, first.forwardToken)
+        } else {
+            pages.addFirst(Page(items.toList(), backwardToken, forwardToken))
+        }
+        itemCount += items.size
+
+        var dropped = 0
+        while (itemCount > maxItems && pages.size > 1) {
+            val size = pages.removeLast().items.size
+            dropped += size
+            itemCount -= size
+        }
+        rebuildOffsets()
+        return dropped
+    }
+
+    fun clear() {
+        pages.clear()
+        itemCount = 0
+        rebuildOffsets()
+    }
+
+    // small pages (e.g. from tailing) are merged so the number of pages stays bounded, empty pages are merged so no two pages share an offset
+    private fun shouldMerge(existing: List<T>, items: List<T>) =
+        existing.isEmpty() || items.isEmpty() || (existing.size < minPageSize && items.size < minPageSize)
+
+    private fun rebuildOffsets() {
+        var offset = 0
+        pageOffsets = IntArray(pages.size) { i ->
+            offset.also { offset += pages[i].items.size }
+        }
+    }
+
+    companion object {
+        // enough to scroll through comfortably while staying a bounded size, the API returns at most 10k events per page
+        const val DEFAULT_MAX_ITEMS = 100_000
+        const val DEFAULT_MIN_PAGE_SIZE = 500
+    }
+}
@@ -0,0 +1,242 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs
+
+import com.intellij.openapi.application.PathManager
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.launch
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
+import software.amazon.awssdk.services.cloudwatchlogs.model.GetLogEventsRequest
+import software.amazon.awssdk.services.cloudwatchlogs.model.InvalidParameterException
+import software.aws.toolkit.core.ConnectionSettings
+import software.aws.toolkit.core.utils.createParentDirectories
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.info
+import software.aws.toolkit.core.utils.inputStreamIfExists
+import software.aws.toolkit.core.utils.outputStream
+import software.aws.toolkit.core.utils.toHexString
+import software.aws.toolkit.core.utils.warn
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import software.aws.toolkits.jetbrains.services.cloudwatch.logs.actions.buildStringFromLogsOutput
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+import java.security.MessageDigest
+import java.time.Clock
+import java.time.Duration
+import java.util.Properties
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.coroutineContext
+
+/**
+ * Downloads a log stream by splitting it into time slices that are fetched concurrently.
+ *
+ * Each slice is written to its own segment file in [workDirectory], and after every page the token and length of the segment are checkpointed.
+ * If the download fails or is cancelled, the next download of the same stream resumes each slice from its last checkpoint. GetLogEvents tokens
+ * expire after a day, so older checkpoints are discarded. Slices do not overlap and events within a stream are ordered by timestamp, so the
+ * segments are concatenated in slice order to produce the final file.
+ */
+class SegmentedLogStreamDownload(
+    private val client: CloudWatchLogsClient,
+    private val logGroup: String,
+    private val logStream: String,
+    private val workDirectory: Path,
+    private val parallelism: Int = DEFAULT_PARALLELISM,
+    private val slicesPerWorker: Int = DEFAULT_SLICES_PER_WORKER,
+    private val clock: Clock = Clock.systemUTC(),
+) {
+    private class Slice(val index: Int, val startTime: Long, val endTime: Long)
+
+    private class Checkpoint(val token: String?, val length: Long, val done: Boolean)
+
+    /**
+     * Downloads the stream to [destination], replacing it if it exists. [onPage] is called after every page is fetched and can throw to cancel
+     * the download, [onProgress] is called with the fraction of slices completed.
+     */
+    suspend fun downloadTo(destination: Path, onPage: () -> Unit = {}, onProgress: (Double) -> Unit = {}) {
+        val slices = loadManifest() ?: planSlices()
+        val completed = AtomicInteger(slices.count { readCheckpoint(it).done })
+        val dispatcher = ioDispatcher(parallelism)
+        coroutineScope {
+            slices.filterNot { readCheckpoint(it).done }.forEach { slice ->
+                launch(dispatcher) {
+                    downloadSlice(slice, onPage)
+                    onProgress(completed.incrementAndGet().toDouble() / slices.size)
+                }
+            }
+        }
+
+        merge(slices, destination)
+        workDirectory.toFile().deleteRecursively()
+    }
+
+    private fun planSlices(): List<Slice> {
+        workDirectory.toFile().deleteRecursively()
+        val endTime = clock.millis()
+        val startTime = client.describeLogStreams {
+            it.logGroupName(logGroup).logStreamNamePrefix(logStream)
+        }.logStreams().firstOrNull { it.logStreamName() == logStream }?.firstEventTimestamp() ?: 0
+
+        val sliceCount = if (startTime <= 0 || startTime >= endTime) {
+            // the range is unknown, so it can't be split
+            1
+        } else {
+            maxOf(1, minOf(parallelism * slicesPerWorker.toLong(), (endTime - startTime) / MIN_SLICE_MILLIS).toInt())
+        }
+        val sliceStart = if (sliceCount == 1) 0 else startTime
+        val width = (endTime - sliceStart) / sliceCount
+        val slices = List(sliceCount) {
+            Slice(it, sliceStart + it * width, if (it == sliceCount - 1) endTime else sliceStart + (it + 1) * width)
+        }
+
+        val manifest = Properties().apply {
+            setProperty(VERSION, FORMAT_VERSION)
+            setProperty(CREATED, endTime.toString())
+            setProperty(SLICES, slices.joinToString(",") { "${it.startTime}:${it.endTime}" })
+        }
+        writeProperties(workDirectory.resolve(MANIFEST), manifest)
+        return slices
+    }
+
+    private fun loadManifest(): List<Slice>? {
+        val manifest = readProperties(workDirectory.resolve(MANIFEST)) ?: return null
+        val created = manifest.getProperty(CREATED)?.toLongOrNull()
+        if (manifest.getProperty(VERSION) != FORMAT_VERSION || created == null || created + CHECKPOINT_LIFETIME.toMillis() < clock.millis()) {
+            return null
+        }
+
+        return try {
+            manifest.getProperty(SLICES).split(",").mapIndexed { index, range ->
+                val (start, end) = range.split(":").map { it.toLong() }
+                Slice(index, start, end)
+            }.also {
+                LOG.info { "Resuming download of $logGroup/$logStream, ${it.count { slice -> readCheckpoint(slice).done }}/${it.size} slices complete" }
+            }
+        } catch (e: Exception) {
+            LOG.warn(e) { "Discarding unreadable download checkpoint for $logGroup/$logStream" }
+            null
+        }
+    }
+
+    private suspend fun downloadSlice(slice: Slice, onPage: () -> Unit) {
+        val checkpoint = readCheckpoint(slice)
+        var token = checkpoint.token
+        FileChannel.open(segmentFile(slice), StandardOpenOption.CREATE, StandardOpenOption.WRITE).use { channel ->
+            // anything after the checkpoint was written without being recorded, so it will be fetched again
+            channel.truncate(checkpoint.length)
+            channel.position(checkpoint.length)
+            while (true) {
+                coroutineContext.ensureActive()
+                val request = GetLogEventsRequest.builder()
+                    .logGroupName(logGroup)
+                    .logStreamName(logStream)
+                    .startFromHead(true)
+                    .startTime(slice.startTime)
+                    .endTime(slice.endTime)
+                    .nextToken(token)
+                    .build()
+                val response = try {
+                    client.getLogEvents(request)
+                } catch (e: InvalidParameterException) {
+                    if (token == null) throw e
+                    LOG.warn(e) { "Checkpoint for slice ${slice.index} of $logGroup/$logStream is no longer valid, restarting it" }
+                    token = null
+                    channel.truncate(0)
+                    channel.position(0)
+                    continue
+                }
+                onPage()
+
+                channel.write(ByteBuffer.wrap(response.events().buildStringFromLogsOutput().toByteArray(Charsets.UTF_8)))
+                channel.force(false)
+
+                // the same token is returned once the end of the slice has been reached
+                val nextToken = response.nextForwardToken()
+                val done = nextToken == null || nextToken == token
+                writeCheckpoint(slice, Checkpoint(nextToken, channel.position(), done))
+                if (done) {
+                    return
+                }
+                token = nextToken
+            }
+        }
+    }
+
+    private fun merge(slices: List<Slice>, destination: Path) {
+        val temp = destination.resolveSibling("${destination.fileName}.part")
+        temp.outputStream().use { output ->
+            slices.forEach { Files.copy(segmentFile(it), output) }
+        }
+        Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING)
+    }
+
+    private fun segmentFile(slice: Slice) = workDirectory.resolve("segment-${slice.index}.log")
+
+    private fun checkpointFile(slice: Slice) = workDirectory.resolve("segment-${slice.index}.checkpoint")
+
+    private fun readCheckpoint(slice: Slice): Checkpoint {
+        val properties = readProperties(checkpointFile(slice)) ?: return Checkpoint(null, 0, false)
+        return Checkpoint(
+            properties.getProperty(TOKEN),
+            properties.getProperty(LENGTH)?.toLongOrNull() ?: 0,
+            properties.getProperty(DONE).toBoolean()
+        )
+    }
+
+    private fun writeCheckpoint(slice: Slice, checkpoint: Checkpoint) {
+        val properties = Properties().apply {
+            checkpoint.token?.let { setProperty(TOKEN, it) }
+            setProperty(LENGTH, checkpoint.length.toString())
+            setProperty(DONE, checkpoint.done.toString())
+        }
+        writeProperties(checkpointFile(slice), properties)
+    }
+
+    private fun readProperties(file: Path): Properties? = file.inputStreamIfExists()?.use { input -> Properties().apply { load(input) } }
+
+    private fun writeProperties(file: Path, properties: Properties) {
+        val temp = file.resolveSibling("${file.fileName}.tmp")
+        temp.createParentDirectories()
+        temp.outputStream().use { properties.store(it, null) }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+
+    companion object {
+        private val LOG = getLogger<SegmentedLogStreamDownload>()
+
+        // GetLogEvents is limited to 25 TPS per account and region, leave room for the rest of the IDE
+        const val DEFAULT_PARALLELISM = 4
+
+        // more slices than workers so that a slice with a burst of events does not leave the other workers idle
+        const val DEFAULT_SLICES_PER_WORKER = 4
+        private const val MIN_SLICE_MILLIS = 60_000L
+        private val CHECKPOINT_LIFETIME: Duration = Duration.ofHours(23)
+
+        private const val MANIFEST = "manifest.properties"
+        private const val FORMAT_VERSION = "1"
+        private const val VERSION = "version"
+        private const val CREATED = "created"
+        private const val SLICES = "slices"
+        private const val TOKEN = "token"
+        private const val LENGTH = "length"
+        private const val DONE = "done"
+
+        /**
+         * The same stream name can exist in other accounts and regions, so the connection is part of the key to avoid resuming from their checkpoints
+         */
+        fun defaultWorkDirectory(connection: ConnectionSettings, logGroup: String, logStream: String): Path {
+            val key = "${connection.region.id}/${connection.credentials.id}/$logGroup/$logStream"
+            return Paths.get(
+                PathManager.getSystemPath(),
+                "aws-log-downloads",
+                MessageDigest.getInstance("SHA-256").digest(key.toByteArray(Charsets.UTF_8)).toHexString()
+            )
+        }
+    }
+}
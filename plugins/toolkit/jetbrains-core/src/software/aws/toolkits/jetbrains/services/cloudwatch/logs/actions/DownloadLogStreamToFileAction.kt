@@ -10,17 +10,19 @@ import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.project.DumbAware
 import com.intellij.openapi.project.Project
 import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
+import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkits.jetbrains.services.cloudwatch.logs.LogStreamDownloadToFileTask
 import software.aws.toolkits.resources.message
 
 class DownloadLogStreamToFileAction(
     private val project: Project,
     private val client: CloudWatchLogsClient,
+    private val connection: ConnectionSettings,
     private val logGroup: String,
     private val logStream: String?,
 ) : AnAction(message("cloudwatch.logs.save_action"), null, AllIcons.Actions.MenuSaveall), DumbAware {
     override fun actionPerformed(e: AnActionEvent) {
         logStream ?: return
-        ProgressManager.getInstance().run(LogStreamDownloadToFileTask(project, client, logGroup, logStream, ""))
+        ProgressManager.getInstance().run(LogStreamDownloadToFileTask(project, client, logGroup, logStream, connection = connection))
     }
 }
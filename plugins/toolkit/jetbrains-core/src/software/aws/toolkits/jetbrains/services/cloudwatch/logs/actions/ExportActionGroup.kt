@@ -10,11 +10,13 @@ import com.intellij.openapi.actionSystem.AnActionEvent
 import com.intellij.openapi.project.DumbAware
 import com.intellij.openapi.project.Project
 import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
+import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkits.resources.message
 
 class ExportActionGroup(
     private val project: Project,
     private val client: CloudWatchLogsClient,
+    private val connection: ConnectionSettings,
     private val logGroup: String,
     private val logStream: () -> String?,
 ) : ActionGroup(message("cloudwatch.logs.export"), null, AllIcons.Actions.Download), DumbAware {
@@ -24,6 +26,6 @@ class ExportActionGroup(
 
     override fun getChildren(e: AnActionEvent?): Array<AnAction> = arrayOf(
         OpenLogStreamInEditorAction(project, client, logGroup, logStream()),
-        DownloadLogStreamToFileAction(project, client, logGroup, logStream())
+        DownloadLogStreamToFileAction(project, client, connection, logGroup, logStream())
     )
 }
@@ -9,13 +9,19 @@ import com.intellij.openapi.actionSystem.AnActionEvent
 import com.intellij.openapi.actionSystem.ToggleAction
 import com.intellij.openapi.project.DumbAware
 import com.intellij.openapi.project.Project
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.channels.ClosedSendChannelException
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
 import org.jetbrains.annotations.TestOnly
+import software.amazon.awssdk.core.exception.SdkServiceException
+import software.aws.toolkit.core.utils.debug
+import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
+import software.aws.toolkits.jetbrains.services.cloudwatch.logs.AdaptivePollingInterval
 import software.aws.toolkits.jetbrains.services.cloudwatch.logs.CloudWatchLogsActor
 import software.aws.toolkits.resources.message
 import software.aws.toolkits.telemetry.CloudwatchlogsTelemetry
@@ -50,14 +56,23 @@ class TailLogsAction(private val project: Project, private val channel: () -> Ch
 
     private fun startTailing() {
         logStreamingJob = coroutineScope.launch {
+            val interval = AdaptivePollingInterval()
             while (true) {
+                val newEvents = CompletableDeferred<Int>()
                 try {
-                    channel().send(CloudWatchLogsActor.Message.LoadForward)
-                    delay(1000)
+                    channel().send(CloudWatchLogsActor.Message.TailForward(newEvents))
                 } catch (e: ClosedSendChannelException) {
                     // Channel is closed, so break out of the while loop and kill the coroutine
                     break
                 }
+                val wait = try {
+                    // the actor can be disposed before it gets to the message, in which case the next send fails
+                    interval.afterPoll(withTimeoutOrNull(TAIL_TIMEOUT_MS) { newEvents.await() } ?: 0)
+                } catch (e: SdkServiceException) {
+                    LOG.debug(e) { "Throttled while tailing, backing off" }
+                    interval.afterThrottle()
+                }
+                delay(wait.toMillis())
             }
         }
     }
@@ -65,4 +80,9 @@ class TailLogsAction(private val project: Project, private val channel: () -> Ch
     private fun stopTailing() {
         logStreamingJob?.cancel()
     }
+
+    private companion object {
+        val LOG = getLogger<TailLogsAction>()
+        const val TAIL_TIMEOUT_MS = 60_000L
+    }
 }
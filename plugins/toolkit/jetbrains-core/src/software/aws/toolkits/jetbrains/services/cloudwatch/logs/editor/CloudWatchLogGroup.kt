@@ -66,7 +66,7 @@ class CloudWatchLogGroup(
             else -> throw IllegalStateException(state.shortMessage)
         }
         client = AwsClientManager.getInstance().getClient(connection.credentials, connection.region)
-        groupTable = LogGroupTable(project, client, logGroup, LogGroupTable.TableType.LIST)
+        groupTable = LogGroupTable(project, client, connection, logGroup, LogGroupTable.TableType.LIST)
 
         val locationCrumbs = LocationCrumbs(project, logGroup)
         locationInformation.crumbs = locationCrumbs.crumbs
@@ -96,7 +96,7 @@ class CloudWatchLogGroup(
             if (searchField.text.isNotEmpty()) {
                 // This is thread safe because the actionPerformed is run on the UI thread
                 CloudwatchlogsTelemetry.searchGroup(project, true)
-                val table = LogGroupTable(project, client, logGroup, LogGroupTable.TableType.FILTER)
+                val table = LogGroupTable(project, client, connection, logGroup, LogGroupTable.TableType.FILTER)
                 Disposer.register(this@CloudWatchLogGroup, table)
                 searchGroupTable = table
                 coroutineScope.launch(edtContext) {
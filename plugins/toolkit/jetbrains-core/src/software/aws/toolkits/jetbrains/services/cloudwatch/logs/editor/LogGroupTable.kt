@@ -21,6 +21,7 @@ import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.launch
 import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
 import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream
+import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkit.jetbrains.core.coroutines.disposableCoroutineScope
 import software.aws.toolkits.jetbrains.services.cloudwatch.logs.CloudWatchLogWindow
 import software.aws.toolkits.jetbrains.services.cloudwatch.logs.CloudWatchLogsActor
@@ -38,6 +39,7 @@ import javax.swing.SortOrder
 class LogGroupTable(
     private val project: Project,
     private val client: CloudWatchLogsClient,
+    private val connection: ConnectionSettings,
     private val logGroup: String,
     type: TableType,
 ) : Disposable {
@@ -122,7 +124,7 @@ class LogGroupTable(
     private fun addActions(table: JBTable) {
         val actionGroup = DefaultActionGroup()
         actionGroup.addAction(
-            ExportActionGroup(project, client, logGroup) {
+            ExportActionGroup(project, client, connection, logGroup) {
                 val row = groupTable.selectedRow.takeIf { it >= 0 } ?: return@ExportActionGroup null
                 table.getValueAt(row, 0) as? String
             },
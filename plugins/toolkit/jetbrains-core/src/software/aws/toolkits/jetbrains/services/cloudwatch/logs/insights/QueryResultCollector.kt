@@ -0,0 +1,102 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs.insights
+
+import software.amazon.awssdk.services.cloudwatchlogs.model.ResultField
+
+/**
+ * Turns the results of successive GetQueryResults calls for a running query into the rows that have not been seen before.
+ *
+ * Every response is walked in full since the service can reorder results between calls (e.g. a query that sorts), so new rows can appear anywhere
+ * in it. Rows that have already been seen are skipped using a 64-bit fingerprint of their `@ptr`, which takes 8 bytes per row instead of a set of
+ * strings.
+ */
+class QueryResultCollector {
+    private val seen = FingerprintSet()
+
+    /**
+     * Number of distinct rows seen so far
+     */
+    val size: Int get() = seen.size
+
+    fun newResults(results: List<List<ResultField>>): List<LogResult> = results.filter { seen.add(fingerprint(it.ptr())) }.map { it.toLogResult() }
+
+    // avoids building the whole LogResult just to find the identifier
+    private fun List<ResultField>.ptr(): String = firstOrNull { it.field() == PTR_FIELD }?.value()
+        ?: throw IllegalStateException("CWL GetQueryResults returned record without @ptr field")
+
+    private companion object {
+        const val PTR_FIELD = "@ptr"
+
+        // FNV-1a, 64 bit. Collisions are negligible at the 10k result limit of a query
+        fun fingerprint(value: String): Long {
+            var hash = -0x340d631b7bdddcdbL
+            value.forEach {
+                hash = (hash xor it.code.toLong()) * 0x100000001b3L
+            }
+            return hash
+        }
+    }
+}
+
+/**
+ * An open addressing set of longs that never removes elements
+ */
+internal class FingerprintSet(expectedSize: Int = DEFAULT_EXPECTED_SIZE) {
+    private var table = LongArray(Integer.highestOneBit(maxOf(expectedSize, MIN_CAPACITY) * 2 - 1) shl 1)
+    private var hasZero = false
+    var size = 0
+        private set
+
+    /**
+     * Returns true if [value] was not already in the set
+     */
+    fun add(value: Long): Boolean {
+        // 0 marks an empty slot so it is tracked separately
+        if (value == 0L) {
+            if (hasZero) return false
+            hasZero = true
+            size++
+            return true
+        }
+
+        if (!insert(table, value)) return false
+        if (++size * 2 > table.size) {
+            resize()
+        }
+        return true
+    }
+
+    private fun insert(target: LongArray, value: Long): Boolean {
+        val mask = target.size - 1
+        var index = mix(value) and mask
+        while (true) {
+            val existing = target[index]
+            if (existing == 0L) {
+                target[index] = value
+                return true
+            }
+            if (existing == value) return false
+            index = (index + 1) and mask
+        }
+    }
+
+    private fun resize() {
+        val resized = LongArray(table.size * 2)
+        table.forEach {
+            if (it != 0L) insert(resized, it)
+        }
+        table = resized
+    }
+
+    private fun mix(value: Long): Int {
+        val h = value * -0x61c8864680b583ebL
+        return (h xor (h ushr 32)).toInt()
+    }
+
+    private companion object {
+        const val DEFAULT_EXPECTED_SIZE = 1024
+        const val MIN_CAPACITY = 8
+    }
+}
@@ -6,8 +6,6 @@ package software.aws.toolkits.jetbrains.services.dynamic
 import com.intellij.openapi.components.service
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.vfs.VirtualFile
-import com.intellij.util.Alarm
-import com.intellij.util.AlarmFactory
 import com.intellij.util.messages.Topic
 import kotlinx.coroutines.launch
 import software.amazon.awssdk.services.cloudcontrol.CloudControlClient
@@ -26,15 +24,12 @@ import software.aws.toolkits.telemetry.DynamicresourceTelemetry
 import software.aws.toolkits.telemetry.Result
 import java.time.Instant
 import java.time.temporal.ChronoUnit
-import java.util.concurrent.ConcurrentLinkedQueue
 
 internal class DynamicResourceUpdateManager(private val project: Project) {
     // TODO: Make DynamicResourceUpdateManager an application-level service
 
-    private val pendingMutations = ConcurrentLinkedQueue<ResourceMutationState>()
     private val coroutineScope = projectCoroutineScope(project)
-    private val alarm: Alarm =
-        AlarmFactory.getInstance().create(Alarm.ThreadToUse.POOLED_THREAD, project)
+    private val poller = ResourceMutationPoller(coroutineScope, MutationListener())
 
     fun deleteResource(dynamicResourceIdentifier: DynamicResourceIdentifier) {
         coroutineScope.launch {
@@ -123,78 +118,45 @@ internal class DynamicResourceUpdateManager(private val project: Project) {
     }
 
     private fun startCheckingProgress(connectionSettings: ConnectionSettings, progress: ProgressEvent, startTime: Instant) {
-        pendingMutations.add(ResourceMutationState.fromEvent(connectionSettings, progress, startTime))
-        if (pendingMutations.size == 1) {
-            alarm.addRequest({ getProgress() }, 0)
-        }
+        poller.add(ResourceMutationState.fromEvent(connectionSettings, progress, startTime))
     }
 
     fun getUpdateStatus(dynamicResourceIdentifier: DynamicResourceIdentifier): ResourceMutationState? =
-        pendingMutations.find {
+        poller.find {
             it.connectionSettings == dynamicResourceIdentifier.connectionSettings &&
                 it.resourceType == dynamicResourceIdentifier.resourceType &&
                 it.resourceIdentifier == dynamicResourceIdentifier.resourceIdentifier
         }
 
-    private fun getProgress() {
-        var size = pendingMutations.size
-        while (size > 0) {
-            val mutation = pendingMutations.remove()
-
-            val client = mutation.connectionSettings.awsClient<CloudControlClient>()
-            val (progressEvent, shouldDropFromPendingQueue) = try {
-                val progress = client.getResourceRequestStatus { it.requestToken(mutation.token) }
-                progress.progressEvent() to progress.progressEvent().operationStatus().isTerminal()
-            } catch (e: Exception) {
-                when (e) {
-                    is RequestTokenNotFoundException -> {
-                        e.notifyError(
-                            message(
-                                "dynamic_resources.operation_status_notification_title",
-                                mutation.resourceIdentifier ?: mutation.resourceType,
-                                mutation.operation.name.lowercase()
-                            ),
-                            project
-                        )
-                        DynamicresourceTelemetry.mutateResource(
-                            project = project,
-                            result = Result.Failed,
-                            resourceType = mutation.resourceType,
-                            dynamicResourceOperation = addOperationToTelemetry(mutation.operation),
-                            duration = ChronoUnit.MILLIS.between(mutation.startTime, DynamicResourceTelemetryResources.getCurrentTime()).toDouble()
-                        )
-                        null to true
-                    }
-                    else -> null to false
-                }
-            }
-            val updatedMutation = when (progressEvent) {
-                is ProgressEvent -> mutation.copy(
-                    status = progressEvent.operationStatus(),
-                    resourceIdentifier = progressEvent.identifier(),
-                    message = progressEvent.statusMessage()
-                )
-                else -> mutation
-            }
-            if (updatedMutation != mutation) {
-                project.messageBus.syncPublisher(DYNAMIC_RESOURCE_STATE_CHANGED).mutationStatusChanged(updatedMutation)
-            }
-
-            if (!shouldDropFromPendingQueue) {
-                pendingMutations.add(updatedMutation)
-            }
+    private inner class MutationListener : ResourceMutationPoller.Listener {
+        override fun mutationStatusChanged(state: ResourceMutationState) {
+            project.messageBus.syncPublisher(DYNAMIC_RESOURCE_STATE_CHANGED).mutationStatusChanged(state)
+        }
 
-            size--
+        override fun mutationNotFound(state: ResourceMutationState, e: RequestTokenNotFoundException) {
+            e.notifyError(
+                message(
+                    "dynamic_resources.operation_status_notification_title",
+                    state.resourceIdentifier ?: state.resourceType,
+                    state.operation.name.lowercase()
+                ),
+                project
+            )
+            DynamicresourceTelemetry.mutateResource(
+                project = project,
+                result = Result.Failed,
+                resourceType = state.resourceType,
+                dynamicResourceOperation = addOperationToTelemetry(state.operation),
+                duration = ChronoUnit.MILLIS.between(state.startTime, DynamicResourceTelemetryResources.getCurrentTime()).toDouble()
+            )
         }
-        project.messageBus.syncPublisher(DYNAMIC_RESOURCE_STATE_CHANGED).statusCheckComplete()
 
-        if (pendingMutations.size != 0) {
-            alarm.addRequest({ getProgress() }, DEFAULT_DELAY)
+        override fun pollComplete() {
+            project.messageBus.syncPublisher(DYNAMIC_RESOURCE_STATE_CHANGED).statusCheckComplete()
         }
     }
 
     companion object {
-        private const val DEFAULT_DELAY = 500
         val DYNAMIC_RESOURCE_STATE_CHANGED: Topic<DynamicResourceStateMutationHandler> = Topic.create(
             "Resource State Changed",
             DynamicResourceStateMutationHandler::class.java
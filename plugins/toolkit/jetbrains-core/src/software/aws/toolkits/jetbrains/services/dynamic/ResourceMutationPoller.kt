@@ -0,0 +1,205 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.dynamic
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import kotlinx.coroutines.withTimeoutOrNull
+import software.amazon.awssdk.core.exception.SdkServiceException
+import software.amazon.awssdk.services.cloudcontrol.CloudControlClient
+import software.amazon.awssdk.services.cloudcontrol.model.Operation
+import software.amazon.awssdk.services.cloudcontrol.model.OperationStatus
+import software.amazon.awssdk.services.cloudcontrol.model.ProgressEvent
+import software.amazon.awssdk.services.cloudcontrol.model.RequestTokenNotFoundException
+import software.aws.toolkit.core.ConnectionSettings
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.warn
+import software.aws.toolkit.jetbrains.core.awsClient
+import software.aws.toolkits.jetbrains.services.dynamic.DynamicResourceUpdateManager.Companion.isTerminal
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+
+/**
+ * Polls the status of pending Cloud Control mutations.
+ *
+ * Mutations are sharded by [ConnectionSettings], each shard polling on its own coroutine so a slow or throttled account or region doesn't
+ * delay the others. Within a shard, requests are made concurrently and every mutation has its own interval: it starts at a base that depends
+ * on the operation, backs off while the status doesn't change, and resets once it does. When several mutations of a shard are due at once, a
+ * single `ListResourceRequests` call covers every request that is still in progress, and only the rest are looked up individually. If that call
+ * is throttled the round is skipped rather than looking up every mutation individually.
+ */
+internal class ResourceMutationPoller(
+    private val coroutineScope: CoroutineScope,
+    private val listener: Listener,
+    private val clientProvider: (ConnectionSettings) -> CloudControlClient = { it.awsClient() },
+    private val clock: () -> Long = { System.nanoTime() / NANOS_PER_MILLI },
+) {
+    interface Listener {
+        fun mutationStatusChanged(state: ResourceMutationState)
+        fun mutationNotFound(state: ResourceMutationState, e: RequestTokenNotFoundException)
+
+        /**
+         * Called after each round of polls of a shard
+         */
+        fun pollComplete()
+    }
+
+    private val shards = ConcurrentHashMap<ConnectionSettings, Shard>()
+
+    fun add(state: ResourceMutationState) {
+        shards.compute(state.connectionSettings) { connectionSettings, existing ->
+            (existing ?: Shard(connectionSettings).also { it.start() }).apply {
+                mutations.add(PolledMutation(state, baseInterval(state.operation), clock()))
+                // the new mutation is due now, so don't leave it waiting for the shard's current delay
+                wakeUp.trySend(Unit)
+            }
+        }
+    }
+
+    fun find(predicate: (ResourceMutationState) -> Boolean): ResourceMutationState? =
+        shards.values.asSequence().flatMap { it.mutations.asSequence() }.map { it.state }.firstOrNull(predicate)
+
+    private class PolledMutation(
+        @Volatile var state: ResourceMutationState,
+        @Volatile var intervalMillis: Long,
+        @Volatile var nextPollAt: Long,
+    )
+
+    private inner class Shard(private val connectionSettings: ConnectionSettings) {
+        val mutations = ConcurrentLinkedQueue<PolledMutation>()
+        val wakeUp = Channel<Unit>(Channel.CONFLATED)
+        private val permits = Semaphore(MAX_CONCURRENT_REQUESTS)
+
+        fun start() {
+            coroutineScope.launch { run() }
+        }
+
+        private suspend fun run() {
+            while (true) {
+                val now = clock()
+                val due = mutations.filter { it.nextPollAt <= now }
+                if (due.isNotEmpty()) {
+                    poll(due)
+                    listener.pollComplete()
+                }
+
+                val nextPollAt = mutations.minOfOrNull { it.nextPollAt }
+                if (nextPollAt == null) {
+                    // a mutation may be added between finding the shard empty and retiring it, so only retire it while still empty
+                    shards.computeIfPresent(connectionSettings) { _, shard -> shard.takeUnless { it === this && mutations.isEmpty() } }
+                    if (shards[connectionSettings] !== this) {
+                        return
+                    }
+                } else {
+                    withTimeoutOrNull((nextPollAt - clock()).coerceAtLeast(0)) { wakeUp.receive() }
+                }
+            }
+        }
+
+        private suspend fun poll(due: List<PolledMutation>) {
+            val client = clientProvider(connectionSettings)
+            val inProgress = if (due.size >= BATCH_LIST_THRESHOLD) {
+                try {
+                    listInProgress(client, due)
+                } catch (e: Exception) {
+                    if (e.isThrottling()) {
+                        // looking the mutations up one at a time would only make more calls to the throttled API
+                        LOG.warn(e) { "Listing resource requests was throttled, skipping this round" }
+                        due.forEach { backOff(it, throttled = true) }
+                        return
+                    }
+                    LOG.warn(e) { "Failed to list resource requests, falling back to checking them one at a time" }
+                    null
+                }
+            } else {
+                null
+            }
+
+            coroutineScope {
+                due.forEach { mutation ->
+                    launch {
+                        val listed = inProgress?.get(mutation.state.token)
+                        if (listed != null) {
+                            update(mutation, listed)
+                        } else {
+                            permits.withPermit { fetch(client, mutation) }
+                        }
+                    }
+                }
+            }
+        }
+
+        private fun listInProgress(client: CloudControlClient, due: List<PolledMutation>): Map<String, ProgressEvent> {
+            val operations = due.map { it.state.operation }.toSet()
+            return client.listResourceRequestsPaginator {
+                it.resourceRequestStatusFilter { filter ->
+                    filter.operations(operations)
+                    filter.operationStatuses(IN_PROGRESS_STATUSES)
+                }
+            }.resourceRequestStatusSummaries().associateBy { it.requestToken() }
+        }
+
+        private fun fetch(client: CloudControlClient, mutation: PolledMutation) {
+            try {
+                update(mutation, client.getResourceRequestStatus { it.requestToken(mutation.state.token) }.progressEvent())
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: RequestTokenNotFoundException) {
+                mutations.remove(mutation)
+                listener.mutationNotFound(mutation.state, e)
+            } catch (e: Exception) {
+                LOG.warn(e) { "Failed to get status of resource request ${mutation.state.token}" }
+                backOff(mutation, throttled = e.isThrottling())
+            }
+        }
+
+        private fun update(mutation: PolledMutation, event: ProgressEvent) {
+            val previous = mutation.state
+            val updated = previous.copy(status = event.operationStatus(), resourceIdentifier = event.identifier(), message = event.statusMessage())
+            mutation.state = updated
+            if (updated.status.isTerminal()) {
+                mutations.remove(mutation)
+            }
+            if (updated != previous) {
+                listener.mutationStatusChanged(updated)
+                mutation.intervalMillis = baseInterval(updated.operation)
+                mutation.nextPollAt = clock() + mutation.intervalMillis
+            } else {
+                backOff(mutation, throttled = false)
+            }
+        }
+
+        private fun backOff(mutation: PolledMutation, throttled: Boolean) {
+            val multiplier = if (throttled) THROTTLED_BACKOFF_MULTIPLIER else BACKOFF_MULTIPLIER
+            mutation.nextPollAt = clock() + mutation.intervalMillis
+            mutation.intervalMillis = (mutation.intervalMillis * multiplier).toLong().coerceAtMost(MAX_INTERVAL_MILLIS)
+        }
+    }
+
+    companion object {
+        private val LOG = getLogger<ResourceMutationPoller>()
+        private const val NANOS_PER_MILLI = 1_000_000
+        private const val MAX_CONCURRENT_REQUESTS = 4
+        private const val BATCH_LIST_THRESHOLD = 3
+        private const val BACKOFF_MULTIPLIER = 1.5
+        private const val THROTTLED_BACKOFF_MULTIPLIER = 3.0
+        private const val MAX_INTERVAL_MILLIS = 10_000L
+        private val IN_PROGRESS_STATUSES = listOf(OperationStatus.PENDING, OperationStatus.IN_PROGRESS, OperationStatus.CANCEL_IN_PROGRESS)
+
+        /**
+         * Deletes and updates usually finish in seconds, while creates commonly take minutes
+         */
+        fun baseInterval(operation: Operation): Long = when (operation) {
+            Operation.CREATE -> 1_000L
+            else -> 500L
+        }
+
+        private fun Throwable.isThrottling() = this is SdkServiceException && isThrottlingException
+    }
+}
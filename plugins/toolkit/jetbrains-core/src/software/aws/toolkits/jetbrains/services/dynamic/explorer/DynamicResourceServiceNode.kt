@@ -8,8 +8,10 @@ import com.intellij.openapi.progress.ProgressIndicator
 import com.intellij.openapi.progress.Task
 import com.intellij.openapi.project.Project
 import com.intellij.ui.EditorNotifications
+import kotlinx.coroutines.CancellationException
 import software.amazon.awssdk.services.cloudcontrol.model.UnsupportedActionException
 import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.awsClient
 import software.aws.toolkit.jetbrains.core.credentials.getConnectionSettingsOrThrow
 import software.aws.toolkit.jetbrains.core.getResourceNow
@@ -41,10 +43,20 @@ class DynamicResourceResourceTypeNode(project: Project, val resourceType: String
 
     override fun getChildren(): List<AwsExplorerNode<*>> = super.getChildren()
 
-    override fun getChildrenInternal(): List<AwsExplorerNode<*>> = try {
+    override fun getChildrenInternal(): List<AwsExplorerNode<*>> = resourceNodes {
         nodeProject.getResourceNow(CloudControlApiResources.listResources(resourceType))
+    }
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = resourceNodes {
+        nodeProject.awaitResource(CloudControlApiResources.listResources(resourceType))
+    }
+
+    private inline fun resourceNodes(listResources: () -> List<DynamicResource>): List<AwsExplorerNode<*>> = try {
+        listResources()
             .map { DynamicResourceNode(nodeProject, it) }
             .also { DynamicresourceTelemetry.listResource(project = nodeProject, success = true, resourceType = resourceType) }
+    } catch (e: CancellationException) {
+        throw e
     } catch (e: Exception) {
         when (e) {
             is UnsupportedActionException -> {
@@ -4,6 +4,7 @@
 package software.aws.toolkits.jetbrains.services.dynamic.explorer
 
 import com.intellij.openapi.project.Project
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.getResourceNow
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerServiceNode
@@ -23,9 +24,14 @@ class OtherResourcesNode(project: Project, service: AwsExplorerServiceNode) :
     override fun isAlwaysShowPlus(): Boolean = true
 
     override fun getChildren(): List<AwsExplorerNode<*>> = super.getChildren()
-    override fun getChildrenInternal(): List<AwsExplorerNode<*>> {
+    override fun getChildrenInternal(): List<AwsExplorerNode<*>> =
+        typeNodes(nodeProject.getResourceNow(CloudControlApiResources.listTypes()).toSet())
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> =
+        typeNodes(nodeProject.awaitResource(CloudControlApiResources.listTypes()).toSet())
+
+    private fun typeNodes(resourcesAvailableInRegion: Set<String>): List<AwsExplorerNode<*>> {
         val shouldShow = DynamicResourcesSettings.getInstance().selected
-        val resourcesAvailableInRegion = nodeProject.getResourceNow(CloudControlApiResources.listTypes()).toSet()
 
         return listOf(DynamicResourceSelectorNode(nodeProject)) + DynamicResourceSupportedTypes.getInstance().getSupportedTypes()
             .filter { it in shouldShow }
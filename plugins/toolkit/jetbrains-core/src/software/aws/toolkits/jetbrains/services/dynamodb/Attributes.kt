@@ -6,8 +6,6 @@ package software.aws.toolkits.jetbrains.services.dynamodb
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue
 import java.util.Base64
 
-typealias SearchResults = List<Map<String, DynamoAttribute<*>>>
-
 private const val QUOTE = '"'
 
 /**
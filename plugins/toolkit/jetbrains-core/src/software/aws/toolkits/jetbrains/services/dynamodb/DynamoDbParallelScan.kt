@@ -0,0 +1,82 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.dynamodb
+
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Scans a table with [totalSegments] parallel Scan requests, each paging through its own segment of the table.
+ *
+ * Pages are handed to the caller as soon as each segment returns them, so results arrive in no particular order. Since [onPage] is a suspending
+ * callback a slow consumer holds up the segments instead of pages piling up in memory.
+ */
+class DynamoDbParallelScan(private val client: DynamoDbClient, private val totalSegments: Int = DEFAULT_SEGMENTS) {
+    init {
+        require(totalSegments in 1..MAX_SEGMENTS) { "totalSegments must be between 1 and $MAX_SEGMENTS" }
+    }
+
+    private val dispatcher = ioDispatcher(totalSegments)
+
+    /**
+     * Scans [tableName], or its index [indexName], until [limit] items have been returned or the whole table has been read
+     */
+    suspend fun scan(tableName: String, indexName: String?, limit: Int, onPage: suspend (List<Map<String, AttributeValue>>) -> Unit) {
+        val remaining = AtomicInteger(limit)
+        coroutineScope {
+            repeat(totalSegments) { segment ->
+                launch(dispatcher) {
+                    var startKey: Map<String, AttributeValue>? = null
+                    do {
+                        val wanted = remaining.get()
+                        if (wanted <= 0) {
+                            return@launch
+                        }
+
+                        val request = ScanRequest.builder()
+                            .tableName(tableName)
+                            .indexName(indexName)
+                            .segment(segment)
+                            .totalSegments(totalSegments)
+                            .exclusiveStartKey(startKey)
+                            .limit(minOf(wanted, MAX_PAGE_ITEMS))
+                            .build()
+                        val response = client.scan(request)
+
+                        val items = response.items().take(claim(remaining, response.items().size))
+                        if (items.isNotEmpty()) {
+                            onPage(items)
+                        }
+                        startKey = response.lastEvaluatedKey().takeIf { response.hasLastEvaluatedKey() && it.isNotEmpty() }
+                    } while (startKey != null)
+                }
+            }
+        }
+    }
+
+    // segments race for the last few items, so each claims what it can from the shared budget
+    private fun claim(remaining: AtomicInteger, count: Int): Int {
+        while (true) {
+            val available = remaining.get()
+            val claimed = minOf(available, count)
+            if (claimed <= 0) {
+                return 0
+            }
+            if (remaining.compareAndSet(available, available - claimed)) {
+                return claimed
+            }
+        }
+    }
+
+    companion object {
+        const val DEFAULT_SEGMENTS = 4
+        private const val MAX_SEGMENTS = 1_000_000
+        private const val MAX_PAGE_ITEMS = 1000
+    }
+}
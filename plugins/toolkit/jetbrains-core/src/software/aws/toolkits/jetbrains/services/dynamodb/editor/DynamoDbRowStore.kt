@@ -0,0 +1,92 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.dynamodb.editor
+
+import java.nio.ByteBuffer
+import java.nio.IntBuffer
+
+/**
+ * Append only, column oriented storage for the displayed form of DynamoDB items.
+ *
+ * Every column keeps the UTF-8 bytes of its values back to back in a single buffer plus one offset per row, rather than a map, an attribute and a
+ * String for every cell. Both live in direct buffers outside the Java heap, so large results don't add to garbage collection work or heap
+ * pressure. Values are only decoded when a cell is painted, which lets the viewer hold hundreds of thousands of rows.
+ */
+class DynamoDbRowStore {
+    private val columns = LinkedHashMap<String, Column>()
+
+    var rowCount = 0
+        private set
+
+    val columnNames: Set<String>
+        get() = columns.keys
+
+    /**
+     * Appends a row. Returns true if it contained an attribute no earlier row had, i.e. a new column was added
+     */
+    fun addRow(values: Map<String, String?>): Boolean {
+        var newColumn = false
+        values.keys.forEach {
+            if (it !in columns) {
+                columns[it] = Column(rowCount)
+                newColumn = true
+            }
+        }
+        columns.forEach { (name, column) -> column.append(values[name]) }
+        rowCount++
+        return newColumn
+    }
+
+    fun getValue(row: Int, column: String): String? = columns[column]?.get(row)
+
+    private class Column(existingRows: Int) {
+        private var data = ByteBuffer.allocateDirect(INITIAL_DATA_SIZE)
+        private var size = 0
+
+        // end offset of each row's value in data, stored as -(end + 1) for rows without the attribute
+        private var ends = allocateInts(maxOf(INITIAL_ROWS, existingRows * 2))
+        private var rows = 0
+
+        init {
+            repeat(existingRows) { append(null) }
+        }
+
+        fun append(value: String?) {
+            if (rows == ends.capacity()) {
+                ends = allocateInts(ends.capacity() * 2).put(0, ends, 0, rows)
+            }
+
+            if (value == null) {
+                ends.put(rows++, -(size + 1))
+                return
+            }
+
+            val bytes = value.toByteArray(Charsets.UTF_8)
+            if (size + bytes.size > data.capacity()) {
+                data = ByteBuffer.allocateDirect(maxOf(data.capacity() * 2, size + bytes.size)).put(0, data, 0, size)
+            }
+            data.put(size, bytes)
+            size += bytes.size
+            ends.put(rows++, size)
+        }
+
+        fun get(row: Int): String? {
+            val end = ends.get(row)
+            if (end < 0) {
+                return null
+            }
+            val start = if (row == 0) 0 else decode(ends.get(row - 1))
+            return Charsets.UTF_8.decode(data.slice(start, end - start)).toString()
+        }
+
+        private fun decode(end: Int) = if (end < 0) -end - 1 else end
+    }
+
+    private companion object {
+        const val INITIAL_DATA_SIZE = 4096
+        const val INITIAL_ROWS = 256
+
+        fun allocateInts(capacity: Int): IntBuffer = ByteBuffer.allocateDirect(capacity * Int.SIZE_BYTES).asIntBuffer()
+    }
+}
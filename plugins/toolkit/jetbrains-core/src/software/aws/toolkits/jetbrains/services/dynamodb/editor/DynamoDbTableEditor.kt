@@ -9,12 +9,15 @@ import com.intellij.openapi.fileEditor.FileEditorLocation
 import com.intellij.openapi.fileEditor.FileEditorState
 import com.intellij.openapi.fileEditor.FileEditorStateLevel
 import com.intellij.openapi.util.UserDataHolderBase
+import com.intellij.openapi.util.registry.Registry
 import com.intellij.openapi.vfs.VirtualFile
 import com.intellij.ui.SimpleTextAttributes
 import com.intellij.ui.components.JBLoadingPanel
 import com.intellij.ui.components.JBPanelWithEmptyText
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
 import software.amazon.awssdk.services.dynamodb.model.ExecuteStatementRequest
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement
 import software.amazon.awssdk.services.dynamodb.model.KeyType
@@ -24,6 +27,7 @@ import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.jetbrains.core.coroutines.disposableCoroutineScope
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
+import software.aws.toolkits.jetbrains.services.dynamodb.DynamoDbParallelScan
 import software.aws.toolkits.jetbrains.services.dynamodb.DynamoDbUtils.executeStatementPaginator
 import software.aws.toolkits.jetbrains.services.dynamodb.Index
 import software.aws.toolkits.jetbrains.services.dynamodb.toAttribute
@@ -34,6 +38,7 @@ import software.aws.toolkits.telemetry.DynamodbTelemetry
 import software.aws.toolkits.telemetry.Result
 import java.awt.BorderLayout
 import java.beans.PropertyChangeListener
+import java.util.concurrent.CancellationException
 import javax.swing.JComponent
 
 class DynamoDbTableEditor(private val dynamoTable: DynamoDbVirtualFile) : UserDataHolderBase(), FileEditor {
@@ -50,6 +55,7 @@ class DynamoDbTableEditor(private val dynamoTable: DynamoDbVirtualFile) : UserDa
     private lateinit var searchPanel: SearchPanel
     private lateinit var tableInfo: TableInfo
     private val searchResults = SearchResultsPanel()
+    private var searchJob: Job? = null
 
     init {
         // Async load in the editor so we can get the table info
@@ -117,30 +123,49 @@ class DynamoDbTableEditor(private val dynamoTable: DynamoDbVirtualFile) : UserDa
     }
 
     private fun executeSearch(maxResults: Int = editorState.maxResults) {
-        coroutineScope.launch(edt) {
+        // a new search replaces the results of one still streaming in
+        searchJob?.cancel()
+        searchJob = coroutineScope.launch(edt) {
             searchResults.setBusy(true)
             val (index, partiqlStatement) = searchPanel.getSearchQuery()
-            val fetchType = when (searchPanel.searchType) {
+            val searchType = searchPanel.searchType
+            val fetchType = when (searchType) {
                 SearchPanel.SearchType.Scan -> DynamoDbFetchType.Scan
                 SearchPanel.SearchType.Query -> DynamoDbFetchType.Query
             }
+            searchResults.startResults(index)
 
             withContext(bg) {
-                LOG.debug { "Querying Dynamo with '$partiqlStatement'" }
-
-                val request = ExecuteStatementRequest.builder().statement(partiqlStatement).build()
                 var telemetryResult = Result.Succeeded
                 try {
-                    val results = dynamoTable.dynamoDbClient.executeStatementPaginator(request)
-                        .flatMap { it.items().asSequence() }
-                        .map { it.mapValues { attr -> attr.value.toAttribute() } }
-                        .take(maxResults)
-                        .toList()
+                    if (searchType == SearchPanel.SearchType.Scan && maxResults > PARALLEL_SCAN_THRESHOLD) {
+                        val segments = Registry.intValue("aws.dynamodb.scan.segments", DynamoDbParallelScan.DEFAULT_SEGMENTS).coerceAtLeast(1)
+                        LOG.debug { "Scanning ${tableInfo.tableName} with $segments segments" }
+
+                        DynamoDbParallelScan(dynamoTable.dynamoDbClient, segments).scan(tableInfo.tableName, index.indexName, maxResults) {
+                            showPage(it)
+                        }
+                    } else {
+                        LOG.debug { "Querying Dynamo with '$partiqlStatement'" }
+
+                        val request = ExecuteStatementRequest.builder().statement(partiqlStatement).build()
+                        var remaining = maxResults
+                        for (page in dynamoTable.dynamoDbClient.executeStatementPaginator(request)) {
+                            val items = page.items().take(remaining)
+                            showPage(items)
+                            remaining -= items.size
+                            if (remaining <= 0) {
+                                break
+                            }
+                        }
+                    }
 
                     withContext(edt) {
-                        searchResults.setResults(index, results)
                         searchResults.setBusy(false)
                     }
+                } catch (e: CancellationException) {
+                    telemetryResult = Result.Cancelled
+                    throw e
                 } catch (e: Exception) {
                     LOG.error(e) { "Query failed to execute" }
                     telemetryResult = Result.Failed
@@ -166,6 +191,17 @@ class DynamoDbTableEditor(private val dynamoTable: DynamoDbVirtualFile) : UserDa
         }
     }
 
+    // only the displayed text of each attribute is kept, the rows are added on the EDT as each page arrives
+    private suspend fun showPage(items: List<Map<String, AttributeValue>>) {
+        if (items.isEmpty()) {
+            return
+        }
+        val rows = items.map { item -> item.mapValues { it.value.toAttribute().stringRepresentation() } }
+        withContext(edt) {
+            searchResults.addResults(rows)
+        }
+    }
+
     override fun getComponent(): JComponent = loadingPanel
 
     override fun getName(): String = "DynamoDBTable"
@@ -204,8 +240,9 @@ class DynamoDbTableEditor(private val dynamoTable: DynamoDbVirtualFile) : UserDa
          */
         private const val PREVIEW_SIZE = 20
 
-        /* Matches the options from the console */
-        val MAX_RESULTS_OPTIONS = listOf(50, 100, 200, 300)
+        /* The first four match the options from the console, larger limits scan the table in parallel segments */
+        val MAX_RESULTS_OPTIONS = listOf(50, 100, 200, 300, 10_000, 100_000, 1_000_000)
         private const val DEFAULT_MAX_RESULTS = 50
+        private const val PARALLEL_SCAN_THRESHOLD = 300
     }
 }
@@ -12,7 +12,6 @@ import com.intellij.ui.ScrollPaneFactory
 import com.intellij.ui.SideBorder
 import com.intellij.util.ui.components.BorderLayoutPanel
 import software.aws.toolkits.jetbrains.services.dynamodb.Index
-import software.aws.toolkits.jetbrains.services.dynamodb.SearchResults
 
 class SearchResultsPanel : BorderLayoutPanel() {
     private val resultsTable = TableResults()
@@ -45,8 +44,12 @@ class SearchResultsPanel : BorderLayoutPanel() {
         resultsTable.setPaintBusy(isBusy)
     }
 
-    fun setResults(index: Index, results: SearchResults) {
-        resultsTable.setResults(index, results)
+    fun startResults(index: Index) {
+        resultsTable.startResults(index)
+    }
+
+    fun addResults(rows: List<Map<String, String?>>) {
+        resultsTable.addResults(rows)
     }
 
     fun setError(e: Exception) {
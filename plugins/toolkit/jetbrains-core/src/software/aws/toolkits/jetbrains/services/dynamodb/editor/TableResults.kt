@@ -8,17 +8,14 @@ import com.intellij.openapi.editor.colors.EditorFontType
 import com.intellij.ui.SimpleTextAttributes
 import com.intellij.ui.TableSpeedSearch
 import com.intellij.ui.table.JBTable
-import com.intellij.util.containers.BidirectionalMap
 import com.intellij.util.containers.Convertor
 import com.intellij.util.ui.StatusText
-import software.aws.toolkits.jetbrains.services.dynamodb.DynamoAttribute
 import software.aws.toolkits.jetbrains.services.dynamodb.Index
-import software.aws.toolkits.jetbrains.services.dynamodb.SearchResults
 import software.aws.toolkits.resources.message
 import javax.swing.table.AbstractTableModel
 import javax.swing.table.DefaultTableCellRenderer
 
-class TableResults : JBTable(TableModel(BidirectionalMap(), emptyList())) {
+class TableResults : JBTable(TableModel(null)) {
     init {
         // Make sure we call the method, and not edit the protected field
         setAutoResizeMode(AUTO_RESIZE_ALL_COLUMNS)
@@ -32,15 +29,24 @@ class TableResults : JBTable(TableModel(BidirectionalMap(), emptyList())) {
         tableCellRenderer.putClientProperty("html.disable", true)
         setDefaultRenderer(Any::class.java, tableCellRenderer)
 
-        TableSpeedSearch(this, Convertor { (it as? DynamoAttribute<*>)?.stringRepresentation() })
+        TableSpeedSearch(this, Convertor { it as? String })
     }
 
     override fun getModel(): TableModel = super.getModel() as TableModel
 
-    fun setResults(index: Index, results: SearchResults) {
-        model = TableModel.buildModel(index, results)
+    /**
+     * Clears the table ready for the rows of a new search over [index]
+     */
+    fun startResults(index: Index) {
+        model = TableModel(index)
         emptyText.text = StatusText.getDefaultEmptyText()
-        setPaintBusy(false)
+    }
+
+    /**
+     * Appends rows of attribute name to displayed value while a search is still running
+     */
+    fun addResults(rows: List<Map<String, String?>>) {
+        model.addRows(rows)
     }
 
     fun setError(e: Exception) {
@@ -49,37 +55,38 @@ class TableResults : JBTable(TableModel(BidirectionalMap(), emptyList())) {
     }
 }
 
-class TableModel(private val columns: BidirectionalMap<String, Int>, private val data: List<Map<String, DynamoAttribute<*>>>) : AbstractTableModel() {
-    override fun getRowCount(): Int = data.size
+class TableModel(private val index: Index?) : AbstractTableModel() {
+    private val store = DynamoDbRowStore()
+    private var columns: List<String> = orderColumns()
+
+    override fun getRowCount(): Int = store.rowCount
     override fun getColumnCount(): Int = columns.size
-    override fun getColumnName(column: Int): String = columns.getKeysByValue(column)?.firstOrNull() ?: ""
+    override fun getColumnName(column: Int): String = columns.getOrNull(column) ?: ""
 
-    override fun getValueAt(rowIndex: Int, columnIndex: Int): String? {
-        val columnName = getColumnName(columnIndex)
-        return data[rowIndex][columnName]?.stringRepresentation()
-    }
+    override fun getValueAt(rowIndex: Int, columnIndex: Int): String? = store.getValue(rowIndex, getColumnName(columnIndex))
 
-    companion object {
-        fun buildModel(index: Index, data: SearchResults): TableModel {
-            // Build the columns by putting the index fields first, then sort the rest of the attributes by name (alphabetically)
-            val columns = buildList<String> {
-                add(index.partitionKey)
-                index.sortKey?.let {
-                    add(it)
-                }
-
-                val attributes = data.asSequence()
-                    .flatMap { it.keys.asSequence() }
-                    .filterNot { it == index.partitionKey || it == index.sortKey }
-                    .toSortedSet()
-
-                addAll(attributes)
-            }
-                .asSequence()
-                .mapIndexed { idx, attribute -> attribute to idx }
-                .toMap(BidirectionalMap())
-
-            return TableModel(columns, data)
+    fun addRows(rows: List<Map<String, String?>>) {
+        if (rows.isEmpty()) {
+            return
         }
+
+        val firstRow = store.rowCount
+        var newColumns = false
+        rows.forEach {
+            newColumns = store.addRow(it) || newColumns
+        }
+
+        if (newColumns) {
+            columns = orderColumns()
+            fireTableStructureChanged()
+        } else {
+            fireTableRowsInserted(firstRow, store.rowCount - 1)
+        }
+    }
+
+    // the index fields first, then the rest of the attributes by name (alphabetically)
+    private fun orderColumns(): List<String> {
+        val keys = listOfNotNull(index?.partitionKey, index?.sortKey)
+        return keys + store.columnNames.filterNot { it in keys }.sorted()
     }
 }
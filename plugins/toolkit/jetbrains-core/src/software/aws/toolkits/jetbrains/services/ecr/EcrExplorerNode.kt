@@ -7,6 +7,7 @@ import com.intellij.ide.util.treeView.AbstractTreeNode
 import com.intellij.openapi.project.Project
 import icons.AwsIcons
 import software.amazon.awssdk.services.ecr.EcrClient
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.getResourceNow
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerResourceNode
@@ -23,6 +24,9 @@ class EcrServiceNode(project: Project, service: AwsExplorerServiceNode) : AwsExp
 
     override fun getChildrenInternal(): List<AwsExplorerNode<*>> =
         nodeProject.getResourceNow(EcrResources.LIST_REPOS).map { EcrRepositoryNode(nodeProject, it) }
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> =
+        nodeProject.awaitResource(EcrResources.LIST_REPOS).map { EcrRepositoryNode(nodeProject, it) }
 }
 
 class EcrRepositoryNode(
@@ -48,6 +52,10 @@ class EcrRepositoryNode(
     override fun getChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject
         .getResourceNow(EcrResources.listTags(repository.repositoryName))
         .map { EcrTagNode(nodeProject, repository, it) }
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject
+        .awaitResource(EcrResources.listTags(repository.repositoryName))
+        .map { EcrTagNode(nodeProject, repository, it) }
 }
 
 class EcrTagNode(project: Project, val repository: Repository, val tag: String) : AwsExplorerNode<String>(project, tag, null), ResourceActionNode {
@@ -7,6 +7,7 @@ import com.intellij.openapi.project.Project
 import icons.AwsIcons
 import software.amazon.awssdk.services.ecs.EcsClient
 import software.amazon.awssdk.services.ecs.model.Service
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.getResourceNow
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerEmptyNode
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
@@ -23,6 +24,8 @@ class EcsParentNode(project: Project, service: AwsExplorerServiceNode) : AwsExpl
     override fun getChildrenInternal(): List<AwsExplorerNode<*>> = listOf(
         EcsClusterParentNode(nodeProject)
     )
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = getChildrenInternal()
 }
 
 class EcsClusterParentNode(project: Project) :
@@ -35,6 +38,10 @@ class EcsClusterParentNode(project: Project) :
     override fun getChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject
         .getResourceNow(EcsResources.LIST_CLUSTER_ARNS)
         .map { EcsClusterNode(nodeProject, it) }
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject
+        .awaitResource(EcsResources.LIST_CLUSTER_ARNS)
+        .map { EcsClusterNode(nodeProject, it) }
 }
 
 class EcsClusterNode(project: Project, private val clusterArn: String) :
@@ -52,6 +59,11 @@ class EcsClusterNode(project: Project, private val clusterArn: String) :
         .getResourceNow(EcsResources.listServiceArns(clusterArn))
         .map { nodeProject.getResourceNow(EcsResources.describeService(clusterArn, it)) }
         .map { EcsServiceNode(nodeProject, it, clusterArn) }
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> = nodeProject
+        .awaitResource(EcsResources.listServiceArns(clusterArn))
+        .map { nodeProject.awaitResource(EcsResources.describeService(clusterArn, it)) }
+        .map { EcsServiceNode(nodeProject, it, clusterArn) }
 }
 
 class EcsServiceNode(project: Project, private val service: Service, private val clusterArn: String) :
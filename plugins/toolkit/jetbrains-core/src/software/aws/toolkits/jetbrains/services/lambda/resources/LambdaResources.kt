@@ -4,14 +4,32 @@
 package software.aws.toolkits.jetbrains.services.lambda.resources
 
 import software.amazon.awssdk.services.lambda.LambdaClient
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration
 import software.aws.toolkit.jetbrains.core.ClientBackedCachedResource
+import software.aws.toolkit.jetbrains.core.ResourceCodec
 import software.aws.toolkit.jetbrains.core.find
+import software.aws.toolkit.jetbrains.core.persistent
 
 object LambdaResources {
+    // only what the explorer shows is written to disk, environment variables often hold secrets and are fetched live when a function is edited
+    private val PERSISTED_MEMBERS = setOf(
+        "FunctionName",
+        "FunctionArn",
+        "Description",
+        "PackageType",
+        "LastModified",
+        "Handler",
+        "Runtime",
+        "Timeout",
+        "MemorySize",
+        "TracingConfig",
+        "Role",
+    )
+
     @JvmField
     val LIST_FUNCTIONS = ClientBackedCachedResource(LambdaClient::class, "lambda.list_functions") {
         listFunctionsPaginator().functions().filterNotNull().toList()
-    }
+    }.persistent(ResourceCodec.list(ResourceCodec.sdkPojo(FunctionConfiguration::builder, PERSISTED_MEMBERS)))
 
     fun function(name: String) = LIST_FUNCTIONS.find { it.functionName() == name }
 }
@@ -16,9 +16,8 @@ import com.intellij.psi.PsiElement
 import com.intellij.psi.PsiFile
 import com.intellij.psi.SmartPointerManager
 import icons.AwsIcons
-import software.amazon.awssdk.services.lambda.model.Runtime
 import software.aws.toolkit.jetbrains.utils.isTestOrInjectedText
-import software.aws.toolkits.jetbrains.services.cloudformation.CloudFormationTemplateIndex.Companion.listFunctions
+import software.aws.toolkits.jetbrains.services.cloudformation.LambdaHandlerIndex
 import software.aws.toolkits.jetbrains.services.lambda.LambdaBuilder
 import software.aws.toolkits.jetbrains.services.lambda.LambdaHandlerResolver
 import software.aws.toolkits.jetbrains.services.lambda.RuntimeGroup
@@ -85,11 +84,7 @@ class LambdaLineMarker : LineMarkerProviderDescriptor() {
 
     // Handler defined in template with the same runtime group is valid
     private fun handlerInTemplate(project: Project, handler: String, runtimeGroup: RuntimeGroup): Boolean =
-        listFunctions(project).any {
-            Runtime.fromValue(it.runtime())?.runtimeGroup == runtimeGroup &&
-                // if user has a custom makefile, assume they know what they're doing with the handler since we don't have enough information
-                (it.handler() == handler || it.buildMethod() == "makefile")
-        }
+        LambdaHandlerIndex.isHandlerInTemplate(project, runtimeGroup, handler)
 
     class LambdaGutterIcon(markerInfo: LineMarkerInfo<PsiElement>, private val actionGroup: ActionGroup) :
         LineMarkerInfo.LineMarkerGutterIconRenderer<PsiElement>(markerInfo) {
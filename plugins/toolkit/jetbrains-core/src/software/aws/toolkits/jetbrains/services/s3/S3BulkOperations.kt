@@ -0,0 +1,245 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.s3
+
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload
+import software.amazon.awssdk.services.s3.model.CompletedPart
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.Delete
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.warn
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import software.aws.toolkits.resources.message
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * A key that a bulk operation could not be applied to, and the reason why
+ */
+data class S3BulkFailure(val key: String, val reason: String)
+
+/**
+ * Outcome of a bulk operation over [total] objects
+ */
+data class S3BulkResult(val total: Int, val failures: List<S3BulkFailure>) {
+    fun throwOnFailure() {
+        if (failures.isNotEmpty()) {
+            throw S3BulkOperationException(this)
+        }
+    }
+}
+
+class S3BulkOperationException(val result: S3BulkResult) : RuntimeException(
+    message("s3.bulk.failed", result.failures.size, result.total, result.failures.first().key, result.failures.first().reason)
+)
+
+/**
+ * Deletes, copies and moves many objects in a bucket at once.
+ *
+ * Keys ending in `/` are treated as folders and expanded to every object under them by paging through ListObjectsV2. Deletes are sent in
+ * DeleteObjects batches of [MAX_DELETE_BATCH] keys, copies run [concurrency] at a time and objects too large for CopyObject are copied with a
+ * multipart upload of UploadPartCopy parts. Failures are collected per key instead of stopping the whole operation.
+ */
+class S3BulkOperations(
+    private val client: S3Client,
+    private val bucket: String,
+    private val concurrency: Int = S3TransferOptions.DEFAULT_CONCURRENCY,
+) {
+    private val dispatcher = ioDispatcher(concurrency)
+
+    /**
+     * Deletes [keys], including everything under any folder keys
+     */
+    suspend fun delete(keys: List<String>, onProgress: (done: Int, total: Int) -> Unit = { _, _ -> }): S3BulkResult {
+        val expanded = keys.flatMap { key -> if (key.endsWith("/")) listObjects(key).map { it.key } else listOf(key) }.distinct()
+        return S3BulkResult(expanded.size, deleteKeys(expanded, onProgress))
+    }
+
+    /**
+     * Moves [fromKey] to [toKey]. If [fromKey] is a folder every object under it is moved, keeping its path relative to the folder. Sources are only
+     * deleted once they have been copied, so an object that fails to copy is left where it was.
+     */
+    suspend fun move(fromKey: String, toKey: String, onProgress: (done: Int, total: Int) -> Unit = { _, _ -> }): S3BulkResult {
+        val destination = if (fromKey.endsWith("/")) toKey.trimEnd('/') + "/" else toKey
+        // copying onto itself then deleting the source would lose the objects
+        if (destination == fromKey) {
+            return S3BulkResult(0, emptyList())
+        }
+
+        val sources = if (fromKey.endsWith("/")) {
+            listObjects(fromKey)
+        } else {
+            val head = client.headObject { it.bucket(bucket).key(fromKey) }
+            listOf(ObjectSummary(fromKey, head.contentLength(), head))
+        }
+
+        val failures = ConcurrentLinkedQueue<S3BulkFailure>()
+        val copied = ConcurrentHashMap.newKeySet<String>()
+        val done = AtomicInteger()
+        coroutineScope {
+            sources.forEach { source ->
+                launch(dispatcher) {
+                    val target = if (fromKey.endsWith("/")) destination + source.key.removePrefix(fromKey) else destination
+                    try {
+                        copy(source, target)
+                        copied.add(source.key)
+                    } catch (e: CancellationException) {
+                        throw e
+                    } catch (e: NoSuchBucketException) {
+                        // not a per-object failure, the caller handles the bucket being gone
+                        throw e
+                    } catch (e: Exception) {
+                        LOG.warn(e) { "Failed to copy ${source.key} to $target" }
+                        failures.add(S3BulkFailure(source.key, e.message ?: e::class.java.simpleName))
+                    }
+                    onProgress(done.incrementAndGet(), sources.size * 2)
+                }
+            }
+        }
+
+        // keep the listing order so a partially deleted folder is deleted from the front
+        val deleteFailures = deleteKeys(sources.map { it.key }.filter { it in copied }) { deleted, _ ->
+            onProgress(sources.size + deleted, sources.size * 2)
+        }
+        failures.addAll(deleteFailures)
+        return S3BulkResult(sources.size, failures.toList())
+    }
+
+    private suspend fun deleteKeys(keys: List<String>, onProgress: (done: Int, total: Int) -> Unit): List<S3BulkFailure> {
+        val failures = ConcurrentLinkedQueue<S3BulkFailure>()
+        val done = AtomicInteger()
+        coroutineScope {
+            keys.chunked(MAX_DELETE_BATCH).forEach { batch ->
+                launch(dispatcher) {
+                    try {
+                        val request = DeleteObjectsRequest.builder()
+                            .bucket(bucket)
+                            .delete(Delete.builder().objects(batch.map { ObjectIdentifier.builder().key(it).build() }).quiet(true).build())
+                            .build()
+                        // in quiet mode only the keys that could not be deleted are returned
+                        client.deleteObjects(request).errors().forEach { failures.add(S3BulkFailure(it.key(), it.message() ?: it.code())) }
+                    } catch (e: CancellationException) {
+                        throw e
+                    } catch (e: NoSuchBucketException) {
+                        // not a per-object failure, the caller handles the bucket being gone
+                        throw e
+                    } catch (e: Exception) {
+                        LOG.warn(e) { "Failed to delete a batch of ${batch.size} objects" }
+                        batch.forEach { failures.add(S3BulkFailure(it, e.message ?: e::class.java.simpleName)) }
+                    }
+                    onProgress(done.addAndGet(batch.size), keys.size)
+                }
+            }
+        }
+        return failures.toList()
+    }
+
+    private suspend fun copy(source: ObjectSummary, target: String) {
+        if (source.size <= MAX_COPY_OBJECT_SIZE) {
+            val request = CopyObjectRequest.builder()
+                .sourceBucket(bucket)
+                .sourceKey(source.key)
+                .destinationBucket(bucket)
+                .destinationKey(target)
+                .build()
+            client.copyObject(request)
+        } else {
+            multipartCopy(source, target)
+        }
+    }
+
+    private suspend fun multipartCopy(source: ObjectSummary, target: String) {
+        // unlike CopyObject, a multipart upload does not take anything from the source object, so its headers and encryption are copied over
+        val head = source.head ?: client.headObject { it.bucket(bucket).key(source.key) }
+        val create = CreateMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(target)
+            .contentType(head.contentType())
+            .contentEncoding(head.contentEncoding())
+            .contentDisposition(head.contentDisposition())
+            .contentLanguage(head.contentLanguage())
+            .cacheControl(head.cacheControl())
+            .metadata(head.metadata())
+            .serverSideEncryption(head.serverSideEncryption())
+            .ssekmsKeyId(head.ssekmsKeyId())
+            .bucketKeyEnabled(head.bucketKeyEnabled())
+            .storageClass(head.storageClassAsString())
+            .build()
+        val uploadId = client.createMultipartUpload(create).uploadId()
+        try {
+            // parts are copied server side so large parts cost nothing extra, the part size only grows to stay under the 10,000 part limit
+            val partSize = maxOf(COPY_PART_SIZE, (source.size + MAX_PARTS - 1) / MAX_PARTS)
+            val partCount = ((source.size + partSize - 1) / partSize).toInt()
+            val parts = arrayOfNulls<CompletedPart>(partCount)
+            coroutineScope {
+                (1..partCount).forEach { partNumber ->
+                    launch(dispatcher) {
+                        val start = (partNumber - 1) * partSize
+                        val end = minOf(start + partSize, source.size) - 1
+                        val request = UploadPartCopyRequest.builder()
+                            .sourceBucket(bucket)
+                            .sourceKey(source.key)
+                            .destinationBucket(bucket)
+                            .destinationKey(target)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .copySourceRange("bytes=$start-$end")
+                            .build()
+                        val eTag = client.uploadPartCopy(request).copyPartResult().eTag()
+                        parts[partNumber - 1] = CompletedPart.builder().partNumber(partNumber).eTag(eTag).build()
+                    }
+                }
+            }
+
+            val request = CompleteMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(target)
+                .uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(parts.requireNoNulls().toList()).build())
+                .build()
+            client.completeMultipartUpload(request)
+        } catch (e: Exception) {
+            // don't leave the parts that were copied behind to be billed for
+            try {
+                client.abortMultipartUpload { it.bucket(bucket).key(target).uploadId(uploadId) }
+            } catch (abortException: Exception) {
+                e.addSuppressed(abortException)
+            }
+            throw e
+        }
+    }
+
+    private fun listObjects(prefix: String): List<ObjectSummary> = buildList {
+        var continuationToken: String? = null
+        do {
+            val request = ListObjectsV2Request.builder().bucket(bucket).prefix(prefix).continuationToken(continuationToken).build()
+            val response = client.listObjectsV2(request)
+            response.contents().forEach { add(ObjectSummary(it.key(), it.size())) }
+            continuationToken = response.nextContinuationToken()
+        } while (continuationToken != null)
+    }
+
+    private data class ObjectSummary(val key: String, val size: Long, val head: HeadObjectResponse? = null)
+
+    companion object {
+        private val LOG = getLogger<S3BulkOperations>()
+        const val MAX_DELETE_BATCH = 1000
+        const val MAX_COPY_OBJECT_SIZE = 5L * 1024 * 1024 * 1024
+        private const val COPY_PART_SIZE = 512L * 1024 * 1024
+        private const val MAX_PARTS = 10_000
+    }
+}
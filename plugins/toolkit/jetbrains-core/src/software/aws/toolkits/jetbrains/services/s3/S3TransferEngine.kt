@@ -0,0 +1,508 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.s3
+
+import com.google.common.io.ByteStreams
+import com.intellij.openapi.application.PathManager
+import com.intellij.openapi.progress.ProcessCanceledException
+import com.intellij.openapi.util.registry.Registry
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload
+import software.amazon.awssdk.services.s3.model.CompletedPart
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.GetObjectRequest
+import software.amazon.awssdk.services.s3.model.NoSuchUploadException
+import software.amazon.awssdk.services.s3.model.S3Exception
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import software.aws.toolkit.core.credentials.ToolkitCredentialsProvider
+import software.aws.toolkit.core.utils.createParentDirectories
+import software.aws.toolkit.core.utils.deleteIfExists
+import software.aws.toolkit.core.utils.exists
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.info
+import software.aws.toolkit.core.utils.inputStreamIfExists
+import software.aws.toolkit.core.utils.outputStream
+import software.aws.toolkit.core.utils.toHexString
+import software.aws.toolkit.core.utils.tryOrNull
+import software.aws.toolkit.core.utils.warn
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import java.io.IOException
+import java.io.InputStream
+import java.nio.ByteBuffer
+import java.nio.channels.Channels
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.Paths
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+import java.security.MessageDigest
+import java.time.Clock
+import java.time.Duration
+import java.util.Properties
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.zip.CRC32
+import java.util.zip.CheckedInputStream
+
+/**
+ * Part size and concurrency used by the [S3TransferEngine]
+ *
+ * @param[multipartThreshold] uploads smaller than this are sent with a single PutObject
+ */
+data class S3TransferOptions(
+    val partSize: Long = DEFAULT_PART_SIZE,
+    val concurrency: Int = DEFAULT_CONCURRENCY,
+    val multipartThreshold: Long = DEFAULT_MULTIPART_THRESHOLD,
+) {
+    init {
+        require(partSize > 0) { "partSize must be positive" }
+        require(concurrency > 0) { "concurrency must be positive" }
+    }
+
+    // S3 allows at most 10,000 parts per upload, so very large files use bigger parts
+    fun partSizeFor(length: Long): Long = maxOf(partSize, (length + MAX_PARTS - 1) / MAX_PARTS)
+
+    companion object {
+        private const val MEGABYTE = 1024L * 1024
+        private const val MAX_PARTS = 10_000
+        const val DEFAULT_PART_SIZE = 16 * MEGABYTE
+        const val DEFAULT_CONCURRENCY = 8
+        const val DEFAULT_MULTIPART_THRESHOLD = 32 * MEGABYTE
+
+        fun fromRegistry() = S3TransferOptions(
+            partSize = maxOf(Registry.intValue("aws.s3.transfer.partSizeMb", (DEFAULT_PART_SIZE / MEGABYTE).toInt()), 5) * MEGABYTE,
+            concurrency = maxOf(Registry.intValue("aws.s3.transfer.concurrency", DEFAULT_CONCURRENCY), 1)
+        )
+    }
+}
+
+/**
+ * Transfers large objects to and from S3 in parts that are sent concurrently.
+ *
+ * Uploads use a multipart upload with a CRC32 checksum on every part. Downloads use ranged GETs, each part is written straight into its region of the
+ * destination with [FileChannel.transferFrom] and its CRC32 recorded. The state of a transfer is persisted to a manifest after every part, so a
+ * transfer that fails resumes from the parts that are already complete the next time the same file is transferred. An upload that is cancelled is
+ * aborted instead, so its parts are not left in the bucket.
+ */
+class S3TransferEngine(
+    private val client: S3Client,
+    private val options: S3TransferOptions = S3TransferOptions.fromRegistry(),
+    private val manifestDirectory: Path = Paths.get(PathManager.getSystemPath(), "aws-s3-transfers"),
+    private val clock: Clock = Clock.systemUTC(),
+    /**
+     * Region and credentials of [client], the same bucket and key can name a different object in another account or region
+     */
+    private val connectionId: String = connectionIdOf(client),
+) {
+    private val dispatcher = ioDispatcher(options.concurrency)
+
+    /**
+     * Uploads [source] using a multipart upload, resuming an earlier attempt to upload the same, unmodified file if there is one.
+     *
+     * @param[onProgress] called with the number of bytes transferred so far and the total
+     */
+    suspend fun upload(
+        source: Path,
+        bucket: String,
+        key: String,
+        onProgress: (transferred: Long, total: Long) -> Unit = { _, _ -> },
+    ): CompleteMultipartUploadResponse {
+        val length = Files.size(source)
+        val lastModified = Files.getLastModifiedTime(source).toMillis()
+        val manifestFile = manifestFile("upload", connectionId, bucket, key, source.toAbsolutePath().toString(), length, lastModified)
+        return try {
+            try {
+                uploadParts(source, bucket, key, length, manifestFile, onProgress)
+            } catch (e: NoSuchUploadException) {
+                // the upload being resumed was aborted or expired, start again
+                LOG.info { "Multipart upload of $key no longer exists, restarting it" }
+                manifestFile.deleteIfExists()
+                uploadParts(source, bucket, key, length, manifestFile, onProgress)
+            }
+        } catch (e: Exception) {
+            if (e is ProcessCanceledException || e is CancellationException) {
+                // a cancelled upload is not resumed, so it is aborted rather than left to be billed for its parts
+                S3TransferManifest.load(manifestFile)?.let { abortUpload(it, bucket, key) }
+            }
+            throw e
+        }
+    }
+
+    private suspend fun uploadParts(
+        source: Path,
+        bucket: String,
+        key: String,
+        length: Long,
+        manifestFile: Path,
+        onProgress: (Long, Long) -> Unit,
+    ): CompleteMultipartUploadResponse {
+        val partSize = options.partSizeFor(length)
+        val partCount = maxOf(1, ((length + partSize - 1) / partSize).toInt())
+        val existing = S3TransferManifest.load(manifestFile)
+        val manifest = existing?.takeIf { it.partSize == partSize && !it.isExpired(clock) } ?: run {
+            // parts of an upload that will never be completed are still billed until it is aborted
+            existing?.let { abortUpload(it, bucket, key) }
+            val request = CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(RequestBody.fromFile(source).contentType())
+                .checksumAlgorithm(ChecksumAlgorithm.CRC32)
+                .build()
+            val uploadId = client.createMultipartUpload(request).uploadId()
+            S3TransferManifest(manifestFile, uploadId, partSize, clock.millis()).also { it.save() }
+        }
+
+        val transferred = AtomicLong(manifest.parts.keys.sumOf { partLength(it, partSize, length) })
+        onProgress(transferred.get(), length)
+        forEachPart((1..partCount).filterNot { it in manifest.parts }) { partNumber ->
+            val offset = (partNumber - 1) * partSize
+            val size = partLength(partNumber, partSize, length)
+            val body = RequestBody.fromContentProvider({ sliceOf(source, offset, size) }, size, "application/octet-stream")
+            val request = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(manifest.id)
+                .partNumber(partNumber)
+                .contentLength(size)
+                .checksumAlgorithm(ChecksumAlgorithm.CRC32)
+                .build()
+            val response = client.uploadPart(request, body)
+            manifest.complete(partNumber, response.eTag(), response.checksumCRC32())
+            onProgress(transferred.addAndGet(size), length)
+        }
+        check(manifest.parts.size == partCount) { "Only ${manifest.parts.size} of $partCount parts of $key were uploaded" }
+
+        val parts = manifest.parts.toSortedMap().map { (partNumber, part) ->
+            CompletedPart.builder().partNumber(partNumber).eTag(part.eTag).checksumCRC32(part.checksum).build()
+        }
+        val request = CompleteMultipartUploadRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .uploadId(manifest.id)
+            .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+            .build()
+        return client.completeMultipartUpload(request).also {
+            manifestFile.deleteIfExists()
+        }
+    }
+
+    /**
+     * Downloads an object to [destination] using ranged GETs, resuming an earlier attempt to download the same, unmodified object to the same place
+     * if there is one. Objects smaller than one part are fetched with a single request. The object is written to a sibling `.part` file that is moved
+     * over [destination] once complete.
+     *
+     * @param[onProgress] called with the number of bytes transferred so far and the total
+     */
+    suspend fun download(
+        bucket: String,
+        key: String,
+        versionId: String?,
+        destination: Path,
+        onProgress: (transferred: Long, total: Long) -> Unit = { _, _ -> },
+    ) {
+        val partial = destination.resolveSibling("${destination.fileName}.part")
+        val manifestFile = manifestFile("download", connectionId, bucket, key, versionId.orEmpty(), destination.toAbsolutePath().toString())
+        partial.createParentDirectories()
+
+        val resumed = S3TransferManifest.load(manifestFile)
+            ?.takeIf { !it.isExpired(clock) && it.partSize == options.partSize && it.length != null && partial.exists() }
+        try {
+            val (manifest, channel) = resumed?.let { it to FileChannel.open(partial, StandardOpenOption.READ, StandardOpenOption.WRITE) }
+                ?: startDownload(bucket, key, versionId, partial, manifestFile, onProgress)
+                ?: return finishDownload(partial, destination, manifestFile)
+
+            channel.use {
+                downloadParts(bucket, key, versionId, manifest, it, onProgress)
+                it.force(true)
+            }
+        } catch (e: S3Exception) {
+            // the object changed since the download being resumed was started, start again
+            if (resumed == null || e.statusCode() != PRECONDITION_FAILED) throw e
+            LOG.info { "$key changed since its download was started, restarting it" }
+            manifestFile.deleteIfExists()
+            partial.deleteIfExists()
+            return download(bucket, key, versionId, destination, onProgress)
+        }
+        finishDownload(partial, destination, manifestFile)
+    }
+
+    /**
+     * Fetches the first part, which also tells us the size and ETag of the object. Returns null if that was the whole object.
+     */
+    private fun startDownload(
+        bucket: String,
+        key: String,
+        versionId: String?,
+        partial: Path,
+        manifestFile: Path,
+        onProgress: (Long, Long) -> Unit,
+    ): Pair<S3TransferManifest, FileChannel>? {
+        manifestFile.deleteIfExists()
+        val channel = FileChannel.open(
+            partial,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE
+        )
+        try {
+            val transferred = AtomicLong()
+            val request = GetObjectRequest.builder().bucket(bucket).key(key).versionId(versionId).range("bytes=0-${options.partSize - 1}").build()
+            val (length, eTag, checksum) = try {
+                client.getObject(request) { response, input ->
+                    // there is no Content-Range if the whole object was returned
+                    val length = response.contentRange()?.substringAfterLast('/')?.toLongOrNull() ?: response.contentLength()
+                    preallocate(channel, length)
+                    val first = minOf(length, options.partSize)
+                    Triple(length, response.eTag(), writePart(input, channel, 0, first) { onProgress(transferred.addAndGet(it), length) })
+                }
+            } catch (e: S3Exception) {
+                // ranges can't be satisfied for empty objects
+                if (e.statusCode() != RANGE_NOT_SATISFIABLE) throw e
+                client.getObject(request.toBuilder().range(null).build()) { response, input ->
+                    val length = response.contentLength()
+                    Triple(length, response.eTag(), writePart(input, channel, 0, length) { onProgress(transferred.addAndGet(it), length) })
+                }
+            }
+
+            if (length <= options.partSize) {
+                channel.close()
+                return null
+            }
+
+            val manifest = S3TransferManifest(manifestFile, eTag, options.partSize, clock.millis(), length)
+            manifest.complete(1, eTag, checksum.toString())
+            return manifest to channel
+        } catch (e: Exception) {
+            channel.close()
+            throw e
+        }
+    }
+
+    private suspend fun downloadParts(
+        bucket: String,
+        key: String,
+        versionId: String?,
+        manifest: S3TransferManifest,
+        channel: FileChannel,
+        onProgress: (Long, Long) -> Unit,
+    ) {
+        val length = manifest.length ?: throw IllegalStateException("Download manifest is missing the object length")
+        val partSize = manifest.partSize
+        val partCount = ((length + partSize - 1) / partSize).toInt()
+
+        // parts written before a crash may not have made it to disk intact
+        manifest.parts.filter { (partNumber, part) ->
+            val offset = (partNumber - 1) * partSize
+            checksumOf(channel, offset, partLength(partNumber, partSize, length)).toString() != part.checksum
+        }.keys.forEach { manifest.parts.remove(it) }
+
+        val transferred = AtomicLong(manifest.parts.keys.sumOf { partLength(it, partSize, length) })
+        onProgress(transferred.get(), length)
+        forEachPart((1..partCount).filterNot { it in manifest.parts }) { partNumber ->
+            val offset = (partNumber - 1) * partSize
+            val size = partLength(partNumber, partSize, length)
+            val request = GetObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .versionId(versionId)
+                .range("bytes=$offset-${offset + size - 1}")
+                .ifMatch(manifest.id)
+                .build()
+            val checksum = client.getObject(request) { _, input ->
+                writePart(input, channel, offset, size) { onProgress(transferred.addAndGet(it), length) }
+            }
+            manifest.complete(partNumber, manifest.id, checksum.toString())
+        }
+        // the .part file has unwritten holes until every part is in
+        check(manifest.parts.size == partCount) { "Only ${manifest.parts.size} of $partCount parts of $key were downloaded" }
+    }
+
+    /**
+     * Transfers the given parts concurrently. A progress callback that cancels, e.g. an indicator throwing [ProcessCanceledException], only
+     * cancels the coroutine of its own part, the scope would still return normally once the other parts are done. So a part cancelled from
+     * within is reported as a failure, which cancels the other parts, and the cancellation is rethrown once they have stopped.
+     */
+    private suspend fun forEachPart(partNumbers: List<Int>, transfer: suspend (Int) -> Unit) {
+        try {
+            coroutineScope {
+                partNumbers.forEach { partNumber ->
+                    launch(dispatcher) {
+                        try {
+                            transfer(partNumber)
+                        } catch (e: CancellationException) {
+                            // the part is already being cancelled along with the whole transfer
+                            if (!isActive) throw e
+                            throw PartCancelledException(e)
+                        }
+                    }
+                }
+            }
+        } catch (e: PartCancelledException) {
+            throw e.cancellation
+        }
+    }
+
+    private class PartCancelledException(val cancellation: CancellationException) : RuntimeException(cancellation)
+
+    private fun finishDownload(partial: Path, destination: Path, manifestFile: Path) {
+        Files.move(partial, destination, StandardCopyOption.REPLACE_EXISTING)
+        manifestFile.deleteIfExists()
+    }
+
+    private fun abortUpload(manifest: S3TransferManifest, bucket: String, key: String) {
+        try {
+            client.abortMultipartUpload(AbortMultipartUploadRequest.builder().bucket(bucket).key(key).uploadId(manifest.id).build())
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to abort multipart upload of $key" }
+        }
+        manifest.delete()
+    }
+
+    private fun partLength(partNumber: Int, partSize: Long, length: Long) = minOf(partSize, length - (partNumber - 1) * partSize)
+
+    private fun sliceOf(source: Path, offset: Long, size: Long): InputStream {
+        val channel = FileChannel.open(source, StandardOpenOption.READ).position(offset)
+        return ByteStreams.limit(Channels.newInputStream(channel), size)
+    }
+
+    // transferFrom does nothing past the end of the file, so the file is grown to its final size up front
+    private fun preallocate(channel: FileChannel, length: Long) {
+        if (length > 0 && channel.size() < length) {
+            channel.write(ByteBuffer.wrap(ByteArray(1)), length - 1)
+        }
+    }
+
+    /**
+     * Writes [size] bytes of [input] at [offset], returning their CRC32. [onBytes] is called with the number of bytes written by each transfer.
+     */
+    private fun writePart(input: InputStream, channel: FileChannel, offset: Long, size: Long, onBytes: (Long) -> Unit): Long {
+        val checked = CheckedInputStream(input, CRC32())
+        val source = Channels.newChannel(checked)
+        var written = 0L
+        while (written < size) {
+            val count = channel.transferFrom(source, offset + written, size - written)
+            if (count <= 0) {
+                throw IOException("Expected $size bytes at offset $offset but the response ended after $written")
+            }
+            written += count
+            onBytes(count)
+        }
+        return checked.checksum.value
+    }
+
+    private fun checksumOf(channel: FileChannel, offset: Long, size: Long): Long {
+        val crc = CRC32()
+        val buffer = ByteBuffer.allocate(BUFFER_SIZE)
+        var position = offset
+        while (position < offset + size) {
+            buffer.clear().limit(minOf(BUFFER_SIZE.toLong(), offset + size - position).toInt())
+            val read = channel.read(buffer, position)
+            if (read <= 0) break
+            buffer.flip()
+            crc.update(buffer)
+            position += read
+        }
+        return crc.value
+    }
+
+    private fun manifestFile(vararg identity: Any): Path {
+        val digest = MessageDigest.getInstance("SHA-256").digest(identity.joinToString("\u0000").toByteArray(Charsets.UTF_8))
+        return manifestDirectory.resolve("${digest.toHexString()}.properties")
+    }
+
+    companion object {
+        private val LOG = getLogger<S3TransferEngine>()
+        private const val BUFFER_SIZE = 64 * 1024
+        private const val PRECONDITION_FAILED = 412
+        private const val RANGE_NOT_SATISFIABLE = 416
+
+        fun connectionIdOf(client: S3Client): String {
+            val configuration = tryOrNull { client.serviceClientConfiguration() } ?: return ""
+            val credentials = configuration.credentialsProvider() as? ToolkitCredentialsProvider
+            return "${configuration.region()?.id()}/${credentials?.id}"
+        }
+    }
+}
+
+/**
+ * Persisted state of a transfer. [id] is the upload ID of an upload or the ETag of the object being downloaded.
+ */
+internal class S3TransferManifest(
+    private val file: Path,
+    val id: String,
+    val partSize: Long,
+    val created: Long,
+    val length: Long? = null,
+) {
+    class Part(val eTag: String, val checksum: String?)
+
+    val parts = ConcurrentHashMap<Int, Part>()
+
+    fun isExpired(clock: Clock) = created + MAXIMUM_AGE.toMillis() < clock.millis()
+
+    fun delete() = file.deleteIfExists()
+
+    fun complete(partNumber: Int, eTag: String, checksum: String?) {
+        parts[partNumber] = Part(eTag, checksum)
+        save()
+    }
+
+    @Synchronized
+    fun save() {
+        val properties = Properties()
+        properties.setProperty(ID, id)
+        properties.setProperty(PART_SIZE, partSize.toString())
+        properties.setProperty(CREATED, created.toString())
+        length?.let { properties.setProperty(LENGTH, it.toString()) }
+        parts.forEach { (partNumber, part) ->
+            properties.setProperty("$PART$partNumber.$ETAG", part.eTag)
+            part.checksum?.let { properties.setProperty("$PART$partNumber.$CHECKSUM", it) }
+        }
+
+        val temp = file.resolveSibling("${file.fileName}.tmp")
+        temp.createParentDirectories()
+        temp.outputStream().use { properties.store(it, null) }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+    }
+
+    companion object {
+        // incomplete multipart uploads are commonly cleaned up by a bucket lifecycle rule after a week
+        private val MAXIMUM_AGE = Duration.ofDays(7)
+        private const val ID = "id"
+        private const val PART_SIZE = "partSize"
+        private const val CREATED = "created"
+        private const val LENGTH = "length"
+        private const val PART = "part."
+        private const val ETAG = "eTag"
+        private const val CHECKSUM = "checksum"
+
+        fun load(file: Path): S3TransferManifest? {
+            val properties = file.inputStreamIfExists()?.use { input -> Properties().apply { load(input) } } ?: return null
+            val created = properties.getProperty(CREATED)?.toLongOrNull() ?: return null
+            val manifest = S3TransferManifest(
+                file,
+                properties.getProperty(ID) ?: return null,
+                properties.getProperty(PART_SIZE)?.toLongOrNull() ?: return null,
+                created,
+                properties.getProperty(LENGTH)?.toLongOrNull()
+            )
+            properties.stringPropertyNames().filter { it.startsWith(PART) && it.endsWith(".$ETAG") }.forEach {
+                val partNumber = it.removePrefix(PART).removeSuffix(".$ETAG").toIntOrNull() ?: return@forEach
+                manifest.parts[partNumber] = Part(properties.getProperty(it), properties.getProperty("$PART$partNumber.$CHECKSUM"))
+            }
+            return manifest
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.intellij.openapi.progress.ProgressManager
 import com.intellij.openapi.progress.Task
 import com.intellij.openapi.project.Project
 import com.intellij.util.io.outputStream
+import kotlinx.coroutines.runBlocking
 import software.amazon.awssdk.core.sync.RequestBody
 import software.amazon.awssdk.http.ContentStreamProvider
 import software.amazon.awssdk.services.s3.S3Client
@@ -21,6 +22,7 @@ import software.aws.toolkits.jetbrains.utils.ProgressMonitorOutputStream
 import software.aws.toolkits.resources.message
 import java.io.InputStream
 import java.io.OutputStream
+import java.nio.file.Files
 import java.nio.file.Path
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionStage
@@ -36,7 +38,43 @@ fun S3Client.upload(
     key: String,
     message: String = message("s3.upload.object.progress", key),
     startInBackground: Boolean = true,
-): CompletionStage<PutObjectResponse> = upload(project, RequestBody.fromFile(source), bucket, key, message, startInBackground)
+    options: S3TransferOptions = S3TransferOptions.fromRegistry(),
+): CompletionStage<PutObjectResponse> = if (Files.size(source) >= options.multipartThreshold) {
+    multipartUpload(project, source, bucket, key, message, startInBackground, options)
+} else {
+    upload(project, RequestBody.fromFile(source), bucket, key, message, startInBackground)
+}
+
+private fun S3Client.multipartUpload(
+    project: Project,
+    source: Path,
+    bucket: String,
+    key: String,
+    message: String,
+    startInBackground: Boolean,
+    options: S3TransferOptions,
+): CompletionStage<PutObjectResponse> {
+    val future = CompletableFuture<PutObjectResponse>()
+    ProgressManager.getInstance().run(
+        object : Task.Backgroundable(project, message, true, if (startInBackground) ALWAYS_BACKGROUND else null) {
+            override fun run(indicator: ProgressIndicator) {
+                indicator.isIndeterminate = false
+                try {
+                    val response = runBlocking {
+                        S3TransferEngine(this@multipartUpload, options).upload(source, bucket, key) { transferred, total ->
+                            indicator.checkCanceled()
+                            indicator.fraction = transferred.toDouble() / total
+                        }
+                    }
+                    future.complete(PutObjectResponse.builder().eTag(response.eTag()).versionId(response.versionId()).build())
+                } catch (e: Exception) {
+                    future.completeExceptionally(e)
+                }
+            }
+        }
+    )
+    return future
+}
 
 private fun S3Client.upload(
     project: Project,
@@ -102,6 +140,41 @@ fun S3Client.download(
     startInBackground: Boolean = true,
 ): CompletionStage<GetObjectResponse> = download(project, bucket, key, versionId, destination.outputStream(), message, startInBackground)
 
+/**
+ * Downloads an object to [destination] with the [S3TransferEngine], large objects are fetched in concurrent ranges and resumed if a previous attempt failed
+ */
+fun S3Client.downloadToFile(
+    project: Project,
+    bucket: String,
+    key: String,
+    versionId: String?,
+    destination: Path,
+    message: String = message("s3.download.object.progress", key),
+    startInBackground: Boolean = true,
+    options: S3TransferOptions = S3TransferOptions.fromRegistry(),
+): CompletionStage<Unit> {
+    val future = CompletableFuture<Unit>()
+    ProgressManager.getInstance().run(
+        object : Task.Backgroundable(project, message, true, if (startInBackground) ALWAYS_BACKGROUND else null) {
+            override fun run(indicator: ProgressIndicator) {
+                indicator.isIndeterminate = false
+                try {
+                    runBlocking {
+                        S3TransferEngine(this@downloadToFile, options).download(bucket, key, versionId, destination) { transferred, total ->
+                            indicator.checkCanceled()
+                            indicator.fraction = if (total > 0) transferred.toDouble() / total else 1.0
+                        }
+                    }
+                    future.complete(Unit)
+                } catch (e: Exception) {
+                    future.completeExceptionally(e)
+                }
+            }
+        }
+    )
+    return future
+}
+
 fun S3Client.download(
     project: Project,
     bucket: String,
@@ -9,15 +9,20 @@ import com.intellij.openapi.fileTypes.FileTypeRegistry
 import com.intellij.openapi.util.io.FileUtilRt
 import com.intellij.ui.SimpleTextAttributes
 import com.intellij.ui.treeStructure.SimpleNode
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
 import kotlinx.coroutines.runBlocking
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException
 import software.amazon.awssdk.services.s3.model.S3Exception
+import software.aws.toolkit.core.utils.debug
 import software.aws.toolkit.core.utils.error
 import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
 import software.aws.toolkit.jetbrains.utils.notifyError
 import software.aws.toolkits.jetbrains.services.s3.NOT_VERSIONED_VERSION_ID
 import software.aws.toolkits.resources.message
 import java.time.Instant
+import java.util.concurrent.CancellationException
 
 sealed class S3TreeNode(val bucket: S3VirtualBucket, val parent: S3LazyLoadParentNode<*>?, val key: String) : SimpleNode() {
     override fun getChildren(): Array<S3TreeNode> = arrayOf()
@@ -43,12 +48,44 @@ sealed class S3TreeNode(val bucket: S3VirtualBucket, val parent: S3LazyLoadParen
 abstract class S3LazyLoadParentNode<T>(bucket: S3VirtualBucket, parent: S3LazyLoadParentNode<*>?, key: String) : S3TreeNode(bucket, parent, key) {
     private val childrenLock = Object()
     private val loadedPages = mutableSetOf<T>()
-    private var cachedList: List<S3TreeNode> = listOf()
+    private val loadingPages = mutableSetOf<T>()
+    private val prefetchedPages = mutableMapOf<T, Deferred<List<S3TreeNode>>>()
+    private var firstPage: Deferred<List<S3TreeNode>>? = null
+    private val cachedList = mutableListOf<S3TreeNode>()
+    private val prefetchScope by lazy { projectCoroutineScope(bucket.project, "S3TreePrefetch") }
+
+    // bumped whenever the children are thrown away, so a page fetched before that is not appended to the new list
+    private var generation = 0
+
+    // size of cachedList, readable without the lock that getChildren holds while listing the first page
+    @Volatile
+    private var loadedCount = 0
 
     override fun getChildren(): Array<S3TreeNode> {
+        val (pending, startedIn) = synchronized(childrenLock) {
+            if (cachedList.isNotEmpty()) {
+                return cachedList.toTypedArray()
+            }
+            (firstPage ?: prefetchScope.async { loadObjects() }.also { firstPage = it }) to generation
+        }
+
+        // SimpleNode only offers a blocking getChildren, but the first page is waited for without holding the lock so loadMore and
+        // removeAllChildren are not blocked on the request
+        val page = try {
+            runBlocking { pending.await() }
+        } catch (e: CancellationException) {
+            // the children were thrown away while the page was listed
+            if (pending.isCancelled) return getChildren() else throw e
+        }
+
         synchronized(childrenLock) {
-            if (cachedList.isEmpty()) {
-                cachedList = loadObjects()
+            if (firstPage === pending) {
+                firstPage = null
+            }
+            if (generation == startedIn && cachedList.isEmpty()) {
+                cachedList.addAll(page)
+                loadedCount = cachedList.size
+                prefetchNextPage(page)
             }
             return cachedList.toTypedArray()
         }
@@ -56,28 +93,91 @@ abstract class S3LazyLoadParentNode<T>(bucket: S3VirtualBucket, parent: S3LazyLo
 
     fun removeAllChildren() {
         synchronized(childrenLock) {
-            cachedList = listOf()
+            cachedList.clear()
+            loadedCount = 0
             loadedPages.clear()
+            loadingPages.clear()
+            generation++
+            firstPage?.cancel()
+            firstPage = null
+            prefetchedPages.values.forEach { it.cancel() }
+            prefetchedPages.clear()
         }
     }
 
-    fun loadMore(continuationMarker: T) {
-        synchronized(childrenLock) {
+    suspend fun loadMore(continuationMarker: T) {
+        val (prefetched, startedIn) = synchronized(childrenLock) {
             // dedupe calls
-            if (loadedPages.contains(continuationMarker)) {
+            if (continuationMarker in loadedPages || !loadingPages.add(continuationMarker)) {
                 return
             }
+            prefetchedPages.remove(continuationMarker) to generation
+        }
 
-            val more = loadObjects(continuationMarker)
+        // the page is fetched without holding the lock, so getChildren is not blocked on the request. A prefetch that failed did so quietly,
+        // the page is listed again now that the user asked for it so a failure is reported
+        val more = try {
+            prefetched?.await()?.takeUnless { page -> page.any { it.isError() } } ?: loadObjects(continuationMarker)
+        } catch (e: Exception) {
+            synchronized(childrenLock) { loadingPages.remove(continuationMarker) }
+            throw e
+        }
+
+        synchronized(childrenLock) {
+            loadingPages.remove(continuationMarker)
+            if (generation != startedIn) {
+                return
+            }
             // Only say it has loaded before if it loaded successfully
-            if (more.none { it is S3TreeErrorNode || it is S3TreeErrorContinuationNode<*> }) {
+            if (more.none { it.isError() }) {
                 loadedPages.add(continuationMarker)
             }
-            cachedList = children.dropLastWhile { it is S3TreeContinuationNode<*> || it is S3TreeErrorNode } + more
+            // append in place, only the trailing continuation or error node of the last page is replaced
+            while (cachedList.lastOrNull().let { it is S3TreeContinuationNode<*> || it is S3TreeErrorNode }) {
+                cachedList.removeAt(cachedList.size - 1)
+            }
+            cachedList.addAll(more)
+            loadedCount = cachedList.size
+            prefetchNextPage(more)
         }
     }
 
-    protected abstract fun loadObjects(continuationMarker: T? = null): List<S3TreeNode>
+    /**
+     * True while fewer than [MAX_AUTO_LOADED_NODES] children are loaded. Past that, pages are only loaded when the user asks for them
+     * and loaded children are never evicted, so memory still grows with every page the user loads.
+     *
+     * Does not take [childrenLock], so it is safe to call on the EDT while a page is being listed.
+     */
+    fun canLoadAutomatically(): Boolean = loadedCount < MAX_AUTO_LOADED_NODES
+
+    /**
+     * Starts fetching the page after [page] so it is ready by the time the user scrolls to its continuation node. Must hold [childrenLock]
+     */
+    private fun prefetchNextPage(page: List<S3TreeNode>) {
+        val next = page.lastOrNull() as? S3TreeContinuationNode<*> ?: return
+        if (next is S3TreeErrorContinuationNode<*> || cachedList.size >= MAX_AUTO_LOADED_NODES) {
+            return
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        val marker = next.continuationMarker as T
+        if (marker in loadedPages || marker in prefetchedPages) {
+            return
+        }
+        prefetchedPages[marker] = prefetchScope.async { loadObjects(marker, prefetch = true) }
+    }
+
+    private fun S3TreeNode.isError() = this is S3TreeErrorNode || this is S3TreeErrorContinuationNode<*>
+
+    /**
+     * Lists the page of children starting at [continuationMarker]. A [prefetch] is a page the user has not asked for yet, so its failures are
+     * only logged at debug level instead of being reported.
+     */
+    protected abstract suspend fun loadObjects(continuationMarker: T? = null, prefetch: Boolean = false): List<S3TreeNode>
+
+    companion object {
+        const val MAX_AUTO_LOADED_NODES = 10_000
+    }
 }
 
 class S3TreePrefixedDirectoryNode(bucket: S3VirtualBucket) : S3TreeDirectoryNode(bucket, null, bucket.prefix) {
@@ -97,11 +197,9 @@ open class S3TreeDirectoryNode(bucket: S3VirtualBucket, parent: S3TreeDirectoryN
 
     override fun directoryPath(): String = key
 
-    override fun loadObjects(continuationMarker: String?): List<S3TreeNode> {
+    override suspend fun loadObjects(continuationMarker: String?, prefetch: Boolean): List<S3TreeNode> {
         try {
-            val response = runBlocking {
-                bucket.listObjects(key, continuationMarker)
-            }
+            val response = bucket.listObjects(key, continuationMarker)
 
             val continuation = listOfNotNull(
                 response.nextContinuationToken()?.let {
@@ -130,7 +228,11 @@ open class S3TreeDirectoryNode(bucket: S3VirtualBucket, parent: S3TreeDirectoryN
             bucket.handleDeletedBucket()
             return emptyList()
         } catch (e: S3Exception) {
-            e.notifyError(message("s3.bucket.load.fail.title"))
+            if (prefetch) {
+                LOG.debug(e) { "Prefetching objects failed" }
+            } else {
+                e.notifyError(message("s3.bucket.load.fail.title"))
+            }
             return buildList {
                 if (continuationMarker != null) {
                     add(S3TreeErrorContinuationNode(bucket, this@S3TreeDirectoryNode, this@S3TreeDirectoryNode.key, continuationMarker))
@@ -138,8 +240,15 @@ open class S3TreeDirectoryNode(bucket: S3VirtualBucket, parent: S3TreeDirectoryN
                     add(S3TreeErrorNode(bucket, this@S3TreeDirectoryNode))
                 }
             }
+        } catch (e: CancellationException) {
+            // a prefetched page was discarded
+            throw e
         } catch (e: Exception) {
-            LOG.error(e) { "Loading objects failed!" }
+            if (prefetch) {
+                LOG.debug(e) { "Prefetching objects failed" }
+            } else {
+                LOG.error(e) { "Loading objects failed!" }
+            }
             return buildList {
                 if (continuationMarker != null) {
                     add(S3TreeErrorContinuationNode(bucket, this@S3TreeDirectoryNode, this@S3TreeDirectoryNode.key, continuationMarker))
@@ -184,15 +293,13 @@ class S3TreeObjectNode(parent: S3TreeDirectoryNode, key: String, override val si
      */
     override fun fileName() = key.substringAfterLast("/")
 
-    override fun loadObjects(continuationMarker: VersionContinuationToken?): List<S3TreeNode> {
+    override suspend fun loadObjects(continuationMarker: VersionContinuationToken?, prefetch: Boolean): List<S3TreeNode> {
         if (!showHistory) {
             return emptyList()
         }
 
         try {
-            val response = runBlocking {
-                bucket.listObjectVersions(key, continuationMarker?.keyMarker, continuationMarker?.versionId)
-            }
+            val response = bucket.listObjectVersions(key, continuationMarker?.keyMarker, continuationMarker?.versionId)
 
             return buildList {
                 response?.versions()
@@ -218,7 +325,11 @@ class S3TreeObjectNode(parent: S3TreeDirectoryNode, key: String, override val si
             bucket.handleDeletedBucket()
             return emptyList()
         } catch (e: S3Exception) {
-            e.notifyError(message("s3.object.load.fail.title"))
+            if (prefetch) {
+                LOG.debug(e) { "Prefetching object versions failed" }
+            } else {
+                e.notifyError(message("s3.object.load.fail.title"))
+            }
             return buildList {
                 if (continuationMarker != null) {
                     add(
@@ -233,8 +344,15 @@ class S3TreeObjectNode(parent: S3TreeDirectoryNode, key: String, override val si
                     add(S3TreeErrorNode(bucket, this@S3TreeObjectNode))
                 }
             }
+        } catch (e: CancellationException) {
+            // a prefetched page was discarded
+            throw e
         } catch (e: Exception) {
-            LOG.error(e) { "Loading objects failed!" }
+            if (prefetch) {
+                LOG.debug(e) { "Prefetching object versions failed" }
+            } else {
+                LOG.error(e) { "Loading objects failed!" }
+            }
             return buildList {
                 if (continuationMarker != null) {
                     add(
@@ -291,7 +409,7 @@ open class S3TreeContinuationNode<T>(
     bucket: S3VirtualBucket,
     private val parentNode: S3LazyLoadParentNode<T>,
     key: String,
-    private val continuationMarker: T,
+    val continuationMarker: T,
 ) : S3TreeNode(bucket, parentNode, key) {
     init {
         icon = AllIcons.Nodes.EmptyNode
@@ -299,7 +417,7 @@ open class S3TreeContinuationNode<T>(
 
     override fun displayName(): String = message("s3.load_more")
 
-    fun loadMore() {
+    suspend fun loadMore() {
         parentNode.loadMore(continuationMarker)
     }
 
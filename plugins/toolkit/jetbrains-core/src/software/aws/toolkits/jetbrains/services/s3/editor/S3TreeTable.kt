@@ -12,6 +12,7 @@ import com.intellij.openapi.util.io.FileUtil
 import com.intellij.openapi.util.io.FileUtilRt.getUserContentLoadLimit
 import com.intellij.openapi.util.text.StringUtil
 import com.intellij.openapi.vfs.VirtualFileWrapper
+import com.intellij.ui.ComponentUtil
 import com.intellij.ui.DoubleClickListener
 import com.intellij.ui.TreeSpeedSearch
 import com.intellij.ui.components.JBTreeTable
@@ -26,6 +27,7 @@ import software.aws.toolkits.jetbrains.services.s3.objectActions.uploadObjects
 import software.aws.toolkits.resources.message
 import software.aws.toolkits.telemetry.Result
 import software.aws.toolkits.telemetry.S3Telemetry
+import java.awt.Point
 import java.awt.datatransfer.DataFlavor
 import java.awt.datatransfer.UnsupportedFlavorException
 import java.awt.dnd.DnDConstants
@@ -36,6 +38,7 @@ import java.awt.event.KeyAdapter
 import java.awt.event.KeyEvent
 import java.awt.event.MouseEvent
 import java.io.File
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Function
 import javax.swing.tree.DefaultMutableTreeNode
 import javax.swing.tree.TreePath
@@ -47,6 +50,7 @@ class S3TreeTable(
     private val project: Project,
 ) : JBTreeTable(treeTableModel) {
     private val coroutineScope = projectCoroutineScope(project)
+    private val pendingLoads = ConcurrentHashMap.newKeySet<S3TreeContinuationNode<*>>()
 
     private val dropTargetListener = object : DropTargetAdapter() {
         override fun drop(dropEvent: DropTargetDropEvent) {
@@ -143,14 +147,48 @@ class S3TreeTable(
     private fun handleLoadingMore(row: Int): Boolean {
         val continuationNode = (tree.getPathForRow(row).lastPathComponent as? DefaultMutableTreeNode)?.userObject as? S3TreeContinuationNode<*> ?: return false
 
-        coroutineScope.launch {
-            continuationNode.loadMore()
-            refresh()
-        }
+        loadMore(continuationNode)
 
         return true
     }
 
+    /**
+     * Called as the table is scrolled. Loads the next page of any continuation node that has scrolled into view without a click, unless it
+     * previously failed or its parent already holds [S3LazyLoadParentNode.MAX_AUTO_LOADED_NODES] children.
+     */
+    private fun loadVisibleContinuations() {
+        val visible = table.visibleRect
+        val first = table.rowAtPoint(visible.location).takeIf { it >= 0 } ?: return
+        val last = table.rowAtPoint(Point(visible.x, visible.y + visible.height - 1)).takeIf { it >= 0 } ?: (table.rowCount - 1)
+        (first..last).forEach { row ->
+            val continuationNode = getNodeForRow(row) as? S3TreeContinuationNode<*> ?: return@forEach
+            if (continuationNode !is S3TreeErrorContinuationNode<*> && continuationNode.parent?.canLoadAutomatically() == true) {
+                loadMore(continuationNode)
+            }
+        }
+    }
+
+    private fun loadMore(continuationNode: S3TreeContinuationNode<*>) {
+        // scrolling fires many events, only one load per node
+        if (!pendingLoads.add(continuationNode)) {
+            return
+        }
+
+        coroutineScope.launch {
+            try {
+                continuationNode.loadMore()
+            } finally {
+                pendingLoads.remove(continuationNode)
+            }
+            // only the parent changed, so the rest of the tree and the selection are left alone
+            continuationNode.parent?.let { parent ->
+                runInEdt {
+                    treeTableModel.structureTreeModel.invalidate(parent, true)
+                }
+            }
+        }
+    }
+
     init {
         // Do not set up Drag and Drop when in test mode since AWT is not enabled
         if (!ApplicationManager.getApplication().isUnitTestMode) {
@@ -173,6 +211,7 @@ class S3TreeTable(
         loadMoreListener.installOn(tree)
         openFileListener.installOn(tree)
         tree.addKeyListener(keyListener)
+        ComponentUtil.getScrollPane(table)?.verticalScrollBar?.addAdjustmentListener { loadVisibleContinuations() }
     }
 
     fun refresh() {
@@ -183,7 +222,8 @@ class S3TreeTable(
     }
 
     private fun getNodeForRow(row: Int): S3TreeNode? {
-        val path = tree.getPathForRow(table.convertRowIndexToModel(row))
+        // the path is null while the tree is being updated
+        val path = tree.getPathForRow(table.convertRowIndexToModel(row)) ?: return null
         return (path.lastPathComponent as DefaultMutableTreeNode).userObject as? S3TreeNode
     }
 
@@ -15,12 +15,15 @@ import software.amazon.awssdk.core.sync.RequestBody
 import software.amazon.awssdk.services.s3.S3Client
 import software.amazon.awssdk.services.s3.model.ListObjectVersionsResponse
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response
-import software.amazon.awssdk.services.s3.model.ObjectIdentifier
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
 import software.aws.toolkit.jetbrains.utils.notifyError
 import software.aws.toolkits.jetbrains.core.explorer.refreshAwsTree
+import software.aws.toolkits.jetbrains.services.s3.S3BulkOperationException
+import software.aws.toolkits.jetbrains.services.s3.S3BulkOperations
+import software.aws.toolkits.jetbrains.services.s3.S3TransferOptions
 import software.aws.toolkits.jetbrains.services.s3.download
+import software.aws.toolkits.jetbrains.services.s3.downloadToFile
 import software.aws.toolkits.jetbrains.services.s3.resources.S3Resources
 import software.aws.toolkits.jetbrains.services.s3.upload
 import software.aws.toolkits.resources.message
@@ -75,20 +78,34 @@ class S3VirtualBucket(val s3Bucket: String, prefix: String, val client: S3Client
             }
         }
 
+    /**
+     * Deletes [keys] in batches, keys ending in `/` delete the whole folder. Throws [S3BulkOperationException] listing the keys that failed
+     */
     suspend fun deleteObjects(keys: List<String>) {
         withContext(getCoroutineBgContext()) {
-            val keysToDelete = keys.map { ObjectIdentifier.builder().key(it).build() }
-            client.deleteObjects { it.bucket(s3Bucket).delete { del -> del.objects(keysToDelete) } }
+            S3BulkOperations(client, s3Bucket, S3TransferOptions.fromRegistry().concurrency).delete(keys).throwOnFailure()
         }
     }
 
+    /**
+     * Renames an object, or a folder and everything in it when [fromKey] ends in `/`. Throws [S3BulkOperationException] listing the keys that failed
+     */
     suspend fun renameObject(fromKey: String, toKey: String) {
         withContext(getCoroutineBgContext()) {
-            client.copyObject { it.sourceBucket(s3Bucket).sourceKey(fromKey).destinationBucket(s3Bucket).destinationKey(toKey) }
-            client.deleteObject { it.bucket(s3Bucket).key(fromKey) }
+            S3BulkOperations(client, s3Bucket, S3TransferOptions.fromRegistry().concurrency).move(fromKey, toKey).throwOnFailure()
         }
     }
 
+    /**
+     * True if [key] is an object, or when it ends in `/`, if there is any object under that folder
+     */
+    suspend fun keyExists(key: String): Boolean =
+        withContext(getCoroutineBgContext()) {
+            // keys are listed in order, so an object named exactly [key] is always the first one with it as a prefix
+            val first = client.listObjectsV2 { it.bucket(s3Bucket).prefix(key).maxKeys(1) }.contents().firstOrNull()?.key()
+            first != null && (key.endsWith("/") || first == key)
+        }
+
     suspend fun upload(project: Project, source: Path, key: String) {
         withContext(getCoroutineBgContext()) {
             client.upload(project, source, s3Bucket, key).await()
@@ -101,6 +118,15 @@ class S3VirtualBucket(val s3Bucket: String, prefix: String, val client: S3Client
         }
     }
 
+    /**
+     * Downloads an object straight to disk, large objects are fetched in parallel ranges and resumed if a previous attempt failed
+     */
+    suspend fun downloadToFile(project: Project, key: String, versionId: String? = null, destination: Path) {
+        withContext(getCoroutineBgContext()) {
+            client.downloadToFile(project, s3Bucket, key, versionId, destination).await()
+        }
+    }
+
     fun generateUrl(key: String, versionId: String?): URL = client.utilities().getUrl {
         it.bucket(s3Bucket)
         it.key(key)
@@ -16,7 +16,6 @@ import software.aws.toolkit.core.utils.deleteIfExists
 import software.aws.toolkit.core.utils.exists
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.core.utils.info
-import software.aws.toolkit.core.utils.outputStream
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
 import software.aws.toolkit.jetbrains.utils.notifyError
 import software.aws.toolkits.jetbrains.core.utils.getRequiredData
@@ -202,9 +201,7 @@ class DownloadObjectAction :
                 files.forEach {
                     try {
                         // TODO: Create 1 progress indicator for all files and pass it in
-                        it.diskLocation.outputStream().use { os ->
-                            it.sourceBucket.download(project, it.s3Object, it.versionId, os)
-                        }
+                        it.sourceBucket.downloadToFile(project, it.s3Object, it.versionId, it.diskLocation)
                     } catch (e: NoSuchBucketException) {
                         it.sourceBucket.handleDeletedBucket()
                     } catch (e: Exception) {
@@ -5,13 +5,17 @@ package software.aws.toolkits.jetbrains.services.s3.objectActions
 import com.intellij.icons.AllIcons
 import com.intellij.openapi.actionSystem.CommonDataKeys
 import com.intellij.openapi.actionSystem.DataContext
+import com.intellij.openapi.project.Project
 import com.intellij.openapi.ui.Messages
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.withContext
 import software.amazon.awssdk.services.s3.model.NoSuchBucketException
+import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
 import software.aws.toolkit.jetbrains.utils.notifyError
 import software.aws.toolkits.jetbrains.core.utils.getRequiredData
 import software.aws.toolkits.jetbrains.services.s3.editor.S3EditorDataKeys
+import software.aws.toolkits.jetbrains.services.s3.editor.S3TreeDirectoryNode
 import software.aws.toolkits.jetbrains.services.s3.editor.S3TreeNode
 import software.aws.toolkits.jetbrains.services.s3.editor.S3TreeObjectNode
 import software.aws.toolkits.resources.message
@@ -39,8 +43,19 @@ class RenameObjectAction :
             val scope = projectCoroutineScope(project)
             scope.launch {
                 try {
-                    treeTable.bucket.renameObject(node.key, "${node.parent?.key}$newName")
-                    treeTable.invalidateLevel(node)
+                    val target = if (node is S3TreeDirectoryNode) "${node.parent?.key}$newName/" else "${node.parent?.key}$newName"
+                    if (target != node.key && treeTable.bucket.keyExists(target) && !confirmOverwrite(project, target)) {
+                        S3Telemetry.renameObject(project, Result.Cancelled)
+                        return@launch
+                    }
+
+                    treeTable.bucket.renameObject(node.key, target)
+                    if (node is S3TreeDirectoryNode) {
+                        // the folder itself moved, so it is its parent's listing that changes
+                        treeTable.invalidateLevel(node.parent ?: node)
+                    } else {
+                        treeTable.invalidateLevel(node)
+                    }
                     treeTable.refresh()
                     S3Telemetry.renameObject(project, Result.Succeeded)
                 } catch (e: NoSuchBucketException) {
@@ -54,5 +69,17 @@ class RenameObjectAction :
         }
     }
 
-    override fun enabled(node: S3TreeNode): Boolean = node is S3TreeObjectNode
+    private suspend fun confirmOverwrite(project: Project, target: String): Boolean = withContext(getCoroutineUiContext()) {
+        Messages.showOkCancelDialog(
+            project,
+            message("s3.rename.object.conflict", target),
+            message("s3.rename.object.action"),
+            message("s3.download.object.conflict.overwrite"),
+            Messages.getCancelButton(),
+            Messages.getWarningIcon()
+        ) == Messages.OK
+    }
+
+    // the root of the viewer has nowhere to be renamed to
+    override fun enabled(node: S3TreeNode): Boolean = node is S3TreeObjectNode || (node is S3TreeDirectoryNode && node.parent != null)
 }
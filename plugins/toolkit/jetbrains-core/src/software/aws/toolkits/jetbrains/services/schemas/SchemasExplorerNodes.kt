@@ -7,6 +7,7 @@ import com.intellij.openapi.project.Project
 import icons.AwsIcons
 import software.amazon.awssdk.services.schemas.SchemasClient
 import software.amazon.awssdk.services.schemas.model.RegistrySummary
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.getResourceNow
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerEmptyNode
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
@@ -55,6 +56,14 @@ open class SchemaRegistryNode(
             .toList()
     }
 
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> {
+        val registryName = value.registryName()
+        return nodeProject
+            .awaitResource(SchemasResources.listSchemas(registryName))
+            .map { schema -> SchemaNode(nodeProject, schema.toDataClass(registryName)) }
+            .toList()
+    }
+
     override fun emptyChildrenNode(): AwsExplorerEmptyNode = AwsExplorerEmptyNode(
         nodeProject,
         message("explorer.registry.no.schema.resources")
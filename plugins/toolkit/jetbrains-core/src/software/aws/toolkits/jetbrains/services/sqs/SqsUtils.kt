@@ -54,6 +54,40 @@ fun SqsClient.approximateNumberOfMessages(queueUrl: String): Int? = try {
     null
 }
 
+/**
+ * Approximate number of messages in each state, any of which may be null if the queue did not report it
+ */
+data class QueueDepth(val visible: Int?, val inFlight: Int?, val delayed: Int?)
+
+/*
+ * Get the approximate number of visible, in flight and delayed messages of a queue with a single GetQueueAttributes call.
+ * @param queueUrl The queue url to retrieve the depth of
+ */
+fun SqsClient.queueDepth(queueUrl: String): QueueDepth {
+    val attributes = getQueueAttributes {
+        it.queueUrl(queueUrl)
+        it.attributeNames(
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE,
+            QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED
+        )
+    }.attributes()
+
+    return QueueDepth(
+        visible = attributes[QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES]?.toIntOrNull(),
+        inFlight = attributes[QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE]?.toIntOrNull(),
+        delayed = attributes[QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_DELAYED]?.toIntOrNull()
+    )
+}
+
+/**
+ * Returns the redrive policy of the queue, or null if messages are never moved to a dead-letter queue
+ */
+fun SqsClient.redrivePolicy(queueUrl: String): String? = getQueueAttributes {
+    it.queueUrl(queueUrl)
+    it.attributeNames(QueueAttributeName.REDRIVE_POLICY)
+}.attributes()[QueueAttributeName.REDRIVE_POLICY]?.takeIf { it.isNotBlank() }
+
 /**
  * Create a policy statement that allows sending SNS messages to an SQS queue. The Sid
  * matches how the console does sid (so it won't duplicate it), and the overall policy
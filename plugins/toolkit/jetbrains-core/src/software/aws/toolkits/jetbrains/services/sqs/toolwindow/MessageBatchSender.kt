@@ -0,0 +1,237 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.sqs.toolwindow
+
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.module.kotlin.jacksonObjectMapper
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import software.amazon.awssdk.services.sqs.SqsClient
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.warn
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import software.aws.toolkits.jetbrains.services.sqs.MAX_MESSAGE_SIZE_LIMIT
+import software.aws.toolkits.jetbrains.services.sqs.Queue
+import software.aws.toolkits.resources.message
+import java.io.BufferedReader
+import java.time.Clock
+import java.time.Duration
+import java.util.UUID
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * A message read from a replay file, [line] is its 1-based line number
+ */
+data class ReplayMessage(
+    val line: Int,
+    val body: String,
+    val groupId: String? = null,
+    val deduplicationId: String? = null,
+    val delaySeconds: Int? = null,
+)
+
+data class ReplayFailure(val line: Int, val reason: String)
+
+data class ReplayProgress(val sent: Int, val failed: Int, val total: Int, val elapsed: Duration) {
+    val messagesPerSecond: Double
+        get() = if (elapsed.isZero) 0.0 else sent * 1000.0 / elapsed.toMillis()
+}
+
+data class ReplayResult(val sent: Int, val failures: List<ReplayFailure>, val elapsed: Duration) {
+    val messagesPerSecond: Double
+        get() = if (elapsed.isZero) 0.0 else sent * 1000.0 / elapsed.toMillis()
+}
+
+/**
+ * Sends many messages to a queue with SendMessageBatch, keeping up to [concurrency] batches in flight.
+ *
+ * On a FIFO queue messages are only batched together with earlier messages of the same group, and the batches of a group are sent one after the
+ * other so the group keeps the order of the file. Different groups are still sent concurrently. When an entry of a FIFO batch fails, only the
+ * entries before it count as sent and the next batch starts again from the failed message. Every message keeps its deduplication ID across these
+ * resends, so SQS drops the copies of later entries that were accepted the first time. A message that still fails after [MAX_FIFO_ATTEMPTS]
+ * attempts, or fails because of the message itself, stops its group and the rest of the group is not sent, since delivering them would break its
+ * order. Messages without a group, and no default group to fall back to, are reported as failures without being sent.
+ */
+class MessageBatchSender(
+    private val client: SqsClient,
+    private val queue: Queue,
+    private val concurrency: Int = DEFAULT_CONCURRENCY,
+    private val clock: Clock = Clock.systemUTC(),
+) {
+    suspend fun send(
+        messages: List<ReplayMessage>,
+        defaultGroupId: String? = null,
+        onProgress: suspend (ReplayProgress) -> Unit = {},
+    ): ReplayResult {
+        val start = clock.millis()
+        val sent = AtomicInteger()
+        val failures = ConcurrentLinkedQueue<ReplayFailure>()
+        val permits = Semaphore(concurrency)
+        val dispatcher = ioDispatcher(concurrency)
+
+        suspend fun report() = onProgress(ReplayProgress(sent.get(), failures.size, messages.size, Duration.ofMillis(clock.millis() - start)))
+
+        coroutineScope {
+            if (queue.isFifo) {
+                val (grouped, ungrouped) = messages.partition { !(it.groupId ?: defaultGroupId).isNullOrBlank() }
+                if (ungrouped.isNotEmpty()) {
+                    ungrouped.forEach { failures.add(ReplayFailure(it.line, message("sqs.send.file.missing_group"))) }
+                    report()
+                }
+                val groups = grouped.groupBy { (it.groupId ?: defaultGroupId).orEmpty() }
+                groups.forEach { (groupId, groupMessages) ->
+                    launch(dispatcher) {
+                        val deduplicationIds = groupMessages.associate { it.line to (it.deduplicationId ?: UUID.randomUUID().toString()) }
+                        var pending = groupMessages
+                        var failedAttempts = 0
+                        while (pending.isNotEmpty()) {
+                            val batch = nextBatch(pending)
+                            val failure = permits.withPermit { sendBatch(batch, groupId, deduplicationIds) }.minByOrNull { it.index }
+                            // entries after the first failure are resent with it, whether or not they were accepted this time
+                            val delivered = failure?.index ?: batch.size
+                            sent.addAndGet(delivered)
+                            pending = pending.subList(delivered, pending.size)
+                            if (delivered > 0) {
+                                failedAttempts = 0
+                            }
+
+                            if (failure != null && (!failure.retryable || ++failedAttempts == MAX_FIFO_ATTEMPTS)) {
+                                failures.add(ReplayFailure(pending.first().line, failure.reason))
+                                pending.drop(1).forEach { failures.add(ReplayFailure(it.line, message("sqs.send.file.group_skipped"))) }
+                                pending = emptyList()
+                            }
+                            report()
+                        }
+                    }
+                }
+            } else {
+                batches(messages).forEach { batch ->
+                    launch(dispatcher) {
+                        val failed = permits.withPermit { sendBatch(batch, null, emptyMap()) }
+                        sent.addAndGet(batch.size - failed.size)
+                        failed.forEach { failures.add(ReplayFailure(batch[it.index].line, it.reason)) }
+                        report()
+                    }
+                }
+            }
+        }
+
+        return ReplayResult(sent.get(), failures.sortedBy { it.line }, Duration.ofMillis(clock.millis() - start))
+    }
+
+    private data class FailedEntry(val index: Int, val reason: String, val retryable: Boolean)
+
+    /**
+     * Sends [batch], returning the entries that failed by their index in it. FIFO messages are sent with the ID from [deduplicationIds] for
+     * their line.
+     */
+    private fun sendBatch(batch: List<ReplayMessage>, groupId: String?, deduplicationIds: Map<Int, String>): List<FailedEntry> {
+        // batch entry IDs only need to be unique within the batch, the index maps them back to the message
+        val entries = batch.mapIndexed { index, it ->
+            SendMessageBatchRequestEntry.builder()
+                .id(index.toString())
+                .messageBody(it.body)
+                .apply {
+                    if (queue.isFifo) {
+                        messageGroupId(groupId)
+                        messageDeduplicationId(deduplicationIds.getValue(it.line))
+                    } else {
+                        delaySeconds(it.delaySeconds)
+                    }
+                }
+                .build()
+        }
+
+        return try {
+            val response = client.sendMessageBatch { it.queueUrl(queue.queueUrl).entries(entries) }
+            response.failed().map { FailedEntry(it.id().toInt(), it.message() ?: it.code(), retryable = it.senderFault() != true) }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to send a batch of ${batch.size} messages to ${queue.queueUrl}" }
+            // the SDK has already retried the request
+            batch.indices.map { FailedEntry(it, e.message ?: e::class.java.simpleName, retryable = false) }
+        }
+    }
+
+    companion object {
+        private val LOG = getLogger<MessageBatchSender>()
+        private val MAPPER = jacksonObjectMapper()
+        const val DEFAULT_CONCURRENCY = 8
+        const val MAX_BATCH_ENTRIES = 10
+        const val MAX_FIFO_ATTEMPTS = 3
+
+        /**
+         * Splits [messages] into batches of at most [MAX_BATCH_ENTRIES] messages whose bodies fit in a single request
+         */
+        fun batches(messages: List<ReplayMessage>): List<List<ReplayMessage>> {
+            val batches = mutableListOf<List<ReplayMessage>>()
+            var remaining = messages
+            while (remaining.isNotEmpty()) {
+                val batch = nextBatch(remaining)
+                batches.add(batch)
+                remaining = remaining.subList(batch.size, remaining.size)
+            }
+            return batches
+        }
+
+        /**
+         * Returns the first batch of [messages], see [batches]
+         */
+        private fun nextBatch(messages: List<ReplayMessage>): List<ReplayMessage> {
+            var count = 0
+            var size = 0
+            for (replayMessage in messages) {
+                val messageSize = replayMessage.body.toByteArray(Charsets.UTF_8).size
+                if (count == MAX_BATCH_ENTRIES || (count > 0 && size + messageSize > MAX_MESSAGE_SIZE_LIMIT)) {
+                    break
+                }
+                count++
+                size += messageSize
+            }
+            return messages.subList(0, count)
+        }
+
+        /**
+         * Reads newline delimited JSON, one message per line. A line holding an object with a `body` field sets the message body from it (objects
+         * and arrays are sent as JSON) along with the optional `messageGroupId`, `messageDeduplicationId` and `delaySeconds` fields. Any other
+         * line is sent as it is. Blank lines are skipped.
+         */
+        fun readMessages(reader: BufferedReader): List<ReplayMessage> = buildList {
+            reader.lineSequence().forEachIndexed { index, line ->
+                if (line.isBlank()) {
+                    return@forEachIndexed
+                }
+                val lineNumber = index + 1
+                val node = try {
+                    MAPPER.readTree(line)
+                } catch (e: Exception) {
+                    throw IllegalArgumentException(message("sqs.send.file.invalid_line", lineNumber, e.message ?: ""), e)
+                }
+
+                val body = node?.get("body")
+                if (node == null || !node.isObject || body == null) {
+                    add(ReplayMessage(lineNumber, line))
+                } else {
+                    add(
+                        ReplayMessage(
+                            lineNumber,
+                            if (body.isTextual) body.textValue() else MAPPER.writeValueAsString(body),
+                            node.text("messageGroupId"),
+                            node.text("messageDeduplicationId"),
+                            node.get("delaySeconds")?.takeIf { it.canConvertToInt() }?.intValue()
+                        )
+                    )
+                }
+            }
+        }
+
+        private fun JsonNode.text(field: String): String? = get(field)?.takeIf { it.isTextual }?.textValue()
+    }
+}
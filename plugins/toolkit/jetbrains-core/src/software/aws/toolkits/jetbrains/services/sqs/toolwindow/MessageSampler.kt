@@ -0,0 +1,142 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.sqs.toolwindow
+
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import software.amazon.awssdk.services.sqs.SqsClient
+import software.amazon.awssdk.services.sqs.model.Message
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import software.aws.toolkits.jetbrains.services.sqs.MAX_NUMBER_OF_POLLED_MESSAGES
+import java.time.Clock
+import java.time.Duration
+
+/**
+ * Progress of a [MessageSampler] run
+ *
+ * @param[expected] the number of messages the sample is expected to reach, the sample size capped by the depth of the queue
+ */
+data class SampleProgress(val received: Int, val expected: Int, val elapsed: Duration) {
+    val messagesPerSecond: Double
+        get() = if (elapsed.isZero) 0.0 else received * 1000.0 / elapsed.toMillis()
+
+    /**
+     * Estimated time until [expected] messages have been received, null until the rate is known
+     */
+    val remaining: Duration?
+        get() = messagesPerSecond.takeIf { it > 0 }?.let { Duration.ofMillis(((expected - received).coerceAtLeast(0) * 1000 / it).toLong()) }
+}
+
+/**
+ * Peeks at up to a sample size of messages from a queue with several long polling receivers running at once.
+ *
+ * Messages are received with a visibility timeout of 0 so that they stay available to the real consumers of the queue, which also means receivers
+ * see the same messages again. They are de-duplicated by message ID in a bounded set, and a receiver stops once the queue is empty or it keeps
+ * getting only messages that were already seen.
+ */
+class MessageSampler(
+    private val client: SqsClient,
+    private val queueUrl: String,
+    private val maxConsumers: Int = DEFAULT_CONSUMERS,
+    private val waitTimeSeconds: Int = LONG_POLL_SECONDS,
+    private val clock: Clock = Clock.systemUTC(),
+) {
+    /**
+     * Samples up to [sampleSize] distinct messages. New messages are passed to [onBatch] in batches, coalescing whatever the receivers returned
+     * since the previous batch was handled, followed by the progress so far.
+     */
+    suspend fun sample(sampleSize: Int, expected: Int = sampleSize, onBatch: suspend (List<Message>, SampleProgress) -> Unit) {
+        val start = clock.millis()
+        val seen = SeenMessageIds(minOf(sampleSize, MAX_TRACKED_IDS))
+        val batches = Channel<List<Message>>(Channel.UNLIMITED)
+        val consumers = ((sampleSize + MAX_NUMBER_OF_POLLED_MESSAGES - 1) / MAX_NUMBER_OF_POLLED_MESSAGES).coerceIn(1, maxConsumers)
+        val dispatcher = ioDispatcher(consumers)
+        // guarded by seen
+        var accepted = 0
+        var received = 0
+
+        coroutineScope {
+            val receivers = List(consumers) {
+                launch(dispatcher) {
+                    var staleReceives = 0
+                    while (staleReceives < MAX_STALE_RECEIVES) {
+                        // only ask for what is still missing from the sample, receiving more than that would hide them from real consumers
+                        val missing = synchronized(seen) { sampleSize - accepted }
+                        if (missing <= 0) {
+                            return@launch
+                        }
+                        val messages = client.receiveMessage(request(minOf(missing, MAX_NUMBER_OF_POLLED_MESSAGES))).messages()
+                        if (messages.isEmpty()) {
+                            // a long poll that comes back empty means the queue has nothing visible
+                            return@launch
+                        }
+
+                        val new = synchronized(seen) {
+                            if (accepted >= sampleSize) return@launch
+                            messages.filter { accepted < sampleSize && seen.add(it.messageId()) }.also { accepted += it.size }
+                        }
+                        if (new.isEmpty()) {
+                            staleReceives++
+                        } else {
+                            staleReceives = 0
+                            batches.send(new)
+                        }
+                    }
+                }
+            }
+            launch {
+                receivers.forEach { it.join() }
+                batches.close()
+            }
+
+            for (first in batches) {
+                val batch = buildList {
+                    addAll(first)
+                    while (true) {
+                        addAll(batches.tryReceive().getOrNull() ?: break)
+                    }
+                }
+                received += batch.size
+                onBatch(batch, SampleProgress(received, maxOf(expected, received), Duration.ofMillis(clock.millis() - start)))
+            }
+        }
+    }
+
+    private fun request(maxNumberOfMessages: Int) = ReceiveMessageRequest.builder()
+        .queueUrl(queueUrl)
+        .attributeNames(QueueAttributeName.ALL)
+        .maxNumberOfMessages(maxNumberOfMessages)
+        // Make poll a real peek by setting the visibility timout to 0, so messages can be
+        // requested by other consumers of the queue immediately
+        .visibilityTimeout(0)
+        .waitTimeSeconds(waitTimeSeconds)
+        .build()
+
+    private companion object {
+        const val DEFAULT_CONSUMERS = 8
+        const val LONG_POLL_SECONDS = 5
+        const val MAX_STALE_RECEIVES = 3
+        const val MAX_TRACKED_IDS = 100_000
+    }
+}
+
+/**
+ * Set of message IDs that forgets the oldest ID once [capacity] are held
+ */
+internal class SeenMessageIds(private val capacity: Int) {
+    private val ids = object : LinkedHashMap<String, Unit>(16, 0.75f, true) {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Unit>?): Boolean = size > capacity
+    }
+
+    val size: Int
+        get() = ids.size
+
+    /**
+     * Returns true if [id] had not been seen
+     */
+    fun add(id: String): Boolean = ids.put(id, Unit) == null
+}
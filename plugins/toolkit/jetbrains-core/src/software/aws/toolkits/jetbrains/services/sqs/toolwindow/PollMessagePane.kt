@@ -11,21 +11,31 @@ import com.intellij.openapi.actionSystem.CommonShortcuts
 import com.intellij.openapi.actionSystem.DefaultActionGroup
 import com.intellij.openapi.actionSystem.Separator
 import com.intellij.openapi.project.Project
+import com.intellij.openapi.ui.ComboBox
+import com.intellij.openapi.ui.Messages
 import com.intellij.openapi.ui.SimpleToolWindowPanel
+import com.intellij.openapi.util.text.StringUtil
 import com.intellij.ui.PopupHandler
+import com.intellij.ui.SimpleListCellRenderer
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import software.amazon.awssdk.services.sqs.SqsClient
 import software.amazon.awssdk.services.sqs.model.Message
 import software.amazon.awssdk.services.sqs.model.QueueAttributeName
+import software.aws.toolkit.core.utils.tryOrNull
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
+import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
 import software.aws.toolkits.jetbrains.services.sqs.MAX_NUMBER_OF_POLLED_MESSAGES
 import software.aws.toolkits.jetbrains.services.sqs.Queue
 import software.aws.toolkits.jetbrains.services.sqs.actions.CopyMessageAction
 import software.aws.toolkits.jetbrains.services.sqs.actions.PurgeQueueAction
 import software.aws.toolkits.jetbrains.services.sqs.approximateNumberOfMessages
+import software.aws.toolkits.jetbrains.services.sqs.queueDepth
+import software.aws.toolkits.jetbrains.services.sqs.redrivePolicy
 import software.aws.toolkits.resources.message
+import java.util.concurrent.CancellationException
 import javax.swing.JButton
 import javax.swing.JLabel
 import javax.swing.JPanel
@@ -37,6 +47,7 @@ class PollMessagePane(
 ) {
     private val coroutineScope = projectCoroutineScope(project)
     private val bgContext = getCoroutineBgContext()
+    private val edtContext = getCoroutineUiContext()
 
     lateinit var component: JPanel
         private set
@@ -48,11 +59,17 @@ class PollMessagePane(
         private set
     lateinit var pollHelpLabel: JLabel
         private set
+    lateinit var sampleSizeComboBox: ComboBox<Int>
+        private set
 
     val messagesTable = MessagesTable()
+    private var pollJob: Job? = null
 
     private fun createUIComponents() {
         tablePanel = SimpleToolWindowPanel(false, true)
+        sampleSizeComboBox = ComboBox(SAMPLE_SIZES.toTypedArray()).apply {
+            renderer = SimpleListCellRenderer.create("") { message("sqs.poll.sample_size", it) }
+        }
     }
 
     init {
@@ -71,22 +88,40 @@ class PollMessagePane(
         addActionsToTable()
     }
 
-    suspend fun requestMessages() {
+    /**
+     * Polls the queue once for the default number of messages, or samples up to [sampleSize] messages adding them to the table in batches as they
+     * arrive when more are requested
+     */
+    suspend fun requestMessages(sampleSize: Int = MAX_NUMBER_OF_POLLED_MESSAGES) {
         try {
             withContext(bgContext) {
-                val polledMessages: List<Message> = client.receiveMessage {
-                    it.queueUrl(queue.queueUrl)
-                    it.attributeNames(QueueAttributeName.ALL)
-                    it.maxNumberOfMessages(MAX_NUMBER_OF_POLLED_MESSAGES)
-                    // Make poll a real peek by setting the visibility timout to 0, so messages can be
-                    // requested by other consumers of the queue immediately
-                    it.visibilityTimeout(0)
-                }.messages().distinctBy { it.messageId() }
+                if (sampleSize <= MAX_NUMBER_OF_POLLED_MESSAGES) {
+                    val polledMessages: List<Message> = client.receiveMessage {
+                        it.queueUrl(queue.queueUrl)
+                        it.attributeNames(QueueAttributeName.ALL)
+                        it.maxNumberOfMessages(sampleSize)
+                        // Make poll a real peek by setting the visibility timout to 0, so messages can be
+                        // requested by other consumers of the queue immediately
+                        it.visibilityTimeout(0)
+                    }.messages().distinctBy { it.messageId() }
 
-                messagesTable.tableModel.addRows(polledMessages)
+                    messagesTable.tableModel.addRows(polledMessages)
+                } else {
+                    val visible = tryOrNull { client.queueDepth(queue.queueUrl).visible }
+                    val expected = minOf(sampleSize, visible ?: sampleSize)
+
+                    MessageSampler(client, queue.queueUrl).sample(sampleSize, expected) { batch, progress ->
+                        withContext(edtContext) {
+                            messagesTable.tableModel.addRows(batch)
+                            messagesAvailableLabel.text = progressText(progress)
+                        }
+                    }
+                }
 
                 messagesTable.table.emptyText.text = message("sqs.message.no_messages")
             }
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             messagesTable.table.emptyText.text = message("sqs.failed_to_poll_messages")
         } finally {
@@ -94,6 +129,24 @@ class PollMessagePane(
         }
     }
 
+    /**
+     * Every receive of a message counts towards the maxReceiveCount of a redrive policy, so sampling a queue that has one can move its messages to
+     * the dead-letter queue. Returns false if the user chose not to sample.
+     */
+    private suspend fun confirmSample(): Boolean {
+        val redrivePolicy = withContext(bgContext) { tryOrNull { client.redrivePolicy(queue.queueUrl) } } ?: return true
+        return withContext(edtContext) {
+            Messages.showOkCancelDialog(
+                project,
+                message("sqs.poll.redrive_warning", queue.queueName, redrivePolicy),
+                message("sqs.poll.redrive_warning.title"),
+                Messages.getOkButton(),
+                Messages.getCancelButton(),
+                Messages.getWarningIcon()
+            ) == Messages.OK
+        }
+    }
+
     suspend fun getAvailableMessages() {
         try {
             withContext(bgContext) {
@@ -105,6 +158,17 @@ class PollMessagePane(
         }
     }
 
+    private fun progressText(progress: SampleProgress): String {
+        val remaining = progress.remaining ?: return message("sqs.poll.sample_progress.estimating", progress.received, progress.expected)
+        return message(
+            "sqs.poll.sample_progress",
+            progress.received,
+            progress.expected,
+            progress.messagesPerSecond,
+            StringUtil.formatDuration(remaining.toMillis())
+        )
+    }
+
     private fun addActionsToTable() {
         val actionGroup = DefaultActionGroup().apply {
             add(CopyMessageAction(messagesTable.table).apply { registerCustomShortcutSet(CommonShortcuts.getCopy(), component) })
@@ -119,11 +183,22 @@ class PollMessagePane(
         )
     }
 
-    private fun poll() = coroutineScope.launch {
-        // TODO: Add debounce
-        messagesTable.setBusy(busy = true)
-        messagesTable.reset()
-        requestMessages()
-        getAvailableMessages()
+    private fun poll() {
+        // polling again replaces a sample that is still running
+        pollJob?.cancel()
+        val sampleSize = sampleSizeComboBox.item ?: MAX_NUMBER_OF_POLLED_MESSAGES
+        pollJob = coroutineScope.launch {
+            if (sampleSize > MAX_NUMBER_OF_POLLED_MESSAGES && !confirmSample()) {
+                return@launch
+            }
+            messagesTable.setBusy(busy = true)
+            messagesTable.reset()
+            requestMessages(sampleSize)
+            getAvailableMessages()
+        }
+    }
+
+    private companion object {
+        val SAMPLE_SIZES = listOf(MAX_NUMBER_OF_POLLED_MESSAGES, 100, 1_000, 10_000, 50_000)
     }
 }
@@ -4,15 +4,20 @@
 package software.aws.toolkits.jetbrains.services.sqs.toolwindow
 
 import com.intellij.openapi.Disposable
+import com.intellij.openapi.fileChooser.FileChooser
+import com.intellij.openapi.fileChooser.FileChooserDescriptorFactory
 import com.intellij.openapi.project.Project
 import com.intellij.openapi.ui.ComponentValidator
 import com.intellij.openapi.ui.ValidationInfo
 import com.intellij.ui.IdeBorderFactory
 import com.intellij.ui.components.JBTextArea
+import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
 import kotlinx.coroutines.withContext
 import software.amazon.awssdk.services.sqs.SqsClient
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.warn
 import software.aws.toolkit.jetbrains.core.coroutines.disposableCoroutineScope
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
 import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineUiContext
@@ -21,6 +26,9 @@ import software.aws.toolkits.jetbrains.services.sqs.telemetryType
 import software.aws.toolkits.resources.message
 import software.aws.toolkits.telemetry.Result
 import software.aws.toolkits.telemetry.SqsTelemetry
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.CancellationException
 import javax.swing.JButton
 import javax.swing.JLabel
 import javax.swing.JPanel
@@ -42,6 +50,8 @@ class SendMessagePane(
         private set
     lateinit var clearButton: JButton
         private set
+    lateinit var sendFileButton: JButton
+        private set
     lateinit var messageSentLabel: JLabel
         private set
     lateinit var fifoFields: FifoPanel
@@ -71,6 +81,14 @@ class SendMessagePane(
             runBlocking { clear() }
             messageSentLabel.isVisible = false
         }
+        sendFileButton.addActionListener {
+            val descriptor = FileChooserDescriptorFactory.createSingleFileDescriptor().apply {
+                title = message("sqs.send.file.title")
+                description = message("sqs.send.file.description")
+            }
+            val file = FileChooser.chooseFile(descriptor, project, null) ?: return@addActionListener
+            coroutineScope.launch { sendFile(file.toNioPath()) }
+        }
     }
 
     private fun setFields() {
@@ -109,6 +127,53 @@ class SendMessagePane(
         }
     }
 
+    /**
+     * Sends every message in a newline delimited JSON [file], see [MessageBatchSender.readMessages] for the format. On a FIFO queue messages
+     * without a group use the group ID entered in the panel.
+     */
+    suspend fun sendFile(file: Path) {
+        val defaultGroupId = if (queue.isFifo) withContext(edt) { fifoFields.groupId.text.takeIf { it.isNotBlank() } } else null
+        withContext(edt) {
+            sendFileButton.isEnabled = false
+            sendButton.isEnabled = false
+        }
+        try {
+            val result = withContext(getCoroutineBgContext()) {
+                val messages = Files.newBufferedReader(file).use { MessageBatchSender.readMessages(it) }
+                MessageBatchSender(client, queue).send(messages, defaultGroupId) { progress ->
+                    withContext(edt) {
+                        messageSentLabel.text = message("sqs.send.file.progress", progress.sent, progress.failed, progress.total, progress.messagesPerSecond)
+                        messageSentLabel.isVisible = true
+                    }
+                }
+            }
+            val firstFailure = result.failures.firstOrNull()
+            withContext(edt) {
+                messageSentLabel.text = if (firstFailure == null) {
+                    message("sqs.send.file.complete", result.sent, result.messagesPerSecond)
+                } else {
+                    message("sqs.send.file.complete_with_failures", result.sent, result.failures.size, firstFailure.line, firstFailure.reason)
+                }
+            }
+            SqsTelemetry.sendMessage(project, if (firstFailure == null) Result.Succeeded else Result.Failed, queue.telemetryType())
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to send messages from $file" }
+            withContext(edt) {
+                messageSentLabel.text = message("sqs.send.file.failed", file.fileName, e.message ?: e::class.java.simpleName)
+            }
+            SqsTelemetry.sendMessage(project, Result.Failed, queue.telemetryType())
+        } finally {
+            // also reset the panel when the send is cancelled
+            withContext(NonCancellable + edt) {
+                messageSentLabel.isVisible = true
+                sendFileButton.isEnabled = true
+                sendButton.isEnabled = true
+            }
+        }
+    }
+
     suspend fun validateFields(): Boolean {
         val validationIssues = mutableListOf<ValidationInfo>().apply {
             if (inputText.text.isEmpty()) {
@@ -141,4 +206,8 @@ class SendMessagePane(
             fifoFields.clear(isSend)
         }
     }
+
+    private companion object {
+        val LOG = getLogger<SendMessagePane>()
+    }
 }
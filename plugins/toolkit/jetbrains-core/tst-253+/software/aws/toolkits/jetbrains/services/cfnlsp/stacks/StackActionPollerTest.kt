@@ -0,0 +1,131 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cfnlsp.stacks
+
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runCurrent
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.GetStackActionStatusResult
+import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.StackActionPhase
+import software.aws.toolkits.jetbrains.services.cfnlsp.protocol.StackActionState
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.time.Duration
+import kotlin.time.Duration.Companion.hours
+import kotlin.time.Duration.Companion.minutes
+import kotlin.time.Duration.Companion.seconds
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class StackActionPollerTest {
+    private val scope = TestScope()
+    private val poller = StackActionPoller(scope, scope.testScheduler.timeSource)
+    private val fetches = AtomicInteger()
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun `polls until the status is terminal`() {
+        val phases = ArrayDeque(listOf(StackActionPhase.DEPLOYMENT_IN_PROGRESS, StackActionPhase.DEPLOYMENT_COMPLETE))
+
+        val result = poll("deployment") { CompletableFuture.completedFuture(status(phases.removeFirst())) }
+        scope.advanceUntilIdle()
+
+        assertThat(result.getNow(null)).isEqualTo("DEPLOYMENT_COMPLETE")
+        assertThat(fetches.get()).isEqualTo(2)
+        assertThat(scope.testScheduler.currentTime).isEqualTo(2.seconds.inWholeMilliseconds)
+    }
+
+    @Test
+    fun `concurrent polls of the same operation share status requests`() {
+        val request = CompletableFuture<GetStackActionStatusResult?>()
+
+        val first = poll("deployment") { request }
+        val second = poll("deployment") { request }
+        // both polls are waiting on the first request once their initial delay has passed
+        scope.advanceTimeBy(1.seconds)
+        scope.runCurrent()
+        request.complete(status(StackActionPhase.DEPLOYMENT_COMPLETE))
+        scope.runCurrent()
+
+        assertThat(first.getNow(null)).isEqualTo("DEPLOYMENT_COMPLETE")
+        assertThat(second.getNow(null)).isEqualTo("DEPLOYMENT_COMPLETE")
+        assertThat(fetches.get()).isEqualTo(1)
+    }
+
+    @Test
+    fun `cancelling stops polling`() {
+        val result = poll("deployment") { CompletableFuture.completedFuture(status(StackActionPhase.DEPLOYMENT_IN_PROGRESS)) }
+
+        result.cancel(true)
+        scope.advanceUntilIdle()
+
+        assertThat(result).isCancelled()
+        assertThat(fetches.get()).isZero()
+    }
+
+    @Test
+    fun `times out without polling past the timeout`() {
+        val result = poll("deployment", timeout = Duration.ZERO) { CompletableFuture.completedFuture(null) }
+        scope.runCurrent()
+
+        assertThat(result.getNow(null)).isEqualTo("timed out")
+        assertThat(fetches.get()).isZero()
+    }
+
+    @Test
+    fun `times out once the timeout has passed`() {
+        val result = poll("deployment", timeout = 10.seconds) { CompletableFuture.completedFuture(status(StackActionPhase.DEPLOYMENT_IN_PROGRESS)) }
+        scope.advanceUntilIdle()
+
+        assertThat(result.getNow(null)).isEqualTo("timed out")
+        assertThat(fetches.get()).isEqualTo(10)
+        assertThat(scope.testScheduler.currentTime).isEqualTo(10.seconds.inWholeMilliseconds)
+    }
+
+    @Test
+    fun `an infinite timeout polls past the default timeout`() {
+        val result = poll("validation", timeout = Duration.INFINITE) { CompletableFuture.completedFuture(status(StackActionPhase.DEPLOYMENT_IN_PROGRESS)) }
+        scope.advanceTimeBy(StackActionPoller.MAX_DURATION + 1.hours)
+
+        assertThat(result).isNotDone()
+        assertThat(fetches.get()).isGreaterThan(StackActionPoller.MAX_DURATION.inWholeSeconds.toInt() / 10)
+        result.cancel(true)
+    }
+
+    @Test
+    fun `poll interval grows with the age of the operation`() {
+        val intervals = listOf(0.seconds, 1.minutes, 5.minutes, 30.minutes).map { StackActionPoller.pollInterval(it) }
+
+        assertThat(intervals).isSorted()
+        assertThat(intervals.first()).isEqualTo(1.seconds)
+        assertThat(intervals.last()).isGreaterThan(intervals.first())
+    }
+
+    private fun poll(
+        key: String,
+        timeout: Duration = StackActionPoller.MAX_DURATION,
+        fetch: () -> CompletableFuture<GetStackActionStatusResult?>,
+    ) = poller.poll(
+        key,
+        fetchStatus = {
+            fetches.incrementAndGet()
+            fetch()
+        },
+        onTimeout = { "timed out" },
+        timeout = timeout
+    ) { status ->
+        CompletableFuture.completedFuture(status?.phase?.takeIf { it == StackActionPhase.DEPLOYMENT_COMPLETE }?.name)
+    }
+
+    private fun status(phase: StackActionPhase) = GetStackActionStatusResult("id", phase, StackActionState.IN_PROGRESS)
+}
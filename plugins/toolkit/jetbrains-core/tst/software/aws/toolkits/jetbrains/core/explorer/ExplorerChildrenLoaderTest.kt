@@ -0,0 +1,125 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer
+
+import com.intellij.openapi.project.Project
+import com.intellij.testFramework.DisposableRule
+import com.intellij.testFramework.ProjectRule
+import kotlinx.coroutines.CompletableDeferred
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerEmptyNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerErrorNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerLoadingNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
+import software.aws.toolkits.jetbrains.core.explorer.nodes.ResourceParentNode
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class ExplorerChildrenLoaderTest {
+    @Rule
+    @JvmField
+    val projectRule = ProjectRule()
+
+    @Rule
+    @JvmField
+    val disposableRule = DisposableRule()
+
+    private val loaded = LinkedBlockingQueue<ResourceParentNode>()
+
+    @Test
+    fun childrenAreLoadedOnce() {
+        val loader = loader()
+        val node = TestParentNode(projectRule.project, "fast")
+        node.result.complete(listOf(child("child")))
+
+        assertThat(loader.childrenOnceLoaded(node).map { it.value }).containsExactly("child")
+        assertThat(node.loads).isEqualTo(1)
+    }
+
+    @Test
+    fun childrenLoadedWithoutSuspendingAreReturnedWithoutAPlaceholder() {
+        val loader = loader()
+        val node = TestParentNode(projectRule.project, "cached")
+        node.result.complete(listOf(child("child")))
+
+        assertThat(loader.children(node).map { it.value }).containsExactly("child")
+        assertThat(loaded).isEmpty()
+    }
+
+    @Test
+    fun slowChildrenShowALoadingNodeUntilLoaded() {
+        val loader = loader()
+        val node = TestParentNode(projectRule.project, "slow")
+
+        assertThat(loader.children(node)).singleElement().isInstanceOf(AwsExplorerLoadingNode::class.java)
+
+        node.result.complete(listOf(child("child")))
+        assertThat(loaded.poll(5, TimeUnit.SECONDS)).isSameAs(node)
+        assertThat(loader.children(node).map { it.value }).containsExactly("child")
+        assertThat(node.loads).isEqualTo(1)
+    }
+
+    @Test
+    fun slowNodeDoesNotHoldUpOtherNodes() {
+        val loader = loader()
+        val slow = TestParentNode(projectRule.project, "slow")
+        val fast = TestParentNode(projectRule.project, "fast")
+        fast.result.complete(listOf(child("child")))
+
+        assertThat(loader.children(slow)).singleElement().isInstanceOf(AwsExplorerLoadingNode::class.java)
+        assertThat(loader.childrenOnceLoaded(fast).map { it.value }).containsExactly("child")
+    }
+
+    @Test
+    fun childrenAreFetchedAgainOnRefresh() {
+        val loader = loader()
+        val node = TestParentNode(projectRule.project, "node")
+        node.result.complete(listOf(child("child")))
+
+        loader.childrenOnceLoaded(node)
+        loader.childrenOnceLoaded(node)
+
+        assertThat(node.loads).isEqualTo(2)
+    }
+
+    @Test
+    fun failedLoadShowsAnErrorNode() {
+        val loader = loader()
+        val node = TestParentNode(projectRule.project, "failing")
+        node.result.completeExceptionally(IllegalStateException("boom"))
+
+        assertThat(loader.childrenOnceLoaded(node)).singleElement().isInstanceOf(AwsExplorerErrorNode::class.java)
+    }
+
+    // the load may already be done by the time children is called, otherwise the node is refreshed once it is
+    private fun ExplorerChildrenLoader.childrenOnceLoaded(node: ResourceParentNode): List<AwsExplorerNode<*>> {
+        val children = children(node)
+        if (children.singleOrNull() !is AwsExplorerLoadingNode) {
+            return children
+        }
+        assertThat(loaded.poll(5, TimeUnit.SECONDS)).isSameAs(node)
+        return children(node)
+    }
+
+    private fun loader() = ExplorerChildrenLoader(disposableRule.disposable) { loaded.add(it) }
+
+    private fun child(name: String) = AwsExplorerEmptyNode(projectRule.project, name)
+
+    private class TestParentNode(project: Project, name: String) : AwsExplorerNode<String>(project, name, null), ResourceParentNode {
+        val result = CompletableDeferred<List<AwsExplorerNode<*>>>()
+
+        @Volatile
+        var loads = 0
+
+        override fun getChildren(): List<AwsExplorerNode<*>> = super<ResourceParentNode>.getChildren()
+        override fun getChildrenInternal(): List<AwsExplorerNode<*>> = throw UnsupportedOperationException()
+
+        override suspend fun loadChildren(): List<AwsExplorerNode<*>> {
+            loads++
+            return result.await()
+        }
+    }
+}
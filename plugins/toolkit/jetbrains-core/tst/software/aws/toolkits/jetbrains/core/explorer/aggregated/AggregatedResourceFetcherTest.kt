@@ -0,0 +1,76 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.aggregated
+
+import com.intellij.testFramework.ApplicationRule
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration
+import software.aws.toolkit.core.ConnectionSettings
+import software.aws.toolkit.core.credentials.aCredentialsIdentifier
+import software.aws.toolkit.core.credentials.aToolkitCredentialsProvider
+import software.aws.toolkit.core.region.anAwsRegion
+import software.aws.toolkit.jetbrains.core.MockResourceCacheRule
+import software.aws.toolkits.jetbrains.services.dynamodb.DynamoDbResources
+import software.aws.toolkits.jetbrains.services.lambda.resources.LambdaResources
+import java.util.Collections
+import java.util.concurrent.CompletableFuture
+
+class AggregatedResourceFetcherTest {
+    @Rule
+    @JvmField
+    val application = ApplicationRule()
+
+    @Rule
+    @JvmField
+    val resourceCache = MockResourceCacheRule()
+
+    private val east = AggregatedTarget("profile", "Profile", anAwsRegion(id = "us-east-1"))
+    private val west = AggregatedTarget("profile", "Profile", anAwsRegion(id = "us-west-2"))
+    private val lambda = AggregatedResourceType(
+        "Lambda",
+        LambdaResources.LIST_FUNCTIONS,
+        name = { function, _ -> function.functionName() },
+        arn = { function, _ -> function.functionArn() }
+    )
+    private val dynamo = AggregatedResourceType("DynamoDB", DynamoDbResources.LIST_TABLES, name = { table, _ -> table }, arn = { _, _ -> null })
+    private val index = CrossRegionResourceIndex()
+    private val fetcher = AggregatedResourceFetcher(index, concurrency = 2) { target ->
+        ConnectionSettings(aToolkitCredentialsProvider(aCredentialsIdentifier(id = target.credentialsId)), target.region)
+    }
+
+    @Test
+    fun resourcesAreFetchedFromEveryTargetAndIndexed() {
+        resourceCache.addEntry(LambdaResources.LIST_FUNCTIONS, "us-east-1", "profile", listOf(function("east-function")))
+        resourceCache.addEntry(LambdaResources.LIST_FUNCTIONS, "us-west-2", "profile", listOf(function("west-function")))
+        resourceCache.addEntry(DynamoDbResources.LIST_TABLES, "us-east-1", "profile", listOf("east-table"))
+        resourceCache.addEntry(DynamoDbResources.LIST_TABLES, "us-west-2", "profile", listOf<String>())
+        val results = Collections.synchronizedList(mutableListOf<AggregatedFetchResult>())
+
+        runBlocking { fetcher.fetch(listOf(east, west), listOf(lambda, dynamo)) { results.add(it) } }
+
+        assertThat(results).hasSize(4).allSatisfy { assertThat(it.error).isNull() }
+        assertThat(index.search("function").map { it.name to it.arn }).containsExactly(
+            "east-function" to "arn:east-function",
+            "west-function" to "arn:west-function"
+        )
+        assertThat(index.search("table").single().target).isEqualTo(east)
+    }
+
+    @Test
+    fun failedTargetDoesNotStopTheOthers() {
+        resourceCache.addEntry(LambdaResources.LIST_FUNCTIONS, "us-east-1", "profile", listOf(function("east-function")))
+        resourceCache.addEntry(LambdaResources.LIST_FUNCTIONS, "us-west-2", "profile", CompletableFuture.failedFuture(IllegalStateException("denied")))
+        val results = Collections.synchronizedList(mutableListOf<AggregatedFetchResult>())
+
+        runBlocking { fetcher.fetch(listOf(east, west), listOf(lambda)) { results.add(it) } }
+
+        assertThat(results.single { it.target == west }.error).hasMessageContaining("denied")
+        assertThat(results.single { it.target == east }.resources.map { it.name }).containsExactly("east-function")
+    }
+
+    private fun function(name: String) = FunctionConfiguration.builder().functionName(name).functionArn("arn:$name").build()
+}
@@ -0,0 +1,55 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.core.explorer.aggregated
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import software.aws.toolkit.core.region.anAwsRegion
+
+class CrossRegionResourceIndexTest {
+    private val east = AggregatedTarget("profile", "Profile", anAwsRegion(id = "us-east-1"))
+    private val west = AggregatedTarget("profile", "Profile", anAwsRegion(id = "us-west-2"))
+    private val index = CrossRegionResourceIndex()
+
+    @Test
+    fun namesAreSplitIntoWords() {
+        assertThat(CrossRegionResourceIndex.words("order-processor_v2")).containsExactlyInAnyOrder("order", "processor", "v2")
+        assertThat(CrossRegionResourceIndex.words("OrderProcessorFunction")).containsExactlyInAnyOrder("order", "processor", "function")
+    }
+
+    @Test
+    fun searchMatchesWordPrefixesAcrossRegions() {
+        index.replace(east, "Lambda", resources(east, "order-processor", "billing"))
+        index.replace(west, "Lambda", resources(west, "OrderProcessor", "orders-dlq"))
+
+        assertThat(index.search("ord proc").map { it.name to it.target.region.id }).containsExactly(
+            "order-processor" to "us-east-1",
+            "OrderProcessor" to "us-west-2"
+        )
+        assertThat(index.search("ORDER").map { it.name }).containsExactlyInAnyOrder("order-processor", "OrderProcessor", "orders-dlq")
+        assertThat(index.search("missing")).isEmpty()
+        assertThat(index.search(" ")).isEmpty()
+    }
+
+    @Test
+    fun replacingATargetDropsItsOldResources() {
+        index.replace(east, "Lambda", resources(east, "old-function"))
+        index.replace(east, "SQS", resources(east, "old-queue"))
+
+        index.replace(east, "Lambda", resources(east, "new-function"))
+
+        assertThat(index.search("old").map { it.name }).containsExactly("old-queue")
+        assertThat(index.search("new").map { it.name }).containsExactly("new-function")
+        assertThat(index.size).isEqualTo(2)
+    }
+
+    @Test
+    fun resultsAreLimited() {
+        index.replace(east, "Lambda", resources(east, *(1..10).map { "function$it" }.toTypedArray()))
+
+        assertThat(index.search("function", limit = 3)).hasSize(3)
+    }
+
+    private fun resources(target: AggregatedTarget, vararg names: String) = names.map { AggregatedResource(target, "Lambda", it, null) }
+}
@@ -100,6 +100,34 @@ Resources:
         }
     }
 
+    @Test
+    fun listFunctions_jsonTemplate() {
+        val fixture = projectRule.fixture
+
+        fixture.openFile(
+            "template.json",
+            """
+{
+  "Globals": {"Function": {"Runtime": "java21"}},
+  "Resources": {
+    "ServerlessFunction": {
+      "Type": "AWS::Serverless::Function",
+      "Properties": {"CodeUri": "serverless", "Handler": "serverless::foo"}
+    }
+  }
+}
+"""
+        )
+
+        runInEdtAndWait {
+            val functions = CloudFormationTemplateIndex.listFunctions(projectRule.project)
+            assertThat(functions).hasSize(1)
+            val indexedFunction = functions.toList()[0]
+            assertThat(indexedFunction.handler()).isEqualTo("serverless::foo")
+            assertThat(indexedFunction.runtime()).isEqualTo("java21")
+        }
+    }
+
     @Test
     fun listFunctions_missingType() {
         val fixture = projectRule.fixture
@@ -0,0 +1,102 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudformation
+
+import com.intellij.openapi.application.runReadAction
+import com.intellij.openapi.application.runWriteAction
+import com.intellij.openapi.vfs.VfsUtil
+import com.intellij.psi.PsiDocumentManager
+import com.intellij.testFramework.runInEdtAndGet
+import com.intellij.testFramework.runInEdtAndWait
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import software.aws.toolkit.jetbrains.utils.rules.JavaCodeInsightTestFixtureRule
+import software.aws.toolkit.jetbrains.utils.rules.openFile
+import software.aws.toolkits.jetbrains.services.lambda.BuiltInRuntimeGroups
+import software.aws.toolkits.jetbrains.services.lambda.RuntimeGroup
+
+class LambdaHandlerIndexTest {
+    @Rule
+    @JvmField
+    val projectRule = JavaCodeInsightTestFixtureRule()
+
+    private val java by lazy { RuntimeGroup.getById(BuiltInRuntimeGroups.Java) }
+
+    @Test
+    fun `handlers are matched by runtime group`() {
+        projectRule.fixture.openFile(
+            "template.yaml",
+            """
+Resources:
+  ServerlessFunction:
+    Type: AWS::Serverless::Function
+    Properties:
+      CodeUri: foo
+      Handler: com.example.Foo::handleRequest
+      Runtime: java21
+  NoRuntime:
+    Type: AWS::Lambda::Function
+    Properties:
+      Code: bar
+      Handler: com.example.Bar::handleRequest
+"""
+        )
+
+        assertThat(isHandlerInTemplate("com.example.Foo::handleRequest")).isTrue()
+        assertThat(isHandlerInTemplate("com.example.Bar::handleRequest")).isFalse()
+        assertThat(isHandlerInTemplate("com.example.Baz::handleRequest")).isFalse()
+    }
+
+    @Test
+    fun `any handler matches a function built with a makefile`() {
+        projectRule.fixture.openFile(
+            "template.yaml",
+            """
+Resources:
+  MakefileFunction:
+    Type: AWS::Serverless::Function
+    Properties:
+      CodeUri: foo
+      Handler: something.else
+      Runtime: java21
+    Metadata:
+      BuildMethod: makefile
+"""
+        )
+
+        assertThat(isHandlerInTemplate("com.example.Foo::handleRequest")).isTrue()
+    }
+
+    @Test
+    fun `handlers are updated when the template changes`() {
+        val template = projectRule.fixture.openFile("template.yaml", template("com.example.Foo::handleRequest"))
+        assertThat(isHandlerInTemplate("com.example.Foo::handleRequest")).isTrue()
+
+        runInEdtAndWait {
+            runWriteAction {
+                VfsUtil.saveText(template, template("com.example.Bar::handleRequest"))
+            }
+            PsiDocumentManager.getInstance(projectRule.project).commitAllDocuments()
+        }
+
+        assertThat(isHandlerInTemplate("com.example.Foo::handleRequest")).isFalse()
+        assertThat(isHandlerInTemplate("com.example.Bar::handleRequest")).isTrue()
+    }
+
+    private fun isHandlerInTemplate(handler: String) = runInEdtAndGet {
+        runReadAction { LambdaHandlerIndex.isHandlerInTemplate(projectRule.project, java, handler) }
+    }
+
+    private fun template(handler: String) =
+        """
+Resources:
+  ServerlessFunction:
+    Type: AWS::Serverless::Function
+    Properties:
+      CodeUri: foo
+      Handler: $handler
+      Runtime: java21
+"""
+}
@@ -0,0 +1,101 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudformation
+
+/**
+ * Generated documents for tests and benchmarks of template indexing, [id] makes the names and handlers of each one unique
+ */
+internal object TemplateCorpus {
+    fun yamlTemplate(id: Int) =
+        """
+AWSTemplateFormatVersion: '2010-09-09'
+Transform: AWS::Serverless-2016-10-31
+Parameters:
+  Stage:
+    Type: String
+    Default: dev
+Resources:
+  Function$id:
+    Type: AWS::Serverless::Function
+    Properties:
+      CodeUri: src/
+      Handler: app$id.handler
+      Runtime: python3.12
+      Environment:
+        Variables:
+          STAGE: !Ref Stage
+      Events:
+        Api:
+          Type: Api
+          Properties:
+            Path: /items
+            Method: get
+    Metadata:
+      BuildMethod: makefile
+  Legacy$id:
+    Type: AWS::Lambda::Function
+    Properties:
+      Code:
+        S3Bucket: bucket
+        S3Key: key
+      Handler: legacy$id.handler
+      Runtime: java21
+  Bucket$id:
+    Type: AWS::S3::Bucket
+    Properties:
+      BucketName: !Sub "bucket-${'$'}{Stage}"
+Outputs:
+  FunctionArn:
+    Value: !GetAtt Function$id.Arn
+        """.trimIndent()
+
+    fun jsonTemplate(id: Int) =
+        """
+{
+  "AWSTemplateFormatVersion": "2010-09-09",
+  "Transform": "AWS::Serverless-2016-10-31",
+  "Parameters": {"Stage": {"Type": "String", "Default": "dev"}},
+  "Resources": {
+    "Function$id": {
+      "Type": "AWS::Serverless::Function",
+      "Properties": {
+        "CodeUri": "src/",
+        "Handler": "app$id.handler",
+        "Runtime": "python3.12",
+        "Environment": {"Variables": {"STAGE": {"Ref": "Stage"}}},
+        "Events": {"Api": {"Type": "Api", "Properties": {"Path": "/items", "Method": "get"}}}
+      },
+      "Metadata": {"BuildMethod": "makefile"}
+    },
+    "Legacy$id": {
+      "Type": "AWS::Lambda::Function",
+      "Properties": {"Code": {"S3Bucket": "bucket", "S3Key": "key"}, "Handler": "legacy$id.handler", "Runtime": "java21"}
+    },
+    "Bucket$id": {
+      "Type": "AWS::S3::Bucket",
+      "Properties": {"BucketName": {"Fn::Sub": "bucket-${'$'}{Stage}"}}
+    }
+  },
+  "Outputs": {"FunctionArn": {"Value": {"Fn::GetAtt": ["Function$id", "Arn"]}}}
+}
+        """.trimIndent()
+
+    fun kubernetesManifest(id: Int) =
+        """
+apiVersion: apps/v1
+kind: Deployment
+metadata:
+  name: service$id
+spec:
+  replicas: 3
+  template:
+    spec:
+      containers:
+        - name: app
+          image: app:$id
+          resources:
+            limits:
+              memory: 128Mi
+        """.trimIndent()
+}
@@ -0,0 +1,78 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudformation
+
+import com.intellij.openapi.application.runReadAction
+import com.intellij.psi.PsiElement
+import com.intellij.psi.PsiFileFactory
+import com.intellij.testFramework.ProjectRule
+import org.assertj.core.api.Assertions.assertThat
+import org.jetbrains.yaml.YAMLLanguage
+import org.jetbrains.yaml.psi.YAMLKeyValue
+import org.junit.Ignore
+import org.junit.Rule
+import org.junit.Test
+import software.aws.toolkits.jetbrains.services.cloudformation.TemplateCorpus.kubernetesManifest
+import software.aws.toolkits.jetbrains.services.cloudformation.TemplateCorpus.yamlTemplate
+import software.aws.toolkits.jetbrains.services.cloudformation.yaml.YamlCloudFormationTemplate
+import kotlin.random.Random
+
+/**
+ * Compares [TemplateResourceExtractor] with the PSI walk the template indexes used before it, over a generated corpus. The PSI walk only read YAML,
+ * so the corpus is YAML templates mixed with twice as many Kubernetes manifests. Throughput of both is printed, run it by hand after removing
+ * [Ignore].
+ */
+@Ignore("Benchmark, run by hand")
+class TemplateIndexingBenchmark {
+    @Rule
+    @JvmField
+    val projectRule = ProjectRule()
+
+    @Test
+    fun `extractor compared with the PSI indexer`() {
+        val corpus = ((0 until CORPUS_SIZE).map { yamlTemplate(it) } + (0 until CORPUS_SIZE * 2).map { kubernetesManifest(it) }).shuffled(Random(0))
+
+        val psi = measure("PSI indexer", corpus) { psiResources(it) }
+        val extractor = measure("Token extractor", corpus) { TemplateResourceExtractor.extract(it, isJson = false) }
+
+        assertThat(extractor).isEqualTo(psi).isEqualTo(CORPUS_SIZE * 3)
+    }
+
+    /**
+     * Indexes [corpus] [WARMUP_ITERATIONS] times and then [ITERATIONS] times while timing it. Returns the number of resources found in one pass.
+     */
+    private fun measure(name: String, corpus: List<String>, index: (String) -> List<IndexedResource>): Int {
+        repeat(WARMUP_ITERATIONS) { corpus.forEach { index(it) } }
+
+        var resources = 0
+        val start = System.nanoTime()
+        repeat(ITERATIONS) { resources = corpus.sumOf { index(it).size } }
+        val elapsed = System.nanoTime() - start
+
+        val filesPerSecond = corpus.size.toLong() * ITERATIONS * 1_000_000_000 / elapsed
+        println("$name: $filesPerSecond files/s, ${elapsed / ITERATIONS / 1_000_000} ms per pass over ${corpus.size} files")
+        return resources
+    }
+
+    // the walk CloudFormationTemplateIndex and LambdaHandlerIndex did over the PSI of every YAML file
+    private fun psiResources(text: String): List<IndexedResource> = runReadAction {
+        val file = PsiFileFactory.getInstance(projectRule.project).createFileFromText("template.yaml", YAMLLanguage.INSTANCE, text)
+        val resources = mutableListOf<IndexedResource>()
+        fun visit(element: PsiElement) {
+            val parent = element.parent as? YAMLKeyValue
+            if (parent != null && parent.value == element) {
+                YamlCloudFormationTemplate.convertPsiToResource(parent)?.takeIf { it.type() != null }?.let { IndexedResource.from(it) }?.let(resources::add)
+            }
+            element.children.forEach { visit(it) }
+        }
+        visit(file)
+        resources
+    }
+
+    private companion object {
+        const val CORPUS_SIZE = 1000
+        const val WARMUP_ITERATIONS = 2
+        const val ITERATIONS = 5
+    }
+}
@@ -0,0 +1,127 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudformation
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import software.aws.toolkits.jetbrains.services.cloudformation.TemplateCorpus.jsonTemplate
+import software.aws.toolkits.jetbrains.services.cloudformation.TemplateCorpus.kubernetesManifest
+import software.aws.toolkits.jetbrains.services.cloudformation.TemplateCorpus.yamlTemplate
+
+class TemplateResourceExtractorTest {
+    @Test
+    fun `yaml and json templates are extracted the same way`() {
+        val yaml = TemplateResourceExtractor.extract(yamlTemplate(0), isJson = false)
+        val json = TemplateResourceExtractor.extract(jsonTemplate(0), isJson = true)
+
+        assertThat(yaml).isEqualTo(json)
+        assertThat(yaml.map { it.type }).containsExactlyInAnyOrder(SERVERLESS_FUNCTION_TYPE, LAMBDA_FUNCTION_TYPE, "AWS::S3::Bucket")
+        val function = yaml.filterIsInstance<IndexedFunction>().first { it.type == SERVERLESS_FUNCTION_TYPE }
+        assertThat(function.handler()).isEqualTo("app0.handler")
+        assertThat(function.runtime()).isEqualTo("python3.12")
+        assertThat(function.buildMethod()).isEqualTo("makefile")
+    }
+
+    @Test
+    fun `only indexed properties are kept`() {
+        val resources = TemplateResourceExtractor.extract(yamlTemplate(0), isJson = false)
+
+        assertThat(resources.first { it.type == "AWS::S3::Bucket" }.indexedProperties).isEmpty()
+        assertThat(resources.first { it.type == LAMBDA_FUNCTION_TYPE }.indexedProperties).containsOnlyKeys("Handler", "Runtime")
+    }
+
+    @Test
+    fun `serverless functions fall back to globals`() {
+        val resources = TemplateResourceExtractor.extract(
+            """
+Resources:
+  Sam:
+    Type: AWS::Serverless::Function
+    Properties:
+      Handler: local
+  Lambda:
+    Type: AWS::Lambda::Function
+    Properties:
+      Handler: local
+Globals:
+  Function:
+    Handler: global
+    Runtime: java21
+            """.trimIndent(),
+            isJson = false
+        ).filterIsInstance<IndexedFunction>()
+
+        val sam = resources.first { it.type == SERVERLESS_FUNCTION_TYPE }
+        assertThat(sam.handler()).isEqualTo("local")
+        assertThat(sam.runtime()).isEqualTo("java21")
+        assertThat(resources.first { it.type == LAMBDA_FUNCTION_TYPE }.runtime()).isNull()
+    }
+
+    @Test
+    fun `intrinsic functions do not stop extraction`() {
+        val resources = TemplateResourceExtractor.extract(
+            """
+Resources:
+  Function:
+    Type: AWS::Lambda::Function
+    Properties:
+      Role: !GetAtt Role.Arn
+      Code: !If [IsProd, prod, dev]
+      Handler: !Ref HandlerParameter
+      Runtime: nodejs20.x
+            """.trimIndent(),
+            isJson = false
+        ).filterIsInstance<IndexedFunction>()
+
+        assertThat(resources.single().handler()).isEqualTo("HandlerParameter")
+        assertThat(resources.single().runtime()).isEqualTo("nodejs20.x")
+    }
+
+    @Test
+    fun `files that are not templates are not read`() {
+        assertThat(TemplateResourceExtractor.isTemplateCandidate(kubernetesManifest(0))).isFalse()
+        assertThat(TemplateResourceExtractor.extract(kubernetesManifest(0), isJson = false)).isEmpty()
+        assertThat(TemplateResourceExtractor.extract("Resources: [unclosed", isJson = false)).isEmpty()
+        assertThat(TemplateResourceExtractor.extract("""{"Resources": {"Function": """, isJson = true)).isEmpty()
+    }
+
+    @Test
+    fun `resources before a parse error are kept`() {
+        val truncated = jsonTemplate(0).substringBefore("\"Bucket0\"") + "\"Bucket0\": {\"Type\": \"AWS::S3::Bucket\", \"Properties\": {"
+        val json = TemplateResourceExtractor.extract(truncated, isJson = true)
+
+        assertThat(json.map { it.type }).containsExactly(SERVERLESS_FUNCTION_TYPE, LAMBDA_FUNCTION_TYPE, "AWS::S3::Bucket")
+        assertThat(json.filterIsInstance<IndexedFunction>().map { it.handler() }).containsExactly("app0.handler", "legacy0.handler")
+
+        val yaml = TemplateResourceExtractor.extract(
+            """
+Resources:
+  Function:
+    Type: AWS::Lambda::Function
+    Properties:
+      Handler: app.handler
+  Broken: [unclosed
+            """.trimIndent(),
+            isJson = false
+        )
+
+        assertThat(yaml.filterIsInstance<IndexedFunction>().single().handler()).isEqualTo("app.handler")
+    }
+
+    @Test
+    fun `smoke test over a mix of templates and other yaml files`() {
+        val templates = (0 until CORPUS_SIZE).map { yamlTemplate(it) to false } + (0 until CORPUS_SIZE).map { jsonTemplate(it) to true }
+        val other = (0 until CORPUS_SIZE).map { kubernetesManifest(it) to false }
+        val corpus = (templates + other).shuffled()
+
+        val resources = corpus.flatMap { (text, isJson) -> TemplateResourceExtractor.extract(text, isJson) }
+
+        assertThat(resources).hasSize(CORPUS_SIZE * 2 * 3)
+        assertThat(resources.filterIsInstance<IndexedFunction>().mapNotNull { it.handler() }.toSet()).hasSize(CORPUS_SIZE * 2)
+    }
+
+    private companion object {
+        const val CORPUS_SIZE = 10
+    }
+}
@@ -79,4 +79,20 @@ class EventsFetcherTest {
             assertThat(second).withFailMessage(wrongPageMessage).isEqualTo(setOf(Page.PREVIOUS, Page.NEXT))
         }
     }
+
+    @Test
+    fun eventsOfSeveralPagesSinceLastCall() {
+        val generator = MockEventsGenerator()
+        val client = mockClientManagerRule.createMock(generator)
+
+        val fetcher = EventsFetcher("myStack")
+        fetcher.fetchEvents(client, null)
+        repeat(1100) { generator.addEvent() } // More events than fit on a page arrived
+        fetcher.fetchEvents(client, null).apply {
+            expectRange("5196", "4097", first, expectedSize = 1100)
+        }
+        fetcher.fetchEvents(client, null).apply {
+            assertThat(first).withFailMessage(nonEmptyMessage).isEmpty()
+        }
+    }
 }
@@ -76,4 +76,24 @@ class EventsTableTest {
             assertThat(model.getValueAt(0, 2)).isEqualTo("bar")
         }
     }
+
+    @Test
+    fun `oldest StackEvents are dropped once the table is full`() {
+        val events = (1..EventsTableImpl.MAX_EVENTS + 5).map {
+            StackEvent.builder().logicalResourceId("event$it").resourceStatus(ResourceStatus.CREATE_COMPLETE).build()
+        }.asReversed()
+
+        val sut = EventsTableImpl()
+
+        runInEdtAndWait {
+            sut.insertEvents(events.drop(10), pageChanged = false)
+            sut.insertEvents(events.take(10), pageChanged = false)
+        }
+
+        with((sut.component as JBScrollPane).viewport.view as JBTable) {
+            assertThat(model.rowCount).isEqualTo(EventsTableImpl.MAX_EVENTS)
+            assertThat(model.getValueAt(0, 2)).isEqualTo("event${EventsTableImpl.MAX_EVENTS + 5}")
+            assertThat(model.getValueAt(EventsTableImpl.MAX_EVENTS - 1, 2)).isEqualTo("event6")
+        }
+    }
 }
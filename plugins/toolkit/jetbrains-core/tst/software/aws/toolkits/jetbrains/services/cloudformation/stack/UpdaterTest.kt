@@ -14,6 +14,7 @@ import org.mockito.kotlin.any
 import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.atLeast
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
 import org.mockito.kotlin.whenever
 import software.amazon.awssdk.services.cloudformation.CloudFormationClient
 import software.amazon.awssdk.services.cloudformation.model.DescribeStackEventsRequest
@@ -25,6 +26,7 @@ import software.amazon.awssdk.services.cloudformation.model.DescribeStacksRespon
 import software.amazon.awssdk.services.cloudformation.model.Output
 import software.amazon.awssdk.services.cloudformation.model.ResourceStatus
 import software.amazon.awssdk.services.cloudformation.model.Stack
+import software.amazon.awssdk.services.cloudformation.model.StackEvent
 import software.amazon.awssdk.services.cloudformation.model.StackResource
 import software.amazon.awssdk.services.cloudformation.model.StackStatus
 import software.aws.toolkit.core.utils.delegateMock
@@ -32,6 +34,7 @@ import software.aws.toolkit.jetbrains.core.MockClientManagerRule
 import software.aws.toolkit.jetbrains.utils.satisfiesKt
 import java.time.Duration
 import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.Semaphore
 import java.util.concurrent.TimeUnit
 import javax.swing.JLabel
@@ -184,4 +187,50 @@ class UpdaterTest {
             assertThat(it.logicalResourceId()).isEqualTo("L1")
         }
     }
+
+    @Test
+    fun `resources are only fetched again when an event touches them`() {
+        val ticks = CountDownLatch(5)
+        val events = ArrayDeque(
+            listOf(
+                listOf(stackEvent("1", logicalId = "myStack")),
+                listOf(stackEvent("2", logicalId = "myStack"), stackEvent("1", logicalId = "myStack")),
+                listOf(stackEvent("3", logicalId = "L1"), stackEvent("2", logicalId = "myStack"), stackEvent("1", logicalId = "myStack")),
+            )
+        )
+        val client = delegateMock<CloudFormationClient> {
+            on { describeStacks(any<DescribeStacksRequest>()) }.thenAnswer {
+                ticks.countDown()
+                StackStatus.UPDATE_IN_PROGRESS.asResponse()
+            }
+            on { describeStackResources(any<DescribeStackResourcesRequest>()) }.thenReturn(DescribeStackResourcesResponse.builder().build())
+            on { describeStackEvents(any<DescribeStackEventsRequest>()) }.thenAnswer {
+                DescribeStackEventsResponse.builder().stackEvents(if (events.size > 1) events.removeFirst() else events.first()).build()
+            }
+        }
+
+        Updater(
+            treeView = treeView,
+            eventsTable = eventsTable,
+            outputsTable = outputTable,
+            resourceListener = resourceListener,
+            updateInterval = Duration.ofMillis(1),
+            updateIntervalOnFinalState = Duration.ofMillis(10),
+            listener = updateListener,
+            client = client,
+            setPagesAvailable = { },
+            stackId = "1234"
+        ).also { updaters.add(it) }.start()
+
+        assertThat(ticks.await(10, TimeUnit.SECONDS)).isTrue()
+        // once for the initial load, once for the event of L1
+        verify(client, times(2)).describeStackResources(any<DescribeStackResourcesRequest>())
+    }
+
+    private fun stackEvent(id: String, logicalId: String) = StackEvent.builder()
+        .eventId(id)
+        .stackName("myStack")
+        .logicalResourceId(logicalId)
+        .resourceStatus(ResourceStatus.UPDATE_IN_PROGRESS)
+        .build()
 }
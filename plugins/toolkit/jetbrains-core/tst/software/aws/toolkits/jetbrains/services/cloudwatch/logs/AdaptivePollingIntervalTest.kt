@@ -0,0 +1,58 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import java.time.Duration
+import kotlin.random.Random
+
+class AdaptivePollingIntervalTest {
+    private val interval = AdaptivePollingInterval(
+        minimum = Duration.ofMillis(100),
+        maximum = Duration.ofMillis(1000),
+        maximumBackoff = Duration.ofMillis(5000),
+        growthFactor = 2.0,
+        random = Random(0)
+    )
+
+    @Test
+    fun busyStreamsArePolledAtTheMinimumInterval() {
+        repeat(3) {
+            assertThat(interval.afterPoll(10)).isEqualTo(Duration.ofMillis(100))
+        }
+    }
+
+    @Test
+    fun quietStreamsSlowDownUpToTheMaximum() {
+        assertThat(interval.afterPoll(0)).isEqualTo(Duration.ofMillis(200))
+        assertThat(interval.afterPoll(0)).isEqualTo(Duration.ofMillis(400))
+        assertThat(interval.afterPoll(0)).isEqualTo(Duration.ofMillis(800))
+        assertThat(interval.afterPoll(0)).isEqualTo(Duration.ofMillis(1000))
+        assertThat(interval.afterPoll(0)).isEqualTo(Duration.ofMillis(1000))
+    }
+
+    @Test
+    fun newEventsResetTheInterval() {
+        repeat(5) { interval.afterPoll(0) }
+
+        assertThat(interval.afterPoll(1)).isEqualTo(Duration.ofMillis(100))
+    }
+
+    @Test
+    fun throttlingBacksOffWithinTheJitterBounds() {
+        val waits = (1..10).map { interval.afterThrottle() }
+
+        waits.forEachIndexed { i, wait ->
+            assertThat(wait).isBetween(Duration.ofMillis(100), Duration.ofMillis(minOf(100L shl (i + 1), 5000)))
+        }
+    }
+
+    @Test
+    fun pollingResumesAtTheMaximumAfterThrottling() {
+        interval.afterThrottle()
+
+        assertThat(interval.afterPoll(0)).isEqualTo(Duration.ofMillis(1000))
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+
+class PagedLogBufferTest {
+    @Test
+    fun itemsAreIndexedAcrossPages() {
+        val buffer = PagedLogBuffer<Int>(minPageSize = 1)
+        buffer.append((0 until 10).toList(), "b1", "f1")
+        buffer.append((10 until 15).toList(), "b2", "f2")
+        buffer.prepend((-5 until 0).toList(), "b0", "f0")
+
+        assertThat(buffer).hasSize(20)
+        assertThat(buffer).containsExactlyElementsOf((-5 until 15).toList())
+        assertThat(buffer[0]).isEqualTo(-5)
+        assertThat(buffer[5]).isEqualTo(0)
+        assertThat(buffer[19]).isEqualTo(14)
+        assertThat(buffer.backwardToken).isEqualTo("b0")
+        assertThat(buffer.forwardToken).isEqualTo("f2")
+    }
+
+    @Test
+    fun outOfBoundsIndexThrows() {
+        val buffer = PagedLogBuffer<Int>()
+        buffer.append(listOf(1), null, null)
+
+        assertThatThrownBy { buffer[1] }.isInstanceOf(IndexOutOfBoundsException::class.java)
+        assertThatThrownBy { buffer[-1] }.isInstanceOf(IndexOutOfBoundsException::class.java)
+    }
+
+    @Test
+    fun appendingDropsPagesFromTheStart() {
+        val buffer = PagedLogBuffer<Int>(maxItems = 20, minPageSize = 1)
+        buffer.append((0 until 10).toList(), "b1", "f1")
+        buffer.append((10 until 20).toList(), "b2", "f2")
+
+        val dropped = buffer.append((20 until 30).toList(), "b3", "f3")
+
+        assertThat(dropped).isEqualTo(10)
+        assertThat(buffer).containsExactlyElementsOf((10 until 30).toList())
+        assertThat(buffer.backwardToken).isEqualTo("b2")
+        assertThat(buffer.forwardToken).isEqualTo("f3")
+    }
+
+    @Test
+    fun prependingDropsPagesFromTheEnd() {
+        val buffer = PagedLogBuffer<Int>(maxItems = 20, minPageSize = 1)
+        buffer.append((10 until 20).toList(), "b2", "f2")
+        buffer.append((20 until 30).toList(), "b3", "f3")
+
+        val dropped = buffer.prepend((0 until 10).toList(), "b1", "f1")
+
+        assertThat(dropped).isEqualTo(10)
+        assertThat(buffer).containsExactlyElementsOf((0 until 20).toList())
+        assertThat(buffer.backwardToken).isEqualTo("b1")
+        assertThat(buffer.forwardToken).isEqualTo("f2")
+    }
+
+    @Test
+    fun aSinglePageLargerThanTheMaximumIsKept() {
+        val buffer = PagedLogBuffer<Int>(maxItems = 5, minPageSize = 1)
+
+        val dropped = buffer.append((0 until 10).toList(), null, null)
+
+        assertThat(dropped).isZero()
+        assertThat(buffer).hasSize(10)
+    }
+
+    @Test
+    fun smallPagesAreMerged() {
+        val buffer = PagedLogBuffer<Int>(maxItems = 6, minPageSize = 5)
+        repeat(4) {
+            buffer.append(listOf(it), "b$it", "f$it")
+        }
+
+        assertThat(buffer).containsExactly(0, 1, 2, 3)
+        assertThat(buffer.backwardToken).isEqualTo("b0")
+        assertThat(buffer.forwardToken).isEqualTo("f3")
+    }
+
+    @Test
+    fun emptyPagesOnlyAdvanceTheTokens() {
+        val buffer = PagedLogBuffer<Int>(minPageSize = 1)
+        buffer.append(listOf(1, 2), "b1", "f1")
+        buffer.append(emptyList(), "b2", "f2")
+        buffer.prepend(emptyList(), "b0", "f0")
+
+        assertThat(buffer).containsExactly(1, 2)
+        assertThat(buffer.backwardToken).isEqualTo("b0")
+        assertThat(buffer.forwardToken).isEqualTo("f2")
+    }
+
+    @Test
+    fun clearRemovesEverything() {
+        val buffer = PagedLogBuffer<Int>()
+        buffer.append(listOf(1, 2), "b1", "f1")
+
+        buffer.clear()
+
+        assertThat(buffer).isEmpty()
+        assertThat(buffer.backwardToken).isNull()
+        assertThat(buffer.forwardToken).isNull()
+    }
+}
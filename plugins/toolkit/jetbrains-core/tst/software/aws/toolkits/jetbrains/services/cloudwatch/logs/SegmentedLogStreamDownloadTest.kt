@@ -0,0 +1,124 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs
+
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.mock
+import software.amazon.awssdk.services.cloudwatchlogs.CloudWatchLogsClient
+import software.amazon.awssdk.services.cloudwatchlogs.model.DescribeLogStreamsRequest
+import software.amazon.awssdk.services.cloudwatchlogs.model.DescribeLogStreamsResponse
+import software.amazon.awssdk.services.cloudwatchlogs.model.GetLogEventsRequest
+import software.amazon.awssdk.services.cloudwatchlogs.model.GetLogEventsResponse
+import software.amazon.awssdk.services.cloudwatchlogs.model.LogStream
+import software.amazon.awssdk.services.cloudwatchlogs.model.OutputLogEvent
+import software.aws.toolkit.core.ConnectionSettings
+import software.aws.toolkit.core.credentials.aToolkitCredentialsProvider
+import software.aws.toolkit.core.region.anAwsRegion
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneOffset
+import java.util.Collections
+import java.util.function.Consumer
+
+class SegmentedLogStreamDownloadTest {
+    @JvmField
+    @Rule
+    val tempFolder = TemporaryFolder()
+
+    // one event a minute for 100 minutes
+    private val events = (0 until 100).map { it * 60_000L + 1 }
+    private val clock = Clock.fixed(Instant.ofEpochMilli(events.last() + 1), ZoneOffset.UTC)
+    private val requests = Collections.synchronizedList(mutableListOf<GetLogEventsRequest>())
+
+    @Test
+    fun eventsAreWrittenInOrder() {
+        val destination = tempFolder.root.toPath().resolve("out.log")
+
+        runBlocking { download(client()).downloadTo(destination) }
+
+        assertThat(Files.readAllLines(destination)).containsExactlyElementsOf(events.map { "event $it" })
+        assertThat(requests.map { it.startTime() }.distinct()).hasSizeGreaterThan(1)
+    }
+
+    @Test
+    fun checkpointsAreRemovedOnceComplete() {
+        val workDirectory = tempFolder.root.toPath().resolve("work")
+
+        runBlocking { download(client(), workDirectory).downloadTo(tempFolder.root.toPath().resolve("out.log")) }
+
+        assertThat(workDirectory).doesNotExist()
+    }
+
+    @Test
+    fun failedDownloadsResumeFromTheirCheckpoints() {
+        val destination = tempFolder.root.toPath().resolve("out.log")
+        val workDirectory = tempFolder.root.toPath().resolve("work")
+
+        // fail part way through the last slice
+        assertThatThrownBy {
+            runBlocking { download(client(failAfter = events.last() - PAGE_SIZE * 60_000L), workDirectory).downloadTo(destination) }
+        }.hasMessageContaining("boom")
+        assertThat(destination).doesNotExist()
+
+        requests.clear()
+        runBlocking { download(client(), workDirectory).downloadTo(destination) }
+
+        assertThat(Files.readAllLines(destination)).containsExactlyElementsOf(events.map { "event $it" })
+        // the last slice picks up after the two pages it had already written
+        assertThat(requests.first { it.endTime() == clock.millis() }.nextToken()).isEqualTo("20")
+    }
+
+    @Test
+    fun workDirectoriesAreSeparatedByConnection() {
+        val credentials = aToolkitCredentialsProvider()
+        val region = anAwsRegion(id = "us-east-1")
+        val directory = { connection: ConnectionSettings -> SegmentedLogStreamDownload.defaultWorkDirectory(connection, "group", "stream") }
+
+        val directories = listOf(
+            ConnectionSettings(credentials, region),
+            ConnectionSettings(credentials, anAwsRegion(id = "us-west-2")),
+            ConnectionSettings(aToolkitCredentialsProvider(), region),
+        ).map(directory)
+
+        assertThat(directories).doesNotHaveDuplicates()
+        assertThat(directory(ConnectionSettings(credentials, region))).isEqualTo(directories.first())
+    }
+
+    private fun download(client: CloudWatchLogsClient, workDirectory: Path = tempFolder.root.toPath().resolve("work")) =
+        SegmentedLogStreamDownload(client, "group", "stream", workDirectory, parallelism = 2, slicesPerWorker = 2, clock = clock)
+
+    // pages of PAGE_SIZE events, tokens are the index of the next event. A page starting at or after failAfter throws
+    private fun client(failAfter: Long = Long.MAX_VALUE) = mock<CloudWatchLogsClient> {
+        on { describeLogStreams(any<Consumer<DescribeLogStreamsRequest.Builder>>()) } doAnswer {
+            DescribeLogStreamsResponse.builder().logStreams(LogStream.builder().logStreamName("stream").firstEventTimestamp(events.first()).build()).build()
+        }
+        on { getLogEvents(any<GetLogEventsRequest>()) } doAnswer {
+            val request = it.getArgument<GetLogEventsRequest>(0)
+            requests.add(request)
+            val inSlice = events.filter { timestamp -> timestamp >= request.startTime() && timestamp < request.endTime() }
+            val offset = request.nextToken()?.toInt() ?: 0
+            val page = inSlice.drop(offset).take(PAGE_SIZE)
+            if (page.isNotEmpty() && page.first() >= failAfter) {
+                throw IllegalStateException("boom")
+            }
+            GetLogEventsResponse.builder()
+                .events(page.map { timestamp -> OutputLogEvent.builder().timestamp(timestamp).message("event $timestamp").build() })
+                .nextForwardToken((offset + page.size).toString())
+                .build()
+        }
+    }
+
+    private companion object {
+        const val PAGE_SIZE = 10
+    }
+}
@@ -30,10 +30,12 @@ class StreamLogsTest {
         runBlocking {
             tailLogs.setSelected(TestActionEvent(), true)
             var response = channel.receive()
-            assertThat(response).isInstanceOf(CloudWatchLogsActor.Message.LoadForward::class.java)
+            assertThat(response).isInstanceOf(CloudWatchLogsActor.Message.TailForward::class.java)
+            (response as CloudWatchLogsActor.Message.TailForward).newEvents.complete(1)
             response = channel.receive()
-            assertThat(response).isInstanceOf(CloudWatchLogsActor.Message.LoadForward::class.java)
+            assertThat(response).isInstanceOf(CloudWatchLogsActor.Message.TailForward::class.java)
         }
+        tailLogs.setSelected(TestActionEvent(), false)
     }
 
     @Test
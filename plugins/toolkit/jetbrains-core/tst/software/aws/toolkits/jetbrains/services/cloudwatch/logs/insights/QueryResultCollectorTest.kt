@@ -0,0 +1,70 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.cloudwatch.logs.insights
+
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+import software.amazon.awssdk.services.cloudwatchlogs.model.ResultField
+
+class QueryResultCollectorTest {
+    private val collector = QueryResultCollector()
+
+    @Test
+    fun onlyAppendedResultsAreReturned() {
+        assertThat(collector.newResults(results(0 until 3)).map { it["@ptr"] }).containsExactly("ptr0", "ptr1", "ptr2")
+        assertThat(collector.newResults(results(0 until 5)).map { it["@ptr"] }).containsExactly("ptr3", "ptr4")
+        assertThat(collector.newResults(results(0 until 5))).isEmpty()
+        assertThat(collector.size).isEqualTo(5)
+    }
+
+    @Test
+    fun reorderedResultsAreDeduplicated() {
+        collector.newResults(results(0 until 3))
+
+        val newResults = collector.newResults(results(listOf(4, 2, 3, 0, 1)))
+
+        assertThat(newResults.map { it["@ptr"] }).containsExactly("ptr4", "ptr3")
+        assertThat(collector.size).isEqualTo(5)
+    }
+
+    @Test
+    fun newResultsBeforeTheLastSeenResultAreReturned() {
+        collector.newResults(results(0 until 3))
+
+        val newResults = collector.newResults(results(listOf(3, 1, 2)))
+
+        assertThat(newResults.map { it["@ptr"] }).containsExactly("ptr3")
+        assertThat(collector.size).isEqualTo(4)
+    }
+
+    @Test
+    fun fieldsAreConverted() {
+        val result = collector.newResults(results(0 until 1)).single()
+
+        assertThat(result).containsEntry("@message", "message0").containsEntry("@ptr", "ptr0")
+    }
+
+    @Test
+    fun resultsWithoutAPtrThrow() {
+        assertThatThrownBy { collector.newResults(listOf(listOf(ResultField.builder().field("@message").value("abc").build()))) }
+            .isInstanceOf(IllegalStateException::class.java)
+    }
+
+    @Test
+    fun fingerprintSetGrows() {
+        val set = FingerprintSet(expectedSize = 8)
+
+        assertThat((0L until 10_000L).all { set.add(it * 31) }).isTrue()
+        assertThat((0L until 10_000L).none { set.add(it * 31) }).isTrue()
+        assertThat(set.size).isEqualTo(10_000)
+    }
+
+    private fun results(indexes: Iterable<Int>) = indexes.map {
+        listOf(
+            ResultField.builder().field("@message").value("message$it").build(),
+            ResultField.builder().field("@ptr").value("ptr$it").build()
+        )
+    }
+}
@@ -0,0 +1,240 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.dynamic
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.After
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.stub
+import software.amazon.awssdk.services.cloudcontrol.CloudControlClient
+import software.amazon.awssdk.services.cloudcontrol.model.CloudControlException
+import software.amazon.awssdk.services.cloudcontrol.model.GetResourceRequestStatusRequest
+import software.amazon.awssdk.services.cloudcontrol.model.GetResourceRequestStatusResponse
+import software.amazon.awssdk.services.cloudcontrol.model.ListResourceRequestsRequest
+import software.amazon.awssdk.services.cloudcontrol.model.ListResourceRequestsResponse
+import software.amazon.awssdk.services.cloudcontrol.model.Operation
+import software.amazon.awssdk.services.cloudcontrol.model.OperationStatus
+import software.amazon.awssdk.services.cloudcontrol.model.ProgressEvent
+import software.amazon.awssdk.services.cloudcontrol.model.RequestTokenNotFoundException
+import software.amazon.awssdk.services.cloudcontrol.paginators.ListResourceRequestsIterable
+import software.aws.toolkit.core.ConnectionSettings
+import software.aws.toolkit.core.credentials.aToolkitCredentialsProvider
+import software.aws.toolkit.core.region.anAwsRegion
+import software.aws.toolkit.core.utils.delegateMock
+import software.aws.toolkit.jetbrains.core.coroutines.ioDispatcher
+import java.time.Instant
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ResourceMutationPollerTest {
+    private val scope = CoroutineScope(SupervisorJob() + ioDispatcher(8))
+    private val changes = LinkedBlockingQueue<ResourceMutationState>()
+    private val notFound = LinkedBlockingQueue<ResourceMutationState>()
+    private val listener = object : ResourceMutationPoller.Listener {
+        override fun mutationStatusChanged(state: ResourceMutationState) {
+            changes.add(state)
+        }
+
+        override fun mutationNotFound(state: ResourceMutationState, e: RequestTokenNotFoundException) {
+            notFound.add(state)
+        }
+
+        override fun pollComplete() {}
+    }
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun `terminal mutations are reported and dropped`() {
+        val connection = connection()
+        val client = delegateMock<CloudControlClient>().withStatuses(mapOf("token" to OperationStatus.SUCCESS))
+        val poller = ResourceMutationPoller(scope, listener, { client })
+
+        poller.add(mutation(connection, "token"))
+
+        assertThat(changes.poll(5, TimeUnit.SECONDS)?.status).isEqualTo(OperationStatus.SUCCESS)
+        assertThat(poller.find { it.token == "token" }).isNull()
+    }
+
+    @Test
+    fun `unknown tokens are reported and dropped`() {
+        val connection = connection()
+        val client = delegateMock<CloudControlClient>().apply {
+            stub {
+                on { getResourceRequestStatus(any<GetResourceRequestStatusRequest>()) } doAnswer {
+                    throw RequestTokenNotFoundException.builder().message("gone").build()
+                }
+            }
+        }
+        val poller = ResourceMutationPoller(scope, listener, { client })
+
+        poller.add(mutation(connection, "token"))
+
+        assertThat(notFound.poll(5, TimeUnit.SECONDS)?.token).isEqualTo("token")
+        assertThat(poller.find { it.token == "token" }).isNull()
+    }
+
+    @Test
+    fun `a slow connection does not hold up another`() {
+        val slowConnection = connection()
+        val fastConnection = connection()
+        val release = CountDownLatch(1)
+        val slowClient = delegateMock<CloudControlClient>().apply {
+            stub {
+                on { getResourceRequestStatus(any<GetResourceRequestStatusRequest>()) } doAnswer {
+                    release.await()
+                    statusResponse("slow", OperationStatus.SUCCESS)
+                }
+            }
+        }
+        val fastClient = delegateMock<CloudControlClient>().withStatuses(mapOf("fast" to OperationStatus.SUCCESS))
+        val poller = ResourceMutationPoller(scope, listener, { if (it == slowConnection) slowClient else fastClient })
+
+        poller.add(mutation(slowConnection, "slow"))
+        poller.add(mutation(fastConnection, "fast"))
+
+        try {
+            assertThat(changes.poll(5, TimeUnit.SECONDS)?.token).isEqualTo("fast")
+        } finally {
+            release.countDown()
+        }
+        assertThat(changes.poll(5, TimeUnit.SECONDS)?.token).isEqualTo("slow")
+    }
+
+    @Test
+    fun `in progress mutations of a connection are checked with one list call`() {
+        val connection = connection()
+        val client = delegateMock<CloudControlClient>().withStatuses(mapOf("done" to OperationStatus.SUCCESS)).apply {
+            stub {
+                on { listResourceRequestsPaginator(any<ListResourceRequestsRequest>()) } doAnswer {
+                    ListResourceRequestsIterable(this@apply, it.getArgument(0))
+                }
+                on { listResourceRequests(any<ListResourceRequestsRequest>()) } doAnswer {
+                    ListResourceRequestsResponse.builder()
+                        .resourceRequestStatusSummaries(
+                            listOf("pending1", "pending2").map { token ->
+                                progressEvent(token, OperationStatus.IN_PROGRESS).toBuilder().identifier("id-$token").build()
+                            }
+                        )
+                        .build()
+                }
+            }
+        }
+        // hold the poller's only thread until every mutation is added, so they are all due in the same round
+        val executor = Executors.newSingleThreadExecutor()
+        val added = CountDownLatch(1)
+        executor.execute { added.await() }
+        val poller = ResourceMutationPoller(CoroutineScope(scope.coroutineContext + executor.asCoroutineDispatcher()), listener, { client })
+
+        listOf("pending1", "pending2", "done").forEach { poller.add(mutation(connection, it)) }
+        added.countDown()
+
+        val reported = (1..3).mapNotNull { changes.poll(5, TimeUnit.SECONDS) }.associateBy { it.token }
+        // only the list call returns identifiers
+        assertThat(reported.getValue("pending1").resourceIdentifier).isEqualTo("id-pending1")
+        assertThat(reported.getValue("pending2").resourceIdentifier).isEqualTo("id-pending2")
+        assertThat(reported.getValue("done").status).isEqualTo(OperationStatus.SUCCESS)
+        executor.shutdownNow()
+    }
+
+    @Test
+    @OptIn(ExperimentalCoroutinesApi::class)
+    fun `a mutation added while its shard is waiting is polled straight away`() {
+        val testScope = TestScope()
+        val connection = connection()
+        val client = delegateMock<CloudControlClient>().withStatuses(mapOf("added" to OperationStatus.SUCCESS))
+        val poller = ResourceMutationPoller(testScope, listener, { client }, clock = { testScope.testScheduler.currentTime })
+
+        try {
+            poller.add(mutation(connection, "waiting"))
+            testScope.runCurrent()
+            testScope.advanceTimeBy(100)
+
+            // the shard now waits for "waiting" to be due again
+            poller.add(mutation(connection, "added"))
+            testScope.runCurrent()
+
+            assertThat(changes.map { it.token }).contains("added")
+            assertThat(testScope.testScheduler.currentTime).isLessThan(ResourceMutationPoller.baseInterval(Operation.DELETE))
+        } finally {
+            testScope.cancel()
+        }
+    }
+
+    @Test
+    @OptIn(ExperimentalCoroutinesApi::class)
+    fun `a throttled list call skips the round instead of checking every mutation`() {
+        val testScope = TestScope()
+        val connection = connection()
+        val statusCalls = AtomicInteger()
+        val client = delegateMock<CloudControlClient>().apply {
+            stub {
+                on { listResourceRequestsPaginator(any<ListResourceRequestsRequest>()) } doAnswer {
+                    throw CloudControlException.builder().statusCode(429).message("Rate exceeded").build()
+                }
+                on { getResourceRequestStatus(any<GetResourceRequestStatusRequest>()) } doAnswer {
+                    statusCalls.incrementAndGet()
+                    statusResponse(it.getArgument<GetResourceRequestStatusRequest>(0).requestToken(), OperationStatus.IN_PROGRESS)
+                }
+            }
+        }
+        val poller = ResourceMutationPoller(testScope, listener, { client }, clock = { testScope.testScheduler.currentTime })
+
+        try {
+            // added before the shard first runs, so all of them are due in the same round
+            listOf("first", "second", "third").forEach { poller.add(mutation(connection, it)) }
+            testScope.runCurrent()
+
+            assertThat(statusCalls.get()).isZero()
+            assertThat(poller.find { it.token == "first" }).isNotNull()
+        } finally {
+            testScope.cancel()
+        }
+    }
+
+    @Test
+    fun `creates start with a longer interval`() {
+        assertThat(ResourceMutationPoller.baseInterval(Operation.CREATE)).isGreaterThan(ResourceMutationPoller.baseInterval(Operation.DELETE))
+    }
+
+    private fun CloudControlClient.withStatuses(statuses: Map<String, OperationStatus>) = apply {
+        stub {
+            on { getResourceRequestStatus(any<GetResourceRequestStatusRequest>()) } doAnswer {
+                val token = it.getArgument<GetResourceRequestStatusRequest>(0).requestToken()
+                statusResponse(token, statuses[token] ?: OperationStatus.IN_PROGRESS)
+            }
+        }
+    }
+
+    private fun statusResponse(token: String, status: OperationStatus) =
+        GetResourceRequestStatusResponse.builder().progressEvent(progressEvent(token, status)).build()
+
+    private fun progressEvent(token: String, status: OperationStatus) = ProgressEvent.builder()
+        .requestToken(token)
+        .typeName("AWS::SampleService::Type")
+        .operation(Operation.DELETE)
+        .operationStatus(status)
+        .build()
+
+    private fun connection() = ConnectionSettings(aToolkitCredentialsProvider(), anAwsRegion())
+
+    private fun mutation(connectionSettings: ConnectionSettings, token: String) =
+        ResourceMutationState.fromEvent(connectionSettings, progressEvent(token, OperationStatus.IN_PROGRESS), Instant.now())
+}
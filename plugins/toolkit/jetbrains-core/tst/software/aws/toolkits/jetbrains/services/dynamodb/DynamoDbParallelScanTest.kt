@@ -0,0 +1,75 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.dynamodb
+
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse
+import software.aws.toolkit.core.utils.delegateMock
+import java.util.Collections
+
+class DynamoDbParallelScanTest {
+    private val requests = Collections.synchronizedList(mutableListOf<ScanRequest>())
+
+    // each segment holds 25 items, returned in pages of at most 10
+    private val client = delegateMock<DynamoDbClient> {
+        on { scan(any<ScanRequest>()) } doAnswer {
+            val request = it.getArgument<ScanRequest>(0)
+            requests.add(request)
+            val offset = request.exclusiveStartKey()?.get("offset")?.n()?.toInt() ?: 0
+            val count = minOf(PAGE_SIZE, request.limit(), SEGMENT_SIZE - offset)
+            val items = (offset until offset + count).map { index -> mapOf("id" to AttributeValue.fromS("${request.segment()}-$index")) }
+            ScanResponse.builder()
+                .items(items)
+                .apply {
+                    if (offset + count < SEGMENT_SIZE) {
+                        lastEvaluatedKey(mapOf("offset" to AttributeValue.fromN((offset + count).toString())))
+                    }
+                }
+                .build()
+        }
+    }
+
+    @Test
+    fun everySegmentIsScannedToTheEnd() {
+        val items = scan(limit = Int.MAX_VALUE)
+
+        assertThat(items).hasSize(4 * SEGMENT_SIZE).doesNotHaveDuplicates()
+        assertThat(requests.map { it.segment() }.distinct()).containsExactlyInAnyOrder(0, 1, 2, 3)
+        assertThat(requests).allSatisfy {
+            assertThat(it.totalSegments()).isEqualTo(4)
+            assertThat(it.tableName()).isEqualTo("table")
+            assertThat(it.indexName()).isEqualTo("index")
+        }
+    }
+
+    @Test
+    fun scanningStopsAtTheLimit() {
+        val items = scan(limit = 42)
+
+        assertThat(items).hasSize(42).doesNotHaveDuplicates()
+        assertThat(requests.size).isLessThan(4 * 3)
+    }
+
+    private fun scan(limit: Int): List<String> {
+        val items = Collections.synchronizedList(mutableListOf<String>())
+        runBlocking {
+            DynamoDbParallelScan(client, totalSegments = 4).scan("table", "index", limit) { page ->
+                page.forEach { items.add(it.getValue("id").s()) }
+            }
+        }
+        return items
+    }
+
+    private companion object {
+        const val PAGE_SIZE = 10
+        const val SEGMENT_SIZE = 25
+    }
+}
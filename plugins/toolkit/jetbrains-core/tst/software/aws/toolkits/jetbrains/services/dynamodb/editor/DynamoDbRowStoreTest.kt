@@ -0,0 +1,59 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.dynamodb.editor
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+
+class DynamoDbRowStoreTest {
+    private val store = DynamoDbRowStore()
+
+    @Test
+    fun valuesAreReadBack() {
+        store.addRow(mapOf("id" to "\"1\"", "name" to "\"café\""))
+        store.addRow(mapOf("id" to "\"2\"", "name" to ""))
+
+        assertThat(store.rowCount).isEqualTo(2)
+        assertThat(store.getValue(0, "name")).isEqualTo("\"café\"")
+        assertThat(store.getValue(1, "id")).isEqualTo("\"2\"")
+        assertThat(store.getValue(1, "name")).isEmpty()
+        assertThat(store.getValue(0, "unknown")).isNull()
+    }
+
+    @Test
+    fun missingAttributesAreNull() {
+        assertThat(store.addRow(mapOf("id" to "1"))).isTrue()
+        assertThat(store.addRow(mapOf("id" to "2"))).isFalse()
+        assertThat(store.addRow(mapOf("id" to "3", "extra" to "x"))).isTrue()
+        store.addRow(mapOf("id" to "4"))
+
+        assertThat(store.columnNames).containsExactly("id", "extra")
+        assertThat((0 until 4).map { store.getValue(it, "extra") }).containsExactly(null, null, "x", null)
+        assertThat((0 until 4).map { store.getValue(it, "id") }).containsExactly("1", "2", "3", "4")
+    }
+
+    @Test
+    fun storageGrows() {
+        repeat(100_000) {
+            store.addRow(if (it % 3 == 0) mapOf("id" to "$it") else mapOf("id" to "$it", "value" to "value $it"))
+        }
+
+        assertThat(store.rowCount).isEqualTo(100_000)
+        assertThat(store.getValue(99_999, "id")).isEqualTo("99999")
+        assertThat(store.getValue(99_998, "value")).isEqualTo("value 99998")
+        assertThat(store.getValue(99_999, "value")).isNull()
+    }
+
+    @Test
+    fun valuesLargerThanTheBufferAreStored() {
+        val large = "x".repeat(100_000)
+        store.addRow(mapOf("id" to "1"))
+        store.addRow(mapOf("id" to large))
+        store.addRow(mapOf("id" to "3"))
+
+        assertThat(store.getValue(0, "id")).isEqualTo("1")
+        assertThat(store.getValue(1, "id")).isEqualTo(large)
+        assertThat(store.getValue(2, "id")).isEqualTo("3")
+    }
+}
@@ -4,6 +4,7 @@
 package software.aws.toolkits.jetbrains.services.lambda
 
 import com.intellij.testFramework.ProjectRule
+import kotlinx.coroutines.test.runTest
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Rule
 import org.junit.Test
@@ -64,6 +65,30 @@ class LambdaServiceNodeTest {
         assertThat(children).allMatch { it is AwsExplorerErrorNode }
     }
 
+    @Test
+    fun lambdaFunctionsAreLoadedWithoutBlocking() = runTest {
+        lambdaFunctions(listOf("bcd", "abc"))
+
+        val children = LambdaServiceNode(projectRule.project, LAMBDA_EXPLORER_SERVICE_NODE).loadChildren()
+
+        assertThat(children.filterIsInstance<LambdaFunctionNode>().map { it.functionName() }).containsExactlyInAnyOrder("abc", "bcd")
+    }
+
+    @Test
+    fun exceptionWhileLoadingLeadsToErrorNode() = runTest {
+        resourceCache.addEntry(
+            projectRule.project,
+            LambdaResources.LIST_FUNCTIONS,
+            CompletableFuture<List<FunctionConfiguration>>().also {
+                it.completeExceptionally(RuntimeException("Simulated error"))
+            }
+        )
+
+        val children = LambdaServiceNode(projectRule.project, LAMBDA_EXPLORER_SERVICE_NODE).loadChildren()
+
+        assertThat(children).singleElement().isInstanceOf(AwsExplorerErrorNode::class.java)
+    }
+
     private fun lambdaFunctions(names: List<String>) {
         resourceCache.addEntry(
             projectRule.project,
@@ -0,0 +1,60 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.lambda.resources
+
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import software.amazon.awssdk.services.lambda.model.Environment
+import software.amazon.awssdk.services.lambda.model.FunctionConfiguration
+import software.amazon.awssdk.services.lambda.model.Runtime
+import software.amazon.awssdk.services.lambda.model.TracingMode
+import software.aws.toolkit.jetbrains.core.PersistentResourceStore
+import java.io.File
+import java.util.zip.GZIPInputStream
+
+class LambdaResourcesTest {
+    @Rule
+    @JvmField
+    val tempFolder = TemporaryFolder()
+
+    @Test
+    fun `environment variables are never persisted`() {
+        val store = PersistentResourceStore(tempFolder.root.toPath())
+        val function = FunctionConfiguration.builder()
+            .functionName("function")
+            .functionArn("arn:aws:lambda:us-east-1:123456789012:function:function")
+            .handler("app.handler")
+            .runtime(Runtime.PYTHON3_12)
+            .timeout(30)
+            .memorySize(128)
+            .tracingConfig { it.mode(TracingMode.ACTIVE) }
+            .environment(Environment.builder().variables(mapOf("API_KEY" to SECRET)).build())
+            .kmsKeyArn("arn:aws:kms:us-east-1:123456789012:key/key")
+            .build()
+
+        store.save(LambdaResources.LIST_FUNCTIONS, REGION, PROVIDER, listOf(function))
+
+        val snapshots = tempFolder.root.walkTopDown().filter(File::isFile).toList()
+        assertThat(snapshots).isNotEmpty
+        snapshots.forEach {
+            val content = GZIPInputStream(it.inputStream()).use { input -> input.readBytes() }.toString(Charsets.ISO_8859_1)
+            assertThat(content).doesNotContain(SECRET).doesNotContain("API_KEY")
+        }
+
+        val loaded = store.load(LambdaResources.LIST_FUNCTIONS, REGION, PROVIDER)!!.single()
+        assertThat(loaded.environment()).isNull()
+        assertThat(loaded.kmsKeyArn()).isNull()
+        assertThat(loaded.functionName()).isEqualTo("function")
+        assertThat(loaded.runtime()).isEqualTo(Runtime.PYTHON3_12)
+        assertThat(loaded.tracingConfig().mode()).isEqualTo(TracingMode.ACTIVE)
+    }
+
+    private companion object {
+        const val REGION = "us-east-1"
+        const val PROVIDER = "profile:default"
+        const val SECRET = "super-secret-value"
+    }
+}
@@ -0,0 +1,220 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.s3
+
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.stub
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse
+import software.amazon.awssdk.services.s3.model.CopyPartResult
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException
+import software.amazon.awssdk.services.s3.model.S3Error
+import software.amazon.awssdk.services.s3.model.S3Object
+import software.amazon.awssdk.services.s3.model.ServerSideEncryption
+import software.amazon.awssdk.services.s3.model.StorageClass
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest
+import software.amazon.awssdk.services.s3.model.UploadPartCopyResponse
+import java.util.Collections
+import java.util.function.Consumer
+
+class S3BulkOperationsTest {
+    private val deleted = Collections.synchronizedList(mutableListOf<List<String>>())
+
+    @Test
+    fun deletesAreBatched() {
+        val keys = (0 until 2500).map { "key$it" }
+
+        val result = runBlocking { S3BulkOperations(client(), "bucket", concurrency = 2).delete(keys) }
+
+        assertThat(result).isEqualTo(S3BulkResult(2500, emptyList()))
+        assertThat(deleted.map { it.size }).containsExactlyInAnyOrder(1000, 1000, 500)
+        assertThat(deleted.flatten()).containsExactlyInAnyOrderElementsOf(keys)
+    }
+
+    @Test
+    fun folderKeysAreExpanded() {
+        val client = client(listing = listOf(listOf("dir/", "dir/a"), listOf("dir/sub/b")))
+
+        val result = runBlocking { S3BulkOperations(client, "bucket").delete(listOf("dir/", "other")) }
+
+        assertThat(result.total).isEqualTo(4)
+        assertThat(deleted.flatten()).containsExactlyInAnyOrder("dir/", "dir/a", "dir/sub/b", "other")
+    }
+
+    @Test
+    fun failedDeletesAreReportedPerKey() {
+        val client = client(deleteErrors = setOf("key1"))
+
+        val result = runBlocking { S3BulkOperations(client, "bucket").delete(listOf("key0", "key1", "key2")) }
+
+        assertThat(result.failures).containsExactly(S3BulkFailure("key1", "AccessDenied"))
+    }
+
+    @Test
+    fun deletingFromAMissingBucketThrows() {
+        val client = client()
+        client.stub {
+            on { deleteObjects(any<DeleteObjectsRequest>()) } doAnswer { throw NoSuchBucketException.builder().message("gone").build() }
+        }
+
+        assertThatThrownBy { runBlocking { S3BulkOperations(client, "bucket").delete(listOf("key0", "key1")) } }
+            .isInstanceOf(NoSuchBucketException::class.java)
+    }
+
+    @Test
+    fun movingInAMissingBucketThrows() {
+        val client = client()
+        client.stub {
+            on { copyObject(any<CopyObjectRequest>()) } doAnswer { throw NoSuchBucketException.builder().message("gone").build() }
+        }
+
+        assertThatThrownBy { runBlocking { S3BulkOperations(client, "bucket").move("key", "renamed") } }
+            .isInstanceOf(NoSuchBucketException::class.java)
+        assertThat(deleted.flatten()).isEmpty()
+    }
+
+    @Test
+    fun movingAFolderMovesEverythingUnderIt() {
+        val copies = Collections.synchronizedList(mutableListOf<Pair<String, String>>())
+        val client = client(listing = listOf(listOf("dir/", "dir/a", "dir/sub/b"), listOf("dir/c")), copies = copies, copyErrors = setOf("dir/a"))
+
+        val result = runBlocking { S3BulkOperations(client, "bucket").move("dir/", "renamed") }
+
+        assertThat(copies).containsExactlyInAnyOrder("dir/" to "renamed/", "dir/a" to "renamed/a", "dir/sub/b" to "renamed/sub/b", "dir/c" to "renamed/c")
+        // the object that could not be copied is left in place
+        assertThat(deleted.flatten()).containsExactlyInAnyOrder("dir/", "dir/sub/b", "dir/c")
+        assertThat(result.total).isEqualTo(4)
+        assertThat(result.failures.map { it.key }).containsExactly("dir/a")
+    }
+
+    @Test
+    fun movingOntoItselfDoesNothing() {
+        val client = client()
+
+        val result = runBlocking { S3BulkOperations(client, "bucket").move("dir/", "dir") }
+
+        assertThat(result.total).isZero()
+        verify(client, never()).deleteObjects(any<DeleteObjectsRequest>())
+    }
+
+    @Test
+    fun largeObjectsAreCopiedInParts() {
+        val ranges = Collections.synchronizedList(mutableListOf<String>())
+        var completed: CompleteMultipartUploadRequest? = null
+        var created: CreateMultipartUploadRequest? = null
+        val client = client()
+        client.stub {
+            on { headObject(any<Consumer<HeadObjectRequest.Builder>>()) } doReturn
+                HeadObjectResponse.builder()
+                    .contentLength(S3BulkOperations.MAX_COPY_OBJECT_SIZE + 1)
+                    .contentType("application/zip")
+                    .contentDisposition("attachment")
+                    .metadata(mapOf("owner" to "me"))
+                    .serverSideEncryption(ServerSideEncryption.AWS_KMS)
+                    .ssekmsKeyId("key")
+                    .storageClass(StorageClass.STANDARD_IA)
+                    .build()
+            on { createMultipartUpload(any<CreateMultipartUploadRequest>()) } doAnswer {
+                created = it.getArgument(0)
+                CreateMultipartUploadResponse.builder().uploadId("upload").build()
+            }
+            on { uploadPartCopy(any<UploadPartCopyRequest>()) } doAnswer {
+                val request = it.getArgument<UploadPartCopyRequest>(0)
+                ranges.add(request.copySourceRange())
+                UploadPartCopyResponse.builder().copyPartResult(CopyPartResult.builder().eTag("etag-${request.partNumber()}").build()).build()
+            }
+            on { completeMultipartUpload(any<CompleteMultipartUploadRequest>()) } doAnswer {
+                completed = it.getArgument(0)
+                CompleteMultipartUploadResponse.builder().build()
+            }
+        }
+
+        val result = runBlocking { S3BulkOperations(client, "bucket").move("big", "bigger") }
+
+        assertThat(result.failures).isEmpty()
+        // 5 GiB + 1 byte in 512 MiB parts
+        assertThat(ranges).hasSize(11).contains("bytes=0-536870911", "bytes=5368709120-5368709120")
+        assertThat(completed?.multipartUpload()?.parts()?.map { it.eTag() }).containsExactlyElementsOf((1..11).map { "etag-$it" })
+        verify(client, never()).copyObject(any<CopyObjectRequest>())
+        assertThat(deleted.flatten()).containsExactly("big")
+        // the source's headers and encryption are carried over, reusing the HEAD that found its size
+        verify(client, times(1)).headObject(any<Consumer<HeadObjectRequest.Builder>>())
+        assertThat(created?.contentType()).isEqualTo("application/zip")
+        assertThat(created?.contentDisposition()).isEqualTo("attachment")
+        assertThat(created?.metadata()).containsEntry("owner", "me")
+        assertThat(created?.serverSideEncryption()).isEqualTo(ServerSideEncryption.AWS_KMS)
+        assertThat(created?.ssekmsKeyId()).isEqualTo("key")
+        assertThat(created?.storageClass()).isEqualTo(StorageClass.STANDARD_IA)
+    }
+
+    @Test
+    fun failedMultipartCopiesAreAborted() {
+        val client = client()
+        client.stub {
+            on { headObject(any<Consumer<HeadObjectRequest.Builder>>()) } doReturn
+                HeadObjectResponse.builder().contentLength(S3BulkOperations.MAX_COPY_OBJECT_SIZE + 1).build()
+            on { createMultipartUpload(any<CreateMultipartUploadRequest>()) } doReturn CreateMultipartUploadResponse.builder().uploadId("upload").build()
+            on { uploadPartCopy(any<UploadPartCopyRequest>()) } doAnswer { throw IllegalStateException("boom") }
+        }
+
+        val result = runBlocking { S3BulkOperations(client, "bucket").move("big", "bigger") }
+
+        assertThat(result.failures.map { it.key }).containsExactly("big")
+        verify(client).abortMultipartUpload(any<Consumer<AbortMultipartUploadRequest.Builder>>())
+        assertThat(deleted.flatten()).isEmpty()
+    }
+
+    private fun client(
+        listing: List<List<String>> = emptyList(),
+        deleteErrors: Set<String> = emptySet(),
+        copies: MutableList<Pair<String, String>> = mutableListOf(),
+        copyErrors: Set<String> = emptySet(),
+    ) = mock<S3Client> {
+        on { listObjectsV2(any<ListObjectsV2Request>()) } doAnswer {
+            val page = it.getArgument<ListObjectsV2Request>(0).continuationToken()?.toInt() ?: 0
+            ListObjectsV2Response.builder()
+                .contents(listing.getOrElse(page) { emptyList() }.map { key -> S3Object.builder().key(key).size(1).build() })
+                .nextContinuationToken((page + 1).takeIf { next -> next < listing.size }?.toString())
+                .build()
+        }
+        on { deleteObjects(any<DeleteObjectsRequest>()) } doAnswer {
+            val keys = it.getArgument<DeleteObjectsRequest>(0).delete().objects().map { obj -> obj.key() }
+            deleted.add(keys)
+            DeleteObjectsResponse.builder()
+                .errors(keys.filter { key -> key in deleteErrors }.map { key -> S3Error.builder().key(key).code("AccessDenied").build() })
+                .build()
+        }
+        on { copyObject(any<CopyObjectRequest>()) } doAnswer {
+            val request = it.getArgument<CopyObjectRequest>(0)
+            copies.add(request.sourceKey() to request.destinationKey())
+            if (request.sourceKey() in copyErrors) {
+                throw IllegalStateException("boom")
+            }
+            CopyObjectResponse.builder().build()
+        }
+        on { headObject(any<Consumer<HeadObjectRequest.Builder>>()) } doReturn HeadObjectResponse.builder().contentLength(1).build()
+    }
+}
@@ -0,0 +1,268 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.s3
+
+import com.intellij.openapi.progress.ProcessCanceledException
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argThat
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import software.amazon.awssdk.core.sync.RequestBody
+import software.amazon.awssdk.core.sync.ResponseTransformer
+import software.amazon.awssdk.http.AbortableInputStream
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse
+import software.amazon.awssdk.services.s3.model.GetObjectRequest
+import software.amazon.awssdk.services.s3.model.GetObjectResponse
+import software.amazon.awssdk.services.s3.model.UploadPartRequest
+import software.amazon.awssdk.services.s3.model.UploadPartResponse
+import software.amazon.awssdk.utils.IoUtils
+import java.nio.file.Files
+import java.util.Collections
+
+class S3TransferEngineTest {
+    @JvmField
+    @Rule
+    val tempFolder = TemporaryFolder()
+
+    private val options = S3TransferOptions(partSize = 4, concurrency = 2)
+    private val content = "0123456789abcdefghij-".toByteArray()
+
+    @Test
+    fun uploadsInParts() {
+        val parts = Collections.synchronizedMap(mutableMapOf<Int, String>())
+        var completed: CompleteMultipartUploadRequest? = null
+        val client = mock<S3Client> {
+            on { createMultipartUpload(any<CreateMultipartUploadRequest>()) } doReturn CreateMultipartUploadResponse.builder().uploadId("upload").build()
+            on { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } doAnswer {
+                val request = it.getArgument<UploadPartRequest>(0)
+                val body = it.getArgument<RequestBody>(1).contentStreamProvider().newStream().use { stream -> IoUtils.toUtf8String(stream) }
+                parts[request.partNumber()] = body
+                UploadPartResponse.builder().eTag("etag-${request.partNumber()}").build()
+            }
+            on { completeMultipartUpload(any<CompleteMultipartUploadRequest>()) } doAnswer {
+                completed = it.getArgument(0)
+                CompleteMultipartUploadResponse.builder().eTag("final").build()
+            }
+        }
+
+        val response = runBlocking { engine(client).upload(source(), "bucket", "key") }
+
+        assertThat(response.eTag()).isEqualTo("final")
+        assertThat(parts).hasSize(6)
+        assertThat((1..6).joinToString("") { parts.getValue(it) }).isEqualTo(String(content))
+        assertThat(completed?.uploadId()).isEqualTo("upload")
+        assertThat(completed?.multipartUpload()?.parts()?.map { it.partNumber() to it.eTag() })
+            .containsExactlyElementsOf((1..6).map { it to "etag-$it" })
+    }
+
+    @Test
+    fun failedUploadsResumeWithTheRemainingParts() {
+        val uploaded = Collections.synchronizedList(mutableListOf<Int>())
+        var failPart = 4
+        val client = mock<S3Client> {
+            on { createMultipartUpload(any<CreateMultipartUploadRequest>()) } doReturn CreateMultipartUploadResponse.builder().uploadId("upload").build()
+            on { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } doAnswer {
+                val partNumber = it.getArgument<UploadPartRequest>(0).partNumber()
+                if (partNumber == failPart) {
+                    throw IllegalStateException("boom")
+                }
+                uploaded.add(partNumber)
+                UploadPartResponse.builder().eTag("etag-$partNumber").build()
+            }
+            on { completeMultipartUpload(any<CompleteMultipartUploadRequest>()) } doReturn CompleteMultipartUploadResponse.builder().build()
+        }
+        val source = source()
+        val manifests = tempFolder.newFolder().toPath()
+
+        assertThatThrownBy { runBlocking { S3TransferEngine(client, options, manifests).upload(source, "bucket", "key") } }.hasMessageContaining("boom")
+
+        val beforeResume = uploaded.toSet()
+        failPart = -1
+        uploaded.clear()
+        runBlocking { S3TransferEngine(client, options, manifests).upload(source, "bucket", "key") }
+
+        assertThat(beforeResume).doesNotContain(4)
+        assertThat(uploaded).contains(4).doesNotContainAnyElementsOf(beforeResume)
+        assertThat(beforeResume + uploaded).containsExactlyInAnyOrder(1, 2, 3, 4, 5, 6)
+    }
+
+    @Test
+    fun cancelledUploadsAreAborted() {
+        val client = failingUploadClient { throw ProcessCanceledException() }
+        val manifests = tempFolder.newFolder().toPath()
+
+        assertThatThrownBy { runBlocking { S3TransferEngine(client, options, manifests).upload(source(), "bucket", "key") } }
+            .isInstanceOf(ProcessCanceledException::class.java)
+
+        verify(client).abortMultipartUpload(argThat<AbortMultipartUploadRequest> { uploadId() == "upload" && key() == "key" })
+        assertThat(manifests).isEmptyDirectory()
+    }
+
+    @Test
+    fun uploadsCancelledFromProgressAreAborted() {
+        val client = mock<S3Client> {
+            on { createMultipartUpload(any<CreateMultipartUploadRequest>()) } doReturn CreateMultipartUploadResponse.builder().uploadId("upload").build()
+            on { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } doAnswer {
+                UploadPartResponse.builder().eTag("etag-${it.getArgument<UploadPartRequest>(0).partNumber()}").build()
+            }
+        }
+        val manifests = tempFolder.newFolder().toPath()
+
+        // the indicator is checked from the progress callback, which runs on the coroutine of a part
+        assertThatThrownBy {
+            runBlocking {
+                S3TransferEngine(client, options, manifests).upload(source(), "bucket", "key") { transferred, _ ->
+                    if (transferred >= 8) throw ProcessCanceledException()
+                }
+            }
+        }.isInstanceOf(ProcessCanceledException::class.java)
+
+        verify(client, never()).completeMultipartUpload(any<CompleteMultipartUploadRequest>())
+        verify(client).abortMultipartUpload(argThat<AbortMultipartUploadRequest> { uploadId() == "upload" })
+        assertThat(manifests).isEmptyDirectory()
+    }
+
+    @Test
+    fun downloadsCancelledFromProgressAreNotMovedIntoPlace() {
+        val destination = tempFolder.root.toPath().resolve("out")
+        val manifests = tempFolder.newFolder().toPath()
+        val client = rangedClient(Collections.synchronizedList(mutableListOf()))
+
+        assertThatThrownBy {
+            runBlocking {
+                S3TransferEngine(client, options, manifests).download("bucket", "key", null, destination) { transferred, _ ->
+                    if (transferred >= 12) throw ProcessCanceledException()
+                }
+            }
+        }.isInstanceOf(ProcessCanceledException::class.java)
+        assertThat(destination).doesNotExist()
+
+        // the download is resumed, not finished with the holes left by the cancelled parts
+        runBlocking { S3TransferEngine(client, options, manifests).download("bucket", "key", null, destination) }
+        assertThat(destination).hasBinaryContent(content)
+    }
+
+    @Test
+    fun uploadsAreNotResumedWithAnotherConnection() {
+        val client = failingUploadClient { throw IllegalStateException("boom") }
+        val source = source()
+        val manifests = tempFolder.newFolder().toPath()
+
+        assertThatThrownBy {
+            runBlocking { S3TransferEngine(client, options, manifests, connectionId = "us-east-1/profile:a").upload(source, "bucket", "key") }
+        }.hasMessageContaining("boom")
+        assertThatThrownBy {
+            runBlocking { S3TransferEngine(client, options, manifests, connectionId = "us-west-2/profile:a").upload(source, "bucket", "key") }
+        }.hasMessageContaining("boom")
+
+        verify(client, times(2)).createMultipartUpload(any<CreateMultipartUploadRequest>())
+    }
+
+    @Test
+    fun downloadsInRanges() {
+        val ranges = Collections.synchronizedList(mutableListOf<String>())
+        val destination = tempFolder.root.toPath().resolve("out")
+
+        runBlocking { engine(rangedClient(ranges)).download("bucket", "key", null, destination) }
+
+        assertThat(destination).hasBinaryContent(content)
+        assertThat(destination.resolveSibling("out.part")).doesNotExist()
+        assertThat(ranges).containsExactlyInAnyOrder("bytes=0-3", "bytes=4-7", "bytes=8-11", "bytes=12-15", "bytes=16-19", "bytes=20-20")
+    }
+
+    @Test
+    fun smallObjectsAreDownloadedInOneRequest() {
+        val ranges = Collections.synchronizedList(mutableListOf<String>())
+        val destination = tempFolder.root.toPath().resolve("out")
+
+        val engine = S3TransferEngine(rangedClient(ranges), S3TransferOptions(partSize = 1024), tempFolder.newFolder().toPath())
+        runBlocking { engine.download("bucket", "key", null, destination) }
+
+        assertThat(destination).hasBinaryContent(content)
+        assertThat(ranges).containsExactly("bytes=0-1023")
+    }
+
+    @Test
+    fun downloadProgressIsARunningTotal() {
+        listOf(S3TransferOptions(partSize = 1024), S3TransferOptions(partSize = 4, concurrency = 1)).forEach { options ->
+            val progress = mutableListOf<Pair<Long, Long>>()
+            val destination = tempFolder.newFolder().toPath().resolve("out")
+
+            val engine = S3TransferEngine(rangedClient(Collections.synchronizedList(mutableListOf())), options, tempFolder.newFolder().toPath())
+            runBlocking { engine.download("bucket", "key", null, destination) { transferred, total -> progress.add(transferred to total) } }
+
+            assertThat(progress.map { it.second }).containsOnly(content.size.toLong())
+            assertThat(progress.map { it.first }).isSorted().last().isEqualTo(content.size.toLong())
+        }
+    }
+
+    @Test
+    fun failedDownloadsResumeWithTheRemainingParts() {
+        val ranges = Collections.synchronizedList(mutableListOf<String>())
+        val destination = tempFolder.root.toPath().resolve("out")
+        val manifests = tempFolder.newFolder().toPath()
+
+        assertThatThrownBy {
+            runBlocking { S3TransferEngine(rangedClient(ranges, failRange = "bytes=12-15"), options, manifests).download("bucket", "key", null, destination) }
+        }.hasMessageContaining("boom")
+        assertThat(destination).doesNotExist()
+
+        val beforeResume = ranges.toSet()
+        ranges.clear()
+        runBlocking { S3TransferEngine(rangedClient(ranges), options, manifests).download("bucket", "key", null, destination) }
+
+        assertThat(destination).hasBinaryContent(content)
+        assertThat(ranges).contains("bytes=12-15").doesNotContain("bytes=0-3")
+        assertThat(ranges).doesNotContainAnyElementsOf(beforeResume - "bytes=12-15")
+    }
+
+    // part 4 of every upload fails with the given exception
+    private fun failingUploadClient(onFailure: () -> Nothing) = mock<S3Client> {
+        on { createMultipartUpload(any<CreateMultipartUploadRequest>()) } doReturn CreateMultipartUploadResponse.builder().uploadId("upload").build()
+        on { uploadPart(any<UploadPartRequest>(), any<RequestBody>()) } doAnswer {
+            val partNumber = it.getArgument<UploadPartRequest>(0).partNumber()
+            if (partNumber == 4) {
+                onFailure()
+            }
+            UploadPartResponse.builder().eTag("etag-$partNumber").build()
+        }
+    }
+
+    private fun engine(client: S3Client) = S3TransferEngine(client, options, tempFolder.newFolder().toPath())
+
+    private fun source() = tempFolder.newFile().toPath().also { Files.write(it, content) }
+
+    private fun rangedClient(ranges: MutableList<String>, failRange: String? = null) = mock<S3Client> {
+        on { getObject(any<GetObjectRequest>(), any<ResponseTransformer<GetObjectResponse, Any>>()) } doAnswer {
+            val request = it.getArgument<GetObjectRequest>(0)
+            ranges.add(request.range())
+            if (request.range() == failRange) {
+                throw IllegalStateException("boom")
+            }
+            val (start, end) = request.range().removePrefix("bytes=").split("-").map { bound -> bound.toInt() }
+            val slice = content.copyOfRange(start, minOf(end + 1, content.size))
+            val response = GetObjectResponse.builder()
+                .eTag("etag")
+                .contentLength(slice.size.toLong())
+                .contentRange("bytes $start-${start + slice.size - 1}/${content.size}")
+                .build()
+            it.getArgument<ResponseTransformer<GetObjectResponse, Any>>(1).transform(response, AbortableInputStream.create(slice.inputStream()))
+        }
+    }
+}
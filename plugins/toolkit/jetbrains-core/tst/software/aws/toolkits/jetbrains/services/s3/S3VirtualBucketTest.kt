@@ -29,13 +29,13 @@ import software.amazon.awssdk.services.s3.S3Client
 import software.amazon.awssdk.services.s3.model.Bucket
 import software.amazon.awssdk.services.s3.model.CopyObjectRequest
 import software.amazon.awssdk.services.s3.model.CopyObjectResponse
-import software.amazon.awssdk.services.s3.model.DeleteObjectRequest
-import software.amazon.awssdk.services.s3.model.DeleteObjectResponse
 import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest
 import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse
 import software.amazon.awssdk.services.s3.model.DeletedObject
 import software.amazon.awssdk.services.s3.model.GetObjectRequest
 import software.amazon.awssdk.services.s3.model.GetObjectResponse
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response
 import software.amazon.awssdk.services.s3.model.ObjectIdentifier
@@ -48,6 +48,7 @@ import software.aws.toolkit.jetbrains.core.credentials.MockAwsConnectionManager.
 import software.aws.toolkits.jetbrains.services.s3.editor.S3VirtualBucket
 import java.net.URL
 import java.time.Instant
+import java.util.function.Consumer
 
 class S3VirtualBucketTest {
     private val projectRule = ProjectRule()
@@ -92,10 +93,15 @@ class S3VirtualBucketTest {
     @Test
     fun renameObject() {
         val s3Client = mockClientManager.create<S3Client>()
-        val deleteCaptor = argumentCaptor<DeleteObjectRequest>()
+        val deleteCaptor = argumentCaptor<DeleteObjectsRequest>()
         val copyCaptor = argumentCaptor<CopyObjectRequest>()
 
         s3Client.stub {
+            on {
+                headObject(any<Consumer<HeadObjectRequest.Builder>>())
+            } doReturn HeadObjectResponse.builder()
+                .contentLength(10)
+                .build()
             on {
                 copyObject(copyCaptor.capture())
             } doReturn CopyObjectResponse.builder()
@@ -104,11 +110,9 @@ class S3VirtualBucketTest {
         }
         s3Client.stub {
             on {
-                deleteObject(deleteCaptor.capture())
-            } doReturn DeleteObjectResponse.builder()
-                .versionId("1223")
-                .deleteMarker(true)
-                .requestCharged("yes")
+                deleteObjects(deleteCaptor.capture())
+            } doReturn DeleteObjectsResponse.builder()
+                .deleted(DeletedObject.builder().key("key").build())
                 .build()
         }
 
@@ -124,7 +128,7 @@ class S3VirtualBucketTest {
 
         val deleteRequestCapture = deleteCaptor.firstValue
         assertThat(deleteRequestCapture.bucket()).isEqualTo("TestBucket")
-        assertThat(deleteRequestCapture.key()).isEqualTo("key")
+        assertThat(deleteRequestCapture.delete().objects().map { it.key() }).containsExactly("key")
     }
 
     @Test
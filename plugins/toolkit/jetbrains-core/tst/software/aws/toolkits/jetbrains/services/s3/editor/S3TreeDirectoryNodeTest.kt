@@ -5,6 +5,7 @@ package software.aws.toolkits.jetbrains.services.s3.editor
 
 import com.intellij.icons.AllIcons
 import com.intellij.testFramework.ProjectRule
+import kotlinx.coroutines.runBlocking
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Rule
 import org.junit.Test
@@ -12,6 +13,7 @@ import org.mockito.kotlin.any
 import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.doThrow
+import org.mockito.kotlin.timeout
 import org.mockito.kotlin.times
 import org.mockito.kotlin.verify
 import software.amazon.awssdk.services.s3.S3Client
@@ -19,6 +21,7 @@ import software.amazon.awssdk.services.s3.model.Bucket
 import software.amazon.awssdk.services.s3.model.CommonPrefix
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Request
 import software.amazon.awssdk.services.s3.model.ListObjectsV2Response
+import software.amazon.awssdk.services.s3.model.S3Exception
 import software.amazon.awssdk.services.s3.model.S3Object
 import software.aws.toolkit.core.utils.delegateMock
 import java.time.Instant
@@ -129,7 +132,7 @@ class S3TreeDirectoryNodeTest {
             S3TreeContinuationNode(bucket, sut, sut.key, "Token")
         )
 
-        (sut.children.last() as S3TreeContinuationNode<*>).loadMore()
+        runBlocking { (sut.children.last() as S3TreeContinuationNode<*>).loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectNode(sut, "my/folder/file.txt", objectSize, lastModifiedTime),
@@ -190,14 +193,14 @@ class S3TreeDirectoryNodeTest {
             S3TreeContinuationNode(bucket, sut, sut.key, "Token")
         )
 
-        (sut.children.last() as S3TreeContinuationNode<*>).loadMore()
+        runBlocking { (sut.children.last() as S3TreeContinuationNode<*>).loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectNode(sut, "my/folder/file.txt", objectSize, lastModifiedTime),
             S3TreeErrorContinuationNode(bucket, sut, sut.key, "Token")
         )
 
-        (sut.children.last() as S3TreeContinuationNode<*>).loadMore()
+        runBlocking { (sut.children.last() as S3TreeContinuationNode<*>).loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectNode(sut, "my/folder/file.txt", objectSize, lastModifiedTime),
@@ -229,14 +232,14 @@ class S3TreeDirectoryNodeTest {
         )
 
         val continuationNode = sut.children.last() as S3TreeContinuationNode<*>
-        continuationNode.loadMore()
+        runBlocking { continuationNode.loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectNode(sut, "my/folder/file.txt", objectSize, lastModifiedTime),
             S3TreeObjectNode(sut, "my/folder/picture.png", objectSize, lastModifiedTime)
         )
 
-        continuationNode.loadMore()
+        runBlocking { continuationNode.loadMore() }
 
         assertThat(sut.children).hasSize(2)
         assertThat(requestCaptor.allValues).hasSize(2)
@@ -268,7 +271,7 @@ class S3TreeDirectoryNodeTest {
 
         repeat(3) {
             thread(start = true) {
-                continuationNode.loadMore()
+                runBlocking { continuationNode.loadMore() }
                 executed.countDown()
             }
         }
@@ -281,5 +284,81 @@ class S3TreeDirectoryNodeTest {
         verify(s3Client, times(2)).listObjectsV2(any<ListObjectsV2Request>())
     }
 
+    @Test
+    fun `next page is prefetched`() {
+        val s3Client = delegateMock<S3Client> {
+            on { listObjectsV2(any<ListObjectsV2Request>()) }.thenReturn(
+                ListObjectsV2Response.builder()
+                    .contents(createS3Object("my/folder/file.txt"))
+                    .nextContinuationToken("Token")
+                    .build(),
+                ListObjectsV2Response.builder()
+                    .contents(createS3Object("my/folder/picture.png"))
+                    .build()
+            )
+        }
+
+        val bucket = S3VirtualBucket(s3Bucket.name(), "", s3Client, projectRule.project)
+        val sut = S3TreeDirectoryNode(bucket, null, "my/folder/")
+        val continuationNode = sut.children.last() as S3TreeContinuationNode<*>
+
+        verify(s3Client, timeout(5000).times(2)).listObjectsV2(any<ListObjectsV2Request>())
+
+        runBlocking { continuationNode.loadMore() }
+
+        assertThat(sut.children).containsExactly(
+            S3TreeObjectNode(sut, "my/folder/file.txt", objectSize, lastModifiedTime),
+            S3TreeObjectNode(sut, "my/folder/picture.png", objectSize, lastModifiedTime)
+        )
+        verify(s3Client, times(2)).listObjectsV2(any<ListObjectsV2Request>())
+    }
+
+    @Test
+    fun `page is listed again when its prefetch failed`() {
+        val s3Client = delegateMock<S3Client> {
+            on { listObjectsV2(any<ListObjectsV2Request>()) }.thenReturn(
+                ListObjectsV2Response.builder()
+                    .contents(createS3Object("my/folder/file.txt"))
+                    .nextContinuationToken("Token")
+                    .build()
+            ).thenThrow(
+                S3Exception.builder().message("Throttled").build()
+            ).thenReturn(
+                ListObjectsV2Response.builder()
+                    .contents(createS3Object("my/folder/picture.png"))
+                    .build()
+            )
+        }
+
+        val bucket = S3VirtualBucket(s3Bucket.name(), "", s3Client, projectRule.project)
+        val sut = S3TreeDirectoryNode(bucket, null, "my/folder/")
+        val continuationNode = sut.children.last() as S3TreeContinuationNode<*>
+
+        runBlocking { continuationNode.loadMore() }
+
+        assertThat(sut.children).containsExactly(
+            S3TreeObjectNode(sut, "my/folder/file.txt", objectSize, lastModifiedTime),
+            S3TreeObjectNode(sut, "my/folder/picture.png", objectSize, lastModifiedTime)
+        )
+        verify(s3Client, times(3)).listObjectsV2(any<ListObjectsV2Request>())
+    }
+
+    @Test
+    fun `pages are not loaded automatically past the automatic load limit`() {
+        val s3Client = delegateMock<S3Client> {
+            on { listObjectsV2(any<ListObjectsV2Request>()) } doReturn ListObjectsV2Response.builder()
+                .contents((0 until S3LazyLoadParentNode.MAX_AUTO_LOADED_NODES).map { createS3Object("my/folder/file$it.txt") })
+                .nextContinuationToken("Token")
+                .build()
+        }
+
+        val bucket = S3VirtualBucket(s3Bucket.name(), "", s3Client, projectRule.project)
+        val sut = S3TreeDirectoryNode(bucket, null, "my/folder/")
+
+        assertThat(sut.children).hasSize(S3LazyLoadParentNode.MAX_AUTO_LOADED_NODES + 1)
+        assertThat(sut.canLoadAutomatically()).isFalse()
+        verify(s3Client, times(1)).listObjectsV2(any<ListObjectsV2Request>())
+    }
+
     private fun createS3Object(name: String) = S3Object.builder().key(name).size(objectSize).lastModified(lastModifiedTime).build()
 }
@@ -6,6 +6,7 @@ package software.aws.toolkits.jetbrains.services.s3.editor
 import com.intellij.openapi.fileTypes.PlainTextFileType
 import com.intellij.openapi.fileTypes.UnknownFileType
 import com.intellij.testFramework.ProjectRule
+import kotlinx.coroutines.runBlocking
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.Rule
 import org.junit.Test
@@ -222,14 +223,14 @@ class S3TreeObjectNodeTest {
             S3TreeContinuationNode(bucket, sut, sut.key, VersionContinuationToken("KeyToken", "VersionToken"))
         )
 
-        (sut.children.last() as S3TreeContinuationNode<*>).loadMore()
+        runBlocking { (sut.children.last() as S3TreeContinuationNode<*>).loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectVersionNode(sut, "1", objectSize, lastModifiedTime),
             S3TreeErrorContinuationNode(bucket, sut, sut.key, VersionContinuationToken("KeyToken", "VersionToken"))
         )
 
-        (sut.children.last() as S3TreeContinuationNode<*>).loadMore()
+        runBlocking { (sut.children.last() as S3TreeContinuationNode<*>).loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectVersionNode(sut, "1", objectSize, lastModifiedTime),
@@ -282,7 +283,7 @@ class S3TreeObjectNodeTest {
             S3TreeContinuationNode(bucket, sut, sut.key, VersionContinuationToken("KeyToken", "VersionToken"))
         )
 
-        (sut.children.last() as S3TreeContinuationNode<*>).loadMore()
+        runBlocking { (sut.children.last() as S3TreeContinuationNode<*>).loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectVersionNode(sut, "1", objectSize, lastModifiedTime),
@@ -333,7 +334,7 @@ class S3TreeObjectNodeTest {
         )
 
         val continuationNode = sut.children.last() as S3TreeContinuationNode<*>
-        continuationNode.loadMore()
+        runBlocking { continuationNode.loadMore() }
 
         assertThat(sut.children).containsExactly(
             S3TreeObjectVersionNode(sut, "1", objectSize, lastModifiedTime),
@@ -341,7 +342,7 @@ class S3TreeObjectNodeTest {
             S3TreeObjectVersionNode(sut, "3", objectSize, lastModifiedTime)
         )
 
-        continuationNode.loadMore()
+        runBlocking { continuationNode.loadMore() }
 
         assertThat(sut.children).hasSize(3)
         assertThat(requestCaptor.allValues).hasSize(2)
@@ -378,7 +379,7 @@ class S3TreeObjectNodeTest {
 
         repeat(3) {
             thread(start = true) {
-                continuationNode.loadMore()
+                runBlocking { continuationNode.loadMore() }
                 executed.countDown()
             }
         }
@@ -26,7 +26,8 @@ import software.aws.toolkits.jetbrains.services.s3.editor.S3TreeObjectNode
 import software.aws.toolkits.jetbrains.services.s3.editor.S3TreeObjectVersionNode
 import software.aws.toolkits.jetbrains.services.s3.objectActions.DownloadObjectAction.ConflictResolution
 import software.aws.toolkits.jetbrains.utils.createMockFileChooser
-import java.io.OutputStream
+import java.nio.file.Files
+import java.nio.file.Path
 import java.time.Instant
 import java.util.concurrent.CountDownLatch
 import java.util.concurrent.TimeUnit
@@ -457,7 +458,7 @@ class DownloadObjectActionTest : ObjectActionTestBase() {
 
         s3Bucket.stub {
             onBlocking {
-                download(any(), any(), anyOrNull(), any())
+                downloadToFile(any(), any(), anyOrNull(), any())
             }.thenAnswer { invoke ->
                 val key = invoke.getArgument<String>(1)
 
@@ -471,9 +472,7 @@ class DownloadObjectActionTest : ObjectActionTestBase() {
                 val contentPostfix = if (versionId != null) "-old-version" else ""
                 val content = "$key-content$contentPostfix".toByteArray()
 
-                invoke.getArgument<OutputStream>(3).use {
-                    it.write(content)
-                }
+                Files.write(invoke.getArgument<Path>(3), content)
 
                 countDownLatch.countDown()
             }
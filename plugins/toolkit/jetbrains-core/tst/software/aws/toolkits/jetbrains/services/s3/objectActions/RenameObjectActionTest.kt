@@ -3,14 +3,18 @@
 
 package software.aws.toolkits.jetbrains.services.s3.objectActions
 
+import com.intellij.openapi.ui.Messages
 import com.intellij.openapi.ui.TestDialog
 import com.intellij.openapi.ui.TestDialogManager
 import org.assertj.core.api.Assertions.assertThat
 import org.junit.After
+import org.junit.Before
 import org.junit.Test
 import org.mockito.kotlin.any
 import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.doReturn
 import org.mockito.kotlin.never
+import org.mockito.kotlin.stub
 import org.mockito.kotlin.verify
 import org.mockito.kotlin.verifyBlocking
 import software.aws.toolkit.core.utils.test.aString
@@ -25,6 +29,13 @@ import java.time.Instant
 class RenameObjectActionTest : ObjectActionTestBase() {
     override val sut = RenameObjectAction()
 
+    @Before
+    fun stubExistingKeys() {
+        s3Bucket.stub {
+            onBlocking { keyExists(any()) } doReturn false
+        }
+    }
+
     @After
     fun tearDown() {
         TestDialogManager.setTestDialog(TestDialog.DEFAULT)
@@ -121,6 +132,68 @@ class RenameObjectActionTest : ObjectActionTestBase() {
         }
     }
 
+    @Test
+    fun `rename folder action moves the whole folder`() {
+        val input = aString()
+        TestDialogManager.setTestInputDialog { input }
+
+        val root = S3TreeDirectoryNode(s3Bucket, null, "")
+        val dir = S3TreeDirectoryNode(s3Bucket, root, "path1/")
+
+        sut.executeAction(listOf(dir))
+
+        retryableAssert {
+            argumentCaptor<String>().apply {
+                verifyBlocking(s3Bucket) { renameObject(capture(), capture()) }
+
+                assertThat(firstValue).isEqualTo("path1/")
+                assertThat(secondValue).isEqualTo("$input/")
+            }
+
+            verify(treeTable).invalidateLevel(root)
+            verify(treeTable).refresh()
+        }
+    }
+
+    @Test
+    fun `renaming a folder onto an existing one asks before overwriting it`() {
+        val input = aString()
+        TestDialogManager.setTestInputDialog { input }
+        var prompt: String? = null
+        TestDialogManager.setTestDialog {
+            prompt = it
+            Messages.CANCEL
+        }
+        s3Bucket.stub {
+            onBlocking { keyExists("$input/") } doReturn true
+        }
+
+        val root = S3TreeDirectoryNode(s3Bucket, null, "")
+        sut.executeAction(listOf(S3TreeDirectoryNode(s3Bucket, root, "path1/")))
+
+        retryableAssert {
+            assertThat(prompt).contains("$input/")
+        }
+        verifyBlocking(s3Bucket, never()) { renameObject(any(), any()) }
+    }
+
+    @Test
+    fun `renaming onto an existing object overwrites it once confirmed`() {
+        val input = aString()
+        TestDialogManager.setTestInputDialog { input }
+        TestDialogManager.setTestDialog(TestDialog.OK)
+        s3Bucket.stub {
+            onBlocking { keyExists("path1/$input") } doReturn true
+        }
+
+        val dir = S3TreeDirectoryNode(s3Bucket, null, "path1/")
+        sut.executeAction(listOf(S3TreeObjectNode(dir, "path1/obj1", 1, Instant.now())))
+
+        retryableAssert {
+            verifyBlocking(s3Bucket) { renameObject("path1/obj1", "path1/$input") }
+        }
+    }
+
     @Test
     fun `rename object action can be cancelled`() {
         TestDialogManager.setTestInputDialog { null }
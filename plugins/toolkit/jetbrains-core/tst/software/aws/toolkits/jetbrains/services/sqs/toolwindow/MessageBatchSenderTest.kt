@@ -0,0 +1,174 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.sqs.toolwindow
+
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.mock
+import software.amazon.awssdk.services.sqs.SqsClient
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry
+import software.aws.toolkit.core.region.anAwsRegion
+import software.aws.toolkits.jetbrains.services.sqs.MAX_MESSAGE_SIZE_LIMIT
+import software.aws.toolkits.jetbrains.services.sqs.Queue
+import java.util.Collections
+import java.util.function.Consumer
+
+class MessageBatchSenderTest {
+    private val standardQueue = Queue("https://sqs.us-east-1.amazonaws.com/123456789012/standard", anAwsRegion())
+    private val fifoQueue = Queue("https://sqs.us-east-1.amazonaws.com/123456789012/fifo.fifo", anAwsRegion())
+    private val requests = Collections.synchronizedList(mutableListOf<SendMessageBatchRequest>())
+
+    @Test
+    fun linesAreReadAsMessages() {
+        val file = """
+            {"body": "text", "messageGroupId": "group", "messageDeduplicationId": "dedupe"}
+            {"body": {"nested": true}, "delaySeconds": 5}
+
+            {"notBody": 1}
+            "plain"
+        """.trimIndent()
+
+        val messages = MessageBatchSender.readMessages(file.reader().buffered())
+
+        assertThat(messages).containsExactly(
+            ReplayMessage(1, "text", "group", "dedupe"),
+            ReplayMessage(2, """{"nested":true}""", delaySeconds = 5),
+            ReplayMessage(4, """{"notBody": 1}"""),
+            ReplayMessage(5, "\"plain\"")
+        )
+    }
+
+    @Test
+    fun invalidLinesAreReported() {
+        assertThatThrownBy { MessageBatchSender.readMessages("{}\n{not json".reader().buffered()) }
+            .isInstanceOf(IllegalArgumentException::class.java)
+            .hasMessageContaining("2")
+    }
+
+    @Test
+    fun batchesAreLimitedByCountAndSize() {
+        val small = (1..25).map { ReplayMessage(it, "body") }
+        assertThat(MessageBatchSender.batches(small).map { it.size }).containsExactly(10, 10, 5)
+
+        val large = (1..3).map { ReplayMessage(it, "a".repeat(MAX_MESSAGE_SIZE_LIMIT / 2)) }
+        assertThat(MessageBatchSender.batches(large).map { it.size }).containsExactly(2, 1)
+    }
+
+    @Test
+    fun messagesAreSentInBatches() {
+        val messages = (1..25).map { ReplayMessage(it, "body$it") }
+
+        val result = runBlocking { MessageBatchSender(client(), standardQueue, concurrency = 3).send(messages) }
+
+        assertThat(result.sent).isEqualTo(25)
+        assertThat(result.failures).isEmpty()
+        assertThat(requests.map { it.entries().size }).containsExactlyInAnyOrder(10, 10, 5)
+        assertThat(requests.flatMap { request -> request.entries().map { it.messageBody() } }).containsExactlyInAnyOrderElementsOf(messages.map { it.body })
+    }
+
+    @Test
+    fun failedEntriesAreReportedByLine() {
+        val messages = (1..5).map { ReplayMessage(it * 2, "body$it") }
+
+        val result = runBlocking { MessageBatchSender(client(failing = setOf("body3")), standardQueue).send(messages) }
+
+        assertThat(result.sent).isEqualTo(4)
+        assertThat(result.failures).containsExactly(ReplayFailure(6, "throttled"))
+    }
+
+    @Test
+    fun fifoGroupsKeepTheirOrder() {
+        val messages = (1..30).map { ReplayMessage(it, "body$it", groupId = if (it % 2 == 0) "even" else null) }
+
+        val result = runBlocking { MessageBatchSender(client(), fifoQueue).send(messages, defaultGroupId = "odd") }
+
+        assertThat(result.sent).isEqualTo(30)
+        requests.forEach { request -> assertThat(request.entries().map { it.messageGroupId() }.distinct()).hasSize(1) }
+        val sentByGroup = requests.flatMap { it.entries() }.groupBy({ it.messageGroupId() }, { it.messageBody() })
+        assertThat(sentByGroup["even"]).containsExactlyElementsOf((2..30 step 2).map { "body$it" })
+        assertThat(sentByGroup["odd"]).containsExactlyElementsOf((1..29 step 2).map { "body$it" })
+        assertThat(requests.flatMap { it.entries() }.map { it.messageDeduplicationId() }).doesNotContainNull().doesNotHaveDuplicates()
+    }
+
+    @Test
+    fun fifoGroupStopsAfterAFailure() {
+        val messages = (1..25).map { ReplayMessage(it, "body$it", groupId = "group") }
+
+        val result = runBlocking { MessageBatchSender(client(failing = setOf("body5")), fifoQueue).send(messages) }
+
+        assertThat(result.sent).isEqualTo(4)
+        assertThat(requests).hasSize(MessageBatchSender.MAX_FIFO_ATTEMPTS)
+        assertThat(requests.drop(1)).allSatisfy { assertThat(it.entries().first().messageBody()).isEqualTo("body5") }
+        assertThat(result.failures.first()).isEqualTo(ReplayFailure(5, "throttled"))
+        assertThat(result.failures.map { it.line }).containsExactlyElementsOf(5..25)
+    }
+
+    @Test
+    fun fifoGroupResendsFromTheFirstFailedEntry() {
+        val messages = (1..25).map { ReplayMessage(it, "body$it", groupId = "group") }
+
+        val result = runBlocking { MessageBatchSender(client(failingOnce = mutableSetOf("body5", "body6")), fifoQueue).send(messages) }
+
+        assertThat(result.sent).isEqualTo(25)
+        assertThat(result.failures).isEmpty()
+        assertThat(requests.map { request -> request.entries().first().messageBody() }).containsExactly("body1", "body5", "body15", "body25")
+
+        // entries after the failed one are sent again with the same deduplication ID so SQS drops the copies it already accepted
+        val deduplicationIds = requests.flatMap { it.entries() }.groupBy({ it.messageBody() }, { it.messageDeduplicationId() })
+        assertThat(deduplicationIds.getValue("body7")).hasSize(2).containsOnly(deduplicationIds.getValue("body7").first())
+        assertThat(deduplicationIds.values.map { it.first() }).doesNotHaveDuplicates()
+    }
+
+    @Test
+    fun fifoGroupDoesNotRetrySenderFaults() {
+        val messages = (1..5).map { ReplayMessage(it, "body$it", groupId = "group") }
+
+        val result = runBlocking { MessageBatchSender(client(failing = setOf("body2"), senderFault = true), fifoQueue).send(messages) }
+
+        assertThat(result.sent).isEqualTo(1)
+        assertThat(requests).hasSize(1)
+        assertThat(result.failures.map { it.line }).containsExactly(2, 3, 4, 5)
+    }
+
+    @Test
+    fun fifoMessagesWithoutAGroupAreNotSent() {
+        val messages = (1..5).map { ReplayMessage(it, "body$it", groupId = if (it % 2 == 0) "group" else null) }
+
+        val result = runBlocking { MessageBatchSender(client(), fifoQueue).send(messages) }
+
+        assertThat(result.sent).isEqualTo(2)
+        assertThat(requests.flatMap { it.entries() }.map { it.messageGroupId() }).containsOnly("group")
+        assertThat(result.failures.map { it.line }).containsExactly(1, 3, 5)
+    }
+
+    private fun client(failing: Set<String> = emptySet(), failingOnce: MutableSet<String> = mutableSetOf(), senderFault: Boolean = false) = mock<SqsClient> {
+        on { sendMessageBatch(any<Consumer<SendMessageBatchRequest.Builder>>()) } doAnswer {
+            val builder = SendMessageBatchRequest.builder()
+            it.getArgument<Consumer<SendMessageBatchRequest.Builder>>(0).accept(builder)
+            val request = builder.build()
+            requests.add(request)
+            val (failed, successful) = request.entries().partition { entry -> entry.messageBody() in failing || failingOnce.remove(entry.messageBody()) }
+            SendMessageBatchResponse.builder()
+                .successful(successful.map { entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("id-${entry.id()}").build() })
+                .failed(
+                    failed.map { entry ->
+                        BatchResultErrorEntry.builder()
+                            .id(entry.id())
+                            .code("Throttling")
+                            .message("throttled")
+                            .senderFault(senderFault)
+                            .build()
+                    }
+                )
+                .build()
+        }
+    }
+}
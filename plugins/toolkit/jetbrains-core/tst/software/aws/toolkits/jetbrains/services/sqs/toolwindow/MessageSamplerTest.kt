@@ -0,0 +1,121 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.services.sqs.toolwindow
+
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import software.amazon.awssdk.services.sqs.SqsClient
+import software.amazon.awssdk.services.sqs.model.Message
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse
+import java.util.Collections
+import java.util.concurrent.atomic.AtomicInteger
+
+class MessageSamplerTest {
+    @Test
+    fun messagesSeenByMoreThanOneReceiverAreOnlyReturnedOnce() {
+        // every receive returns 10 of the 25 messages in the queue, cycling through them
+        val queue = (0 until 25).map { message("id$it") }
+        val offset = AtomicInteger()
+        val client = mock<SqsClient> {
+            on { receiveMessage(any<ReceiveMessageRequest>()) } doAnswer {
+                val start = offset.getAndAdd(10)
+                ReceiveMessageResponse.builder().messages((start until start + 10).map { queue[it % queue.size] }).build()
+            }
+        }
+
+        val sampled = sample(client, sampleSize = 100, maxConsumers = 4)
+
+        assertThat(sampled.map { it.messageId() }).containsExactlyInAnyOrderElementsOf(queue.map { it.messageId() })
+    }
+
+    @Test
+    fun samplingStopsAtTheSampleSize() {
+        val count = AtomicInteger()
+        val client = mock<SqsClient> {
+            on { receiveMessage(any<ReceiveMessageRequest>()) } doAnswer {
+                ReceiveMessageResponse.builder().messages((0 until 10).map { message("id${count.getAndIncrement()}") }).build()
+            }
+        }
+        val progress = Collections.synchronizedList(mutableListOf<SampleProgress>())
+
+        val sampled = Collections.synchronizedList(mutableListOf<Message>())
+        runBlocking {
+            MessageSampler(client, QUEUE_URL, maxConsumers = 3, waitTimeSeconds = 0).sample(55) { batch, p ->
+                sampled.addAll(batch)
+                progress.add(p)
+            }
+        }
+
+        assertThat(sampled).hasSize(55)
+        assertThat(sampled.map { it.messageId() }).doesNotHaveDuplicates()
+        assertThat(progress.last().received).isEqualTo(55)
+        assertThat(progress.last().expected).isEqualTo(55)
+    }
+
+    @Test
+    fun receivesAskForNoMoreThanIsMissingFromTheSample() {
+        val count = AtomicInteger()
+        val requested = Collections.synchronizedList(mutableListOf<Int>())
+        val client = mock<SqsClient> {
+            on { receiveMessage(any<ReceiveMessageRequest>()) } doAnswer {
+                val max = it.getArgument<ReceiveMessageRequest>(0).maxNumberOfMessages()
+                requested.add(max)
+                ReceiveMessageResponse.builder().messages((0 until max).map { message("id${count.getAndIncrement()}") }).build()
+            }
+        }
+
+        val sampled = sample(client, sampleSize = 13, maxConsumers = 1)
+
+        assertThat(sampled).hasSize(13)
+        assertThat(requested).containsExactly(10, 3)
+    }
+
+    @Test
+    fun samplingStopsWhenTheQueueIsEmpty() {
+        val client = mock<SqsClient> {
+            on { receiveMessage(any<ReceiveMessageRequest>()) } doReturn ReceiveMessageResponse.builder().build()
+        }
+
+        val sampled = sample(client, sampleSize = 50, maxConsumers = 2)
+
+        assertThat(sampled).isEmpty()
+        verify(client, times(2)).receiveMessage(any<ReceiveMessageRequest>())
+    }
+
+    @Test
+    fun seenIdsAreBounded() {
+        val seen = SeenMessageIds(2)
+
+        assertThat(seen.add("a")).isTrue()
+        assertThat(seen.add("b")).isTrue()
+        assertThat(seen.add("a")).isFalse()
+        assertThat(seen.add("c")).isTrue()
+
+        assertThat(seen.size).isEqualTo(2)
+        // "b" was the least recently seen so it was forgotten
+        assertThat(seen.add("b")).isTrue()
+    }
+
+    private fun sample(client: SqsClient, sampleSize: Int, maxConsumers: Int): List<Message> {
+        val sampled = Collections.synchronizedList(mutableListOf<Message>())
+        runBlocking {
+            MessageSampler(client, QUEUE_URL, maxConsumers = maxConsumers, waitTimeSeconds = 0).sample(sampleSize) { batch, _ -> sampled.addAll(batch) }
+        }
+        return sampled.toList()
+    }
+
+    private fun message(id: String): Message = Message.builder().messageId(id).body(id).build()
+
+    private companion object {
+        const val QUEUE_URL = "https://sqs.us-east-1.amazonaws.com/123456789012/test1"
+    }
+}
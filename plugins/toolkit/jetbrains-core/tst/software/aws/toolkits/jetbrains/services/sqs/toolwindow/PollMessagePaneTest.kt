@@ -10,6 +10,8 @@ import org.assertj.core.api.Assertions.assertThat
 import org.junit.Rule
 import org.junit.Test
 import org.mockito.Mockito
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.verify
 import org.mockito.kotlin.whenever
 import software.amazon.awssdk.services.sqs.SqsClient
 import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest
@@ -82,6 +84,24 @@ class PollMessagePaneTest {
         assertThat(tableModel.items.map { it.messageId() }).contains(message.messageId(), anotherMessage.messageId())
     }
 
+    @Test
+    fun `Default view is a single short poll`() {
+        val client = mockClientManagerRule.create<SqsClient>()
+        whenever(client.receiveMessage(Mockito.any<ReceiveMessageRequest>())).thenReturn(
+            ReceiveMessageResponse.builder().messages(aMessage()).build()
+        )
+        val pane = PollMessagePane(projectRule.project, client, queue)
+        runBlocking {
+            pane.requestMessages()
+        }
+
+        argumentCaptor<ReceiveMessageRequest>().apply {
+            verify(client).receiveMessage(capture())
+            assertThat(firstValue.waitTimeSeconds()).isNull()
+            assertThat(firstValue.visibilityTimeout()).isZero()
+        }
+    }
+
     @Test
     fun `No messages received`() {
         val client = mockClientManagerRule.create<SqsClient>()
@@ -63,6 +63,7 @@ import software.aws.toolkits.jetbrains.core.credentials.sono.lazilyGetUserId
 import software.aws.toolkits.jetbrains.gateway.connection.GET_IDE_BACKEND_VERSION_COMMAND
 import software.aws.toolkits.jetbrains.gateway.connection.GitSettings
 import software.aws.toolkits.jetbrains.gateway.connection.IDE_BACKEND_DIR
+import software.aws.toolkits.jetbrains.gateway.connection.REMOTE_SCRIPT_DIR
 import software.aws.toolkits.jetbrains.gateway.connection.caws.CawsCommandExecutor
 import software.aws.toolkits.jetbrains.gateway.connection.workflow.CloneCode
 import software.aws.toolkits.jetbrains.gateway.connection.workflow.CopyScripts
@@ -83,7 +84,6 @@ import software.aws.toolkits.resources.message
 import software.aws.toolkits.telemetry.CodecatalystTelemetry
 import java.net.URLDecoder
 import java.time.Duration
-import java.util.UUID
 import javax.swing.JLabel
 import kotlin.time.DurationUnit
 import kotlin.time.ExperimentalTime
@@ -171,6 +171,9 @@ class CawsConnectionProvider : GatewayConnectionProvider {
                         val cawsClient = connectionSettings.awsClient<CodeCatalystClient>()
                         val environmentActions = WorkspaceActions(spaceName, projectName, envId, cawsClient)
                         val executor = CawsCommandExecutor(cawsClient, envId, spaceName, projectName)
+                        lifetime.onTermination {
+                            ApplicationManager.getApplication().executeOnPooledThread { executor.closeSharedConnection() }
+                        }
 
                         // should probably consider logging output to logger as well
                         // on failure we should display meaningful error and put retry button somewhere
@@ -421,7 +424,7 @@ class CawsConnectionProvider : GatewayConnectionProvider {
         gitSettings: GitSettings,
         toolkitInstallSettings: ToolkitInstallSettings,
     ): AsyncPromise<Unit> {
-        val remoteScriptPath = "/tmp/${UUID.randomUUID()}"
+        val remoteScriptPath = REMOTE_SCRIPT_DIR
         val remoteProjectName = (gitSettings as? GitSettings.GitRepoSettings)?.repoName
 
         val steps = buildList {
@@ -445,7 +448,7 @@ class CawsConnectionProvider : GatewayConnectionProvider {
             when (toolkitInstallSettings) {
                 is ToolkitInstallSettings.None -> {}
                 is ToolkitInstallSettings.UseSelf -> {
-                    add(installBundledPluginBackend(executor, remoteScriptPath, IDE_BACKEND_DIR))
+                    add(installBundledPluginBackend(executor, IDE_BACKEND_DIR))
                 }
                 is ToolkitInstallSettings.UseArbitraryLocalPath -> {
                     add(InstallLocalPluginBackend(toolkitInstallSettings, executor, remoteScriptPath, IDE_BACKEND_DIR))
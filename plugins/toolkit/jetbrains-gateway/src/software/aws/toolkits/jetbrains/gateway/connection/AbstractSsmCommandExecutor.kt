@@ -20,7 +20,20 @@ import software.aws.toolkits.jetbrains.gateway.GitWrappers
 import java.nio.file.Path
 import java.time.Duration
 
-abstract class AbstractSsmCommandExecutor(private val region: AwsRegion, protected val ssmTarget: String) {
+/**
+ * Runs commands on [ssmTarget] over SSM sessions.
+ *
+ * Short-lived SSH and SCP commands share one connection through [multiplexer] when supported, so the steps of a workflow pay for session
+ * setup once instead of per command. Long-lived commands such as port forwards always get their own session.
+ */
+abstract class AbstractSsmCommandExecutor(
+    private val region: AwsRegion,
+    protected val ssmTarget: String,
+    private val multiplexer: SshConnectionMultiplexer? = if (SshConnectionMultiplexer.isSupported()) SshConnectionMultiplexer(ssmTarget) else null,
+) {
+    @Volatile
+    private var multiplexedSession: StartSessionResponse? = null
+
     abstract fun startSsh(): StartSessionResponse
 
     /**
@@ -33,7 +46,7 @@ abstract class AbstractSsmCommandExecutor(private val region: AwsRegion, protect
     }
 
     fun executeLongLivedSshCommandLine(builder: (SshCommandLine) -> Unit): ProcessHandler {
-        val sshCommand = newSshCommand().also {
+        val sshCommand = newSshCommand(multiplexed = false).also {
             builder.invoke(it)
         }
         val id = sshCommand.hashCode()
@@ -60,10 +73,30 @@ abstract class AbstractSsmCommandExecutor(private val region: AwsRegion, protect
             builder.invoke(it)
         }.constructCommandLine()
 
-    fun executeSshCommand(builder: (SshCommandLine) -> Unit): ProcessOutput =
-        newSshCommand().also {
+    fun executeSshCommand(builder: (SshCommandLine) -> Unit): ProcessOutput = executeMultiplexed { multiplexed ->
+        newSshCommand(multiplexed).also {
             builder.invoke(it)
-        }.executeAndGetOutput()
+        }.constructCommandLine()
+    }
+
+    /**
+     * Runs the command built by [command] over the shared connection, falling back to a connection of its own if ssh fails to connect. The
+     * master may have gone away after it was checked, and the command would have needed a session of its own. A remote command can exit with
+     * 255 too and must not be run twice, so the command is only retried when the master is gone or ssh reported a connection error.
+     */
+    private fun executeMultiplexed(timeout: Duration? = null, command: (multiplexed: Boolean) -> GeneralCommandLine): ProcessOutput {
+        val timeoutMs = timeout?.toMillis()?.toInt() ?: -1
+        val output = ExecUtil.execAndGetOutput(command(true), timeoutMs)
+        if (multiplexer == null || output.exitCode != SSH_CONNECTION_ERROR) {
+            return output
+        }
+        if (!SshConnectionMultiplexer.isConnectionError(output.stderr) && multiplexer.isMasterRunning()) {
+            return output
+        }
+
+        LOG.warn { "SSH command over the shared connection to $ssmTarget failed to connect, retrying with its own connection" }
+        return ExecUtil.execAndGetOutput(command(false), timeoutMs)
+    }
 
     fun executeCommandNonInteractive(exe: String, vararg args: String, timeout: Duration? = null) = startSsm(exe, *args).let {
         SsmCommandExecutorOutput(
@@ -74,8 +107,19 @@ abstract class AbstractSsmCommandExecutor(private val region: AwsRegion, protect
 
     fun remoteDirectoryExistsUnsafe(path: String): Boolean = remoteDirectoryExists(path, null) ?: false
 
-    fun remoteDirectoryExists(path: String, timeout: Duration?): Boolean? =
-        executeCommandNonInteractive("sh", "-c", "test -d '$path' && echo true || echo false", timeout = timeout).let {
+    fun remoteDirectoryExists(path: String, timeout: Duration?): Boolean? {
+        val command = "test -d '$path' && echo true || echo false"
+        if (multiplexer?.isMasterRunning() == true) {
+            // relay over the shared connection instead of starting a new session
+            val output = executeMultiplexed(timeout) { multiplexed -> newSshCommand(multiplexed).addToRemoteCommand(command).constructCommandLine() }
+            when (output.stdout.trim()) {
+                "true" -> return true
+                "false" -> return false
+                else -> LOG.warn { "remoteDirectoryExists over the shared connection exited with ${output.exitCode}, falling back to SSM" }
+            }
+        }
+
+        return executeCommandNonInteractive("sh", "-c", command, timeout = timeout).let {
             val result = it.resultFromStdOut()
             when (result) {
                 StdOutResult.TIMEOUT -> {
@@ -98,6 +142,7 @@ abstract class AbstractSsmCommandExecutor(private val region: AwsRegion, protect
                 }
             }
         }
+    }
 
     fun buildGitCloneCommand(remoteScriptPath: String, gitSettings: GitSettings.CloneGitSettings): GeneralCommandLine {
         val repoUri = gitSettings.repo
@@ -156,15 +201,53 @@ abstract class AbstractSsmCommandExecutor(private val region: AwsRegion, protect
     }
 
     fun buildScpCommand(remotePath: String, recursive: Boolean, vararg paths: Path): GeneralCommandLine =
-        SsmCommandLineFactory(ssmTarget, startSsh(), region).scpCommand(remotePath, recursive)
+        SsmCommandLineFactory(ssmTarget, multiplexedSession(), region).scpCommand(remotePath, recursive, verbose = multiplexer == null)
+            .also { cmd -> multiplexer?.let { cmd.addSshOption(*it.options().toTypedArray()) } }
             .addLocalPaths(*paths).constructCommandLine()
 
-    private fun newSshCommand() = SsmCommandLineFactory(ssmTarget, startSsh(), region).sshCommand()
+    /**
+     * A master connection started by a multiplexed command keeps running in the background, and keeps the command's stderr open if it logs
+     * debug output there. Multiplexed commands are not verbose, otherwise reading their output would not finish until the master exits.
+     */
+    private fun newSshCommand(multiplexed: Boolean = true): SshCommandLine {
+        val session = if (multiplexed) multiplexedSession() else startSsh()
+        val options = multiplexer?.takeIf { multiplexed }?.options()
+        return SsmCommandLineFactory(ssmTarget, session, region).sshCommand(verbose = options == null).also { cmd ->
+            options?.let { cmd.addSshOption(*it.toTypedArray()) }
+        }
+    }
+
+    /**
+     * The proxy command of a multiplexed command is only run when there is no master connection to relay over, so no session is started while
+     * the master is alive. The command is given the session the master was started with, or a placeholder if it is unknown.
+     */
+    private fun multiplexedSession(): StartSessionResponse {
+        if (multiplexer == null) {
+            return startSsh()
+        }
+        if (multiplexer.isMasterRunning()) {
+            return multiplexedSession ?: UNUSED_SESSION
+        }
+        return startSsh().also { multiplexedSession = it }
+    }
+
+    /**
+     * Stops the connection shared by multiplexed commands
+     */
+    fun closeSharedConnection() {
+        multiplexedSession = null
+        multiplexer?.close()
+    }
 
     fun proxyCommand() = SsmCommandLineFactory(ssmTarget, startSsh(), region).proxyCommand()
 
     private companion object {
         private val LOG = getLogger<AbstractSsmCommandExecutor>()
+
+        // ssh exits with 255 when it could not connect, otherwise it exits with the status of the remote command
+        private const val SSH_CONNECTION_ERROR = 255
+
+        private val UNUSED_SESSION = StartSessionResponse("unused", "", "")
     }
 }
 
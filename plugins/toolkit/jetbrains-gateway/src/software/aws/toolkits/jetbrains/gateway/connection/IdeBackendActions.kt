@@ -35,6 +35,9 @@ const val IDE_BACKEND_DIR = "/aws/mde/ide-runtimes/jetbrains/runtime/"
 val GET_IDE_BACKEND_VERSION_COMMAND = "cat $IDE_BACKEND_DIR/build.txt"
 private const val REMOTE_SERVER_CMD = "$IDE_BACKEND_DIR/bin/remote-dev-server.sh"
 
+// stable across connections so scripts that are already up to date are not copied again
+const val REMOTE_SCRIPT_DIR = "/tmp/aws-toolkit-gateway-scripts"
+
 class IdeBackendActions(
     private val remoteScriptPath: String,
     projectName: String?,
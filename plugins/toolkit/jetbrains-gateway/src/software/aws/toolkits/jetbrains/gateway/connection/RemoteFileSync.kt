@@ -0,0 +1,163 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.gateway.connection
+
+import com.intellij.execution.configurations.GeneralCommandLine
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.openapi.util.text.StringUtil
+import com.intellij.util.io.Compressor
+import com.intellij.util.io.DigestUtil
+import software.aws.toolkit.core.utils.debug
+import software.aws.toolkit.core.utils.getLogger
+import java.nio.file.Files
+import java.nio.file.Path
+import kotlin.io.path.invariantSeparatorsPathString
+import kotlin.io.path.isRegularFile
+import kotlin.streams.asSequence
+
+/**
+ * Copies local files to [remoteDir], sending only the files that changed since the last sync.
+ *
+ * The remote directory keeps a manifest with the SHA-256 of every file synced to it. Local files are hashed and compared against it, and the
+ * changed files are sent as one tar.gz streamed to a single SSH command, so the size of the payload is not limited by the command line.
+ * Files that are no longer present locally are removed, and a directory without a manifest, or whose files no longer match it, is replaced
+ * entirely.
+ *
+ * @param isExecutable whether the file at a relative path must be executable on the remote, the local file system may not record it
+ */
+class RemoteFileSync(
+    private val executor: AbstractSsmCommandExecutor,
+    private val remoteDir: String,
+    private val isExecutable: (String) -> Boolean = { false },
+) {
+    init {
+        require(remoteDir.trimEnd('/').isNotEmpty()) { "Remote directory must not be the root" }
+    }
+
+    /**
+     * @param files local files keyed by their path relative to [remoteDir]
+     * @return the command that applies the changes, or null if [remoteDir] is already up to date
+     */
+    fun buildSyncCommand(files: Map<String, Path>): GeneralCommandLine? {
+        val plan = plan(readRemoteManifest(), hash(files), files.keys.filter(isExecutable).toSet())
+        if (plan.isUpToDate) {
+            LOG.debug { "$remoteDir is up to date" }
+            return null
+        }
+        LOG.debug { "Syncing ${plan.changed.size} changed and ${plan.removed.size} removed files to $remoteDir" }
+
+        val archive = FileUtil.createTempFile("aws-sync", ".tar.gz", true).toPath()
+        writeArchive(archive, plan, files)
+
+        return executor.buildSshCommand { it.addToRemoteCommand(extractCommand(remoteDir, plan)) }.withInput(archive.toFile())
+    }
+
+    private fun readRemoteManifest(): Map<String, String>? {
+        val output = executor.executeSshCommand { it.addToRemoteCommand(readManifestCommand(remoteDir)) }
+        if (output.exitCode != 0) {
+            LOG.debug { "Could not read the manifest in $remoteDir (exit code ${output.exitCode}), syncing all files" }
+            return null
+        }
+        return parseRemoteManifest(output.stdout)
+    }
+
+    /**
+     * @property manifest hash of every local file, to be written to the remote directory once the sync is done
+     * @property changed files that are missing or differ on the remote
+     * @property removed files that are on the remote but no longer present locally
+     * @property replace whether the remote directory has no manifest, and so unknown content that must be cleared first
+     * @property executable files to make executable once extracted
+     */
+    data class Plan(
+        val manifest: Map<String, String>,
+        val changed: Set<String>,
+        val removed: Set<String>,
+        val replace: Boolean,
+        val executable: Set<String> = emptySet(),
+    ) {
+        val isUpToDate: Boolean
+            get() = !replace && changed.isEmpty() && removed.isEmpty()
+    }
+
+    companion object {
+        private val LOG = getLogger<RemoteFileSync>()
+        internal const val MANIFEST = ".aws-sync-manifest"
+        internal const val REMOVED = ".aws-sync-removed"
+        internal const val EXECUTABLE = ".aws-sync-executable"
+        private const val NO_MANIFEST = "<no manifest>"
+
+        /**
+         * @return the regular files under [dir], keyed by their path relative to it
+         */
+        fun filesIn(dir: Path): Map<String, Path> = Files.walk(dir).use { paths ->
+            paths.asSequence()
+                .filter { it.isRegularFile() }
+                .associateBy { dir.relativize(it).invariantSeparatorsPathString }
+                .toSortedMap()
+        }
+
+        internal fun hash(files: Map<String, Path>): Map<String, String> = files.mapValues { (_, file) ->
+            val digest = DigestUtil.sha256()
+            DigestUtil.updateContentHash(digest, file)
+            StringUtil.toHexString(digest.digest())
+        }
+
+        /**
+         * @param remote the remote manifest, null if the remote directory has none
+         */
+        internal fun plan(remote: Map<String, String>?, local: Map<String, String>, executable: Set<String> = emptySet()): Plan {
+            val changed = local.filter { (path, hash) -> remote?.get(path) != hash }.keys
+            val removed = remote?.keys?.minus(local.keys).orEmpty()
+            return Plan(local, changed, removed, replace = remote == null, executable = executable)
+        }
+
+        /**
+         * Prints the remote manifest, or [NO_MANIFEST] if there is none or the files no longer match it, e.g. after being edited on the remote
+         */
+        internal fun readManifestCommand(remoteDir: String): String =
+            "cd '${remoteDir.trimEnd('/')}' 2>/dev/null && sha256sum -c --quiet $MANIFEST >/dev/null 2>&1 && cat $MANIFEST || echo $NO_MANIFEST"
+
+        /**
+         * @param output the output of [readManifestCommand]
+         */
+        internal fun parseRemoteManifest(output: String): Map<String, String>? = output.takeUnless { it.trim() == NO_MANIFEST }?.let { parseManifest(it) }
+
+        // same layout as sha256sum, so the remote directory is verified with `sha256sum -c` before the manifest is trusted
+        internal fun parseManifest(content: String): Map<String, String> = content.lineSequence()
+            .filter { it.isNotBlank() }
+            .associate { it.substringAfter("  ") to it.substringBefore("  ") }
+
+        internal fun formatManifest(manifest: Map<String, String>): String =
+            manifest.toSortedMap().entries.joinToString("") { (path, hash) -> "$hash  $path\n" }
+
+        internal fun writeArchive(archive: Path, plan: Plan, files: Map<String, Path>) {
+            Compressor.Tar(archive, Compressor.Tar.Compression.GZIP).use { tar ->
+                plan.changed.forEach { tar.addFile(it, files.getValue(it)) }
+                if (plan.removed.isNotEmpty()) {
+                    tar.addFile(REMOVED, plan.removed.joinToString("") { "$it\n" }.toByteArray())
+                }
+                // the whole list, so modes lost by an earlier sync are restored as well
+                if (plan.executable.isNotEmpty()) {
+                    tar.addFile(EXECUTABLE, plan.executable.joinToString("") { "$it\n" }.toByteArray())
+                }
+                // only replaces the remote manifest after everything else is in place
+                tar.addFile("$MANIFEST.new", formatManifest(plan.manifest).toByteArray())
+            }
+        }
+
+        internal fun extractCommand(remoteDir: String, plan: Plan): String {
+            val dir = "'${remoteDir.trimEnd('/')}'"
+            return buildString {
+                append("set -e; ")
+                if (plan.replace) {
+                    append("rm -rf $dir; ")
+                }
+                append("mkdir -p $dir && cd $dir && tar xzf - && ")
+                append("if [ -f $REMOVED ]; then while IFS= read -r f; do rm -f -- \"\$f\"; done < $REMOVED; rm -f $REMOVED; fi && ")
+                append("if [ -f $EXECUTABLE ]; then while IFS= read -r f; do chmod +x -- \"\$f\"; done < $EXECUTABLE; rm -f $EXECUTABLE; fi && ")
+                append("mv -f $MANIFEST.new $MANIFEST")
+            }
+        }
+    }
+}
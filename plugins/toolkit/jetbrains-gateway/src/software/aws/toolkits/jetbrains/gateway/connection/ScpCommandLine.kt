@@ -9,11 +9,15 @@ import com.intellij.openapi.util.SystemInfo
 import org.jetbrains.annotations.TestOnly
 import java.nio.file.Path
 
+/**
+ * @param verbose whether scp logs debug output to stderr
+ */
 open class ScpCommandLine(
     remoteHost: String,
     remotePath: String,
     recursive: Boolean = false,
     port: Int? = null,
+    verbose: Boolean = true,
 ) {
     private val sshOptions = ParamsGroup(SSH_OPTIONS)
     private val localPaths = ParamsGroup(LOCAL_PATHS)
@@ -31,7 +35,9 @@ open class ScpCommandLine(
         // TODO: requires openssh7.6+, but al2 only ships 7.4 for fips. probably need to manually run ssh-keyscan
         // ideally should be accept-new
         addSshOption("-o", "StrictHostKeyChecking=no")
-        addSshOption("-v")
+        if (verbose) {
+            addSshOption("-v")
+        }
 
         port?.let {
             // unlike SSH, port is capitalized
@@ -15,7 +15,10 @@ import com.intellij.util.io.BaseOutputReader
 import org.jetbrains.annotations.TestOnly
 import java.nio.file.Path
 
-open class SshCommandLine(private val target: String, port: Int? = null) {
+/**
+ * @param verbose whether ssh logs debug output to stderr
+ */
+open class SshCommandLine(private val target: String, port: Int? = null, verbose: Boolean = true) {
     private val sshOptions = ParamsGroup(SSH_OPTIONS)
     private val remoteCommand = ParamsGroup(REMOTE_COMMAND)
     private val additionalEnvironment = mutableMapOf<String, String>()
@@ -24,7 +27,9 @@ open class SshCommandLine(private val target: String, port: Int? = null) {
         // TODO: requires openssh7.6+, but al2 only ships 7.4 for fips. probably need to manually run ssh-keyscan
         // ideally should be accept-new
         addSshOption("-o", "StrictHostKeyChecking=no")
-        addSshOption("-v")
+        if (verbose) {
+            addSshOption("-v")
+        }
         port?.let {
             addSshOption("-p", it.toString())
         }
@@ -0,0 +1,92 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.gateway.connection
+
+import com.intellij.execution.configurations.GeneralCommandLine
+import com.intellij.execution.util.ExecUtil
+import com.intellij.openapi.util.SystemInfo
+import com.intellij.openapi.util.io.FileUtil
+import software.aws.toolkit.core.utils.getLogger
+import software.aws.toolkit.core.utils.tryOrNull
+import software.aws.toolkit.core.utils.warn
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+/**
+ * Shares a single SSH connection, and so a single SSM session, between the SSH and SCP commands run against [target] using OpenSSH
+ * connection multiplexing.
+ *
+ * The first command to connect becomes the master and keeps running in the background until it has been idle for [persist], later commands
+ * are relayed over its control socket without starting a session of their own. The Windows OpenSSH client does not support multiplexing.
+ */
+class SshConnectionMultiplexer(
+    private val target: String,
+    private val persist: Duration = DEFAULT_PERSIST,
+    private val socketRoot: Path = Path.of(SOCKET_ROOT),
+) {
+    private var controlDir: Path? = null
+
+    /**
+     * OpenSSH options to add to the SSH and SCP commands that should share the connection
+     */
+    fun options(): List<String> = listOf(
+        "-o",
+        "ControlMaster=auto",
+        "-o",
+        "ControlPath=${controlPath()}",
+        "-o",
+        "ControlPersist=${persist.seconds}",
+    )
+
+    fun isMasterRunning(): Boolean {
+        val dir = synchronized(this) { controlDir } ?: return false
+        return tryOrNull { ExecUtil.execAndGetOutput(control(dir, "check"), CONTROL_TIMEOUT_MS).exitCode == 0 } ?: false
+    }
+
+    /**
+     * Stops the master connection, if any. A later command starts a new one.
+     */
+    fun close() {
+        val dir = synchronized(this) { controlDir.also { controlDir = null } } ?: return
+        try {
+            ExecUtil.execAndGetOutput(control(dir, "exit"), CONTROL_TIMEOUT_MS)
+        } catch (e: Exception) {
+            LOG.warn(e) { "Failed to stop the SSH master connection to $target" }
+        } finally {
+            FileUtil.delete(dir)
+        }
+    }
+
+    // unix socket paths are limited to ~100 characters, %C expands to a 40 character hash of the connection
+    private fun controlPath(): String = synchronized(this) {
+        (controlDir ?: Files.createTempDirectory(socketRoot, "aws-ssh").also { controlDir = it }).resolve("%C").toString()
+    }
+
+    private fun control(dir: Path, command: String) = GeneralCommandLine("ssh", "-o", "ControlPath=${dir.resolve("%C")}", "-O", command, target)
+
+    companion object {
+        private val LOG = getLogger<SshConnectionMultiplexer>()
+        private val DEFAULT_PERSIST = Duration.ofSeconds(60)
+        private const val CONTROL_TIMEOUT_MS = 5_000
+
+        // the default temp directory on macOS is too long for a unix socket path
+        private const val SOCKET_ROOT = "/tmp"
+
+        // what ssh prints when it can't reach the master or the host, as opposed to output of the remote command
+        private val CONNECTION_ERROR = Regex(
+            "^(ssh: |kex_exchange_identification: |ssh_exchange_identification: |Connection (closed|reset|timed out|refused)|mux_client_|muxclient: |" +
+                "Control ?[Ss]ocket |ControlPath )",
+            RegexOption.MULTILINE
+        )
+
+        fun isSupported() = !SystemInfo.isWindows
+
+        /**
+         * Whether the [stderr] of an ssh command that exited with 255 shows that it failed to connect, rather than the remote command exiting
+         * with 255
+         */
+        fun isConnectionError(stderr: String) = CONNECTION_ERROR.containsMatchIn(stderr)
+    }
+}
@@ -26,16 +26,16 @@ class SsmCommandLineFactory(
     private val region: AwsRegion,
     private val overrideSsmPlugin: String? = null,
 ) {
-    fun sshCommand(): SshCommandLine {
-        val command = SshCommandLine(ssmTarget)
+    fun sshCommand(verbose: Boolean = true): SshCommandLine {
+        val command = SshCommandLine(ssmTarget, verbose = verbose)
         command.addSshOption("-o", "ProxyCommand=${proxyCommand()}")
         command.addSshOption("-o", "ServerAliveInterval=60")
 
         return command
     }
 
-    fun scpCommand(remotePath: String, recursive: Boolean = false): ScpCommandLine {
-        val command = ScpCommandLine(ssmTarget, remotePath, recursive)
+    fun scpCommand(remotePath: String, recursive: Boolean = false, verbose: Boolean = true): ScpCommandLine {
+        val command = ScpCommandLine(ssmTarget, remotePath, recursive, verbose = verbose)
         command.addSshOption("-o", "ProxyCommand=${proxyCommand()}")
 
         return command
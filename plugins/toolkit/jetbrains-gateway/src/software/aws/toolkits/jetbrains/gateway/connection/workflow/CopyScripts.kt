@@ -4,31 +4,38 @@
 package software.aws.toolkits.jetbrains.gateway.connection.workflow
 
 import com.intellij.execution.configurations.GeneralCommandLine
+import com.intellij.openapi.util.io.FileUtil
+import com.intellij.util.io.Decompressor
 import software.aws.toolkit.jetbrains.AwsPlugin
 import software.aws.toolkit.jetbrains.AwsToolkit
+import software.aws.toolkits.jetbrains.gateway.connection.RemoteFileSync
 import software.aws.toolkits.jetbrains.gateway.connection.caws.CawsCommandExecutor
+import software.aws.toolkits.jetbrains.utils.execution.steps.CliBasedStep
 import software.aws.toolkits.jetbrains.utils.execution.steps.Context
 import software.aws.toolkits.resources.message
-import java.util.Base64
-import kotlin.io.path.readBytes
 
+/**
+ * Syncs the gateway scripts to [remoteScriptPath], skipped if the scripts there are already up to date
+ */
 class CopyScripts(
     private val remoteScriptPath: String,
     private val remoteCommandExecutor: CawsCommandExecutor,
-) : PtyCliBasedStep() {
+) : CliBasedStep() {
     override val stepName: String = message("gateway.connection.workflow.copy_scripts")
 
-    override fun constructCommandLine(context: Context): GeneralCommandLine =
-        remoteCommandExecutor.buildSshCommand {
-            it.addSshOption("-e", "none")
-            if (SCRIPTS == null) return@buildSshCommand
-            val b64 = Base64.getEncoder().encodeToString(SCRIPTS.readBytes())
-            it.addToRemoteCommand(
-                "set -x; mkdir -p \"$remoteScriptPath\" && cd \"$remoteScriptPath\" && (echo -n '$b64' | base64 -d | tar xvvzf -)"
-            )
-        }
+    override fun constructCommandLine(context: Context): GeneralCommandLine? {
+        val scripts = SCRIPTS ?: return null
+        // every script is executable, see generateTar in the build script, but the mode is lost when they are extracted on Windows
+        return RemoteFileSync(remoteCommandExecutor, remoteScriptPath, isExecutable = { true }).buildSyncCommand(scripts)
+    }
 
     private companion object {
-        private val SCRIPTS = AwsToolkit.PLUGINS_INFO.getValue(AwsPlugin.TOOLKIT).path?.resolve("gateway-resources")?.resolve("scripts.tar.gz")
+        private val SCRIPTS by lazy {
+            val archive = AwsToolkit.PLUGINS_INFO.getValue(AwsPlugin.TOOLKIT).path?.resolve("gateway-resources")?.resolve("scripts.tar.gz")
+                ?: return@lazy null
+            val dir = FileUtil.createTempDirectory("aws-gateway-scripts", null, true).toPath()
+            Decompressor.Tar(archive).extract(dir)
+            RemoteFileSync.filesIn(dir)
+        }
     }
 }
@@ -6,7 +6,6 @@ package software.aws.toolkits.jetbrains.gateway.connection.workflow
 import com.intellij.execution.configurations.GeneralCommandLine
 import com.intellij.ide.plugins.PluginManager
 import com.intellij.openapi.util.text.StringUtil
-import com.intellij.util.io.Compressor
 import com.intellij.util.io.DigestUtil
 import com.intellij.util.io.HttpRequests
 import software.amazon.awssdk.regions.Region
@@ -21,15 +20,13 @@ import software.aws.toolkits.jetbrains.gateway.GatewayProduct
 import software.aws.toolkits.jetbrains.gateway.ToolkitInstallSettings
 import software.aws.toolkits.jetbrains.gateway.connection.AbstractSsmCommandExecutor
 import software.aws.toolkits.jetbrains.gateway.connection.GET_IDE_BACKEND_VERSION_COMMAND
+import software.aws.toolkits.jetbrains.gateway.connection.RemoteFileSync
 import software.aws.toolkits.jetbrains.utils.execution.steps.CliBasedStep
 import software.aws.toolkits.jetbrains.utils.execution.steps.Context
 import software.aws.toolkits.jetbrains.utils.execution.steps.Step
-import software.aws.toolkits.jetbrains.utils.execution.steps.StepWorkflow
 import software.aws.toolkits.resources.message
-import java.io.File
 import java.nio.file.Path
 import java.time.Duration
-import java.util.UUID
 
 abstract class InstallPluginBackend(
     protected val commandExecutor: AbstractSsmCommandExecutor,
@@ -126,44 +123,26 @@ abstract class InstallPluginBackend(
     }
 }
 
+/**
+ * Syncs the plugin this is running from straight into the plugins directory of the IDE backend, so only the files that changed since the
+ * last install are transferred
+ */
 fun installBundledPluginBackend(
     commandExecutor: AbstractSsmCommandExecutor,
-    remoteScriptPath: String,
     idePath: String,
-): Step {
-    val remotePluginPath = "/tmp/${UUID.randomUUID()}.zip"
-
-    return object : StepWorkflow(
-        ZipAndCopyBundledPlugin(remotePluginPath, commandExecutor),
-        InstallBundledPluginBackend(remotePluginPath, commandExecutor, remoteScriptPath, idePath)
-    ) {
-        override val stepName = "Install pre-GA development build (this will take a while)"
-    }
-}
+): Step = SyncBundledPlugin(commandExecutor, idePath)
 
-private class ZipAndCopyBundledPlugin(
-    private val remotePluginPath: String,
+private class SyncBundledPlugin(
     private val commandExecutor: AbstractSsmCommandExecutor,
+    private val idePath: String,
 ) : CliBasedStep() {
-    override val stepName: String = "Zip and copy bundled plugin"
+    override val stepName = "Install pre-GA development build (this will take a while)"
+
     override fun constructCommandLine(context: Context): GeneralCommandLine? {
-        val pluginPath = PluginManager.getPluginByClass(InstallBundledPluginBackend::class.java)?.pluginPath
+        val pluginPath = PluginManager.getPluginByClass(SyncBundledPlugin::class.java)?.pluginPath
             ?: throw RuntimeException("Could not determine AWS Toolkit plugin path")
-        val zipPath = File.createTempFile("toolkit", "zip")
-        val zip = Compressor.Zip(zipPath)
-        zip.use {
-            it.addDirectory(pluginPath.fileName.toString(), pluginPath)
-        }
+        val remotePluginPath = "${idePath.trimEnd('/')}/plugins/${pluginPath.fileName}"
 
-        return commandExecutor.buildScpCommand(remotePluginPath, false, zipPath.toPath())
+        return RemoteFileSync(commandExecutor, remotePluginPath).buildSyncCommand(RemoteFileSync.filesIn(pluginPath))
     }
 }
-
-private class InstallBundledPluginBackend(
-    private val remotePluginPath: String,
-    commandExecutor: AbstractSsmCommandExecutor,
-    remoteScriptPath: String,
-    idePath: String,
-) : InstallPluginBackend(commandExecutor, remoteScriptPath, idePath) {
-    override fun buildDownloadUrl(): String? = "file://$remotePluginPath"
-}
@@ -0,0 +1,130 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.gateway.connection
+
+import com.intellij.execution.configurations.GeneralCommandLine
+import com.intellij.execution.util.ExecUtil
+import com.intellij.openapi.util.SystemInfo
+import com.intellij.testFramework.ApplicationRule
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Assume.assumeFalse
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import java.nio.file.Path
+import kotlin.io.path.createDirectories
+import kotlin.io.path.exists
+import kotlin.io.path.isExecutable
+import kotlin.io.path.readText
+import kotlin.io.path.writeText
+
+class RemoteFileSyncTest {
+    @Rule
+    @JvmField
+    val applicationRule = ApplicationRule()
+
+    @Rule
+    @JvmField
+    val tempFolder = TemporaryFolder()
+
+    @Test
+    fun `only changed and removed files are synced`() {
+        val plan = RemoteFileSync.plan(
+            remote = mapOf("same" to "1", "changed" to "2", "removed" to "3"),
+            local = mapOf("same" to "1", "changed" to "4", "added" to "5"),
+        )
+
+        assertThat(plan.changed).containsExactlyInAnyOrder("changed", "added")
+        assertThat(plan.removed).containsExactly("removed")
+        assertThat(plan.replace).isFalse()
+        assertThat(plan.isUpToDate).isFalse()
+    }
+
+    @Test
+    fun `nothing is synced when the manifests match`() {
+        val hashes = RemoteFileSync.hash(RemoteFileSync.filesIn(localFiles("a" to "a", "dir/b" to "b")))
+
+        val plan = RemoteFileSync.plan(RemoteFileSync.parseManifest(RemoteFileSync.formatManifest(hashes)), hashes)
+
+        assertThat(plan.isUpToDate).isTrue()
+    }
+
+    @Test
+    fun `directory without a manifest is replaced`() {
+        val plan = RemoteFileSync.plan(remote = null, local = emptyMap())
+
+        assertThat(plan.isUpToDate).isFalse()
+        assertThat(RemoteFileSync.extractCommand("/remote/dir/", plan)).contains("rm -rf '/remote/dir';")
+    }
+
+    @Test
+    fun `extracting the archive applies the changes`() {
+        assumeFalse(SystemInfo.isWindows)
+        val remote = tempFolder.newFolder("remote").toPath()
+        sync(remote, "unchanged" to "same", "changed" to "old", "removed" to "old")
+
+        val synced = sync(remote, "unchanged" to "same", "changed" to "new", "nested/added" to "new")
+
+        assertThat(synced.changed).containsExactlyInAnyOrder("changed", "nested/added")
+        assertThat(remote.resolve("changed").readText()).isEqualTo("new")
+        assertThat(remote.resolve("nested/added").readText()).isEqualTo("new")
+        assertThat(remote.resolve("removed").exists()).isFalse()
+        assertThat(remote.resolve(RemoteFileSync.REMOVED).exists()).isFalse()
+        assertThat(RemoteFileSync.parseManifest(remote.resolve(RemoteFileSync.MANIFEST).readText()))
+            .containsOnlyKeys("unchanged", "changed", "nested/added")
+    }
+
+    @Test
+    fun `executable files are executable once extracted`() {
+        assumeFalse(SystemInfo.isWindows)
+        val remote = tempFolder.newFolder("remote").toPath()
+
+        sync(remote, "script.sh" to "echo", "data" to "data", executable = setOf("script.sh"))
+
+        assertThat(remote.resolve("script.sh").isExecutable()).isTrue()
+        assertThat(remote.resolve("data").isExecutable()).isFalse()
+        assertThat(remote.resolve(RemoteFileSync.EXECUTABLE).exists()).isFalse()
+    }
+
+    @Test
+    fun `manifest is only trusted while the remote files match it`() {
+        assumeFalse(SystemInfo.isWindows)
+        val remote = tempFolder.newFolder("remote").toPath()
+        sync(remote, "a" to "a", "dir/b" to "b")
+        assertThat(readManifest(remote)).containsOnlyKeys("a", "dir/b")
+
+        remote.resolve("dir/b").writeText("edited")
+
+        assertThat(readManifest(remote)).isNull()
+        assertThat(readManifest(remote.resolve("missing"))).isNull()
+    }
+
+    private fun readManifest(remoteDir: Path): Map<String, String>? {
+        val output = ExecUtil.execAndGetOutput(GeneralCommandLine("sh", "-c", RemoteFileSync.readManifestCommand(remoteDir.toString())))
+        return RemoteFileSync.parseRemoteManifest(output.stdout)
+    }
+
+    // stands in for the remote host by running the extract command against a local directory
+    private fun sync(remoteDir: Path, vararg files: Pair<String, String>, executable: Set<String> = emptySet()): RemoteFileSync.Plan {
+        val local = RemoteFileSync.filesIn(localFiles(*files))
+        val plan = RemoteFileSync.plan(readManifest(remoteDir), RemoteFileSync.hash(local), executable)
+        val archive = tempFolder.newFile().toPath()
+        RemoteFileSync.writeArchive(archive, plan, local)
+
+        val output = ExecUtil.execAndGetOutput(
+            GeneralCommandLine("sh", "-c", RemoteFileSync.extractCommand(remoteDir.toString(), plan)).withInput(archive.toFile())
+        )
+
+        assertThat(output.exitCode).withFailMessage(output.stderr).isZero()
+        return plan
+    }
+
+    private fun localFiles(vararg files: Pair<String, String>): Path {
+        val dir = tempFolder.newFolder().toPath()
+        files.forEach { (path, content) ->
+            dir.resolve(path).also { it.parent.createDirectories() }.writeText(content)
+        }
+        return dir
+    }
+}
@@ -0,0 +1,145 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.gateway.connection
+
+import com.intellij.testFramework.ApplicationRule
+import org.assertj.core.api.Assertions.assertThat
+import org.junit.Assume.assumeTrue
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import software.aws.toolkit.core.region.AwsRegion
+import software.aws.toolkits.jetbrains.core.tools.MockToolManagerRule
+import software.aws.toolkits.jetbrains.core.tools.Tool
+import software.aws.toolkits.jetbrains.services.ssm.SsmPlugin
+import java.nio.file.Path
+import java.time.Duration
+import kotlin.io.path.exists
+import kotlin.io.path.listDirectoryEntries
+
+class SshConnectionMultiplexerTest {
+    @Rule
+    @JvmField
+    val applicationRule = ApplicationRule()
+
+    @Rule
+    @JvmField
+    val tempFolder = TemporaryFolder()
+
+    @Rule
+    @JvmField
+    val toolManager = MockToolManagerRule()
+
+    @Test
+    fun `commands share a control socket that persists while idle`() {
+        val sut = SshConnectionMultiplexer("target", persist = Duration.ofSeconds(30), socketRoot = tempFolder.root.toPath())
+
+        val options = sut.options()
+
+        val controlDir = tempFolder.root.toPath().listDirectoryEntries().single()
+        assertThat(options).containsSequence("-o", "ControlMaster=auto")
+        assertThat(options).containsSequence("-o", "ControlPath=${controlDir.resolve("%C")}")
+        assertThat(options).containsSequence("-o", "ControlPersist=30")
+        assertThat(sut.options()).isEqualTo(options)
+    }
+
+    @Test
+    fun `closing removes the control socket directory`() {
+        val sut = SshConnectionMultiplexer("target", socketRoot = tempFolder.root.toPath())
+        assertThat(sut.isMasterRunning()).isFalse()
+
+        sut.options()
+        val controlDir = tempFolder.root.toPath().listDirectoryEntries().single()
+        sut.close()
+
+        assertThat(controlDir.exists()).isFalse()
+        assertThat(sut.isMasterRunning()).isFalse()
+    }
+
+    @Test
+    fun `no session is started while the master connection is running`() {
+        val executor = executor(mock { on { isMasterRunning() } doReturn true })
+
+        executor.buildScpCommand("remote", false, Path.of("local"))
+        executor.buildSshCommand { it.addToRemoteCommand("ls") }
+
+        assertThat(executor.sessions).isEqualTo(0)
+    }
+
+    @Test
+    fun `session of the master connection is reused while it is running`() {
+        var running = false
+        val executor = executor(mock { on { isMasterRunning() } doAnswer { running } })
+
+        executor.buildSshCommand { it.addToRemoteCommand("ls") }
+        running = true
+        val command = executor.buildSshCommand { it.addToRemoteCommand("ls") }
+
+        assertThat(executor.sessions).isEqualTo(1)
+        assertThat(command.commandLineString).contains("session1")
+    }
+
+    @Test
+    fun `new session is started once the master connection is gone`() {
+        val executor = executor(mock { on { isMasterRunning() } doReturn false })
+
+        executor.buildScpCommand("remote", false, Path.of("local"))
+        executor.buildSshCommand { it.addToRemoteCommand("ls") }
+
+        assertThat(executor.sessions).isEqualTo(2)
+    }
+
+    @Test
+    fun `multiplexed commands include the multiplexing options`() {
+        val executor = executor(mock { on { options() } doReturn listOf("-o", "ControlMaster=auto") })
+
+        assertThat(executor.buildSshCommand { }.parametersList.list).contains("ControlMaster=auto")
+        assertThat(executor.buildScpCommand("remote", false, Path.of("local")).parametersList.list).contains("ControlMaster=auto")
+    }
+
+    @Test
+    fun `multiplexed commands do not log to stderr`() {
+        val executor = executor(mock { on { options() } doReturn listOf("-o", "ControlMaster=auto") })
+
+        assertThat(executor.buildSshCommand { }.parametersList.list).doesNotContain("-v")
+        assertThat(executor.buildScpCommand("remote", false, Path.of("local")).parametersList.list).doesNotContain("-v")
+    }
+
+    @Test
+    fun `commands are retried with their own connection when the shared one fails to connect`() {
+        assumeTrue(SshConnectionMultiplexer.isSupported())
+        val executor = executor(mock { on { isMasterRunning() } doReturn true })
+
+        // there is no SSM plugin to proxy through, so ssh never connects
+        val output = executor.executeSshCommand { it.addToRemoteCommand("true") }
+
+        assertThat(output.exitCode).isEqualTo(255)
+        assertThat(executor.sessions).isEqualTo(1)
+    }
+
+    @Test
+    fun `only connection errors are told apart from a remote command exiting with 255`() {
+        assertThat(SshConnectionMultiplexer.isConnectionError("kex_exchange_identification: Connection closed by remote host\r\n")).isTrue()
+        assertThat(SshConnectionMultiplexer.isConnectionError("Connection closed by UNKNOWN port 65535")).isTrue()
+        assertThat(SshConnectionMultiplexer.isConnectionError("mux_client_request_session: read from master failed: Broken pipe")).isTrue()
+        assertThat(SshConnectionMultiplexer.isConnectionError("Control socket connect(/tmp/aws-ssh1/abc): Connection refused")).isTrue()
+        assertThat(SshConnectionMultiplexer.isConnectionError("")).isFalse()
+        assertThat(SshConnectionMultiplexer.isConnectionError("install.sh: backend failed to start\nexit 255")).isFalse()
+    }
+
+    private fun executor(multiplexer: SshConnectionMultiplexer): CountingExecutor {
+        toolManager.registerTool(SsmPlugin, Tool(SsmPlugin, Path.of("ssm")))
+        return CountingExecutor(multiplexer)
+    }
+
+    private class CountingExecutor(multiplexer: SshConnectionMultiplexer) : AbstractSsmCommandExecutor(AwsRegion.GLOBAL, "target", multiplexer) {
+        var sessions = 0
+
+        override fun startSsh() = StartSessionResponse("session${++sessions}", "stream", "token")
+        override fun startSsm(exe: String, vararg args: String) = startSsh()
+    }
+}
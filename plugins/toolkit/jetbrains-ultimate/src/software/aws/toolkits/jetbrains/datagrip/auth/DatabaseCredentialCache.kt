@@ -0,0 +1,107 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.datagrip.auth
+
+import com.intellij.database.dataSource.DatabaseConnectionInterceptor.ProtoConnection
+import com.intellij.database.dataSource.LocalDataSourceManager
+import com.intellij.openapi.components.Service
+import com.intellij.openapi.components.service
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import software.aws.toolkit.jetbrains.core.coroutines.getCoroutineBgContext
+import software.aws.toolkits.jetbrains.datagrip.auth.compatability.project
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A credential and the time after which it can no longer be used
+ */
+data class ExpiringCredential<V : Any>(val value: V, val expiresAt: Instant)
+
+/**
+ * Caches the credentials handed to database connections, so a pool opening many connections to the same data source makes a single call.
+ *
+ * Keys must identify both the AWS connection and the database credential, e.g. a [SecretsManagerConfiguration]. Concurrent lookups of the
+ * same key share one fetch, and failures are not cached. Once a credential is within [refreshBefore] of expiring, it is still handed out
+ * while a replacement is fetched in the background. A credential the database rejected should be [invalidate]d, it may have been rotated.
+ */
+internal open class ExpiringCredentialCache(
+    private val scope: CoroutineScope,
+    private val refreshBefore: Duration = DEFAULT_REFRESH_BEFORE,
+    private val clock: () -> Instant = Instant::now,
+) {
+    private val entries = ConcurrentHashMap<Any, Entry<*>>()
+
+    /**
+     * @param refresh fetch a new credential even if one is cached, the new one replaces it
+     */
+    suspend fun <V : Any> get(key: Any, refresh: Boolean = false, fetch: suspend () -> ExpiringCredential<V>): V {
+        @Suppress("UNCHECKED_CAST")
+        val entry = entries.computeIfAbsent(key) { Entry<V>() } as Entry<V>
+        return entry.get(refresh, fetch)
+    }
+
+    /**
+     * Drops the credential cached for [key]. Auth providers call this when a connection fails, since the cached credential may be the one
+     * that was rejected and the next attempt should fetch a new one instead of retrying it until it expires.
+     */
+    fun invalidate(key: Any) {
+        entries.remove(key)
+    }
+
+    private inner class Entry<V : Any> {
+        private var credential: ExpiringCredential<V>? = null
+        private var pending: Deferred<Result<ExpiringCredential<V>>>? = null
+
+        suspend fun get(refresh: Boolean, fetch: suspend () -> ExpiringCredential<V>): V {
+            val (cached, load) = synchronized(this) {
+                val now = clock()
+                val current = credential?.takeIf { !refresh && it.expiresAt.isAfter(now) }
+                when {
+                    current == null -> null to load(fetch)
+                    // still valid, refresh it without making the caller wait
+                    !current.expiresAt.minus(refreshBefore).isAfter(now) -> current.also { load(fetch) } to null
+                    else -> current to null
+                }
+            }
+            return cached?.value ?: checkNotNull(load).await().getOrThrow().value
+        }
+
+        // must hold the lock
+        private fun load(fetch: suspend () -> ExpiringCredential<V>): Deferred<Result<ExpiringCredential<V>>> =
+            pending ?: scope.async(getCoroutineBgContext()) {
+                runCatching { fetch() }.onSuccess { synchronized(this@Entry) { credential = it } }
+            }.also { deferred ->
+                pending = deferred
+                deferred.invokeOnCompletion {
+                    synchronized(this) {
+                        if (pending === deferred) {
+                            pending = null
+                        }
+                    }
+                }
+            }
+    }
+
+    companion object {
+        val DEFAULT_REFRESH_BEFORE: Duration = Duration.ofMinutes(2)
+    }
+}
+
+/**
+ * Whether this connection is to a saved data source, connections tested from the data source dialog are made with an unsaved copy of it
+ */
+internal fun ProtoConnection.isSavedDataSource(): Boolean {
+    val dataSource = connectionPoint.dataSource
+    return LocalDataSourceManager.getInstance(project()).dataSources.any { it === dataSource }
+}
+
+@Service
+internal class DatabaseCredentialCache(scope: CoroutineScope) : ExpiringCredentialCache(scope) {
+    companion object {
+        fun getInstance(): DatabaseCredentialCache = service()
+    }
+}
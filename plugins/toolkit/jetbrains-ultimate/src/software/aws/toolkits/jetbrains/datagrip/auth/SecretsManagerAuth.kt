@@ -18,6 +18,7 @@ import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient
 import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.core.utils.info
+import software.aws.toolkit.core.utils.tryOrNull
 import software.aws.toolkit.jetbrains.core.AwsClientManager
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
 import software.aws.toolkits.jetbrains.datagrip.auth.compatability.DatabaseAuthProviderCompatabilityAdapter
@@ -30,6 +31,8 @@ import software.aws.toolkits.telemetry.DatabaseCredentials.SecretsManager
 import software.aws.toolkits.telemetry.RdsTelemetry
 import software.aws.toolkits.telemetry.RedshiftTelemetry
 import software.aws.toolkits.telemetry.Result
+import java.time.Duration
+import java.time.Instant
 import java.util.concurrent.CompletionStage
 
 data class SecretsManagerConfiguration(
@@ -59,7 +62,10 @@ class SecretsManagerAuth : DatabaseAuthProviderCompatabilityAdapter {
             var result = Result.Succeeded
             try {
                 val connectionSettings = getConfiguration(connection)
-                val dbSecret = getDbSecret(connectionSettings)
+                // a connection tested from the data source dialog should always be made with the current secret
+                val dbSecret = DatabaseCredentialCache.getInstance().get(connectionSettings, refresh = !connection.isSavedDataSource()) {
+                    ExpiringCredential(getDbSecret(connectionSettings), Instant.now().plus(SECRET_TTL))
+                }
                 if (
                     connection.connectionPoint.dataSource.sshConfiguration?.isEnabled != true &&
                     connection.connectionPoint.additionalProperties[GET_URL_FROM_SECRET]?.toBoolean() == true
@@ -92,6 +98,17 @@ class SecretsManagerAuth : DatabaseAuthProviderCompatabilityAdapter {
         }
     }
 
+    // a cached secret is rejected once it has been rotated
+    override fun handleConnectionFailure(
+        proto: ProtoConnection,
+        e: Throwable,
+        silent: Boolean,
+        attempt: Int,
+    ): CompletionStage<ProtoConnection>? {
+        tryOrNull { DatabaseCredentialCache.getInstance().invalidate(getConfiguration(proto)) }
+        return null
+    }
+
     private fun getConfiguration(connection: ProtoConnection): SecretsManagerConfiguration {
         val connectionSettings = connection.getAwsConnectionSettings()
         val secretId = connection.connectionPoint.additionalProperties[SECRET_ID_PROPERTY]
@@ -117,5 +134,8 @@ class SecretsManagerAuth : DatabaseAuthProviderCompatabilityAdapter {
     companion object {
         const val providerId = "aws.secretsmanager"
         private val LOG = getLogger<SecretsManagerAuth>()
+
+        // secrets don't expire, this bounds how long a rotated secret can go unnoticed
+        private val SECRET_TTL = Duration.ofMinutes(15)
     }
 }
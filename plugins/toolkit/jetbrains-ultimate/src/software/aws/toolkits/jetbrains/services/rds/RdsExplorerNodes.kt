@@ -5,6 +5,7 @@ package software.aws.toolkits.jetbrains.services.rds
 
 import com.intellij.openapi.project.Project
 import software.amazon.awssdk.services.rds.RdsClient
+import software.aws.toolkit.jetbrains.core.awaitResource
 import software.aws.toolkit.jetbrains.core.getResourceNow
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerNode
 import software.aws.toolkits.jetbrains.core.explorer.nodes.AwsExplorerResourceNode
@@ -17,10 +18,16 @@ import software.aws.toolkits.resources.message
 class RdsExplorerParentNode(project: Project, service: AwsExplorerServiceNode) : AwsExplorerServiceRootNode(project, service) {
     override fun displayName(): String = message("explorer.node.rds")
 
-    override fun getChildrenInternal(): List<AwsExplorerNode<*>> = buildMap<String, RdsDatabase> {
+    override fun getChildrenInternal(): List<AwsExplorerNode<*>> =
+        databaseNodes(nodeProject.getResourceNow(LIST_SUPPORTED_CLUSTERS), nodeProject.getResourceNow(LIST_SUPPORTED_INSTANCES))
+
+    override suspend fun loadChildrenInternal(): List<AwsExplorerNode<*>> =
+        databaseNodes(nodeProject.awaitResource(LIST_SUPPORTED_CLUSTERS), nodeProject.awaitResource(LIST_SUPPORTED_INSTANCES))
+
+    private fun databaseNodes(clusters: List<RdsDatabase>, instances: List<RdsDatabase>): List<AwsExplorerNode<*>> = buildMap<String, RdsDatabase> {
         // De-dupe by db identifier
-        nodeProject.getResourceNow(LIST_SUPPORTED_CLUSTERS).forEach { putIfAbsent(it.identifier, it) }
-        nodeProject.getResourceNow(LIST_SUPPORTED_INSTANCES).forEach { putIfAbsent(it.identifier, it) }
+        clusters.forEach { putIfAbsent(it.identifier, it) }
+        instances.forEach { putIfAbsent(it.identifier, it) }
     }.values.map {
         RdsNode(nodeProject, it)
     }
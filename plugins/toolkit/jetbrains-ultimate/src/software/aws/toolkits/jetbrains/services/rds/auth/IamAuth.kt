@@ -20,6 +20,7 @@ import software.amazon.awssdk.services.rds.RdsUtilities
 import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.core.utils.info
+import software.aws.toolkit.core.utils.tryOrNull
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
 import software.aws.toolkit.jetbrains.core.credentials.CredentialManager
 import software.aws.toolkit.jetbrains.core.credentials.ReauthSource
@@ -28,8 +29,11 @@ import software.aws.toolkit.jetbrains.core.credentials.UserConfigSsoSessionProfi
 import software.aws.toolkit.jetbrains.core.credentials.profiles.ProfileCredentialsIdentifierSso
 import software.aws.toolkit.jetbrains.core.credentials.reauthConnectionIfNeeded
 import software.aws.toolkit.jetbrains.core.credentials.sso.bearer.NoTokenInitializedException
+import software.aws.toolkits.jetbrains.datagrip.auth.DatabaseCredentialCache
+import software.aws.toolkits.jetbrains.datagrip.auth.ExpiringCredential
 import software.aws.toolkits.jetbrains.datagrip.auth.compatability.DatabaseAuthProviderCompatabilityAdapter
 import software.aws.toolkits.jetbrains.datagrip.auth.compatability.project
+import software.aws.toolkits.jetbrains.datagrip.auth.isSavedDataSource
 import software.aws.toolkits.jetbrains.datagrip.getAwsConnectionSettings
 import software.aws.toolkits.jetbrains.datagrip.getDatabaseEngine
 import software.aws.toolkits.jetbrains.datagrip.hostFromJdbcString
@@ -40,6 +44,8 @@ import software.aws.toolkits.resources.message
 import software.aws.toolkits.telemetry.DatabaseCredentials.IAM
 import software.aws.toolkits.telemetry.RdsTelemetry
 import software.aws.toolkits.telemetry.Result
+import java.time.Duration
+import java.time.Instant
 import java.util.concurrent.CompletionStage
 
 data class RdsAuth(
@@ -101,6 +107,17 @@ class IamAuth : DatabaseAuthProviderCompatabilityAdapter {
         }
     }
 
+    // a cached token is rejected if it expired early or the credentials that signed it were revoked
+    override fun handleConnectionFailure(
+        proto: ProtoConnection,
+        e: Throwable,
+        silent: Boolean,
+        attempt: Int,
+    ): CompletionStage<ProtoConnection>? {
+        tryOrNull { DatabaseCredentialCache.getInstance().invalidate(getAuthInformation(proto)) }
+        return null
+    }
+
     fun handleSsoAuthentication(project: Project, connection: ProtoConnection): ProtoConnection {
         val authInformation = getAuthInformation(connection)
         val profileCredentials =
@@ -152,14 +169,27 @@ class IamAuth : DatabaseAuthProviderCompatabilityAdapter {
         it.username(auth.user)
     }
 
-    private fun getCredentials(connection: ProtoConnection): Credentials {
+    private suspend fun getCredentials(connection: ProtoConnection): Credentials {
         val authInformation = getAuthInformation(connection)
-        val authToken = generateAuthToken(authInformation)
+        val authToken = DatabaseCredentialCache.getInstance().get(authInformation, refresh = !connection.isSavedDataSource()) {
+            val credentialsExpiry = authInformation.connectionSettings.credentials.resolveCredentials().expirationTime().orElse(null)
+            ExpiringCredential(generateAuthToken(authInformation), tokenExpiry(Instant.now(), credentialsExpiry))
+        }
         return Credentials(authInformation.user, authToken)
     }
 
+    // a token is rejected once the credentials it was signed with expire, even if the token itself has not
+    internal fun tokenExpiry(now: Instant, credentialsExpiry: Instant?): Instant {
+        val tokenExpiry = now.plus(AUTH_TOKEN_TTL)
+        return credentialsExpiry?.minus(CREDENTIALS_EXPIRY_SKEW)?.takeIf { it.isBefore(tokenExpiry) } ?: tokenExpiry
+    }
+
     companion object {
         const val providerId = "aws.rds.iam"
         private val LOG = getLogger<IamAuth>()
+
+        // tokens are valid for 15 minutes, leave time for a connection to be opened with one
+        private val AUTH_TOKEN_TTL = Duration.ofMinutes(10)
+        private val CREDENTIALS_EXPIRY_SKEW = Duration.ofMinutes(1)
     }
 }
@@ -15,15 +15,21 @@ import software.amazon.awssdk.services.redshift.RedshiftClient
 import software.aws.toolkit.core.ConnectionSettings
 import software.aws.toolkit.core.utils.getLogger
 import software.aws.toolkit.core.utils.info
+import software.aws.toolkit.core.utils.tryOrNull
 import software.aws.toolkit.jetbrains.core.AwsClientManager
 import software.aws.toolkit.jetbrains.core.coroutines.projectCoroutineScope
+import software.aws.toolkits.jetbrains.datagrip.auth.DatabaseCredentialCache
+import software.aws.toolkits.jetbrains.datagrip.auth.ExpiringCredential
 import software.aws.toolkits.jetbrains.datagrip.auth.compatability.DatabaseAuthProviderCompatabilityAdapter
 import software.aws.toolkits.jetbrains.datagrip.auth.compatability.project
+import software.aws.toolkits.jetbrains.datagrip.auth.isSavedDataSource
 import software.aws.toolkits.jetbrains.datagrip.getAwsConnectionSettings
 import software.aws.toolkits.resources.message
 import software.aws.toolkits.telemetry.DatabaseCredentials.IAM
 import software.aws.toolkits.telemetry.RedshiftTelemetry
 import software.aws.toolkits.telemetry.Result
+import java.time.Duration
+import java.time.Instant
 import java.util.concurrent.CompletionStage
 
 data class RedshiftSettings(
@@ -47,11 +53,13 @@ class IamAuth : DatabaseAuthProviderCompatabilityAdapter {
             var result = Result.Succeeded
             try {
                 val auth = validateConnection(connection)
-                val client = AwsClientManager.getInstance().getClient<RedshiftClient>(
-                    auth.connectionSettings.credentials,
-                    auth.connectionSettings.region
-                )
-                val credentials = getCredentials(auth, client)
+                val credentials = DatabaseCredentialCache.getInstance().get(auth, refresh = !connection.isSavedDataSource()) {
+                    val client = AwsClientManager.getInstance().getClient<RedshiftClient>(
+                        auth.connectionSettings.credentials,
+                        auth.connectionSettings.region
+                    )
+                    fetchCredentials(auth, client)
+                }
                 DatabaseCredentialsAuthProvider.applyCredentials(connection, credentials, true)
             } catch (e: Throwable) {
                 result = Result.Failed
@@ -62,6 +70,16 @@ class IamAuth : DatabaseAuthProviderCompatabilityAdapter {
         }
     }
 
+    override fun handleConnectionFailure(
+        proto: ProtoConnection,
+        e: Throwable,
+        silent: Boolean,
+        attempt: Int,
+    ): CompletionStage<ProtoConnection>? {
+        tryOrNull { DatabaseCredentialCache.getInstance().invalidate(validateConnection(proto)) }
+        return null
+    }
+
     internal fun validateConnection(connection: ProtoConnection): RedshiftSettings {
         val auth = connection.getAwsConnectionSettings()
         val clusterIdentifier = connection.connectionPoint.additionalProperties[CLUSTER_ID_PROPERTY]
@@ -77,7 +95,9 @@ class IamAuth : DatabaseAuthProviderCompatabilityAdapter {
         )
     }
 
-    internal fun getCredentials(settings: RedshiftSettings, client: RedshiftClient): Credentials {
+    internal fun getCredentials(settings: RedshiftSettings, client: RedshiftClient): Credentials = fetchCredentials(settings, client).value
+
+    private fun fetchCredentials(settings: RedshiftSettings, client: RedshiftClient): ExpiringCredential<Credentials> {
         if (client.describeClusters { it.clusterIdentifier(settings.clusterId).build() }.clusters().isEmpty()) {
             throw IllegalArgumentException(message("redshift.validation.cluster_does_not_exist", settings.clusterId, settings.connectionSettings.region.id))
         }
@@ -87,11 +107,14 @@ class IamAuth : DatabaseAuthProviderCompatabilityAdapter {
             // By default it auto-creates the user if it doesn't exist, which we don't want?
             it.autoCreate(false)
         }
-        return Credentials(creds.dbUser(), creds.dbPassword())
+        return ExpiringCredential(Credentials(creds.dbUser(), creds.dbPassword()), creds.expiration() ?: Instant.now().plus(DEFAULT_EXPIRATION))
     }
 
     companion object {
         const val providerId = "aws.redshift.iam"
         private val LOG = getLogger<IamAuth>()
+
+        // the default duration of cluster credentials
+        private val DEFAULT_EXPIRATION = Duration.ofMinutes(15)
     }
 }
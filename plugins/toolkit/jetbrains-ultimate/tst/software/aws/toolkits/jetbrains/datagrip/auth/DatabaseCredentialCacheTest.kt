@@ -0,0 +1,113 @@
+// Copyright 2026 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+// SPDX-License-Identifier: Apache-2.0
+
+package software.aws.toolkits.jetbrains.datagrip.auth
+
+import com.intellij.testFramework.ApplicationRule
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.runBlocking
+import org.assertj.core.api.Assertions.assertThat
+import org.assertj.core.api.Assertions.assertThatThrownBy
+import org.junit.After
+import org.junit.Rule
+import org.junit.Test
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.atomic.AtomicInteger
+
+class DatabaseCredentialCacheTest {
+    @Rule
+    @JvmField
+    val application = ApplicationRule()
+
+    private val scope = CoroutineScope(SupervisorJob())
+
+    @Volatile
+    private var now = Instant.parse("2026-01-01T00:00:00Z")
+    private val cache = ExpiringCredentialCache(scope, refreshBefore = Duration.ofMinutes(2), clock = { now })
+    private val fetches = AtomicInteger()
+
+    @After
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Test
+    fun `concurrent lookups share one fetch`() = runBlocking {
+        val release = CompletableDeferred<Unit>()
+
+        val lookups = (1..10).map {
+            async(scope.coroutineContext) {
+                cache.get("key") {
+                    release.await()
+                    credential("password${fetches.incrementAndGet()}")
+                }
+            }
+        }
+        release.complete(Unit)
+
+        assertThat(lookups.awaitAll()).containsOnly("password1")
+        assertThat(fetches.get()).isEqualTo(1)
+    }
+
+    @Test
+    fun `credentials are cached per key until they are close to expiring`() = runBlocking {
+        assertThat(cache.get("key") { credential("password${fetches.incrementAndGet()}") }).isEqualTo("password1")
+        assertThat(cache.get("other") { credential("password${fetches.incrementAndGet()}") }).isEqualTo("password2")
+
+        now = now.plus(Duration.ofMinutes(5))
+
+        assertThat(cache.get("key") { credential("password${fetches.incrementAndGet()}") }).isEqualTo("password1")
+        assertThat(fetches.get()).isEqualTo(2)
+    }
+
+    @Test
+    fun `credentials close to expiring are refreshed in the background`() = runBlocking {
+        val refresh = CompletableDeferred<Unit>()
+        cache.get("key") { credential("old") }
+
+        now = now.plus(Duration.ofMinutes(9))
+        val stale = cache.get("key") {
+            refresh.await()
+            credential("new")
+        }
+        refresh.complete(Unit)
+
+        assertThat(stale).isEqualTo("old")
+        // waits for the refresh that is already in flight instead of starting another
+        now = now.plus(Duration.ofMinutes(2))
+        assertThat(cache.get("key") { credential("unexpected") }).isEqualTo("new")
+    }
+
+    @Test
+    fun `failures are not cached`() {
+        assertThatThrownBy { runBlocking { cache.get<String>("key") { throw IllegalStateException("failed") } } }
+            .isInstanceOf(IllegalStateException::class.java)
+
+        assertThat(runBlocking { cache.get("key") { credential("password") } }).isEqualTo("password")
+    }
+
+    @Test
+    fun `invalidated credentials are fetched again`() = runBlocking {
+        cache.get("key") { credential("rotated") }
+
+        cache.invalidate("key")
+
+        assertThat(cache.get("key") { credential("new") }).isEqualTo("new")
+    }
+
+    @Test
+    fun `refreshing replaces the cached credential`() = runBlocking {
+        cache.get("key") { credential("old") }
+
+        assertThat(cache.get("key", refresh = true) { credential("new") }).isEqualTo("new")
+        assertThat(cache.get("key") { credential("unexpected") }).isEqualTo("new")
+    }
+
+    private fun credential(value: String) = ExpiringCredential(value, now.plus(Duration.ofMinutes(10)))
+}
@@ -38,6 +38,7 @@ import software.aws.toolkits.jetbrains.datagrip.REGION_ID_PROPERTY
 import software.aws.toolkits.jetbrains.datagrip.RequireSsl
 import software.aws.toolkits.jetbrains.datagrip.auth.compatability.project
 import software.aws.toolkits.resources.message
+import java.time.Duration
 import java.time.Instant
 
 class IamAuthTest {
@@ -195,6 +196,15 @@ class IamAuthTest {
             .doesNotStartWith("https://")
     }
 
+    @Test
+    fun `Tokens expire before the credentials they were signed with`() {
+        val now = Instant.parse("2026-01-01T00:00:00Z")
+
+        assertThat(iamAuth.tokenExpiry(now, null)).isEqualTo(now.plus(Duration.ofMinutes(10)))
+        assertThat(iamAuth.tokenExpiry(now, now.plus(Duration.ofHours(1)))).isEqualTo(now.plus(Duration.ofMinutes(10)))
+        assertThat(iamAuth.tokenExpiry(now, now.plus(Duration.ofMinutes(5)))).isEqualTo(now.plus(Duration.ofMinutes(4)))
+    }
+
     private fun buildConnection(
         hasUsername: Boolean = true,
         hasRegion: Boolean = true,